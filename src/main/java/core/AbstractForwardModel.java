@@ -10,6 +10,9 @@ import java.util.Random;
 
 public abstract class AbstractForwardModel {
 
+    // number of calls to next() on this instance (each player has its own copy), used to measure the cost of search
+    private long nextCalls;
+
     /* Limited access/Final methods */
 
     /**
@@ -88,7 +91,7 @@ public abstract class AbstractForwardModel {
      * @param action    - action played
      */
     protected void illegalActionPlayed(AbstractGameState gameState, AbstractAction action) {
-        disqualifyOrRandomAction(gameState.coreGameParameters.disqualifyPlayerOnIllegalActionPlayed, gameState);
+        disqualifyOrRandomAction(gameState.coreGameParameters.isDisqualifyPlayerOnIllegalActionPlayed(), gameState);
     }
 
     /**
@@ -126,6 +129,7 @@ public abstract class AbstractForwardModel {
      * @param action       - action requested to be played by a player.
      */
     public final void next(AbstractGameState currentState, AbstractAction action) {
+        nextCalls++;
         if (action != null) {
             currentState.recordAction(action);
             if (currentState.isActionInProgress()) {
@@ -134,7 +138,7 @@ public abstract class AbstractForwardModel {
             }
             _next(currentState, action);
         } else {
-            if (currentState.coreGameParameters.verbose) {
+            if (currentState.coreGameParameters.isVerbose()) {
                 System.out.println("Invalid action.");
             }
             illegalActionPlayed(currentState, action);
@@ -155,6 +159,23 @@ public abstract class AbstractForwardModel {
         return _computeAvailableActions(gameState);
     }
 
+    /**
+     * @return the number of times next() has been called on this instance.
+     */
+    public final long getNextCalls() {
+        return nextCalls;
+    }
+
+    /**
+     * Adds the next() calls made on copies of this forward model (for example by a player that searches on several
+     * threads at once, each with its own copy), so that getNextCalls() counts all of them.
+     *
+     * @param calls - number of calls to add.
+     */
+    public final void addNextCalls(long calls) {
+        nextCalls += calls;
+    }
+
     /**
      * Returns a copy of this forward model with a new random seed.
      *
@@ -4,20 +4,91 @@ import core.components.*;
 import core.components.Component;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Objects;
-
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The components of a game, loaded from the JSON files in its data directory. The files are parsed once per process
+ * (and again if they change), and the parsed components are shared by every AbstractGameData that loads the same
+ * directory. These are never changed: the find...() methods return copies of them.
+ */
 public class AbstractGameData {
 
+    // Parsed data by class and data directory, shared by all games in the process
+    private static final Map<String, Parsed> parsedData = new ConcurrentHashMap<>();
+
+    private static final class Parsed {
+        final long version;
+        final AbstractGameData data;
+
+        Parsed(long version, AbstractGameData data) {
+            this.version = version;
+            this.data = data;
+        }
+    }
+
     private List<GraphBoard> graphBoards = new ArrayList<>();
     private List<GridBoard> gridBoards = new ArrayList<>();
     private List<Deck<Card>> decks = new ArrayList<>();
     private List<Counter> counters = new ArrayList<>();
     private List<Token> tokens = new ArrayList<>();
 
+    /**
+     * Loads the data in the directory, parsing its files only if they have not been parsed before, or have changed
+     * since.
+     *
+     * @param dataPath - path to the data directory.
+     */
     public void load(String dataPath) {
+        File dir = new File(dataPath);
+        if (!dir.isDirectory())
+            throw new IllegalArgumentException(dataPath + " is not a directory");
+        long version = version(dir);
+        String key = getClass().getName() + ":" + dir.getAbsolutePath();
+        Parsed parsed = parsedData.compute(key, (k, old) -> {
+            if (old != null && old.version == version)
+                return old;
+            try {
+                AbstractGameData data = getClass().getConstructor().newInstance();
+                data.parse(dataPath);
+                return new Parsed(version, data);
+            } catch (ReflectiveOperationException e) {
+                e.printStackTrace();
+                throw new AssertionError("Problem creating " + getClass().getName() + " : " + e.getMessage());
+            }
+        });
+        shareFrom(parsed.data);
+    }
+
+    /**
+     * @return - a number that changes if any file in the directory is changed, added or removed.
+     */
+    private static long version(File dir) {
+        long retValue = dir.lastModified();
+        File[] files = Objects.requireNonNull(dir.listFiles());
+        for (File f : files)
+            retValue = 31 * retValue + f.lastModified() + f.length();
+        return 31 * retValue + files.length;
+    }
+
+    /**
+     * Takes the parsed components of another AbstractGameData (of the same class) that loaded the same directory.
+     * Sub-classes with data of their own should override this as well as parse().
+     */
+    protected void shareFrom(AbstractGameData parsed) {
+        graphBoards = parsed.graphBoards;
+        gridBoards = parsed.gridBoards;
+        decks = parsed.decks;
+        counters = parsed.counters;
+        tokens = parsed.tokens;
+    }
+
+    /**
+     * Parses the files in the data directory.
+     *
+     * @param dataPath - path to the data directory.
+     */
+    protected void parse(String dataPath) {
         File dir = new File(dataPath);
         if (dir.isDirectory()) {
             List<String> files = Arrays.asList(Objects.requireNonNull(dir.list()));
@@ -42,6 +42,10 @@ public abstract class AbstractGameState {
     // Parameters, forward model and turn order for the game
     protected final AbstractParameters gameParameters;
     protected TurnOrder turnOrder;
+    // Every component by ID, built when first needed after a copy or a call to addAllComponents()
+    private ComponentIndex componentIndex;
+    // Every component created before the index was built has an ID below this
+    private int indexedIdLimit;
     private Area allComponents;
 
     // Timers for all players
@@ -65,6 +69,9 @@ public abstract class AbstractGameState {
 
     private int gameID;
     CoreParameters coreGameParameters;
+    // Core parameters of game states that are not given any (including all copies), frozen so that they can be shared
+    // (CoreParameters has no public fields, so the freeze covers every way of changing them)
+    private static final CoreParameters DEFAULT_CORE_PARAMETERS = (CoreParameters) new CoreParameters().frozenCopy();
 
     /**
      * Constructor. Initialises some generic game state variables.
@@ -75,7 +82,7 @@ public abstract class AbstractGameState {
         this.gameParameters = gameParameters;
         this.turnOrder = turnOrder;
         this.gameType = gameType;
-        this.coreGameParameters = new CoreParameters();
+        this.coreGameParameters = DEFAULT_CORE_PARAMETERS;
     }
 
     /**
@@ -84,6 +91,7 @@ public abstract class AbstractGameState {
     void reset() {
         turnOrder.reset();
         allComponents = new Area(-1, "All Components");
+        componentIndex = null;
         gameStatus = GAME_ONGOING;
         playerResults = new Utils.GameResult[getNPlayers()];
         Arrays.fill(playerResults, GAME_ONGOING);
@@ -128,13 +136,41 @@ public abstract class AbstractGameState {
         return gamePhase;
     }
     public final Component getComponentById(int id) {
-        return allComponents.getComponent(id);
+        if (componentIndex == null)
+            return buildComponentIndex().get(id);
+        Component retValue = componentIndex.get(id);
+        if (retValue == null && id >= indexedIdLimit && id < Component.getNextComponentID()) {
+            // the component was created since the index was built; any other missing ID is not in the state
+            retValue = buildComponentIndex().get(id);
+        }
+        return retValue;
     }
+    /**
+     * @return every component of the state, including the contents of containers. This is gathered again on every
+     * call, as components may be created during play (as with cards gained in Dominion).
+     */
     public final Area getAllComponents() {
-        addAllComponents(); // otherwise the list of allComponents is only ever updated when we copy the state!
+        allComponents.clear();
+        allComponents.putComponents(_getAllComponents());
         return allComponents;
     }
 
+    private ComponentIndex buildComponentIndex() {
+        // read before the components are gathered, so that any created meanwhile count as created afterwards
+        indexedIdLimit = Component.getNextComponentID();
+        componentIndex = ComponentIndex.of(_getAllComponents());
+        return componentIndex;
+    }
+
+    /**
+     * @return a new Area with every component of the state, so that equals() and hashCode() leave the state as it is
+     */
+    private Area gatherAllComponents() {
+        Area retValue = allComponents.emptyCopy();
+        retValue.putComponents(_getAllComponents());
+        return retValue;
+    }
+
     /**
      * While getAllComponents() returns an Area containing every component, this method
      * returns a list of just the top-level items. So, for example, a Deck of Cards appears once here, while
@@ -150,11 +186,14 @@ public abstract class AbstractGameState {
     /* Limited access final methods */
 
     /**
-     * Adds all components given by the game to the allComponents map in the correct way, first clearing the map.
+     * Marks the map of components by ID (used by getComponentById()) as out of date, so that it is built again from
+     * the components given by the game when next needed. Games that replace components during play, or move into
+     * the state components it did not have before, should call this afterwards. Components that are created are found
+     * anyway, as an ID given out after the map was built rebuilds it; other IDs missing from the map are not looked
+     * for again.
      */
     protected final void addAllComponents() {
-        allComponents.clear();
-        allComponents.putComponents(_getAllComponents());
+        componentIndex = null;
     }
 
     /**
@@ -168,11 +207,12 @@ public abstract class AbstractGameState {
         // Copy super class things
         s.turnOrder = turnOrder.copy();
         s.allComponents = allComponents.emptyCopy();
+        // the copy's map of all components is built when first needed
         s.gameStatus = gameStatus;
         s.playerResults = playerResults.clone();
         s.gamePhase = gamePhase;
 
-        if (!coreGameParameters.competitionMode) {
+        if (!coreGameParameters.isCompetitionMode()) {
             s.history = new ArrayList<>(history);
             s.historyText = new ArrayList<>(historyText);
             // we do not copy individual actions in history, as these are now dead and should not change
@@ -191,9 +231,6 @@ public abstract class AbstractGameState {
         for (int i = 0; i < getNPlayers(); i++) {
             s.playerTimer[i] = playerTimer[i].copy();
         }
-
-        // Update the list of components for ID matching in actions.
-        s.addAllComponents();
         return s;
     }
 
@@ -454,7 +491,7 @@ public abstract class AbstractGameState {
         AbstractGameState gameState = (AbstractGameState) o;
         return Objects.equals(gameParameters, gameState.gameParameters) &&
                 Objects.equals(turnOrder, gameState.turnOrder) &&
-                Objects.equals(allComponents, gameState.allComponents) &&
+                Objects.equals(gatherAllComponents(), gameState.gatherAllComponents()) &&
                 gameStatus == gameState.gameStatus &&
                 Arrays.equals(playerResults, gameState.playerResults) &&
                 Objects.equals(gamePhase, gameState.gamePhase) &&
@@ -465,7 +502,7 @@ public abstract class AbstractGameState {
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(gameParameters, turnOrder, allComponents, gameStatus, gamePhase);
+        int result = Objects.hash(gameParameters, turnOrder, gatherAllComponents(), gameStatus, gamePhase);
         result = 31 * result + Arrays.hashCode(playerResults);
         return result;
     }
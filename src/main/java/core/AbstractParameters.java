@@ -3,7 +3,7 @@ package core;
 import core.interfaces.ITunableParameters;
 import java.util.*;
 
-public abstract class AbstractParameters {
+public abstract class AbstractParameters implements Cloneable {
 
     // Random seed for this game
     long randomSeed;
@@ -15,6 +15,9 @@ public abstract class AbstractParameters {
     // Increment in seconds, added after a custom milestone (to be added manually in game implementation). Default 0.
     long incrementMilestoneS = 0;
 
+    // If true, the setters fail, so that nothing but the random seed may change (see frozenCopy())
+    private boolean frozen;
+
     public AbstractParameters(long seed) {
         randomSeed = seed;
     }
@@ -50,7 +53,26 @@ public abstract class AbstractParameters {
         this.randomSeed = randomSeed;
     }
 
-    public void setThinkingTimeMins(long thinkingTimeMins){ this.thinkingTimeMins = thinkingTimeMins; }
+    public void setThinkingTimeMins(long thinkingTimeMins){
+        checkNotFrozen();
+        this.thinkingTimeMins = thinkingTimeMins;
+    }
+
+    /**
+     * @return - true if these parameters are frozen, so that only the random seed may be changed through the setters
+     * (see frozenCopy()).
+     */
+    public final boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Fails if these parameters are frozen. Sub-classes should call this in any method that changes a parameter.
+     */
+    protected final void checkNotFrozen() {
+        if (frozen)
+            throw new IllegalStateException("These " + getClass().getSimpleName() + " are frozen and shared between game states; use copy()");
+    }
 
 
     /**
@@ -104,10 +126,42 @@ public abstract class AbstractParameters {
         return copy;
     }
 
+    /**
+     * Copy this game parameter object for a copy of a game state, with a new random seed, as copy() does.
+     * <p>
+     * The parameters of a game do not change while it is played, so the copy is frozen: any attempt to change a
+     * parameter other than the random seed through a setter fails. The copy of parameters that are already frozen shares everything
+     * but the random seed with them, which is much cheaper than copy(); each copy still has its own seed, as game
+     * states may be re-seeded (and some games draw from the seed to redeterminise hidden information).
+     * <p>
+     * The freeze covers the setter API only: setThinkingTimeMins(), randomize(), reset() and, for TunableParameters,
+     * setParameterValue(). Many game parameter classes also have public fields, which cannot be guarded; these must
+     * not be assigned once the parameters have been given to a game, as frozen copies are shallow clones that share
+     * any arrays and other objects they refer to.
+     *
+     * @return - frozen object with the same parameters, but a new random seed.
+     */
+    public AbstractParameters frozenCopy() {
+        AbstractParameters copy;
+        if (frozen) {
+            try {
+                copy = (AbstractParameters) clone();
+            } catch (CloneNotSupportedException e) {
+                throw new AssertionError(e);
+            }
+        } else {
+            copy = copy();
+        }
+        copy.randomSeed = System.currentTimeMillis();
+        copy.frozen = true;
+        return copy;
+    }
+
     /**
      * Randomizes the set of parameters, if this is a class that implements the TunableParameters interface.
      */
     public void randomize() {
+        checkNotFrozen();
         if (this instanceof ITunableParameters) {
             Random rnd = new Random(randomSeed);
             ITunableParameters params = (ITunableParameters) this;
@@ -127,6 +181,7 @@ public abstract class AbstractParameters {
      * interface.
      */
     public void reset() {
+        checkNotFrozen();
         if (this instanceof ITunableParameters) {
             Map<String, Object> defaultValues = ((ITunableParameters) this).getDefaultParameterValues();
             ((ITunableParameters) this).setParameterValues(defaultValues);
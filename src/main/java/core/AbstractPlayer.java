@@ -96,4 +96,15 @@ public abstract class AbstractPlayer {
     }
 
     public abstract AbstractPlayer copy();
+
+    /**
+     * Returns a copy of this player that draws its random numbers from the given seed, so that two copies made with
+     * the same seed play in the same way, whatever has happened to this player. The default is copy(), which is
+     * enough for a player with no random numbers of its own.
+     *
+     * @param seed - seed for the random numbers of the copy.
+     */
+    public AbstractPlayer copyWithSeed(long seed) {
+        return copy();
+    }
 }
@@ -0,0 +1,95 @@
+package core;
+
+import core.components.Component;
+import core.interfaces.IComponentContainer;
+
+import java.util.List;
+
+/**
+ * The components of a game state by their IDs, in one open-addressed table (linear probing on int keys), which
+ * avoids boxing the IDs and allocating an entry per component as a HashMap would.
+ * <p>
+ * It is built in one go from the top-level components of the state, adding the contents of every container in the
+ * same way as Area.putComponent(), and is not changed afterwards.
+ */
+final class ComponentIndex {
+
+    private int[] keys;
+    private Component[] values;  // null marks an empty slot
+    private int mask;
+    private int size;
+
+    private ComponentIndex(int capacity) {
+        keys = new int[capacity];
+        values = new Component[capacity];
+        mask = capacity - 1;
+    }
+
+    static ComponentIndex of(List<Component> topLevelComponents) {
+        ComponentIndex retValue = new ComponentIndex(64);
+        for (Component c : topLevelComponents)
+            retValue.put(c);
+        return retValue;
+    }
+
+    // As Area.putComponent(), a later component with the same ID replaces an earlier one
+    private void put(Component component) {
+        int id = component.getComponentID();
+        int slot = slot(id);
+        while (values[slot] != null && keys[slot] != id)
+            slot = (slot + 1) & mask;
+        if (values[slot] == null) {
+            if (2 * (size + 1) > values.length) {
+                grow();
+                put(component);
+                return;
+            }
+            size++;
+        }
+        keys[slot] = id;
+        values[slot] = component;
+        if (component instanceof IComponentContainer) {
+            for (Component nestedC : ((IComponentContainer<?>) component).getComponents()) {
+                if (nestedC != null)
+                    put(nestedC);
+            }
+        }
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        Component[] oldValues = values;
+        keys = new int[2 * oldKeys.length];
+        values = new Component[2 * oldValues.length];
+        mask = values.length - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != null)
+                    slot = (slot + 1) & mask;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private int slot(int id) {
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    Component get(int id) {
+        int slot = slot(id);
+        Component c;
+        while ((c = values[slot]) != null) {
+            if (keys[slot] == id)
+                return c;
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+}
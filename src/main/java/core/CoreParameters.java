@@ -5,15 +5,19 @@ import evaluation.TunableParameters;
 import java.util.Arrays;
 import java.util.Objects;
 
+/**
+ * Parameters of the framework, rather than of any one game. The values are private, and are set through
+ * setParameterValue(), so that they cannot be changed once frozen (see AbstractParameters.frozenCopy()).
+ */
 public class CoreParameters extends TunableParameters {
-    public boolean verbose = false;
-    public boolean partialObservable = true;
-    public boolean competitionMode = false;
-    public boolean disqualifyPlayerOnIllegalActionPlayed = false;
-    public boolean disqualifyPlayerOnTimeout = false;
-    public boolean alwaysDisplayFullObservable = false;
-    public boolean alwaysDisplayCurrentPlayer = false;
-    public long frameSleepMS = 100L;
+    private boolean verbose = false;
+    private boolean partialObservable = true;
+    private boolean competitionMode = false;
+    private boolean disqualifyPlayerOnIllegalActionPlayed = false;
+    private boolean disqualifyPlayerOnTimeout = false;
+    private boolean alwaysDisplayFullObservable = false;
+    private boolean alwaysDisplayCurrentPlayer = false;
+    private long frameSleepMS = 100L;
 
     public CoreParameters() {
         super(0);
@@ -27,6 +31,38 @@ public class CoreParameters extends TunableParameters {
         addTunableParameter("frame sleep MS", frameSleepMS, Arrays.asList(0L, 100L, 500L, 1000L, 5000L));
     }
 
+    public boolean isVerbose() {
+        return verbose;
+    }
+
+    public boolean isPartialObservable() {
+        return partialObservable;
+    }
+
+    public boolean isCompetitionMode() {
+        return competitionMode;
+    }
+
+    public boolean isDisqualifyPlayerOnIllegalActionPlayed() {
+        return disqualifyPlayerOnIllegalActionPlayed;
+    }
+
+    public boolean isDisqualifyPlayerOnTimeout() {
+        return disqualifyPlayerOnTimeout;
+    }
+
+    public boolean isAlwaysDisplayFullObservable() {
+        return alwaysDisplayFullObservable;
+    }
+
+    public boolean isAlwaysDisplayCurrentPlayer() {
+        return alwaysDisplayCurrentPlayer;
+    }
+
+    public long getFrameSleepMS() {
+        return frameSleepMS;
+    }
+
     @Override
     protected AbstractParameters _copy() {
         return new CoreParameters();
@@ -403,11 +403,11 @@ public class Game {
 
                 if (gameState.isNotTerminal()) {
 
-                    if (gameState.coreGameParameters.verbose) {
+                    if (gameState.coreGameParameters.isVerbose()) {
                         System.out.println("Round: " + gameState.getTurnOrder().getRoundCounter());
                     }
 
-                    if (observation instanceof IPrintable && gameState.coreGameParameters.verbose) {
+                    if (observation instanceof IPrintable && gameState.coreGameParameters.isVerbose()) {
                         ((IPrintable) observation).printToConsole();
                     }
 
@@ -435,12 +435,12 @@ public class Game {
                                 nDecisions++;
                             }
                         }
-                        if (gameState.coreGameParameters.competitionMode && action != null && !observedActions.contains(action)) {
+                        if (gameState.coreGameParameters.isCompetitionMode() && action != null && !observedActions.contains(action)) {
                             System.out.printf("Action played that was not in the list of available actions: %s%n", action.getString(gameState));
                             action = null;
                         }
                         AbstractAction finalAction = action;
-                        listeners.forEach(l -> l.onEvent(GameEvents.ACTION_CHOSEN, gameState, finalAction));
+                        listeners.forEach(l -> l.onEvent(GameEvents.ACTION_CHOSEN, gameState, finalAction, observedActions));
                     } else {
                         currentPlayer.registerUpdatedObservation(observation);
                     }
@@ -449,7 +449,7 @@ public class Game {
                     gameState.playerTimer[activePlayer].pause();
                     gameState.playerTimer[activePlayer].incrementAction();
 
-                    if (gameState.coreGameParameters.verbose && !(action == null)) {
+                    if (gameState.coreGameParameters.isVerbose() && !(action == null)) {
                         System.out.println(action);
                     }
                     if (action == null)
@@ -457,7 +457,7 @@ public class Game {
 
                     // Check player timeout
                     if (observation.playerTimer[activePlayer].exceededMaxTime()) {
-                        forwardModel.disqualifyOrRandomAction(gameState.coreGameParameters.disqualifyPlayerOnTimeout, gameState);
+                        forwardModel.disqualifyOrRandomAction(gameState.coreGameParameters.isDisqualifyPlayerOnTimeout(), gameState);
                     } else {
                         // Resolve action and game rules, time it
                         s = System.nanoTime();
@@ -470,7 +470,7 @@ public class Game {
                     updateGUI(gui, frame);
                 } else {
                     if (firstEnd) {
-                        if (gameState.coreGameParameters.verbose) {
+                        if (gameState.coreGameParameters.isVerbose()) {
                             System.out.println("Ended");
                         }
                         terminate();
@@ -484,7 +484,7 @@ public class Game {
         }
 
         if (firstEnd) {
-            if (gameState.coreGameParameters.verbose) {
+            if (gameState.coreGameParameters.isVerbose()) {
                 System.out.println("Ended");
             }
             terminate();
@@ -506,7 +506,7 @@ public class Game {
             gui.update(currentPlayer, gameState);
             frame.repaint();
             try {
-                Thread.sleep(gameState.coreGameParameters.frameSleepMS);
+                Thread.sleep(gameState.coreGameParameters.getFrameSleepMS());
             } catch (Exception e) {
                 System.out.println("EXCEPTION " + e);
             }
@@ -518,14 +518,14 @@ public class Game {
      */
     private void terminate() {
         // Print last state
-        if (gameState instanceof IPrintable && gameState.coreGameParameters.verbose) {
+        if (gameState instanceof IPrintable && gameState.coreGameParameters.isVerbose()) {
             ((IPrintable) gameState).printToConsole();
         }
 
         // Perform any end of game computations as required by the game
         forwardModel.endGame(gameState);
         listeners.forEach(l -> l.onGameEvent(GameEvents.GAME_OVER, this));
-        if (gameState.coreGameParameters.verbose) {
+        if (gameState.coreGameParameters.isVerbose()) {
             System.out.println("Game Over");
         }
 
@@ -2,6 +2,8 @@ package core.components;
 
 import core.CoreConstants;
 import core.interfaces.IComponentContainer;
+import core.properties.Property;
+import core.properties.PropertyString;
 import utilities.Utils;
 
 import java.util.*;
@@ -13,6 +15,10 @@ public class Area extends Component implements IComponentContainer<Component> {
 
     // Collection of components stored in this area, mapping to their IDs
     protected HashMap<Integer, Component> components;
+    // For each indexed property ID, the lowest key of a component with each string value of that property. As for
+    // GraphBoard, this is shared with copies, so it is replaced rather than changed, and dropped when a component
+    // is added or removed.
+    private Map<Integer, Map<String, Integer>> propertyIndex;
 
     public Area(int owner, String name) {
         super(Utils.ComponentType.AREA, "");
@@ -32,6 +38,7 @@ public class Area extends Component implements IComponentContainer<Component> {
         for (Map.Entry<Integer, Component> c: this.components.entrySet()){
             new_area.components.put(c.getKey(), c.getValue().copy());
         }
+        new_area.propertyIndex = propertyIndex;
         copyComponentTo(new_area);
         return new_area;
     }
@@ -54,6 +61,7 @@ public class Area extends Component implements IComponentContainer<Component> {
      */
     public void clear() {
         components.clear();
+        propertyIndex = null;
     }
 
     /**
@@ -83,6 +91,45 @@ public class Area extends Component implements IComponentContainer<Component> {
         return this.components.get(key);
     }
 
+    /**
+     * Retrieve a component by the value of one of its string properties. The components are indexed by the values of
+     * the property when it is first looked up. Unlike the nodes of a GraphBoard, components do not tell the area when
+     * their properties change, so the component found is checked, and the index rebuilt if it no longer matches or
+     * nothing is found.
+     * @param propId - ID of the property to look for.
+     * @param value - String value of the property.
+     * @return - the component with the lowest key that has that value of the property, or null if there is none.
+     */
+    public Component getComponentByProperty(int propId, String value) {
+        Map<String, Integer> index = propertyIndex == null ? null : propertyIndex.get(propId);
+        if (index != null) {
+            Integer key = index.get(value);
+            Component c = key == null ? null : components.get(key);
+            if (c != null && hasValue(c, propId, value))
+                return c;
+        }
+        Integer key = indexProperty(propId).get(value);
+        return key == null ? null : components.get(key);
+    }
+
+    private static boolean hasValue(Component c, int propId, String value) {
+        Property prop = c.getProperty(propId);
+        return prop instanceof PropertyString && ((PropertyString) prop).value.equals(value);
+    }
+
+    private Map<String, Integer> indexProperty(int propId) {
+        Map<String, Integer> index = new HashMap<>();
+        for (Map.Entry<Integer, Component> e : components.entrySet()) {
+            Property prop = e.getValue().getProperty(propId);
+            if (prop instanceof PropertyString)
+                index.merge(((PropertyString) prop).value, e.getKey(), Math::min);
+        }
+        Map<Integer, Map<String, Integer>> newIndex = propertyIndex == null ? new HashMap<>() : new HashMap<>(propertyIndex);
+        newIndex.put(propId, index);
+        propertyIndex = newIndex;
+        return index;
+    }
+
     /**
      * Adds a component to the collection.
      * @param key - key for the component.
@@ -90,6 +137,7 @@ public class Area extends Component implements IComponentContainer<Component> {
      */
     public void putComponent(Integer key, Component component) {
         this.components.put(key, component);
+        propertyIndex = null;
     }
 
     /**
@@ -98,6 +146,7 @@ public class Area extends Component implements IComponentContainer<Component> {
      */
     public void putComponent(Component component) {
         this.components.put(component.getComponentID(), component);
+        propertyIndex = null;
         if (component instanceof IComponentContainer) {
             for (Component nestedC : ((IComponentContainer<?>) component).getComponents()) {
                 if (nestedC != null)
@@ -111,6 +160,7 @@ public class Area extends Component implements IComponentContainer<Component> {
             throw new IllegalArgumentException("Not yet implemented for Decks or Areas");
         if (components.containsKey(component.componentID)) {
             this.components.remove(component.componentID);
+            propertyIndex = null;
         } else {
             throw new IllegalArgumentException("Cannot remove Component as it is not here : " + component.componentID);
         }
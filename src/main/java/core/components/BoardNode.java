@@ -7,12 +7,16 @@ import utilities.Utils;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 
 public class BoardNode extends Component {
 
     private HashSet<BoardNode> neighbours;  // Neighbours of this board node
     private HashMap<BoardNode, Integer> neighbourSideMapping;  // Neighbours mapping to a side of this board node
     private int maxNeighbours;  // Maximum number of neighbours for this board node
+    // A copied node takes its neighbours from the topology of its board when they are first asked for
+    private GraphBoard board;
+    private int boardIndex = -1;
 
     public BoardNode(int maxNeighbours, String name) {
         super(Utils.ComponentType.BOARD_NODE, name);
@@ -37,6 +41,7 @@ public class BoardNode extends Component {
      * @param neighbour - new neighbour of this node.
      */
     public void addNeighbour(BoardNode neighbour) {
+        changingNeighbours();
         if (neighbours.size() <= maxNeighbours || maxNeighbours == -1) {
             neighbours.add(neighbour);
         }
@@ -48,6 +53,7 @@ public class BoardNode extends Component {
      * @return - true if removed successfully, false otherwise. may fail if neighbour didn't exist in the first place.
      */
     public boolean removeNeighbour(BoardNode neighbour) {
+        changingNeighbours();
         if (neighbours.contains(neighbour)) {
             neighbours.remove(neighbour);
             neighbourSideMapping.remove(neighbour);
@@ -63,6 +69,7 @@ public class BoardNode extends Component {
      * @return - true if added successfully, false otherwise. may fail if too many neighbours added already.
      */
     public boolean addNeighbour(BoardNode neighbour, int side) {
+        changingNeighbours();
         if (neighbours.size() <= maxNeighbours && side <= maxNeighbours || maxNeighbours == -1) {
             if (!(neighbours.contains(neighbour)) && !(neighbourSideMapping.containsKey(neighbour))) {
                 neighbours.add(neighbour);
@@ -84,9 +91,12 @@ public class BoardNode extends Component {
     }
 
     /**
-     * @return the neighbours of this node.
+     * @return the neighbours of this node. This set must not be changed directly (use addNeighbour() and
+     * removeNeighbour(), so that the board knows its topology has changed).
      */
     public HashSet<BoardNode> getNeighbours() {
+        if (neighbours == null)
+            setNeighboursFromBoard();
         return neighbours;
     }
 
@@ -94,9 +104,66 @@ public class BoardNode extends Component {
      * @return the neighbours mapping to sides of this node.
      */
     public HashMap<BoardNode, Integer> getNeighbourSideMapping() {
+        if (neighbours == null)
+            setNeighboursFromBoard();
         return neighbourSideMapping;
     }
 
+    /**
+     * Used by GraphBoard.copy(), which shares the topology of the original board with the copy. The board is then
+     * told of any change to the neighbours of this node.
+     * @param keepNeighbours - if false, then the neighbours of this node are only created (from the board's
+     *                       topology) if they are asked for.
+     */
+    void setBoard(GraphBoard board, int boardIndex, boolean keepNeighbours) {
+        this.board = board;
+        this.boardIndex = boardIndex;
+        if (!keepNeighbours) {
+            this.neighbours = null;
+            this.neighbourSideMapping = null;
+        }
+    }
+
+    /**
+     * @return the position of this node in the nodes of the board, or -1 if it is not linked to the board.
+     */
+    int getBoardIndex(GraphBoard board) {
+        return this.board == board ? boardIndex : -1;
+    }
+
+    /**
+     * Makes sure this node has its own neighbours (taken from the board's topology if need be).
+     */
+    void setNeighboursFromBoard() {
+        if (neighbours != null)
+            return;
+        List<BoardNode> nodes = board.getBoardNodes();
+        int[] adjacent = board.topology.neighbours[boardIndex];
+        int[] sides = board.topology.sides[boardIndex];
+        neighbours = new HashSet<>();
+        neighbourSideMapping = new HashMap<>();
+        for (int i = 0; i < adjacent.length; i++) {
+            BoardNode neighbour = nodes.get(adjacent[i]);
+            neighbours.add(neighbour);
+            if (sides[i] >= 0)
+                neighbourSideMapping.put(neighbour, sides[i]);
+        }
+    }
+
+    @Override
+    public void setProperty(Property prop) {
+        if (board != null)
+            board.propertyChanging(prop.getHashKey());
+        super.setProperty(prop);
+    }
+
+    private void changingNeighbours() {
+        if (board != null)
+            board.topologyChanging();
+        else if (neighbours == null)
+            throw new AssertionError("Board node " + componentID + " has neither its own neighbours nor a board");
+    }
+
     /**
      * @return - maximum number of neighbours for this board node.
      */
@@ -122,8 +189,7 @@ public class BoardNode extends Component {
 
         StringBuilder sb = new StringBuilder();
         sb.append("{id: " + componentID + "; maxNeighbours: " + maxNeighbours + "; ");
-        for(int prop_key : properties.keySet()) {
-            Property prop = properties.get(prop_key);
+        for(Property prop : getProperties().values()) {
             sb.append(prop.getHashString() + ": " +  prop.toString() + "; ");
         }
 
@@ -6,25 +6,44 @@ import org.json.simple.JSONObject;
 import utilities.Utils.ComponentType;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Properties are held in two maps. The shared map is never changed once it has been created, and is shared between a
+ * component and all its copies: it holds the properties loaded from JSON, such as names, colours and coordinates. The
+ * other map holds the properties that belong to this component alone: any that have been set since it was loaded,
+ * and any mutable properties (see Property.isMutable()) from the shared map that are to be changed in place. These
+ * are copied into the component's own map by getPropertyForUpdate(), so reading a property never copies it.
+ * Copying a component therefore only copies its own properties, which are usually few.
+ */
 public abstract class Component {
-    private static int ID = 0;  // All components receive a unique and final ID from this always increasing counter
+    // All components receive a unique and final ID from this always increasing counter, which is shared by all threads
+    private static final AtomicInteger ID = new AtomicInteger();
 
     protected final int componentID;  // Unique ID of this component
     protected final ComponentType type;  // Type of this component
-    protected final HashMap<Integer, Property> properties;  // Maps between integer key for the property and the property object
+    protected final HashMap<Integer, Property> properties;  // Properties of this component alone, by integer key
+    private Map<Integer, Property> sharedProperties = Collections.emptyMap();  // Properties shared with copies
     protected int ownerId = -1;  // By default belongs to the game
     protected String componentName;  // Name of this component
 
+    /**
+     * @return the ID the next component created will receive; every component created so far has a lower ID (copies
+     * keep the ID of the component they copy)
+     */
+    public static int getNextComponentID() {
+        return ID.get();
+    }
+
     public Component(ComponentType type, String name) {
-        this.componentID = ID++;
+        this.componentID = ID.getAndIncrement();
         this.type = type;
         this.componentName = name;
         this.properties = new HashMap<>();
     }
 
     public Component(ComponentType type) {
-        this.componentID = ID++;
+        this.componentID = ID.getAndIncrement();
         this.type = type;
         this.componentName = type.toString();
         this.properties = new HashMap<>();
@@ -63,7 +82,11 @@ public abstract class Component {
      */
     public int getNumProperties()
     {
-        return properties.size();
+        int retValue = properties.size();
+        for (int key : sharedProperties.keySet())
+            if (!properties.containsKey(key))
+                retValue++;
+        return retValue;
     }
 
     /**
@@ -101,21 +124,47 @@ public abstract class Component {
     }
 
     /**
-     * Get the full map of properties.
+     * Get the full map of properties. This is a new map, so adding or removing entries does not change the component
+     * (use setProperty() for that), but the properties in it are those of the component.
      * @return - mapping from property integer key to property objects.
      */
     public HashMap<Integer, Property> getProperties() {
-        return properties;
+        HashMap<Integer, Property> retValue = new HashMap<>();
+        for (int key : sharedProperties.keySet())
+            retValue.put(key, getProperty(key));
+        retValue.putAll(properties);
+        return retValue;
     }
 
     /**
-     * Gets a property from the properties.
+     * Gets a property from the properties. This may be shared with copies of the component, so must not be changed
+     * in place; use getPropertyForUpdate() for that.
      * @param propId id of the property to look for
      * @return the property value. Null if it doesn't exist.
      */
     public Property getProperty(int propId)
     {
-        return properties.get(propId);
+        Property prop = properties.get(propId);
+        return prop == null ? sharedProperties.get(propId) : prop;
+    }
+
+    /**
+     * Gets a property whose value is to be changed in place (such as the array of a PropertyIntArray). If it is
+     * shared with copies of this component, then this component is first given a copy of its own.
+     * @param propId id of the property to look for
+     * @return the property value. Null if it doesn't exist.
+     */
+    public Property getPropertyForUpdate(int propId)
+    {
+        Property prop = properties.get(propId);
+        if (prop == null) {
+            prop = sharedProperties.get(propId);
+            if (prop != null && prop.isMutable()) {
+                prop = prop.copy();
+                properties.put(propId, prop);
+            }
+        }
+        return prop;
     }
 
     /**
@@ -194,6 +243,7 @@ public abstract class Component {
                 }
             }
         }
+        c.shareProperties();
 
         return c;
     }
@@ -204,15 +254,30 @@ public abstract class Component {
      */
     public void copyComponentTo(Component copyTo)
     {
+        copyTo.sharedProperties = sharedProperties;
         copyTo.properties.clear();
-        for (int prop_key : this.properties.keySet()) {
-            Property newProp = this.properties.get(prop_key).copy();
-            copyTo.setProperty(newProp);
+        for (Map.Entry<Integer, Property> entry : properties.entrySet()) {
+            Property prop = entry.getValue();
+            copyTo.properties.put(entry.getKey(), prop.isMutable() ? prop.copy() : prop);
         }
         copyTo.ownerId = ownerId;
         copyTo.componentName = componentName;
     }
 
+    /**
+     * Moves this component's own properties into a new shared map, once they have been loaded (and before the
+     * component can have been copied). Mutable properties are then copied by getPropertyForUpdate() before they are
+     * changed.
+     */
+    private void shareProperties() {
+        if (!properties.isEmpty()) {
+            HashMap<Integer, Property> merged = new HashMap<>(sharedProperties);
+            merged.putAll(properties);
+            sharedProperties = Collections.unmodifiableMap(merged);
+            properties.clear();
+        }
+    }
+
     @Override
     public String toString() {
         return "Component{" +
@@ -220,7 +285,7 @@ public abstract class Component {
                 ", type=" + type +
                 ", ownerId=" + ownerId +
                 ", componentName='" + componentName + '\'' +
-                ", properties=" + properties +
+                ", properties=" + getProperties() +
                 '}';
     }
 
@@ -5,6 +5,7 @@ import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
+import utilities.RingList;
 import utilities.Utils.ComponentType;
 
 import java.io.FileReader;
@@ -24,7 +25,7 @@ import static core.CoreConstants.VisibilityMode;
 public class Deck<T extends Component> extends Component implements IComponentContainer<T> {
 
     protected int capacity;  // Capacity of the deck (maximum number of elements)
-    protected ArrayList<T> components;  // List of components in this deck
+    protected RingList<T> components;  // List of components in this deck, with the top at index 0
     protected VisibilityMode visibility;
 
     public Deck(String name, VisibilityMode visibility) {
@@ -33,7 +34,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     public Deck(String name, int ownerId, VisibilityMode visibility) {
         super(ComponentType.DECK, name);
-        this.components = new ArrayList<>();
+        this.components = new RingList<>();
         this.ownerId = ownerId;
         this.capacity = -1;
         this.visibility = visibility;
@@ -41,7 +42,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
 
     protected Deck(String name, int ownerId, int ID, VisibilityMode visibility) {
         super(ComponentType.DECK, name, ID);
-        this.components = new ArrayList<>();
+        this.components = new RingList<>();
         this.capacity = -1;
         this.ownerId = ownerId;
         this.visibility = visibility;
@@ -71,9 +72,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      */
     public T pick(int idx) {
         if(components.size() > 0 && idx < components.size() && idx >= 0) {
-            T c = components.get(idx);
-            components.remove(idx);
-            return c;
+            return components.remove(idx);
         }
         return null;
     }
@@ -283,7 +282,7 @@ public class Deck<T extends Component> extends Component implements IComponentCo
      * @param components - new components for the deck, overrides old content.
      */
     public void setComponents(ArrayList<T> components) {
-        this.components = components;
+        this.components = new RingList<>(components);
         for (T comp: components) {
             comp.setOwnerId(ownerId);
         }
@@ -329,10 +328,10 @@ public class Deck<T extends Component> extends Component implements IComponentCo
     }
 
     protected void copyTo(Deck<T> deck) {
-        ArrayList<T> newComponents = new ArrayList<>();
-        for (T c : components)
+        RingList<T> newComponents = components.copy();
+        for (int i = 0; i < newComponents.size(); i++)
         {
-            newComponents.add((T)c.copy());
+            newComponents.set(i, (T) newComponents.get(i).copy());
         }
         deck.components = newComponents;
         deck.capacity = capacity;
@@ -21,6 +21,109 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
 
     // List of nodes in the board graph
     protected List<BoardNode> boardNodes;
+    // The neighbours of each node, shared with copies until either board's nodes or connections are changed
+    Topology topology;
+    // For each indexed property ID, the index of the first node with each string value of that property. Like the
+    // topology this is shared with copies, so it is replaced rather than changed.
+    private Map<Integer, Map<String, Integer>> propertyIndex;
+
+    /**
+     * The connections between the nodes of a board, by their index in boardNodes. This is never changed once
+     * created, so can be shared by all the copies of a board.
+     */
+    static final class Topology {
+        final int[] ids;  // component ID of each node
+        final int[][] neighbours;  // indices of the neighbours of each node
+        final int[][] sides;  // side of each of those neighbours, or -1 if they are not mapped to a side
+        private volatile Paths paths;
+
+        private Topology(int[] ids, int[][] neighbours, int[][] sides) {
+            this.ids = ids;
+            this.neighbours = neighbours;
+            this.sides = sides;
+        }
+
+        /**
+         * @return the topology of the nodes, or null if any of them has a neighbour that is not in the list.
+         */
+        static Topology of(List<BoardNode> nodes) {
+            int n = nodes.size();
+            Map<BoardNode, Integer> index = new HashMap<>(n * 2);
+            int[] ids = new int[n];
+            for (int i = 0; i < n; i++) {
+                index.put(nodes.get(i), i);
+                ids[i] = nodes.get(i).getComponentID();
+            }
+            int[][] neighbours = new int[n][];
+            int[][] sides = new int[n][];
+            for (int i = 0; i < n; i++) {
+                BoardNode bn = nodes.get(i);
+                neighbours[i] = new int[bn.getNeighbours().size()];
+                sides[i] = new int[neighbours[i].length];
+                int j = 0;
+                for (BoardNode neighbour : bn.getNeighbours()) {
+                    Integer k = index.get(neighbour);
+                    if (k == null)
+                        return null;
+                    neighbours[i][j] = k;
+                    sides[i][j++] = bn.getNeighbourSideMapping().getOrDefault(neighbour, -1);
+                }
+            }
+            return new Topology(ids, neighbours, sides);
+        }
+
+        /**
+         * @return the shortest paths between the nodes, worked out the first time they are asked for
+         */
+        Paths paths() {
+            Paths retValue = paths;
+            if (retValue == null) {
+                retValue = new Paths(neighbours);
+                paths = retValue;
+            }
+            return retValue;
+        }
+    }
+
+    /**
+     * The shortest paths (in number of connections) between every pair of nodes of a topology, found by a breadth
+     * first search from each node.
+     */
+    static final class Paths {
+        final int[][] distance;  // number of connections from one node to another, or -1 if there is no path
+        final int[][] nextHop;  // the neighbour of the first node that is first on a shortest path to the second
+        final int[][] byDistance;  // the nodes reachable from each node, in order of distance from it
+
+        private Paths(int[][] neighbours) {
+            int n = neighbours.length;
+            distance = new int[n][];
+            nextHop = new int[n][];
+            byDistance = new int[n][];
+            int[] queue = new int[n];
+            for (int from = 0; from < n; from++) {
+                int[] d = new int[n];
+                int[] hop = new int[n];
+                Arrays.fill(d, -1);
+                Arrays.fill(hop, -1);
+                d[from] = 0;
+                int head = 0, tail = 0;
+                queue[tail++] = from;
+                while (head < tail) {
+                    int node = queue[head++];
+                    for (int next : neighbours[node]) {
+                        if (d[next] < 0) {
+                            d[next] = d[node] + 1;
+                            hop[next] = node == from ? next : hop[node];
+                            queue[tail++] = next;
+                        }
+                    }
+                }
+                distance[from] = d;
+                nextHop[from] = hop;
+                byDistance[from] = Arrays.copyOf(queue, tail);
+            }
+        }
+    }
 
     public GraphBoard(String name)
     {
@@ -48,10 +151,58 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
 
     /**
      * Copy method, to be implemented by all subclasses.
+     * The nodes are copied, but the connections between them are shared with the copy (and the neighbours of each
+     * copied node are only created if they are asked for), so the cost of a copy does not depend on the number of
+     * connections.
+     * This must not change this board or its nodes, as one board may be copied by several threads at once (the
+     * boards of AbstractGameData are). So if the board has no topology, because it has been changed since it was
+     * loaded or last queried, the copy is given a topology of its own, and this board is left as it is.
      * @return - a new instance of this Board, deep copy.
      */
     @Override
     public GraphBoard copy()
+    {
+        Topology shared = topology != null ? topology : Topology.of(boardNodes);
+        if (shared == null)
+            return copyAll();
+        GraphBoard b = new GraphBoard(componentName, componentID);
+        List<BoardNode> nodeCopies = new ArrayList<>(boardNodes.size());
+        for (BoardNode bn : boardNodes) {
+            BoardNode bnCopy = new BoardNode(bn.getMaxNeighbours(), "", bn.getComponentID());
+            bn.copyComponentTo(bnCopy);
+            nodeCopies.add(bnCopy);
+        }
+        b.boardNodes = nodeCopies;
+        b.topology = shared;
+        b.propertyIndex = propertyIndex;
+        for (int i = 0; i < nodeCopies.size(); i++)
+            nodeCopies.get(i).setBoard(b, i, false);
+        copyComponentTo(b);
+        return b;
+    }
+
+    /**
+     * Makes sure the board has a topology, and that its nodes know they are on it (so that the board is told of any
+     * change to their connections or indexed properties). This is done when a board is loaded, and again by the
+     * first query that needs it after the board is changed, but never by copy().
+     * @return - false if the nodes have neighbours that are not on the board, so there can be no topology.
+     */
+    private boolean linkNodes()
+    {
+        if (topology == null) {
+            topology = Topology.of(boardNodes);
+            if (topology == null)
+                return false;
+            for (int i = 0; i < boardNodes.size(); i++)
+                boardNodes.get(i).setBoard(this, i, true);
+        }
+        return true;
+    }
+
+    /**
+     * Copies a board with nodes connected to nodes that are not on it, by copying each connection.
+     */
+    private GraphBoard copyAll()
     {
         GraphBoard b = new GraphBoard(componentName, componentID);
         HashMap<Integer, BoardNode> nodeCopies = new HashMap<>();
@@ -85,6 +236,8 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
      * @return - node matching property.
      */
     public BoardNode getNodeByProperty(int prop_id, Property p) {
+        if (p instanceof PropertyString)
+            return getNodeByStringProperty(prop_id, ((PropertyString) p).value);
         for (BoardNode n : boardNodes) {
             Property prop = n.getProperty(prop_id);
             if(prop != null)
@@ -97,14 +250,105 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
     }
 
     /**
-     * Returns the node in the list which matches the given string property
+     * Returns the node in the list which matches the given string property. The nodes are indexed by the values of
+     * the property the first time it is looked up, so later look ups do not search the board.
      * @param prop_id - ID of the property to look for.
      * @param value - String value for the property.
      * @return - node matching property
      */
     public BoardNode getNodeByStringProperty(int prop_id, String value)
     {
-        return getNodeByProperty(prop_id, new PropertyString(value));
+        Map<String, Integer> index = propertyIndex == null ? null : propertyIndex.get(prop_id);
+        if (index == null) {
+            if (!linkNodes()) {
+                for (BoardNode n : boardNodes) {
+                    Property prop = n.getProperty(prop_id);
+                    if (prop instanceof PropertyString && ((PropertyString) prop).value.equals(value))
+                        return n;
+                }
+                return null;
+            }
+            index = indexProperty(prop_id);
+        }
+        Integer i = index.get(value);
+        return i == null ? null : boardNodes.get(i);
+    }
+
+    private Map<String, Integer> indexProperty(int prop_id) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < boardNodes.size(); i++) {
+            Property prop = boardNodes.get(i).getProperty(prop_id);
+            if (prop instanceof PropertyString)
+                index.putIfAbsent(((PropertyString) prop).value, i);
+        }
+        Map<Integer, Map<String, Integer>> newIndex = propertyIndex == null ? new HashMap<>() : new HashMap<>(propertyIndex);
+        newIndex.put(prop_id, index);
+        propertyIndex = newIndex;
+        return index;
+    }
+
+    /**
+     * Called by a node on this board before one of its properties is set, so that the index of that property (if
+     * there is one) is rebuilt when next used.
+     */
+    void propertyChanging(int prop_id) {
+        if (propertyIndex != null && propertyIndex.containsKey(prop_id)) {
+            Map<Integer, Map<String, Integer>> newIndex = new HashMap<>(propertyIndex);
+            newIndex.remove(prop_id);
+            propertyIndex = newIndex;
+        }
+    }
+
+    /**
+     * The shortest paths between nodes are worked out once for the connections of a board, and shared with its
+     * copies, so after the first query this takes constant time.
+     * @param from - node on this board.
+     * @param to - node on this board.
+     * @return - the smallest number of connections between the nodes, or -1 if there is no path between them.
+     */
+    public int distance(BoardNode from, BoardNode to) {
+        return paths().distance[indexOf(from)][indexOf(to)];
+    }
+
+    /**
+     * @param from - node on this board.
+     * @param to - node on this board.
+     * @return - the neighbour of from that is the first step on a shortest path to to, or null if there is no path
+     * (or the nodes are the same).
+     */
+    public BoardNode nextHop(BoardNode from, BoardNode to) {
+        int hop = paths().nextHop[indexOf(from)][indexOf(to)];
+        return hop < 0 ? null : boardNodes.get(hop);
+    }
+
+    /**
+     * @param from - node on this board.
+     * @param k - maximum number of connections from the node.
+     * @return - the nodes at most k connections from the node (including itself), nearest first.
+     */
+    public List<BoardNode> getNodesWithin(BoardNode from, int k) {
+        Paths paths = paths();
+        int i = indexOf(from);
+        List<BoardNode> retValue = new ArrayList<>();
+        for (int j : paths.byDistance[i]) {
+            if (paths.distance[i][j] > k)
+                break;
+            retValue.add(boardNodes.get(j));
+        }
+        return retValue;
+    }
+
+    private Paths paths() {
+        if (!linkNodes())
+            throw new IllegalArgumentException("Board " + componentName + " has nodes connected to nodes that are not on it");
+        return topology.paths();
+    }
+
+    private int indexOf(BoardNode bn) {
+        int i = bn.getBoardIndex(this);
+        if (i < 0)
+            throw new IllegalArgumentException("Node " + bn.getComponentID() + " is not on board " + componentName);
+        return i;
     }
 
     /**
@@ -131,18 +375,37 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
      * @param boardNodes - new list of board nodes.
      */
     public void setBoardNodes(List<BoardNode> boardNodes) {
+        topologyChanging();
         this.boardNodes = boardNodes;
     }
 
     public void addBoardNode(BoardNode bn) {
+        topologyChanging();
         this.boardNodes.add(bn);
     }
 
     public void removeBoardNode(BoardNode bn) {
+        topologyChanging();
         this.boardNodes.remove(bn);
     }
 
+    /**
+     * Called before the nodes of the board or their connections are changed. Each node is given its own neighbours,
+     * as the topology it shares with copies of the board no longer applies to it.
+     */
+    void topologyChanging() {
+        if (topology == null)
+            return;
+        for (BoardNode bn : boardNodes) {
+            bn.setNeighboursFromBoard();
+            bn.setBoard(null, -1, true);
+        }
+        topology = null;
+        propertyIndex = null;
+    }
+
     public void breakConnection(BoardNode bn1, BoardNode bn2) {
+        topologyChanging();
         bn1.removeNeighbour(bn2);
         bn2.removeNeighbour(bn1);
 
@@ -167,6 +430,7 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
     }
 
     public void addConnection(BoardNode bn1, BoardNode bn2) {
+        topologyChanging();
         bn1.addNeighbour(bn2);
         bn2.addNeighbour(bn1);
         if (!boardNodes.contains(bn1)) {
@@ -234,12 +498,19 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
         int _hash_neighbours_ = Hash.GetInstance().hash(neighboursKey);
         int _hash_vertices_ = Hash.GetInstance().hash(verticesKey);
 
+        // the nodes are connected as they are found, so the board cannot index them yet
+        Map<String, BoardNode> vertices = new HashMap<>();
+        for (BoardNode bn : boardNodes) {
+            Property p = bn.getProperty(_hash_vertices_);
+            if (p instanceof PropertyString)
+                vertices.putIfAbsent(((PropertyString) p).value, bn);
+        }
         for (BoardNode bn : boardNodes) {
             Property p = bn.getProperty(_hash_neighbours_);
             if (p instanceof PropertyStringArray) {
                 PropertyStringArray psa = (PropertyStringArray) p;
                 for (String str : psa.getValues()) {
-                    BoardNode neigh = this.getNodeByProperty(_hash_vertices_, new PropertyString(str));
+                    BoardNode neigh = vertices.get(str);
                     if (neigh != null) {
                         bn.addNeighbour(neigh);
                         neigh.addNeighbour(bn);
@@ -247,6 +518,8 @@ public class GraphBoard extends Component implements IComponentContainer<BoardNo
                 }
             }
         }
+        // so that copies of the loaded board share its topology
+        linkNodes();
     }
 
     @Override
@@ -22,8 +22,8 @@ import static utilities.Utils.getNeighbourhood;
 
 public class GridBoard<T extends Component> extends Component implements IComponentContainer<T> {
 
-    private int width;  // Width of the board
-    private int height;  // Height of the board
+    protected int width;  // Width of the board
+    protected int height;  // Height of the board
 
     private Component[][] grid;  // 2D grid representation of this board
 
@@ -31,6 +31,10 @@ public class GridBoard<T extends Component> extends Component implements ICompon
         super(Utils.ComponentType.BOARD);
     }
 
+    protected GridBoard(int ID) {
+        super(Utils.ComponentType.BOARD, ID);
+    }
+
     public GridBoard(int width, int height) {
         super(Utils.ComponentType.BOARD);
         this.width = width;
@@ -189,7 +193,7 @@ public class GridBoard<T extends Component> extends Component implements ICompon
      * @param original - original grid to rotate
      * @return rotated grid
      */
-    private Component[][] rotateClockWise(Component[][] original) {
+    protected static Component[][] rotateClockWise(Component[][] original) {
         final int M = original.length;
         final int N = original[0].length;
         Component[][] grid = new Component[N][M];
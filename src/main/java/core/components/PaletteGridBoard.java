@@ -0,0 +1,247 @@
+package core.components;
+
+import org.json.simple.JSONObject;
+import utilities.Vector2D;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A GridBoard that holds its cells as one byte per cell, row after row, each the index of the cell's value in a
+ * palette of the distinct values on the board (so at most 256 of them). This suits boards with a few kinds of
+ * token, such as TicTacToe: a copy is one array copy, as the palette is shared with the copy until either adds a
+ * new value, and games can compare cells by their palette index (getValueIndex) rather than by the values.
+ * <p>
+ * Cells hold the same values as in a GridBoard, and values are matched with equals(), so a value equal to one
+ * already in the palette is stored as that one. getGridValues() returns a new array each time, so changes to it
+ * do not change the board.
+ */
+public class PaletteGridBoard<T extends Component> extends GridBoard<T> {
+
+    /**
+     * The palette index of the value the board was created with (null if none was given).
+     */
+    public static final int DEFAULT_INDEX = 0;
+    private static final int MAX_PALETTE_SIZE = 256;
+
+    private byte[] cells;
+    private Component[] palette;
+    private int paletteSize;
+    private boolean paletteShared;  // true if another board may use the palette array, which is then copied on write
+
+    public PaletteGridBoard(int width, int height) {
+        this(width, height, null);
+    }
+
+    public PaletteGridBoard(int width, int height, T defaultValue) {
+        super();
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+        this.palette = new Component[4];
+        palette[DEFAULT_INDEX] = defaultValue;
+        paletteSize = 1;
+    }
+
+    private PaletteGridBoard(PaletteGridBoard<T> orig) {
+        super(orig.getComponentID());
+        this.width = orig.width;
+        this.height = orig.height;
+        this.cells = orig.cells.clone();
+        this.palette = orig.palette;
+        this.paletteSize = orig.paletteSize;
+        orig.paletteShared = true;
+        this.paletteShared = true;
+    }
+
+    /**
+     * @return the palette index of the value, adding it to the palette if it is not there yet
+     */
+    private int paletteIndex(Component value) {
+        int index = lookUp(value);
+        if (index >= 0)
+            return index;
+        if (paletteSize == MAX_PALETTE_SIZE)
+            throw new IllegalArgumentException("A PaletteGridBoard can hold at most " + MAX_PALETTE_SIZE + " distinct values");
+        if (paletteShared || paletteSize == palette.length) {
+            palette = Arrays.copyOf(palette, paletteSize == palette.length ? 2 * palette.length : palette.length);
+            paletteShared = false;
+        }
+        palette[paletteSize] = value;
+        return paletteSize++;
+    }
+
+    /**
+     * @param value - value to look for.
+     * @return - the palette index of the value, or -1 if it is not in the palette.
+     */
+    public int getPaletteIndex(T value) {
+        return lookUp(value);
+    }
+
+    private int lookUp(Component value) {
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i] == value)
+                return i;
+        }
+        for (int i = 0; i < paletteSize; i++) {
+            if (Objects.equals(palette[i], value))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @param index - palette index.
+     * @return - the value with that index in the palette.
+     */
+    @SuppressWarnings("unchecked")
+    public T getPaletteValue(int index) {
+        if (index < 0 || index >= paletteSize)
+            throw new IllegalArgumentException("No value with palette index " + index);
+        return (T) palette[index];
+    }
+
+    /**
+     * Retrieves the palette index of the element at position (x, y).
+     *
+     * @param x - x coordinate in the grid.
+     * @param y - y coordinate in the grid.
+     * @return - palette index of the element at (x,y) in the grid, or -1 if the coordinates are out of bounds.
+     */
+    public int getValueIndex(int x, int y) {
+        if (x >= 0 && x < width && y >= 0 && y < height)
+            return cells[y * width + x] & 0xFF;
+        return -1;
+    }
+
+    /**
+     * @param index - palette index.
+     * @return - the number of cells holding the value with that index.
+     */
+    public int countCells(int index) {
+        int retValue = 0;
+        for (byte cell : cells) {
+            if ((cell & 0xFF) == index)
+                retValue++;
+        }
+        return retValue;
+    }
+
+    @Override
+    public boolean setElement(int x, int y, T value) {
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            cells[y * width + x] = (byte) paletteIndex(value);
+            return true;
+        } else
+            return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T getElement(int x, int y) {
+        if (x >= 0 && x < width && y >= 0 && y < height)
+            return (T) palette[cells[y * width + x] & 0xFF];
+        return null;
+    }
+
+    @Override
+    public void setWidthHeight(int width, int height, int offsetX, int offsetY) {
+        if (offsetX + this.width > width) offsetX = 0;
+        if (offsetY + this.height > height) offsetY = 0;
+
+        int w = Math.min(width, this.width);
+        int h = Math.min(height, this.height);
+
+        byte[] newCells = new byte[width * height];
+        Arrays.fill(newCells, (byte) paletteIndex(null));
+        for (int i = 0; i < h; i++) {
+            System.arraycopy(cells, i * this.width, newCells, (i + offsetY) * width + offsetX, w);
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = newCells;
+    }
+
+    /**
+     * Retrieves a copy of the grid; changes to it do not change the board.
+     *
+     * @return - 2D grid.
+     */
+    @Override
+    public Component[][] getGridValues() {
+        Component[][] grid = new Component[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                grid[y][x] = palette[cells[y * width + x] & 0xFF];
+            }
+        }
+        return grid;
+    }
+
+    @Override
+    public List<Vector2D> getEmptyCells(T defaultElement) {
+        List<Vector2D> emptyCells = new ArrayList<>();
+        int empty = getPaletteIndex(defaultElement);
+        int none = lookUp(null);
+        if (empty < 0 && none < 0)
+            return emptyCells;
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                int index = cells[i * width + j] & 0xFF;
+                if (index == empty || index == none) {
+                    emptyCells.add(new Vector2D(j, i));
+                }
+            }
+        }
+        return emptyCells;
+    }
+
+    @Override
+    public Component[][] rotate(int orientation) {
+        Component[][] grid = getGridValues();
+        orientation %= 4;  // Maximum 4 sides to a grid
+        for (int i = 0; i < orientation; i++) {
+            grid = rotateClockWise(grid);
+        }
+        return grid;
+    }
+
+    @Override
+    public Component[] flattenGrid() {
+        Component[] array = new Component[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            array[i] = palette[cells[i] & 0xFF];
+        }
+        return array;
+    }
+
+    @Override
+    public PaletteGridBoard<T> copy() {
+        PaletteGridBoard<T> g = new PaletteGridBoard<>(this);
+        copyComponentTo(g);
+        return g;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void loadBoard(JSONObject board) {
+        GridBoard<T> loaded = new GridBoard<>();
+        loaded.loadBoard(board);
+        loaded.copyComponentTo(this);
+        componentName = loaded.getComponentName();
+        width = loaded.getWidth();
+        height = loaded.getHeight();
+        cells = new byte[width * height];
+        palette = new Component[4];
+        paletteSize = 1;
+        paletteShared = false;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                setElement(x, y, loaded.getElement(x, y));
+            }
+        }
+    }
+}
@@ -2,10 +2,10 @@ package core.components;
 
 import core.AbstractGameState;
 import core.CoreConstants.VisibilityMode;
-import utilities.Pair;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
@@ -15,14 +15,25 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     // (true if player can see the deck, false otherwise)
     protected boolean[] deckVisibility;
 
-    // Visibility of each component in the deck, order corresponds to order of elements in the deck;
-    protected ArrayList<boolean[]> elementVisibility = new ArrayList<>();
+    // Visibility of each component in the deck, order corresponds to order of elements in the deck
+    // (bit p is set if player p can see the component, so there can be at most 64 players)
+    private VisibilityMasks elementVisibility = new VisibilityMasks();
 
     public boolean getVisibilityForPlayer(int elementIdx, int playerID) {
-        return elementVisibility.get(elementIdx)[playerID];
+        return (elementVisibility.get(elementIdx) & (1L << playerID)) != 0;
     }
 
+    /**
+     * @return a new array with the visibility of the component for each player.
+     */
     public boolean[] getVisibilityOfComponent(int elementIdx) {
+        return VisibilityMasks.toArray(elementVisibility.get(elementIdx), deckVisibility.length);
+    }
+
+    /**
+     * @return the visibility of the component as a bit mask, with bit p set if player p can see it.
+     */
+    public long getVisibilityMask(int elementIdx) {
         return elementVisibility.get(elementIdx);
     }
 
@@ -32,6 +43,8 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
 
     public PartialObservableDeck(String id, int ownerID, boolean[] defaultVisibility) {
         super(id, ownerID, VisibilityMode.MIXED_VISIBILITY);
+        if (defaultVisibility.length > 64)
+            throw new IllegalArgumentException("A PartialObservableDeck can have at most 64 players, not " + defaultVisibility.length);
         this.deckVisibility = defaultVisibility;
     }
 
@@ -60,13 +73,13 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
         if (playerID < 0 || playerID >= deckVisibility.length)
             throw new IllegalArgumentException("playerID " + playerID + " needs to be in range [0," + (deckVisibility.length - 1) + "]");
 
+        long bit = 1L << playerID;
         ArrayList<T> visibleComponents = new ArrayList<>(components.size());
         for (int i = 0; i < components.size(); i++) {
-            boolean[] b = elementVisibility.get(i);
-            if (b[playerID])
-                visibleComponents.add(i, components.get(i));
+            if ((elementVisibility.get(i) & bit) != 0)
+                visibleComponents.add(components.get(i));
             else
-                visibleComponents.add(i, null);
+                visibleComponents.add(null);
         }
         return visibleComponents;
     }
@@ -81,7 +94,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public boolean isComponentVisible(int idx, int playerID) {
         if (playerID < 0 || playerID >= deckVisibility.length)
             throw new IllegalArgumentException("playerID " + playerID + " needs to be in range [0," + (deckVisibility.length - 1) + "]");
-        return elementVisibility.get(idx)[playerID];
+        return getVisibilityForPlayer(idx, playerID);
     }
 
     /**
@@ -94,7 +107,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     public void setComponents(ArrayList<T> components, ArrayList<boolean[]> visibilityPerPlayer) {
         super.setComponents(components);
-        this.elementVisibility = visibilityPerPlayer;
+        setMasks(visibilityPerPlayer);
     }
 
     /**
@@ -107,7 +120,18 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
             if (b.length != this.deckVisibility.length)
                 throw new IllegalArgumentException("All entries of visibility need to have length " + deckVisibility.length +
                         " but at least one entry is of length " + b.length);
-        this.elementVisibility = visibility;
+        setMasks(visibility);
+    }
+
+    private void setMasks(ArrayList<boolean[]> visibility) {
+        elementVisibility.clear();
+        for (boolean[] b : visibility)
+            elementVisibility.add(VisibilityMasks.toMask(b));
+    }
+
+    // the visibility of a component added without any
+    private long defaultMask() {
+        return VisibilityMasks.toMask(deckVisibility);
     }
 
     /**
@@ -120,7 +144,9 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public void setVisibilityOfComponent(int index, int playerID, boolean visibility) {
         if (index >= 0 && index < elementVisibility.size()) {
             if (playerID >= 0 && playerID < deckVisibility.length)
-                this.elementVisibility.get(index)[playerID] = visibility;
+                this.elementVisibility.set(index, visibility ?
+                        elementVisibility.get(index) | (1L << playerID) :
+                        elementVisibility.get(index) & ~(1L << playerID));
             else
                 throw new IllegalArgumentException("playerID " + playerID + "needs to be in range [0," + deckVisibility.length + "]");
         } else {
@@ -136,7 +162,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      */
     public void setVisibilityOfComponent(int index, boolean[] visibility) {
         if (index >= 0 && index < elementVisibility.size()) {
-            this.elementVisibility.set(index, visibility.clone());
+            this.elementVisibility.set(index, VisibilityMasks.toMask(visibility));
         } else {
             throw new IllegalArgumentException("component index " + index + " needs to be in range [0," + components.size() + "]");
         }
@@ -164,7 +190,11 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @return true if not over capacity, false otherwise.
      */
     public boolean add(T c, int index, boolean[] visibilityPerPlayer) {
-        this.elementVisibility.add(index, visibilityPerPlayer.clone());
+        return add(c, index, VisibilityMasks.toMask(visibilityPerPlayer));
+    }
+
+    private boolean add(T c, int index, long mask) {
+        this.elementVisibility.add(index, 1, mask);
         return super.add(c, index);
     }
 
@@ -176,14 +206,18 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @return true if not over capacity, false otherwise.
      */
     public boolean add(Deck<T> d, int index) {
-        for (int i = 0; i < d.components.size(); i++) {
-            this.elementVisibility.add(index, deckVisibility.clone());
-        }
+        this.elementVisibility.add(index, d.components.size(), defaultMask());
+        return super.add(d, index);
+    }
+
+    @Override
+    public boolean add(Collection<T> d, int index) {
+        this.elementVisibility.add(index, d.size(), defaultMask());
         return super.add(d, index);
     }
 
     /**
-     * Adds a full other deck to this deck, ignoring capacity, and copies visibility as well.
+     * Adds a full other deck to the top of this deck, ignoring capacity, and copies visibility as well.
      *
      * @param d - other deck to add to this deck.
      * @return true if not over capacity, false otherwise.
@@ -191,21 +225,18 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public boolean add(PartialObservableDeck<T> d) {
         if (d == null)
             throw new IllegalArgumentException("d cannot be null");
-        elementVisibility.addAll(d.elementVisibility);
         for (int i = 0; i < deckVisibility.length; i++) {
             deckVisibility[i] &= d.deckVisibility[i];
         }
-        return super.add(d);
+        elementVisibility.add(0, d.elementVisibility);
+        return super.add(d, 0);
     }
 
     @Override
     public boolean add(Deck<T> d) {
         if (d == null)
             throw new IllegalArgumentException("d cannot be null");
-        for (int i = 0; i < d.getSize(); i++) {
-            elementVisibility.add(deckVisibility.clone());
-        }
-        return super.add(d);
+        return add(d, 0);
     }
 
     @Override
@@ -213,9 +244,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
         super.setComponents(components);
 
         elementVisibility.clear();
-        for (int i = 0; i < components.size(); i++) {
-            elementVisibility.add(deckVisibility.clone());
-        }
+        elementVisibility.add(0, components.size(), defaultMask());
     }
 
     @Override
@@ -230,12 +259,12 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
 
     @Override
     public boolean add(T c, int index) {
-        return add(c, index, deckVisibility);
+        return add(c, index, defaultMask());
     }
 
     @Override
     public boolean add(T c) {
-        return add(c, deckVisibility);
+        return add(c, 0, defaultMask());
     }
 
     @Override
@@ -255,35 +284,38 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
 
     @Override
     public void shuffle(Random rnd) {
-        Pair<ArrayList<T>, ArrayList<boolean[]>> shuffled = shuffleLists(components, elementVisibility, rnd);
-        components = shuffled.a;
-        elementVisibility = shuffled.b;
+        int[] indices = new int[components.size()];
+        for (int i = 0; i < indices.length; i++)
+            indices[i] = i;
+        shuffleIndices(indices, rnd, true);
     }
 
     /**
-     * Shuffles a list of components and associated visibility
-     *
-     * @param comps - list of components
-     * @param vis   - associated visibility
-     * @param rnd   - random number generator to be used in shuffling.
-     * @return - both lists shuffled, keeping the mapping from component to visibility at the same index.
+     * Shuffles the components at the given indices (and their visibility, if shuffleVisibility is true), leaving the
+     * rest in place. The random numbers used are those of Collections.shuffle() on a list of the same size.
      */
-    private Pair<ArrayList<T>, ArrayList<boolean[]>> shuffleLists(ArrayList<T> comps, ArrayList<boolean[]> vis, Random rnd) {
-        ArrayList<T> tmp_components = new ArrayList<>();
-        ArrayList<boolean[]> tmp_visibility = new ArrayList<>();
-
-        List<Integer> indexList = new ArrayList<>();
-        for (int i = 0; i < comps.size(); i++)
-            indexList.add(i);
-        Collections.shuffle(indexList, rnd);
-
-        for (int targetIndex = 0; targetIndex < indexList.size(); targetIndex++) {
-            int sourceIndex = indexList.get(targetIndex);
-            tmp_components.add(targetIndex, comps.get(sourceIndex));
-            tmp_visibility.add(targetIndex, vis.get(sourceIndex));
+    private void shuffleIndices(int[] indices, Random rnd, boolean shuffleVisibility) {
+        int n = indices.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++)
+            order[i] = i;
+        for (int i = n; i > 1; i--) {
+            int j = rnd.nextInt(i);
+            int tmp = order[i - 1];
+            order[i - 1] = order[j];
+            order[j] = tmp;
+        }
+        List<T> shuffledComponents = new ArrayList<>(n);
+        long[] shuffledVisibility = new long[n];
+        for (int i = 0; i < n; i++) {
+            shuffledComponents.add(components.get(indices[order[i]]));
+            shuffledVisibility[i] = elementVisibility.get(indices[order[i]]);
+        }
+        for (int i = 0; i < n; i++) {
+            components.set(indices[i], shuffledComponents.get(i));
+            if (shuffleVisibility)
+                elementVisibility.set(indices[i], shuffledVisibility[i]);
         }
-
-        return new Pair(tmp_components, tmp_visibility);
     }
 
     /**
@@ -294,33 +326,19 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
      * @param visible  - if true, shuffles only visible cards; otherwise, shuffles only hidden cards.
      */
     public void shuffleVisible(Random rnd, int playerId, boolean visible) {
-        ArrayList<T> visibleComponents = new ArrayList<>();
-        ArrayList<boolean[]> visibility = new ArrayList<>();
-        for (int i = 0; i < components.size(); i++) {
-            boolean[] b = elementVisibility.get(i);
-            if (b[playerId] == visible) {
-                visibleComponents.add(components.get(i));
-                visibility.add(b);
-            }
-        }
-        Pair<ArrayList<T>, ArrayList<boolean[]>> shuffled = shuffleLists(visibleComponents, visibility, rnd);
-
+        long bit = 1L << playerId;
         int n = 0;
-        for (int i = 0; i < components.size(); i++) {
-            boolean[] b = elementVisibility.get(i);
-            if (b[playerId] == visible) {
-                // Draw element from shuffled lists
-                components.set(i, shuffled.a.get(n));
-                /*
-                if other players can see a card, we know which card position they can see, but
-                not the actual card (otherwise, it would by definition be visible to us). Therefore
-                we do *not* shuffle element visibility, and keep this in the same order
-                */
-                if (visible)
-                    elementVisibility.set(i, shuffled.b.get(n));
-                n++;
-            }
+        int[] indices = new int[components.size()];
+        for (int i = 0; i < indices.length; i++) {
+            if (((elementVisibility.get(i) & bit) != 0) == visible)
+                indices[n++] = i;
         }
+        /*
+        if other players can see a card, we know which card position they can see, but
+        not the actual card (otherwise, it would by definition be visible to us). Therefore
+        we do *not* shuffle element visibility of hidden cards, and keep this in the same order
+        */
+        shuffleIndices(Arrays.copyOf(indices, n), rnd, visible);
     }
 
     public boolean[] getDeckVisibility() {
@@ -334,11 +352,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
 
         dp.deckVisibility = deckVisibility.clone();
 
-        ArrayList<boolean[]> newVisibility = new ArrayList<>();
-        for (boolean[] visibility : elementVisibility) {
-            newVisibility.add(visibility.clone());
-        }
-        dp.elementVisibility = newVisibility;
+        dp.elementVisibility = elementVisibility.copy();
 
         return dp;
     }
@@ -346,7 +360,7 @@ public class PartialObservableDeck<T extends Component> extends Deck<T> {
     public String toString(AbstractGameState gs, int playerID) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < components.size(); i++) {
-            if (!isComponentVisible(i, playerID) && gs.getCoreGameParameters().partialObservable)
+            if (!isComponentVisible(i, playerID) && gs.getCoreGameParameters().isPartialObservable())
                 sb.append("UNKNOWN");
             else
                 sb.append(components.get(i).toString());
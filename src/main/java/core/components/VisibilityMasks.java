@@ -0,0 +1,119 @@
+package core.components;
+
+/**
+ * The visibility of each component in a PartialObservableDeck, as one long per component (bit p set if player p can
+ * see it), held in a circular array like the RingList of the components, so that both change in the same way (and
+ * in constant time at either end).
+ */
+final class VisibilityMasks {
+
+    private long[] masks;  // length is always a power of 2
+    private int head;
+    private int size;
+
+    VisibilityMasks() {
+        masks = new long[8];
+    }
+
+    private VisibilityMasks(VisibilityMasks other) {
+        masks = other.masks.clone();
+        head = other.head;
+        size = other.size;
+    }
+
+    VisibilityMasks copy() {
+        return new VisibilityMasks(this);
+    }
+
+    static long toMask(boolean[] visibility) {
+        long retValue = 0;
+        for (int p = 0; p < visibility.length; p++)
+            if (visibility[p])
+                retValue |= 1L << p;
+        return retValue;
+    }
+
+    static boolean[] toArray(long mask, int nPlayers) {
+        boolean[] retValue = new boolean[nPlayers];
+        for (int p = 0; p < nPlayers; p++)
+            retValue[p] = (mask & (1L << p)) != 0;
+        return retValue;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int position(int index) {
+        return (head + index) & (masks.length - 1);
+    }
+
+    long get(int index) {
+        return masks[position(index)];
+    }
+
+    void set(int index, long mask) {
+        masks[position(index)] = mask;
+    }
+
+    void add(long mask) {
+        add(size, 1, mask);
+    }
+
+    /**
+     * Inserts n components with the same visibility at index.
+     */
+    void add(int index, int n, long mask) {
+        openGap(index, n);
+        for (int i = 0; i < n; i++)
+            masks[position(index + i)] = mask;
+    }
+
+    /**
+     * Inserts all the masks of another deck at index.
+     */
+    void add(int index, VisibilityMasks other) {
+        openGap(index, other.size);
+        for (int i = 0; i < other.size; i++)
+            masks[position(index + i)] = other.get(i);
+    }
+
+    private void openGap(int index, int n) {
+        if (size + n > masks.length) {
+            int capacity = masks.length;
+            while (capacity < size + n)
+                capacity <<= 1;
+            long[] newMasks = new long[capacity];
+            for (int i = 0; i < size; i++)
+                newMasks[i] = masks[position(i)];
+            masks = newMasks;
+            head = 0;
+        }
+        if (index < size - index) {
+            head = (head - n) & (masks.length - 1);
+            for (int i = 0; i < index; i++)
+                masks[position(i)] = masks[position(i + n)];
+        } else {
+            for (int i = size - 1; i >= index; i--)
+                masks[position(i + n)] = masks[position(i)];
+        }
+        size += n;
+    }
+
+    void remove(int index) {
+        if (index < size - 1 - index) {
+            for (int i = index; i > 0; i--)
+                masks[position(i)] = masks[position(i - 1)];
+            head = (head + 1) & (masks.length - 1);
+        } else {
+            for (int i = index; i < size - 1; i++)
+                masks[position(i)] = masks[position(i + 1)];
+        }
+        size--;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,111 @@
+package core.components.test;
+
+import core.components.Area;
+import core.components.Card;
+import core.components.Component;
+import core.properties.PropertyString;
+import org.junit.*;
+
+import static core.CoreConstants.nameHash;
+import static org.junit.Assert.*;
+
+public class AreaPropertyLookups {
+
+    // A, B and C, each named as its letter, with a colour that A and C share, under their own IDs (so A has the
+    // lowest key)
+    Area area;
+    Card a, b, c;
+    int colourHash = new PropertyString("colour", "").getHashKey();
+
+    private static Card card(String name, String colour) {
+        Card retValue = new Card(name);
+        retValue.setProperty(new PropertyString("name", name));
+        retValue.setProperty(new PropertyString("colour", colour));
+        return retValue;
+    }
+
+    @Before
+    public void setup() {
+        area = new Area(-1, "test");
+        a = card("A", "red");
+        b = card("B", "blue");
+        c = card("C", "red");
+        area.putComponent(c);
+        area.putComponent(a);
+        area.putComponent(b);
+    }
+
+    private static void rename(Component component, String name) {
+        component.setProperty(new PropertyString("name", name));
+    }
+
+    @Test
+    public void findsTheComponentWithTheLowestKey() {
+        assertSame(b, area.getComponentByProperty(nameHash, "B"));
+        assertSame(a, area.getComponentByProperty(colourHash, "red"));
+        assertSame(b, area.getComponentByProperty(colourHash, "blue"));
+        assertNull(area.getComponentByProperty(nameHash, "Z"));
+        assertNull(area.getComponentByProperty(colourHash, "A"));
+    }
+
+    @Test
+    public void renamingAComponent() {
+        assertSame(b, area.getComponentByProperty(nameHash, "B"));
+        rename(b, "Z");
+        assertSame(b, area.getComponentByProperty(nameHash, "Z"));
+        assertNull(area.getComponentByProperty(nameHash, "B"));
+        // a rename to the name of another component
+        rename(c, "A");
+        assertSame(a, area.getComponentByProperty(nameHash, "A"));
+        rename(a, "X");
+        assertSame(c, area.getComponentByProperty(nameHash, "A"));
+    }
+
+    @Test
+    public void addingAComponent() {
+        assertSame(a, area.getComponentByProperty(colourHash, "red"));
+        assertNull(area.getComponentByProperty(nameHash, "D"));
+        Card d = card("D", "red");
+        area.putComponent(-1, d);
+        assertSame(d, area.getComponentByProperty(nameHash, "D"));
+        // the new component has the lowest key, so is now the first red one
+        assertSame(d, area.getComponentByProperty(colourHash, "red"));
+
+        Card e = card("E", "green");
+        area.putComponent(e);
+        assertSame(e, area.getComponentByProperty(colourHash, "green"));
+    }
+
+    @Test
+    public void removingAComponent() {
+        assertSame(a, area.getComponentByProperty(colourHash, "red"));
+        area.removeComponent(a);
+        assertSame(c, area.getComponentByProperty(colourHash, "red"));
+        assertNull(area.getComponentByProperty(nameHash, "A"));
+        // replacing a component under the same key
+        area.putComponent(b.getComponentID(), card("B", "red"));
+        assertNotSame(b, area.getComponentByProperty(nameHash, "B"));
+        assertSame(area.getComponent(b.getComponentID()), area.getComponentByProperty(colourHash, "red"));
+
+        area.clear();
+        assertNull(area.getComponentByProperty(colourHash, "red"));
+    }
+
+    @Test
+    public void copiesAreLookedUpSeparately() {
+        // the index is built before the copy, so the copy starts by sharing it
+        assertSame(b, area.getComponentByProperty(nameHash, "B"));
+        Area copy = area.copy();
+        Component copyOfB = copy.getComponent(b.getComponentID());
+        rename(copyOfB, "Z");
+        copy.removeComponent(copy.getComponent(a.getComponentID()));
+
+        assertSame(copyOfB, copy.getComponentByProperty(nameHash, "Z"));
+        assertNull(copy.getComponentByProperty(nameHash, "B"));
+        assertSame(copy.getComponent(c.getComponentID()), copy.getComponentByProperty(colourHash, "red"));
+
+        assertSame(b, area.getComponentByProperty(nameHash, "B"));
+        assertNull(area.getComponentByProperty(nameHash, "Z"));
+        assertSame(a, area.getComponentByProperty(colourHash, "red"));
+    }
+}
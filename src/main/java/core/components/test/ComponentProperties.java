@@ -0,0 +1,59 @@
+package core.components.test;
+
+import core.components.Component;
+import core.components.Token;
+import core.properties.PropertyIntArray;
+import core.properties.PropertyString;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.*;
+
+import static org.junit.Assert.*;
+
+public class ComponentProperties {
+
+    int countsHash = "counts".hashCode();
+    int nameHash = "name".hashCode();
+    Token token;
+
+    @Before
+    public void setup() throws ParseException {
+        token = new Token("city");
+        Component.parseComponent(token, (JSONObject) new JSONParser().parse(
+                "{\"name\" : [\"String\", \"Atlanta\"], \"counts\" : [\"Integer[]\", [0, 1, 2]]}"));
+    }
+
+    @Test
+    public void readingDoesNotCopy() {
+        Token copy = token.copy();
+        assertSame(token.getProperty(countsHash), copy.getProperty(countsHash));
+        assertSame(token.getProperty(nameHash), copy.getProperty(nameHash));
+    }
+
+    @Test
+    public void copyingDoesNotChangeTheSource() {
+        PropertyIntArray counts = (PropertyIntArray) token.getPropertyForUpdate(countsHash);
+        token.copy();
+        token.copy();
+        assertSame(counts, token.getProperty(countsHash));
+        assertSame(counts, token.getPropertyForUpdate(countsHash));
+    }
+
+    @Test
+    public void updatesAreNotShared() {
+        Token copy = token.copy();
+        ((PropertyIntArray) copy.getPropertyForUpdate(countsHash)).getValues()[1] = 5;
+        assertArrayEquals(new int[]{0, 1, 2}, ((PropertyIntArray) token.getProperty(countsHash)).getValues());
+        assertArrayEquals(new int[]{0, 5, 2}, ((PropertyIntArray) copy.getProperty(countsHash)).getValues());
+
+        ((PropertyIntArray) token.getPropertyForUpdate(countsHash)).getValues()[0] = 3;
+        Token copyOfCopy = copy.copy();
+        assertArrayEquals(new int[]{0, 5, 2}, ((PropertyIntArray) copyOfCopy.getProperty(countsHash)).getValues());
+        assertArrayEquals(new int[]{3, 1, 2}, ((PropertyIntArray) token.getProperty(countsHash)).getValues());
+
+        copy.setProperty(new PropertyString("name", "Lagos"));
+        assertEquals("Atlanta", ((PropertyString) token.getProperty(nameHash)).value);
+        assertEquals("Lagos", ((PropertyString) copy.copy().getProperty(nameHash)).value);
+    }
+}
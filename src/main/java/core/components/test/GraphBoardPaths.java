@@ -0,0 +1,129 @@
+package core.components.test;
+
+import core.components.BoardNode;
+import core.components.GraphBoard;
+import org.junit.*;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class GraphBoardPaths {
+
+    // A - B
+    // |   |
+    // D - C      and F on its own
+    // |
+    // E
+    GraphBoard board;
+    BoardNode a, b, c, d, e, f;
+
+    @Before
+    public void setup() {
+        board = new GraphBoard("test");
+        a = new BoardNode(4, "A");
+        b = new BoardNode(4, "B");
+        c = new BoardNode(4, "C");
+        d = new BoardNode(4, "D");
+        e = new BoardNode(4, "E");
+        f = new BoardNode(4, "F");
+        board.addConnection(a, b);
+        board.addConnection(b, c);
+        board.addConnection(c, d);
+        board.addConnection(d, a);
+        board.addConnection(d, e);
+        board.addBoardNode(f);
+    }
+
+    @Test
+    public void distances() {
+        assertEquals(0, board.distance(a, a));
+        assertEquals(1, board.distance(a, b));
+        assertEquals(2, board.distance(a, c));
+        assertEquals(2, board.distance(a, e));
+        assertEquals(3, board.distance(b, e));
+        assertEquals(3, board.distance(e, b));
+        assertEquals(-1, board.distance(a, f));
+        assertEquals(-1, board.distance(f, e));
+    }
+
+    @Test
+    public void nextHops() {
+        assertEquals(d, board.nextHop(a, e));
+        assertEquals(d, board.nextHop(e, b));
+        assertEquals(b, board.nextHop(a, b));
+        // both of B's neighbours are on a shortest path to E
+        BoardNode hop = board.nextHop(b, e);
+        assertTrue(hop == a || hop == c);
+        assertNull(board.nextHop(a, a));
+        assertNull(board.nextHop(a, f));
+    }
+
+    @Test
+    public void nodesWithin() {
+        assertEquals(new HashSet<>(Arrays.asList(a, b, d)), new HashSet<>(board.getNodesWithin(a, 1)));
+        List<BoardNode> all = board.getNodesWithin(b, Integer.MAX_VALUE);
+        assertEquals(b, all.get(0));
+        assertEquals(e, all.get(all.size() - 1));
+        assertEquals(5, all.size());
+    }
+
+    @Test
+    public void pathsFollowChangesToTheBoard() {
+        assertEquals(3, board.distance(b, e));
+        board.addConnection(b, e);
+        assertEquals(1, board.distance(b, e));
+        assertEquals(e, board.nextHop(b, e));
+
+        GraphBoard copy = board.copy();
+        List<BoardNode> nodes = copy.getBoardNodes();
+        BoardNode copyOfA = nodes.get(board.getBoardNodes().indexOf(a));
+        BoardNode copyOfE = nodes.get(board.getBoardNodes().indexOf(e));
+        assertEquals(2, copy.distance(copyOfA, copyOfE));
+        board.breakConnection(d, e);
+        assertEquals(2, board.distance(a, e));
+        assertEquals(b, board.nextHop(a, e));
+        // the copy keeps the connection
+        BoardNode copyOfD = nodes.get(board.getBoardNodes().indexOf(d));
+        assertEquals(1, copy.distance(copyOfD, copyOfE));
+    }
+
+    @Test
+    public void copyDoesNotChangeTheSource() throws Exception {
+        // the board was built by adding connections, so it has no topology until it is queried
+        Field topology = GraphBoard.class.getDeclaredField("topology");
+        topology.setAccessible(true);
+        assertNull(topology.get(board));
+        Set<BoardNode> neighboursOfA = a.getNeighbours();
+
+        GraphBoard copy = board.copy();
+        assertNull(topology.get(board));
+        assertSame(neighboursOfA, a.getNeighbours());
+        assertNotNull(topology.get(copy));
+        // copies of the copy share its topology
+        assertSame(topology.get(copy), topology.get(copy.copy()));
+        assertEquals(3, copy.distance(copy.getBoardNodes().get(1), copy.getBoardNodes().get(4)));
+    }
+
+    @Test
+    public void concurrentCopiesAreAllComplete() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<GraphBoard>> copies = new ArrayList<>();
+            for (int i = 0; i < 200; i++)
+                copies.add(pool.submit(() -> board.copy()));
+            for (Future<GraphBoard> future : copies) {
+                GraphBoard copy = future.get();
+                List<BoardNode> nodes = copy.getBoardNodes();
+                assertEquals(board.getBoardNodes(), nodes);
+                assertEquals(3, copy.distance(nodes.get(1), nodes.get(4)));
+                assertEquals(-1, copy.distance(nodes.get(0), nodes.get(5)));
+                assertEquals(2, nodes.get(0).getNeighbours().size());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
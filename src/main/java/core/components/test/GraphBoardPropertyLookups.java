@@ -0,0 +1,148 @@
+package core.components.test;
+
+import core.components.BoardNode;
+import core.components.GraphBoard;
+import core.properties.PropertyString;
+import org.junit.*;
+
+import static core.CoreConstants.nameHash;
+import static org.junit.Assert.*;
+
+public class GraphBoardPropertyLookups {
+
+    // A - B - C - D - E, each named as its letter, with a colour that A and C share
+    GraphBoard board;
+    BoardNode a, b, c, d, e;
+    int colourHash = new PropertyString("colour", "").getHashKey();
+
+    private static BoardNode node(String name, String colour) {
+        BoardNode retValue = new BoardNode(4, name);
+        retValue.setProperty(new PropertyString("name", name));
+        retValue.setProperty(new PropertyString("colour", colour));
+        return retValue;
+    }
+
+    @Before
+    public void setup() {
+        board = new GraphBoard("test");
+        a = node("A", "red");
+        b = node("B", "blue");
+        c = node("C", "red");
+        d = node("D", "green");
+        e = node("E", "blue");
+        board.addConnection(a, b);
+        board.addConnection(b, c);
+        board.addConnection(c, d);
+        board.addConnection(d, e);
+    }
+
+    // the node of the board with the same ID as the given one (as a copy of it is)
+    private static BoardNode onBoard(GraphBoard board, BoardNode node) {
+        for (BoardNode n : board.getBoardNodes())
+            if (n.getComponentID() == node.getComponentID())
+                return n;
+        throw new AssertionError("Node " + node.getComponentName() + " is not on the board");
+    }
+
+    private static void rename(BoardNode node, String name) {
+        node.setProperty(new PropertyString("name", name));
+    }
+
+    @Test
+    public void findsTheFirstNodeWithEachValue() {
+        assertSame(c, board.getNodeByStringProperty(nameHash, "C"));
+        assertSame(c, board.getNodeByProperty(nameHash, new PropertyString("name", "C")));
+        assertSame(a, board.getNodeByStringProperty(colourHash, "red"));
+        assertSame(d, board.getNodeByStringProperty(colourHash, "green"));
+        assertNull(board.getNodeByStringProperty(nameHash, "Z"));
+        assertNull(board.getNodeByStringProperty(colourHash, "C"));
+    }
+
+    @Test
+    public void renamingANodeOnACopy() {
+        // both indexes are built before the copy, so the copy starts by sharing them
+        assertSame(b, board.getNodeByStringProperty(nameHash, "B"));
+        assertSame(a, board.getNodeByStringProperty(colourHash, "red"));
+        GraphBoard copy = board.copy();
+        BoardNode copyOfB = onBoard(copy, b);
+        rename(copyOfB, "Z");
+
+        assertSame(copyOfB, copy.getNodeByStringProperty(nameHash, "Z"));
+        assertNull(copy.getNodeByStringProperty(nameHash, "B"));
+        assertSame(onBoard(copy, c), copy.getNodeByStringProperty(nameHash, "C"));
+        // the index of a property that did not change is still right
+        assertSame(onBoard(copy, a), copy.getNodeByStringProperty(colourHash, "red"));
+
+        // and the source is as it was
+        assertSame(b, board.getNodeByStringProperty(nameHash, "B"));
+        assertNull(board.getNodeByStringProperty(nameHash, "Z"));
+        assertSame(a, board.getNodeByStringProperty(colourHash, "red"));
+    }
+
+    @Test
+    public void renamingANodeOnTheSource() {
+        assertSame(b, board.getNodeByStringProperty(nameHash, "B"));
+        GraphBoard copy = board.copy();
+        rename(b, "Z");
+        // the colour of the copy changes too, before its index of colours is built
+        onBoard(copy, a).setProperty(new PropertyString("colour", "black"));
+
+        assertSame(b, board.getNodeByStringProperty(nameHash, "Z"));
+        assertNull(board.getNodeByStringProperty(nameHash, "B"));
+        assertSame(a, board.getNodeByStringProperty(colourHash, "red"));
+
+        assertSame(onBoard(copy, b), copy.getNodeByStringProperty(nameHash, "B"));
+        assertNull(copy.getNodeByStringProperty(nameHash, "Z"));
+        assertSame(onBoard(copy, a), copy.getNodeByStringProperty(colourHash, "black"));
+        assertSame(onBoard(copy, c), copy.getNodeByStringProperty(colourHash, "red"));
+    }
+
+    @Test
+    public void addingANode() {
+        assertNull(board.getNodeByStringProperty(nameHash, "F"));
+        GraphBoard copy = board.copy();
+        BoardNode f = node("F", "red");
+        board.addConnection(e, f);
+
+        assertSame(f, board.getNodeByStringProperty(nameHash, "F"));
+        assertSame(e, board.getNodeByStringProperty(nameHash, "E"));
+        assertSame(a, board.getNodeByStringProperty(colourHash, "red"));
+        // a node renamed once the board has changed is found under its new name
+        rename(f, "G");
+        assertSame(f, board.getNodeByStringProperty(nameHash, "G"));
+        assertNull(board.getNodeByStringProperty(nameHash, "F"));
+
+        assertNull(copy.getNodeByStringProperty(nameHash, "F"));
+        assertEquals(5, copy.getBoardNodes().size());
+    }
+
+    @Test
+    public void addingALooseNode() {
+        assertNull(board.getNodeByStringProperty(nameHash, "F"));
+        BoardNode f = node("F", "white");
+        board.addBoardNode(f);
+        assertSame(f, board.getNodeByStringProperty(nameHash, "F"));
+        assertSame(f, board.getNodeByStringProperty(colourHash, "white"));
+    }
+
+    @Test
+    public void breakingAConnection() {
+        assertSame(e, board.getNodeByStringProperty(nameHash, "E"));
+        assertSame(d, board.getNodeByStringProperty(colourHash, "green"));
+        GraphBoard copy = board.copy();
+        // D is then the only neighbour E has, so E leaves the board
+        board.breakConnection(e, d);
+
+        assertNull(board.getNodeByStringProperty(nameHash, "E"));
+        assertSame(d, board.getNodeByStringProperty(nameHash, "D"));
+        assertSame(b, board.getNodeByStringProperty(colourHash, "blue"));
+        assertSame(d, board.getNodeByStringProperty(colourHash, "green"));
+
+        // the copy still has E, and the connection
+        BoardNode copyOfE = onBoard(copy, e);
+        assertSame(copyOfE, copy.getNodeByStringProperty(nameHash, "E"));
+        assertEquals(1, copy.distance(onBoard(copy, d), copyOfE));
+        rename(copyOfE, "Z");
+        assertSame(copyOfE, copy.getNodeByStringProperty(nameHash, "Z"));
+    }
+}
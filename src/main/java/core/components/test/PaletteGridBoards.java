@@ -0,0 +1,147 @@
+package core.components.test;
+
+import core.components.Component;
+import core.components.GridBoard;
+import core.components.PaletteGridBoard;
+import core.components.Token;
+import org.junit.*;
+import utilities.Vector2D;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class PaletteGridBoards {
+
+    Token empty = new Token("empty");
+    Token x = new Token("x");
+    Token o = new Token("o");
+
+    // a GridBoard with the same ID and cells as the board, to compare against
+    private static GridBoard<Token> gridBoardLike(PaletteGridBoard<Token> board) {
+        return new GridBoard<Token>(board.getGridValues(), board.getComponentID()) {
+        };
+    }
+
+    @Test
+    public void copiesShareThePaletteUntilEitherAddsAValue() {
+        PaletteGridBoard<Token> board = new PaletteGridBoard<>(3, 3, empty);
+        board.setElement(0, 0, x);
+        PaletteGridBoard<Token> copy = board.copy();
+        assertEquals(board, copy);
+
+        copy.setElement(1, 1, o);
+        assertEquals(2, copy.getPaletteIndex(o));
+        assertEquals(-1, board.getPaletteIndex(o));
+        assertSame(empty, board.getElement(1, 1));
+
+        Token other = new Token("other");
+        board.setElement(2, 2, other);
+        assertEquals(2, board.getPaletteIndex(other));
+        assertSame(other, board.getPaletteValue(2));
+        assertSame(o, copy.getPaletteValue(2));
+        assertSame(o, copy.getElement(1, 1));
+        assertSame(empty, copy.getElement(2, 2));
+
+        // a value already in the shared palette is used without copying it
+        PaletteGridBoard<Token> copyOfCopy = copy.copy();
+        copyOfCopy.setElement(2, 0, x);
+        assertEquals(1, copyOfCopy.getValueIndex(2, 0));
+        assertSame(empty, copy.getElement(2, 0));
+        assertEquals(2, copy.countCells(1) + copy.countCells(2));
+    }
+
+    @Test
+    public void paletteHoldsAtMost256Values() {
+        PaletteGridBoard<Token> board = new PaletteGridBoard<>(16, 17);
+        Token[] tokens = new Token[255];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = new Token("t" + i);
+            board.setElement(i % 16, i / 16, tokens[i]);
+        }
+        // indices above 127 are read as unsigned bytes
+        assertEquals(255, board.getValueIndex(14, 15));
+        assertSame(tokens[254], board.getElement(14, 15));
+        assertSame(tokens[254], board.getPaletteValue(255));
+
+        // values already in the palette can still be set
+        assertTrue(board.setElement(0, 16, tokens[200]));
+        assertTrue(board.setElement(1, 16, null));
+        try {
+            board.setElement(2, 16, new Token("one too many"));
+            fail("The palette is full");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertNull(board.getElement(2, 16));
+    }
+
+    @Test
+    public void resizingMatchesGridBoard() {
+        PaletteGridBoard<Token> board = new PaletteGridBoard<>(3, 2, empty);
+        board.setElement(0, 0, x);
+        board.setElement(2, 1, o);
+        GridBoard<Token> grid = gridBoardLike(board);
+
+        // grow with an offset, then with offsets too big to fit (which are ignored), then shrink
+        int[][] sizes = {{5, 4, 1, 2}, {6, 5, 3, 4}, {2, 3, 1, 1}, {2, 1, 0, 0}};
+        for (int[] size : sizes) {
+            board.setWidthHeight(size[0], size[1], size[2], size[3]);
+            grid.setWidthHeight(size[0], size[1], size[2], size[3]);
+            assertEquals(size[0], board.getWidth());
+            assertEquals(size[1], board.getHeight());
+            assertEquals(Arrays.asList(grid.flattenGrid()), Arrays.asList(board.flattenGrid()));
+            if (size == sizes[0]) {
+                assertSame(x, board.getElement(1, 2));
+                assertSame(o, board.getElement(3, 3));
+                // new cells are null, as in GridBoard, rather than the value the board was created with
+                assertNull(board.getElement(0, 0));
+            }
+        }
+    }
+
+    @Test
+    public void equalToGridBoardWithTheSameCells() {
+        PaletteGridBoard<Token> board = new PaletteGridBoard<>(3, 3, empty);
+        board.setElement(1, 2, x);
+        board.setElement(0, 1, o);
+        GridBoard<Token> grid = gridBoardLike(board);
+        assertEquals(grid, board);
+        assertEquals(board, grid);
+        assertEquals(grid.hashCode(), board.hashCode());
+
+        // a value equal to one in the palette (same ID) is stored as that one
+        board.setElement(2, 2, x.copy());
+        assertSame(x, board.getElement(2, 2));
+        assertFalse(grid.equals(board));
+        grid.setElement(2, 2, x);
+        assertEquals(grid, board);
+        assertEquals(grid.hashCode(), board.hashCode());
+
+        // changing the array returned by getGridValues() does not change the board
+        Component[][] values = board.getGridValues();
+        values[0][0] = o;
+        assertSame(empty, board.getElement(0, 0));
+    }
+
+    @Test
+    public void emptyCellsWithNullDefault() {
+        PaletteGridBoard<Token> board = new PaletteGridBoard<>(3, 2);
+        board.setElement(0, 0, x);
+        board.setElement(2, 1, o);
+        GridBoard<Token> grid = gridBoardLike(board);
+        assertEquals(grid.getEmptyCells(null), board.getEmptyCells(null));
+        assertEquals(4, board.getEmptyCells(null).size());
+        // both the null cells and those with the default element
+        assertEquals(Arrays.asList(new Vector2D(1, 0), new Vector2D(2, 0), new Vector2D(0, 1), new Vector2D(1, 1),
+                new Vector2D(2, 1)), board.getEmptyCells(o));
+        assertEquals(grid.getEmptyCells(o), board.getEmptyCells(o));
+
+        // with no nulls on the board, only cells with the default element are empty
+        PaletteGridBoard<Token> full = new PaletteGridBoard<>(2, 2, empty);
+        full.setElement(1, 1, x);
+        assertTrue(full.getEmptyCells(null).isEmpty());
+        assertEquals(gridBoardLike(full).getEmptyCells(empty), full.getEmptyCells(empty));
+        assertEquals(3, full.getEmptyCells(empty).size());
+    }
+}
@@ -0,0 +1,201 @@
+package core.components.test;
+
+import core.CoreConstants.VisibilityMode;
+import core.components.Deck;
+import core.components.PartialObservableDeck;
+import core.components.Token;
+import org.junit.*;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class PartialObservableDeckOperations {
+
+    Random rnd = new Random(42);
+    int nPlayers = 4;
+    boolean[] defaultVisibility = {true, false, false, true};
+
+    private boolean[] randomVisibility() {
+        boolean[] retValue = new boolean[nPlayers];
+        for (int p = 0; p < nPlayers; p++)
+            retValue[p] = rnd.nextBoolean();
+        return retValue;
+    }
+
+    // JUnit 4.10 has no assertArrayEquals for booleans
+    private static void assertVisibility(boolean[] expected, boolean[] actual) {
+        assertEquals(Arrays.toString(expected), Arrays.toString(actual));
+    }
+
+    private void checkMatches(List<Token> expected, List<boolean[]> expectedVisibility, PartialObservableDeck<Token> deck) {
+        assertEquals(expected.size(), deck.getSize());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), deck.get(i));
+            assertVisibility(expectedVisibility.get(i), deck.getVisibilityOfComponent(i));
+        }
+    }
+
+    // the components and visibility are checked against lists, which is how the visibility was held before
+    @Test
+    public void matchesListsUnderRandomOperations() {
+        PartialObservableDeck<Token> deck = new PartialObservableDeck<>("deck", defaultVisibility);
+        List<Token> expected = new ArrayList<>();
+        List<boolean[]> expectedVisibility = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            int size = expected.size();
+            Token token = new Token("t" + i);
+            // keep the deck small, so that it wraps around its array often
+            int op = rnd.nextInt(size > 40 ? 10 : 8);
+            switch (op) {
+                case 0:
+                    // add() puts components at the top, index 0
+                    deck.add(token);
+                    expected.add(0, token);
+                    expectedVisibility.add(0, defaultVisibility.clone());
+                    break;
+                case 1:
+                    boolean[] visibility = randomVisibility();
+                    deck.add(token, size, visibility);
+                    expected.add(token);
+                    expectedVisibility.add(visibility);
+                    break;
+                case 2:
+                    int index = rnd.nextInt(size + 1);
+                    visibility = randomVisibility();
+                    deck.add(token, index, visibility);
+                    expected.add(index, token);
+                    expectedVisibility.add(index, visibility);
+                    break;
+                case 3:
+                    index = rnd.nextInt(size + 1);
+                    List<Token> others = Arrays.asList(new Token("a" + i), new Token("b" + i), new Token("c" + i));
+                    deck.add(others, index);
+                    expected.addAll(index, others);
+                    for (int j = 0; j < others.size(); j++)
+                        expectedVisibility.add(index, defaultVisibility.clone());
+                    break;
+                case 4:
+                    PartialObservableDeck<Token> other = new PartialObservableDeck<>("other", defaultVisibility);
+                    visibility = randomVisibility();
+                    other.add(new Token("d" + i), visibility);
+                    other.add(token);
+                    deck.add(other);
+                    expected.addAll(0, other.getComponents());
+                    expectedVisibility.add(0, visibility);
+                    expectedVisibility.add(0, defaultVisibility.clone());
+                    break;
+                case 5:
+                    if (size > 0) {
+                        index = rnd.nextInt(size);
+                        int player = rnd.nextInt(nPlayers);
+                        boolean visible = rnd.nextBoolean();
+                        deck.setVisibilityOfComponent(index, player, visible);
+                        expectedVisibility.get(index)[player] = visible;
+                    }
+                    break;
+                case 6:
+                case 8:
+                    // at either end, or anywhere
+                    if (size > 0) {
+                        index = rnd.nextBoolean() ? (rnd.nextBoolean() ? 0 : size - 1) : rnd.nextInt(size);
+                        assertSame(expected.remove(index), deck.pick(index));
+                        expectedVisibility.remove(index);
+                    }
+                    break;
+                case 7:
+                case 9:
+                    if (size > 0) {
+                        index = rnd.nextBoolean() ? (rnd.nextBoolean() ? 0 : size - 1) : rnd.nextInt(size);
+                        assertTrue(deck.remove(index));
+                        expected.remove(index);
+                        expectedVisibility.remove(index);
+                    }
+                    break;
+            }
+            assertEquals(expected.size(), deck.getSize());
+            if (i % 50 == 0)
+                checkMatches(expected, expectedVisibility, deck);
+        }
+        checkMatches(expected, expectedVisibility, deck);
+        PartialObservableDeck<Token> copy = deck.copy();
+        for (int i = 0; i < deck.getSize(); i++)
+            assertVisibility(deck.getVisibilityOfComponent(i), copy.getVisibilityOfComponent(i));
+    }
+
+    private PartialObservableDeck<Token> randomDeck(int size, Map<Token, boolean[]> visibilityOf) {
+        PartialObservableDeck<Token> deck = new PartialObservableDeck<>("deck", defaultVisibility);
+        for (int i = 0; i < size; i++) {
+            Token token = new Token("t" + i);
+            boolean[] visibility = randomVisibility();
+            deck.add(token, i, visibility);
+            visibilityOf.put(token, visibility);
+        }
+        return deck;
+    }
+
+    @Test
+    public void shuffleIsThatOfCollectionsShuffle() {
+        for (int size : new int[]{0, 1, 2, 7, 52}) {
+            Map<Token, boolean[]> visibilityOf = new HashMap<>();
+            PartialObservableDeck<Token> deck = randomDeck(size, visibilityOf);
+            List<Token> expected = new ArrayList<>(deck.getComponents());
+            Random deckRnd = new Random(size), listRnd = new Random(size);
+            deck.shuffle(deckRnd);
+            Collections.shuffle(expected, listRnd);
+            assertEquals(listRnd.nextLong(), deckRnd.nextLong());
+            for (int i = 0; i < size; i++) {
+                assertSame(expected.get(i), deck.get(i));
+                // each component keeps its visibility
+                assertVisibility(visibilityOf.get(deck.get(i)), deck.getVisibilityOfComponent(i));
+            }
+        }
+    }
+
+    @Test
+    public void shuffleVisibleIsThatOfCollectionsShuffleOnTheChosenComponents() {
+        for (boolean visible : new boolean[]{true, false}) {
+            for (int player = 0; player < nPlayers; player++) {
+                Map<Token, boolean[]> visibilityOf = new HashMap<>();
+                PartialObservableDeck<Token> deck = randomDeck(30, visibilityOf);
+                List<Token> before = new ArrayList<>(deck.getComponents());
+                List<boolean[]> visibilityBefore = new ArrayList<>();
+                List<Integer> chosen = new ArrayList<>();
+                List<Token> expected = new ArrayList<>();
+                for (int i = 0; i < before.size(); i++) {
+                    visibilityBefore.add(deck.getVisibilityOfComponent(i));
+                    if (deck.getVisibilityForPlayer(i, player) == visible) {
+                        chosen.add(i);
+                        expected.add(before.get(i));
+                    }
+                }
+                Random deckRnd = new Random(player), listRnd = new Random(player);
+                deck.shuffleVisible(deckRnd, player, visible);
+                Collections.shuffle(expected, listRnd);
+                assertEquals(listRnd.nextLong(), deckRnd.nextLong());
+
+                for (int i = 0; i < before.size(); i++) {
+                    int c = chosen.indexOf(i);
+                    assertSame(c < 0 ? before.get(i) : expected.get(c), deck.get(i));
+                    // visible components keep their visibility; hidden ones leave theirs in place
+                    boolean[] expectedVisibility = c >= 0 && visible ? visibilityOf.get(deck.get(i)) : visibilityBefore.get(i);
+                    assertVisibility(expectedVisibility, deck.getVisibilityOfComponent(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void addingADeckUsesTheDefaultVisibility() {
+        PartialObservableDeck<Token> deck = new PartialObservableDeck<>("deck", defaultVisibility);
+        deck.add(new Token("a"), new boolean[]{false, true, false, false});
+        Deck<Token> other = new Deck<>("other", VisibilityMode.HIDDEN_TO_ALL);
+        other.add(new Token("b"));
+        other.add(new Token("c"));
+        deck.add(other, 1);
+        assertEquals(3, deck.getSize());
+        assertVisibility(new boolean[]{false, true, false, false}, deck.getVisibilityOfComponent(0));
+        assertVisibility(defaultVisibility, deck.getVisibilityOfComponent(1));
+        assertVisibility(defaultVisibility, deck.getVisibilityOfComponent(2));
+    }
+}
@@ -7,6 +7,7 @@ import core.actions.AbstractAction;
 import utilities.GameReportListener;
 
 import java.lang.reflect.Constructor;
+import java.util.List;
 
 public interface IGameListener {
 
@@ -29,6 +30,18 @@ public interface IGameListener {
     // for all other event types
     void onEvent(CoreConstants.GameEvents type, AbstractGameState state, AbstractAction action);
 
+    /**
+     * As onEvent(type, state, action), but also given the actions that were available to the player, if the Game
+     * has already computed them (as it has for ACTION_CHOSEN events). Listeners that use the available actions should
+     * override this rather than compute them again. The list must not be changed.
+     *
+     * @param availableActions The actions the player chose from (if relevant; else null)
+     */
+    default void onEvent(CoreConstants.GameEvents type, AbstractGameState state, AbstractAction action,
+                         List<AbstractAction> availableActions) {
+        onEvent(type, state, action);
+    }
+
     /**
      * This is called when all processing is finished, for example after running a sequence of games
      * As such, no state is provided.
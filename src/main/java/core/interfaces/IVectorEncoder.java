@@ -0,0 +1,74 @@
+package core.interfaces;
+
+import core.AbstractGameState;
+
+/**
+ * Encodes a game state as a fixed-length vector of numbers, as seen by one player. This is intended for learned
+ * heuristics and the like, where large numbers of states need to be converted, so the values are written into a buffer
+ * supplied by the caller, and nothing is allocated per call.
+ * <p>
+ * Implementations must only use information that playerId can observe; the result should be the same for any
+ * state.copy(playerId). Per-player values are written in turn order starting from playerId, so that the first block is
+ * always 'me'.
+ */
+public interface IVectorEncoder {
+
+    /**
+     * @return The number of values written by encode(); this is fixed for a given game set-up (e.g. number of players).
+     */
+    int getLength();
+
+    /**
+     * Writes getLength() values into buffer, starting at offset. Every one of these is overwritten.
+     *
+     * @param state    - game state to encode.
+     * @param playerId - the player observing the state.
+     * @param buffer   - destination for the values.
+     * @param offset   - index in buffer at which to write the first value.
+     */
+    void encode(AbstractGameState state, int playerId, double[] buffer, int offset);
+
+    /**
+     * As encode(..., double[], ...), but writing floats. Implementations can override this to avoid the intermediate
+     * double[], which is held per thread.
+     */
+    default void encode(AbstractGameState state, int playerId, float[] buffer, int offset) {
+        double[] values = EncoderScratch.get(getLength());
+        encode(state, playerId, values, 0);
+        for (int i = 0; i < getLength(); i++)
+            buffer[offset + i] = (float) values[i];
+    }
+
+    /**
+     * Convenience method that allocates a new array for the result.
+     */
+    default double[] encode(AbstractGameState state, int playerId) {
+        double[] retValue = new double[getLength()];
+        encode(state, playerId, retValue, 0);
+        return retValue;
+    }
+
+    /**
+     * @return A name for each value in the vector, in the same order (for logging and debugging)
+     */
+    String[] getNames();
+
+    /**
+     * Per-thread scratch space for the default float encoding.
+     */
+    final class EncoderScratch {
+        private static final ThreadLocal<double[]> scratch = ThreadLocal.withInitial(() -> new double[0]);
+
+        private EncoderScratch() {
+        }
+
+        static double[] get(int length) {
+            double[] retValue = scratch.get();
+            if (retValue.length < length) {
+                retValue = new double[length];
+                scratch.set(retValue);
+            }
+            return retValue;
+        }
+    }
+}
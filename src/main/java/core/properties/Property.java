@@ -31,6 +31,15 @@ public abstract class Property
      */
     protected abstract Property _copy();
 
+    /**
+     * Properties whose value can be changed in place (such as the arrays returned by getValues()) must say so here.
+     * Other properties are shared between a component and its copies, rather than copied (see Component).
+     * @return - true if the value of this property can change after it is created.
+     */
+    public boolean isMutable() {
+        return false;
+    }
+
     @Override
     public abstract String toString();
 
@@ -3,7 +3,7 @@ package core.properties;
 
 public class PropertyBoolean extends Property
 {
-    public Boolean value;
+    public final Boolean value;
 
     public PropertyBoolean(boolean value)
     {
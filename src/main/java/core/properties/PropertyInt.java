@@ -3,7 +3,7 @@ package core.properties;
 
 public class PropertyInt extends Property
 {
-    public int value;
+    public final int value;
 
     public PropertyInt(String hashString, int value)
     {
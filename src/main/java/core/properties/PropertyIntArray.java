@@ -52,6 +52,11 @@ public class PropertyIntArray extends Property
        return true;
     }
 
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
     @Override
     protected Property _copy()
     {
@@ -2,7 +2,7 @@ package core.properties;
 
 public class PropertyLong extends Property
 {
-    public long value;
+    public final long value;
 
     public PropertyLong(String hashString, long value)
     {
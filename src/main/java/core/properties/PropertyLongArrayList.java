@@ -53,6 +53,11 @@ public class PropertyLongArrayList extends Property
        return true;
     }
 
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
     @Override
     protected Property _copy()
     {
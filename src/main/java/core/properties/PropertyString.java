@@ -3,7 +3,7 @@ package core.properties;
 
 public class PropertyString extends Property
 {
-    public String value;
+    public final String value;
 
     public PropertyString (String value)
     {
@@ -54,6 +54,11 @@ public class PropertyStringArray extends Property
        return true;
     }
 
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
     @Override
     protected Property _copy()
     {
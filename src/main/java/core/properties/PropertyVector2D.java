@@ -7,7 +7,7 @@ import java.util.Objects;
 
 public class PropertyVector2D extends Property
 {
-    public Vector2D values;
+    public final Vector2D values; // shared between copies of the component, so must not be changed
 
     public PropertyVector2D(String hashString, JSONArray values)
     {
@@ -0,0 +1,173 @@
+package core.test;
+
+import core.AbstractGameState;
+import core.CoreConstants.VisibilityMode;
+import core.components.Area;
+import core.components.Component;
+import core.components.Deck;
+import core.components.Token;
+import core.turnorders.AlternatingTurnOrder;
+import games.GameType;
+import games.tictactoe.TicTacToeGameParameters;
+import org.junit.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ComponentLookups {
+
+    // a game state with whatever top-level components a test gives it
+    static class LookupState extends AbstractGameState {
+        final List<Component> components = new ArrayList<>();
+        int timesGathered;
+
+        LookupState() {
+            super(new TicTacToeGameParameters(0), new AlternatingTurnOrder(2), GameType.TicTacToe);
+        }
+
+        void componentsReplaced() {
+            addAllComponents();
+        }
+
+        @Override
+        protected List<Component> _getAllComponents() {
+            timesGathered++;
+            return components;
+        }
+
+        @Override
+        protected AbstractGameState _copy(int playerId) {
+            return new LookupState();
+        }
+
+        @Override
+        protected double _getHeuristicScore(int playerId) {
+            return 0;
+        }
+
+        @Override
+        public double getGameScore(int playerId) {
+            return 0;
+        }
+
+        @Override
+        protected void _reset() {
+        }
+
+        @Override
+        protected boolean _equals(Object o) {
+            return o == this;
+        }
+    }
+
+    LookupState state = new LookupState();
+
+    // the map of all components that getAllComponents() would give, to compare against
+    private Area area() {
+        Area retValue = new Area(-1, "All Components");
+        retValue.putComponents(state.components);
+        return retValue;
+    }
+
+    private void checkMatchesArea() {
+        Area area = area();
+        for (Component c : area.getComponents())
+            assertSame(c, state.getComponentById(c.getComponentID()));
+    }
+
+    @Test
+    public void laterComponentWithTheSameIdReplacesAnEarlierOne() {
+        Token token = new Token("token");
+        Token sameId = token.copy();
+        state.components.add(token);
+        state.components.add(sameId);
+        assertSame(sameId, state.getComponentById(token.getComponentID()));
+        checkMatchesArea();
+    }
+
+    @Test
+    public void holdsManyComponents() {
+        // well beyond the initial capacity, so the table grows several times
+        for (int i = 0; i < 2000; i++)
+            state.components.add(new Token("t" + i));
+        checkMatchesArea();
+        assertNull(state.getComponentById(-5));
+        assertNull(state.getComponentById(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void findsTheContentsOfNestedContainers() {
+        Deck<Token> deck = new Deck<>("deck", VisibilityMode.VISIBLE_TO_ALL);
+        for (int i = 0; i < 5; i++)
+            deck.add(new Token("card" + i));
+        Area area = new Area(0, "area");
+        area.putComponent(deck);
+        Token loose = new Token("loose");
+        area.putComponent(loose);
+        state.components.add(area);
+
+        assertSame(area, state.getComponentById(area.getComponentID()));
+        assertSame(deck, state.getComponentById(deck.getComponentID()));
+        assertSame(loose, state.getComponentById(loose.getComponentID()));
+        for (Token card : deck.getComponents())
+            assertSame(card, state.getComponentById(card.getComponentID()));
+        checkMatchesArea();
+    }
+
+    @Test
+    public void missingIdRebuildsTheIndex() {
+        Token first = new Token("first");
+        state.components.add(first);
+        assertSame(first, state.getComponentById(first.getComponentID()));
+
+        // created after the index was built, as with a card gained during play
+        Token created = new Token("created");
+        state.components.add(created);
+        assertSame(created, state.getComponentById(created.getComponentID()));
+
+        // a replaced component is found only once the game says it has replaced it
+        Token replacement = first.copy();
+        state.components.set(0, replacement);
+        assertSame(first, state.getComponentById(first.getComponentID()));
+        state.componentsReplaced();
+        assertSame(replacement, state.getComponentById(first.getComponentID()));
+    }
+
+    @Test
+    public void missingIdsGivenOutBeforeTheIndexDoNotRebuildIt() {
+        Token outside = new Token("outside");
+        state.components.add(new Token("inside"));
+        assertNull(state.getComponentById(outside.getComponentID()));
+        int timesGathered = state.timesGathered;
+        for (int i = 0; i < 10; i++)
+            assertNull(state.getComponentById(outside.getComponentID()));
+        assertNull(state.getComponentById(-5));
+        assertNull(state.getComponentById(Integer.MAX_VALUE));
+        assertEquals(timesGathered, state.timesGathered);
+
+        // an ID given out since rebuilds it once, and is then known not to be in the state
+        Token created = new Token("created");
+        assertNull(state.getComponentById(created.getComponentID()));
+        assertEquals(timesGathered + 1, state.timesGathered);
+        assertNull(state.getComponentById(created.getComponentID()));
+        assertEquals(timesGathered + 1, state.timesGathered);
+    }
+
+    @Test
+    public void equalsAndHashCodeLeaveTheStateUnchanged() {
+        AbstractGameState gameState = GameType.Dominion.createGameInstance(2, 330).getGameState();
+        AbstractGameState copy = gameState.copy();
+        // a copy has parameters with a new random seed
+        copy.getGameParameters().setRandomSeed(gameState.getGameParameters().getRandomSeed());
+        Area all = gameState.getAllComponents();
+        assertTrue(all.size() > 0);
+        all.clear();
+        assertEquals(gameState, copy);
+        assertEquals(gameState.hashCode(), copy.hashCode());
+        // the Area last given by getAllComponents() is not gathered again
+        assertEquals(0, all.size());
+        assertTrue(gameState.getAllComponents().size() > 0);
+    }
+}
@@ -0,0 +1,84 @@
+package core.test;
+
+import core.AbstractGameState;
+import core.AbstractParameters;
+import core.Game;
+import games.GameType;
+import games.tictactoe.TicTacToeGameParameters;
+import org.junit.*;
+
+import static org.junit.Assert.*;
+
+public class FrozenParameters {
+
+    TicTacToeGameParameters params = new TicTacToeGameParameters(42);
+
+    private static void assertFrozen(Runnable change) {
+        try {
+            change.run();
+            fail("Frozen parameters were changed");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void settersOfFrozenCopyThrow() {
+        params.setParameterValue("gridSize", 4);
+        TicTacToeGameParameters frozen = (TicTacToeGameParameters) params.frozenCopy();
+        assertTrue(frozen.isFrozen());
+        assertFalse(params.isFrozen());
+        assertEquals(4, frozen.getParameterValue("gridSize"));
+
+        assertFrozen(() -> frozen.setParameterValue("gridSize", 5));
+        assertFrozen(() -> frozen.setThinkingTimeMins(10));
+        assertFrozen(frozen::randomize);
+        assertFrozen(frozen::reset);
+        assertEquals(4, frozen.getParameterValue("gridSize"));
+        assertEquals(4, frozen.gridSize);
+
+        // only the seed may change
+        frozen.setRandomSeed(7);
+        assertEquals(7, frozen.getRandomSeed());
+        // and a frozen copy of a frozen copy is frozen too
+        assertTrue(frozen.frozenCopy().isFrozen());
+    }
+
+    @Test
+    public void copyOfFrozenParametersIsMutable() {
+        params.setParameterValue("gridSize", 5);
+        AbstractParameters frozen = params.frozenCopy().frozenCopy();
+        TicTacToeGameParameters copy = (TicTacToeGameParameters) frozen.copy();
+        assertFalse(copy.isFrozen());
+        assertEquals(5, copy.getParameterValue("gridSize"));
+        copy.setParameterValue("gridSize", 6);
+        assertEquals(6, copy.gridSize);
+        assertEquals(5, ((TicTacToeGameParameters) frozen).gridSize);
+    }
+
+    @Test
+    public void reseedingFrozenCopyLeavesTheSourceSeed() {
+        AbstractParameters frozen = params.frozenCopy();
+        long seed = frozen.getRandomSeed();
+        AbstractParameters copy = frozen.frozenCopy();
+        copy.setRandomSeed(seed + 1);
+        assertEquals(seed, frozen.getRandomSeed());
+        assertEquals(42, params.getRandomSeed());
+    }
+
+    // these games copied their state with the same parameters object, so re-seeding a copy re-seeded the original
+    @Test
+    public void reseedingCopiedGameStateLeavesTheOriginal() {
+        for (GameType gameType : new GameType[]{GameType.ColtExpress, GameType.DotsAndBoxes}) {
+            Game game = gameType.createGameInstance(3, 42);
+            AbstractGameState state = game.getGameState();
+            long seed = state.getGameParameters().getRandomSeed();
+            AbstractGameState copy = state.copy();
+            assertNotSame(state.getGameParameters(), copy.getGameParameters());
+            copy.getGameParameters().setRandomSeed(seed + 1);
+            assertEquals(gameType.name(), seed, state.getGameParameters().getRandomSeed());
+            copy.copy().getGameParameters().setRandomSeed(seed + 2);
+            assertEquals(gameType.name(), seed + 1, copy.getGameParameters().getRandomSeed());
+        }
+    }
+}
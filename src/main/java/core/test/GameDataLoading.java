@@ -0,0 +1,80 @@
+package core.test;
+
+import core.AbstractGameData;
+import core.components.BoardNode;
+import core.components.GraphBoard;
+import core.components.Token;
+import core.properties.PropertyInt;
+import org.junit.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GameDataLoading {
+
+    int countHash = "count".hashCode();
+    File dir;
+
+    private void writeTokens(int count) throws IOException {
+        File file = new File(dir, "tokens.json");
+        Files.write(file.toPath(), ("[{\"id\" : \"pawn\", \"type\" : [\"String\", \"Pawn\"], \"count\" : [\"Integer\", "
+                + count + "]}]").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Before
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("gameData").toFile();
+        writeTokens(1);
+        Files.write(new File(dir, "boards.json").toPath(), ("[{\"id\" : \"line\", \"type\" : \"graph\", " +
+                "\"verticesKey\" : \"name\", \"neighboursKey\" : \"neighbours\", \"maxNeighbours\" : -1, \"nodes\" : [" +
+                "{\"name\" : [\"String\", \"A\"], \"neighbours\" : [\"String[]\", [\"B\"]]}," +
+                "{\"name\" : [\"String\", \"B\"], \"neighbours\" : [\"String[]\", [\"C\"]]}," +
+                "{\"name\" : [\"String\", \"C\"], \"neighbours\" : [\"String[]\", []]}]}]").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void cleanup() {
+        for (File f : dir.listFiles())
+            f.delete();
+        dir.delete();
+    }
+
+    private AbstractGameData load() {
+        AbstractGameData data = new AbstractGameData();
+        data.load(dir.getPath());
+        return data;
+    }
+
+    @Test
+    public void loadsOfTheSameDirectoryShareTheParsedComponents() {
+        Token first = load().findToken("pawn");
+        Token second = load().findToken("pawn");
+        assertNotSame(first, second);
+        // both are copies of the one parsed token, so share its properties until they change them
+        assertSame(first.getProperty(countHash), second.getProperty(countHash));
+
+        GraphBoard board = load().findGraphBoard("line");
+        List<BoardNode> nodes = board.getBoardNodes();
+        assertEquals(2, board.distance(nodes.get(0), nodes.get(2)));
+        assertEquals(nodes.get(1), board.nextHop(nodes.get(0), nodes.get(2)));
+    }
+
+    @Test
+    public void changedFileIsParsedAgain() throws IOException {
+        Token before = load().findToken("pawn");
+        File tokens = new File(dir, "tokens.json");
+        long modified = tokens.lastModified();
+        writeTokens(12);
+        tokens.setLastModified(modified + 2000);
+
+        Token after = load().findToken("pawn");
+        assertEquals(1, ((PropertyInt) before.getProperty(countHash)).value);
+        assertEquals(12, ((PropertyInt) after.getProperty(countHash)).value);
+        assertSame(after.getProperty(countHash), load().findToken("pawn").getProperty(countHash));
+    }
+}
@@ -0,0 +1,149 @@
+package core.test;
+
+import core.AbstractForwardModel;
+import core.AbstractGameState;
+import core.Game;
+import core.actions.AbstractAction;
+import core.interfaces.IVectorEncoder;
+import games.GameType;
+import games.dominion.DominionVectorEncoder;
+import games.dotsboxes.DBParameters;
+import games.dotsboxes.DBVectorEncoder;
+import games.loveletter.LoveLetterVectorEncoder;
+import games.pandemic.PandemicParameters;
+import games.pandemic.PandemicVectorEncoder;
+import games.poker.PokerVectorEncoder;
+import games.sushigo.SGVectorEncoder;
+import games.uno.UnoGameParameters;
+import games.uno.UnoVectorEncoder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that every game's encoder keeps to the IVectorEncoder contract. What each encoder writes is checked in the
+ * VectorEncoding tests of each game.
+ */
+@RunWith(Parameterized.class)
+public class VectorEncoders {
+
+    @Parameters
+    public static Collection<Object[]> encoders() {
+        return Arrays.asList(new Object[][]{
+                {GameType.Dominion, 4, (Function<AbstractGameState, IVectorEncoder>)
+                        s -> new DominionVectorEncoder(4)},
+                {GameType.DotsAndBoxes, 3, (Function<AbstractGameState, IVectorEncoder>)
+                        s -> new DBVectorEncoder((DBParameters) s.getGameParameters(), 3)},
+                {GameType.LoveLetter, 3, (Function<AbstractGameState, IVectorEncoder>)
+                        s -> new LoveLetterVectorEncoder(3)},
+                {GameType.Pandemic, 3, (Function<AbstractGameState, IVectorEncoder>)
+                        s -> new PandemicVectorEncoder((PandemicParameters) s.getGameParameters(), 3)},
+                {GameType.Poker, 3, (Function<AbstractGameState, IVectorEncoder>)
+                        s -> new PokerVectorEncoder(3)},
+                {GameType.SushiGo, 3, (Function<AbstractGameState, IVectorEncoder>)
+                        s -> new SGVectorEncoder(3)},
+                {GameType.Uno, 3, (Function<AbstractGameState, IVectorEncoder>)
+                        s -> new UnoVectorEncoder((UnoGameParameters) s.getGameParameters(), 3)},
+        });
+    }
+
+    final GameType gameType;
+    final int nPlayers;
+    final AbstractGameState state;
+    final AbstractForwardModel fm;
+    final IVectorEncoder encoder;
+
+    public VectorEncoders(GameType gameType, int nPlayers, Function<AbstractGameState, IVectorEncoder> factory) {
+        this.gameType = gameType;
+        this.nPlayers = nPlayers;
+        Game game = gameType.createGameInstance(nPlayers, 42);
+        state = game.getGameState();
+        fm = game.getForwardModel();
+        encoder = factory.apply(state);
+    }
+
+    /**
+     * Plays up to the given number of random actions, calling check before each of them
+     */
+    private void play(int steps, Runnable check) {
+        Random rnd = new Random(42);
+        for (int i = 0; i < steps && state.isNotTerminal(); i++) {
+            check.run();
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            fm.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+    }
+
+    @Test
+    public void namesMatchLength() {
+        String[] names = encoder.getNames();
+        assertEquals(gameType.name(), encoder.getLength(), names.length);
+        assertEquals(gameType.name(), names.length, new HashSet<>(Arrays.asList(names)).size());
+        for (int p = 0; p < nPlayers; p++)
+            assertEquals(gameType.name(), encoder.getLength(), encoder.encode(state, p).length);
+    }
+
+    @Test
+    public void writesOnlyWithinOffset() {
+        int length = encoder.getLength();
+        double[] doubles = new double[length + 10];
+        float[] floats = new float[length + 10];
+        Arrays.fill(doubles, -99.0);
+        Arrays.fill(floats, -99.0f);
+        play(50, () -> {
+            for (int p = 0; p < nPlayers; p++) {
+                encoder.encode(state, p, doubles, 5);
+                encoder.encode(state, p, floats, 5);
+                for (int i = 0; i < 5; i++) {
+                    assertEquals(gameType.name(), -99.0, doubles[i], 0.0);
+                    assertEquals(gameType.name(), -99.0, floats[i], 0.0);
+                }
+                for (int i = 5 + length; i < doubles.length; i++) {
+                    assertEquals(gameType.name(), -99.0, doubles[i], 0.0);
+                    assertEquals(gameType.name(), -99.0, floats[i], 0.0);
+                }
+                assertArrayEquals(gameType.name(), encoder.encode(state, p),
+                        Arrays.copyOfRange(doubles, 5, 5 + length), 0.0);
+            }
+        });
+    }
+
+    @Test
+    public void floatAndDoubleAgree() {
+        float[] floats = new float[encoder.getLength()];
+        play(50, () -> {
+            for (int p = 0; p < nPlayers; p++) {
+                double[] doubles = encoder.encode(state, p);
+                encoder.encode(state, p, floats, 0);
+                for (int i = 0; i < doubles.length; i++)
+                    assertEquals(gameType.name() + " " + encoder.getNames()[i], doubles[i], floats[i], 1e-6);
+            }
+        });
+    }
+
+    @Test
+    public void sameEncodingFromPartiallyObservableCopies() {
+        play(200, () -> {
+            for (int p = 0; p < nPlayers; p++)
+                assertArrayEquals(gameType.name(), encoder.encode(state, p), encoder.encode(state.copy(p), p), 0.0);
+        });
+    }
+
+    @Test
+    public void encodingFollowsThePlay() {
+        Set<List<Double>> seen = new HashSet<>();
+        play(20, () -> {
+            List<Double> values = new ArrayList<>();
+            for (double v : encoder.encode(state, 0))
+                values.add(v);
+            seen.add(values);
+        });
+        assertTrue(gameType.name() + " encodes every state the same", seen.size() > 1);
+    }
+}
@@ -33,6 +33,10 @@ public class AlternatingTurnOrder extends TurnOrder {
         direction *= -1;
     }
 
+    public int getDirection() {
+        return direction;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,105 @@
+package evaluation;
+
+import core.AbstractParameters;
+import core.AbstractPlayer;
+import core.Game;
+import games.GameType;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A tournament in which each match-up is chosen from the current ratings of the agents (see RatingEngine), so that
+ * games are played where they tell us most about the ranking.
+ * <p>
+ * Match-ups are played one at a time, as each depends on the results of the last, so the tournament cannot be split
+ * between workers. With a ratings file, the ratings (and the seed) are saved after every match-up, and a tournament
+ * started with an existing file carries on from where it stopped, choosing the same match-ups (with the same game
+ * seeds) as one that was never stopped. As the match-ups are not known in advance, createMatchUps returns those
+ * played so far.
+ */
+public class AdaptiveRRTournament extends RoundRobinTournament {
+
+    private final int totalMatchUps;
+    private long seed;
+    private final double targetSigma;
+    // for each game, the match-ups played so far by this run (not those of the tournament it resumed)
+    private final List<List<List<Integer>>> matchUpsPlayed = new ArrayList<>();
+
+    /**
+     * @param agents          - players for the tournament.
+     * @param gameToPlay      - game to play in this tournament.
+     * @param playersPerGame  - number of players per game.
+     * @param gamesPerMatchUp - number of games for each match-up.
+     * @param selfPlay        - true if agents are allowed to play copies of themselves.
+     * @param totalMatchUps   - the maximum number of match-ups, including those of a resumed tournament.
+     * @param seed            - for the seat order of the match-ups, and the games. A resumed tournament uses the seed
+     *                        saved with its ratings instead.
+     * @param targetSigma     - the tournament stops once no rating has a sigma above this.
+     */
+    public AdaptiveRRTournament(LinkedList<AbstractPlayer> agents, GameType gameToPlay, int playersPerGame,
+                                int gamesPerMatchUp, boolean selfPlay, int totalMatchUps, long seed,
+                                AbstractParameters gameParams, double targetSigma) {
+        super(agents, gameToPlay, playersPerGame, gamesPerMatchUp, selfPlay, gameParams);
+        this.totalMatchUps = totalMatchUps;
+        this.seed = seed;
+        this.targetSigma = targetSigma;
+        ratings.setSeed(seed);
+        for (int g = 0; g < games.size(); g++)
+            matchUpsPlayed.add(new ArrayList<>());
+    }
+
+    /**
+     * As for RoundRobinTournament, but if the file exists then the ratings and seed are loaded from it.
+     */
+    @Override
+    public void setRatingsFile(File ratingsFile) {
+        super.setRatingsFile(ratingsFile);
+        if (ratingsFile.exists()) {
+            ratings.load(ratingsFile);
+            seed = ratings.getSeed();
+            System.out.printf("Resuming tournament after %d match-ups from %s%n", ratings.getMatchUps(), ratingsFile);
+        }
+    }
+
+    /**
+     * Match-ups are played one at a time, so only a single thread is allowed.
+     */
+    @Override
+    public void setNThreads(int nThreads) {
+        if (nThreads != 1)
+            throw new IllegalArgumentException("An adaptive tournament plays one match-up at a time, so cannot use "
+                    + nThreads + " threads");
+        super.setNThreads(nThreads);
+    }
+
+    @Override
+    protected void playMatchUps(int gameIdx) {
+        Game game = games.get(gameIdx);
+        while (ratings.getMatchUps() < totalMatchUps) {
+            if (ratings.getMaxSigma() <= targetSigma) {
+                System.out.printf("All ratings have sigma at most %.3g after %d match-ups%n", targetSigma, ratings.getMatchUps());
+                break;
+            }
+            // everything random about a match-up comes from the seed and its index, so that a resumed tournament
+            // chooses and plays the same ones as a tournament that was not stopped
+            int matchUpIdx = ratings.getMatchUps();
+            List<Integer> matchUp = ratings.chooseMatchUp(playersPerGame.get(gameIdx), selfPlay, new Random(seed + matchUpIdx));
+            matchUpsPlayed.get(gameIdx).add(matchUp);
+            evaluateMatchUp(matchUp, game, seed, matchUpIdx);
+        }
+    }
+
+    /**
+     * Match-ups are chosen as the tournament goes, so cannot be listed in advance (or split between workers).
+     *
+     * @return the match-ups of the game played so far, in the order in which they were played.
+     */
+    @Override
+    protected List<List<Integer>> createMatchUps(int gameIdx) {
+        return new ArrayList<>(matchUpsPlayed.get(gameIdx));
+    }
+}
@@ -0,0 +1,155 @@
+package evaluation;
+
+import evodef.*;
+import ntbea.EvaluateChoices;
+import ntbea.NTupleBanditEA;
+import ntbea.NTupleSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NTBEA in which each iteration proposes a batch of settings, so that the games can be run in parallel.
+ * <p>
+ * The first entry in each batch is the current point, as in NTupleBanditEA. The others are each the best (by the
+ * N-Tuple model's exploration estimate) of a fresh random neighbourhood of the current point. The model is not
+ * updated within a batch, so popular neighbours may be proposed (and evaluated) more than once, which is a cheap
+ * way of getting more reliable estimates for the most promising settings. Once all the games in the batch have been
+ * played their results are added to the model together, and the next current point is chosen from the
+ * neighbourhood of the best of the batch.
+ * <p>
+ * With a batch size of 1 this is the same algorithm as NTupleBanditEA (and MultiNTupleBanditEA when there is more
+ * than one player).
+ * With a GameEvaluator or GameMultiPlayerEvaluator the games in each batch are run on nThreads threads; any other
+ * evaluator is called once per entry.
+ */
+public class BatchNTupleBanditEA extends NTupleBanditEA {
+
+    private final NTupleSystem model;
+    private final int nNeighbourhood;
+    private final int batchSize;
+    private final int nThreads;
+    private final int playerCount;
+    private double epsilon = 0.5; // the NTupleBanditEA default
+
+    /**
+     * @param model         the N-Tuple landscape model
+     * @param kExplore      exploration constant
+     * @param nNeighbourhood the size of neighbourhood to look at for each proposal
+     * @param playerCount   the number of players being tuned (1, except for MultiNTBEA)
+     * @param batchSize     the number of settings evaluated on each iteration
+     * @param nThreads      the number of games to run at once
+     */
+    public BatchNTupleBanditEA(NTupleSystem model, double kExplore, int nNeighbourhood, int playerCount,
+                               int batchSize, int nThreads) {
+        super(model, kExplore, nNeighbourhood);
+        if (batchSize < 1 || nThreads < 1)
+            throw new IllegalArgumentException("Batch size and number of threads must be at least 1");
+        this.model = model;
+        this.nNeighbourhood = nNeighbourhood;
+        this.playerCount = playerCount;
+        this.batchSize = batchSize;
+        this.nThreads = nThreads;
+    }
+
+    @Override
+    public NTupleBanditEA setEpsilon(double epsilon) {
+        this.epsilon = epsilon;
+        return super.setEpsilon(epsilon);
+    }
+
+    /**
+     * @param nEvals the number of evaluations. The last batch is shortened if this is not a multiple of the batch size.
+     */
+    @Override
+    public double[] runTrial(SolutionEvaluator evaluator, int nEvals) {
+        SearchSpace searchSpace = evaluator.searchSpace();
+        DefaultMutator mutator = new DefaultMutator(searchSpace);
+        int hood = neighbourhoodSize(searchSpace);
+        model.setEpsilon(epsilon);
+
+        int[] point = SearchSpaceUtil.randomPoint(searchSpace);
+        for (int done = 0; done < nEvals; ) {
+            List<int[]> batch = new ArrayList<>(batchSize);
+            batch.add(point);
+            while (batch.size() < Math.min(batchSize, nEvals - done))
+                batch.add(bestNeighbour(point, mutator, hood));
+
+            double[] results;
+            if (evaluator instanceof GameEvaluator)
+                results = ((GameEvaluator) evaluator).evaluate(batch, nThreads);
+            else
+                results = batch.stream().mapToDouble(evaluator::evaluate).toArray();
+
+            int best = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                model.addPoint(batch.get(i), results[i]);
+                if (results[i] > results[best])
+                    best = i;
+            }
+            done += batch.size();
+            point = bestNeighbour(batch.get(best), mutator, hood);
+        }
+        return model.getBestOfSampled();
+    }
+
+    /**
+     * As for a single player, but each entry is a list of settings, one for each player, and each player's settings
+     * are added to the model with that player's result.
+     */
+    @Override
+    public double[] runTrial(MultiSolutionEvaluator evaluator, int nEvals) {
+        SearchSpace searchSpace = evaluator.searchSpace();
+        DefaultMutator mutator = new DefaultMutator(searchSpace);
+        int hood = neighbourhoodSize(searchSpace);
+        model.setEpsilon(epsilon);
+
+        List<int[]> points = new ArrayList<>(playerCount);
+        for (int p = 0; p < playerCount; p++)
+            points.add(SearchSpaceUtil.randomPoint(searchSpace));
+        for (int done = 0; done < nEvals; ) {
+            List<List<int[]>> batch = new ArrayList<>(batchSize);
+            batch.add(points);
+            while (batch.size() < Math.min(batchSize, nEvals - done)) {
+                List<int[]> neighbours = new ArrayList<>(playerCount);
+                for (int[] point : points)
+                    neighbours.add(bestNeighbour(point, mutator, hood));
+                batch.add(neighbours);
+            }
+
+            List<double[]> results = new ArrayList<>(batch.size());
+            if (evaluator instanceof GameMultiPlayerEvaluator)
+                results = ((GameMultiPlayerEvaluator) evaluator).evaluate(batch, nThreads);
+            else
+                for (List<int[]> settings : batch)
+                    results.add(evaluator.evaluate(settings));
+
+            // each player moves on from the best of its own settings in the batch
+            List<int[]> next = new ArrayList<>(playerCount);
+            for (int p = 0; p < playerCount; p++) {
+                int best = 0;
+                for (int i = 0; i < batch.size(); i++) {
+                    model.addPoint(batch.get(i).get(p), results.get(i)[p]);
+                    if (results.get(i)[p] > results.get(best)[p])
+                        best = i;
+                }
+                next.add(bestNeighbour(batch.get(best).get(p), mutator, hood));
+            }
+            done += batch.size();
+            points = next;
+        }
+        return model.getBestOfSampled();
+    }
+
+    // as in NTupleBanditEA
+    private int neighbourhoodSize(SearchSpace searchSpace) {
+        return Math.max(5, (int) Math.min(nNeighbourhood, SearchSpaceUtil.size(searchSpace) / 4.0));
+    }
+
+    private int[] bestNeighbour(int[] point, DefaultMutator mutator, int hood) {
+        EvaluateChoices choices = new EvaluateChoices(model, kExplore);
+        while (choices.n() < hood)
+            choices.add(mutator.randMut(point));
+        return choices.picker.getBest();
+    }
+}
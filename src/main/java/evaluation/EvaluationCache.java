@@ -0,0 +1,281 @@
+package evaluation;
+
+import core.AbstractParameters;
+import core.interfaces.ITunableParameters;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * A disk-backed cache of the results of NTBEA evaluation games, so that settings that have already been played can
+ * be re-used across repeat= runs, and across separate runs of ParameterSearch with the same cache file.
+ * <p>
+ * Each result is keyed by a context (a digest of everything else the result depends on: the game, the values of the
+ * game parameters, the contents of the opponent and heuristic files, the evaluation method, and every value and
+ * fidelity level of the search space), the settings evaluated, the seat of the tuned player, and the index of that evaluation of the same
+ * settings and seat since the evaluator was last reset. The n-th evaluation of some settings in one NTBEA run
+ * therefore re-uses the result of the n-th evaluation in an earlier run, and only plays a new game when the
+ * settings have been evaluated more often in this run than in any earlier one. (Within a run, every result is
+ * still from a different game.)
+ * <p>
+ * Results are appended to the file as they are added. The cache keeps at most maxEntries results, evicting the least
+ * recently used, and the file is rewritten without the evicted results on close().
+ */
+public class EvaluationCache {
+
+    private final File file;
+    private final int maxEntries;
+    private final LinkedHashMap<String, double[]> results;
+    private final Map<String, Integer> visits = new HashMap<>();
+    private Writer writer;
+    private int linesInFile, gamesSaved, gamesAdded, evicted;
+
+    /**
+     * @param fileName   - the file to hold the cache. Any results already in it are loaded.
+     * @param maxEntries - the maximum number of results to keep.
+     */
+    public EvaluationCache(String fileName, int maxEntries) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("Cache must have room for at least one entry, not " + maxEntries);
+        this.file = new File(fileName);
+        this.maxEntries = maxEntries;
+        results = new LinkedHashMap<String, double[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, double[]> eldest) {
+                if (size() > EvaluationCache.this.maxEntries) {
+                    evicted++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        if (file.exists()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    linesInFile++;
+                    String[] parts = line.split("\t");
+                    if (parts.length != 2)
+                        continue; // a line left incomplete by an earlier run that was stopped
+                    results.put(parts[0], Arrays.stream(parts[1].split(",")).mapToDouble(Double::parseDouble).toArray());
+                }
+            } catch (IOException | NumberFormatException e) {
+                e.printStackTrace();
+                throw new AssertionError("Problem reading evaluation cache " + file + " : " + e.getMessage());
+            }
+            evicted = 0; // only count evictions of results from this run
+        }
+        try {
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem opening evaluation cache " + file + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param parts - everything that the result of a game depends on, other than the settings and seat
+     * @return a short string that identifies the context
+     */
+    public static String context(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (Object part : parts)
+            sb.append(part).append("\u0001");
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++)
+                hex.append(String.format("%02x", digest[i]));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-1 not available");
+        }
+    }
+
+    /**
+     * @param params - game (or other) parameters.
+     * @return a description of every field of the parameters other than the random seed, so that parameters that
+     * differ in any value are described differently (hashCode() is not overridden by every game's parameters).
+     */
+    public static String describe(AbstractParameters params) {
+        StringBuilder sb = new StringBuilder(params.getClass().getName());
+        if (params instanceof ITunableParameters) {
+            // the fields of TunableParameters hold the definitions of the parameters, so use their values instead
+            ITunableParameters itp = (ITunableParameters) params;
+            List<String> names = new ArrayList<>(itp.getParameterNames());
+            Collections.sort(names);
+            for (String name : names)
+                sb.append(";").append(name).append("=").append(describeValue(itp.getParameterValue(name)));
+            return sb.toString();
+        }
+        for (Class<?> c = params.getClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            Field[] fields = c.getDeclaredFields();
+            Arrays.sort(fields, Comparator.comparing(Field::getName));
+            for (Field field : fields) {
+                if (Modifier.isStatic(field.getModifiers()) || field.getName().equals("randomSeed")
+                        || field.getName().equals("frozen"))
+                    continue;
+                try {
+                    field.setAccessible(true);
+                    sb.append(";").append(field.getName()).append("=").append(describeValue(field.get(params)));
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    throw new AssertionError("Unable to read " + field + " : " + e.getMessage());
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return a description of the value that is the same in every run of the program, as far as possible
+     */
+    public static String describeValue(Object value) {
+        if (value == null)
+            return "null";
+        if (value instanceof AbstractParameters)
+            return "{" + describe((AbstractParameters) value) + "}";
+        if (value.getClass().isArray())
+            return Arrays.deepToString(new Object[]{value});
+        if (value instanceof Number || value instanceof CharSequence || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum || value instanceof Collection
+                || value instanceof Map || value instanceof Class)
+            return value.toString();
+        // otherwise the default toString() (and the name of a lambda's class) includes an identity hash
+        String className = value.getClass().getName();
+        int lambda = className.indexOf("$$Lambda");
+        return lambda > -1 ? className.substring(0, lambda + 8) : className;
+    }
+
+    /**
+     * @param descriptor - a file or directory name, or some other argument.
+     * @return the contents of the file, or of every file in the directory, so that changes to them change the
+     * description; or the descriptor itself if there is no such file.
+     */
+    public static String describeFile(String descriptor) {
+        File f = new File(descriptor);
+        if (descriptor.isEmpty() || !f.exists())
+            return descriptor;
+        StringBuilder sb = new StringBuilder(descriptor);
+        File[] files = f.isDirectory() ? f.listFiles() : new File[]{f};
+        Arrays.sort(Objects.requireNonNull(files));
+        try {
+            for (File file : files) {
+                if (file.isFile())
+                    sb.append(";").append(file.getName()).append("=")
+                            .append(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem reading " + descriptor + " : " + e.getMessage());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the key for the next evaluation of these settings. Each call for the same settings returns a new key,
+     * until resetVisits() is called.
+     *
+     * @param context  - from context()
+     * @param settings - a description of the settings and seat(s) of the game
+     */
+    public synchronized String nextKey(String context, String settings) {
+        String base = context + ":" + settings;
+        int visit = visits.merge(base, 1, Integer::sum) - 1;
+        return base + ":" + visit;
+    }
+
+    /**
+     * Starts the visit counts from zero again, so that the next run re-uses the results of earlier runs.
+     */
+    public synchronized void resetVisits() {
+        visits.clear();
+    }
+
+    /**
+     * @return the cached result, or null if there is none. A non-null result counts as a game saved.
+     */
+    public synchronized double[] get(String key) {
+        double[] retValue = results.get(key);
+        if (retValue != null)
+            gamesSaved++;
+        return retValue == null ? null : retValue.clone();
+    }
+
+    public synchronized void put(String key, double... result) {
+        results.put(key, result.clone());
+        gamesAdded++;
+        StringBuilder line = new StringBuilder(key).append("\t");
+        for (int i = 0; i < result.length; i++)
+            line.append(i == 0 ? "" : ",").append(result[i]);
+        try {
+            writer.write(line.append("\n").toString());
+            writer.flush();
+            linesInFile++;
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem writing evaluation cache " + file + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the file, first rewriting it if it holds results that are no longer in the cache.
+     */
+    public synchronized void close() {
+        try {
+            writer.close();
+            if (linesInFile > results.size()) {
+                File tmp = new File(file.getPath() + ".tmp");
+                try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8))) {
+                    for (Map.Entry<String, double[]> entry : results.entrySet()) {
+                        out.write(entry.getKey());
+                        out.write("\t");
+                        double[] result = entry.getValue();
+                        for (int i = 0; i < result.length; i++)
+                            out.write((i == 0 ? "" : ",") + result[i]);
+                        out.write("\n");
+                    }
+                }
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                linesInFile = results.size();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem closing evaluation cache " + file + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of games that did not need to be played, as their result was in the cache
+     */
+    public int getGamesSaved() {
+        return gamesSaved;
+    }
+
+    /**
+     * @return the number of games played and added to the cache
+     */
+    public int getGamesAdded() {
+        return gamesAdded;
+    }
+
+    public int getEvicted() {
+        return evicted;
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Evaluation cache %s : %d games saved, %d games played, %d results held (%d evicted)",
+                file, gamesSaved, gamesAdded, results.size(), evicted);
+    }
+}
@@ -21,9 +21,11 @@ import games.GameType;
 import utilities.SummaryLogger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.stream.IntStream;
 
@@ -50,6 +52,11 @@ public class GameEvaluator implements SolutionEvaluator {
     public IStatisticLogger statsLogger = new SummaryLogger();
     IStateHeuristic stateHeuristic;
     IGameHeuristic gameHeuristic;
+    private EvaluationCache cache;
+    private String cacheContext;
+    private int fidelity;
+    private AbstractParameters fidelityParams;
+    private final AtomicLong fmCalls = new AtomicLong();
 
     /**
      * GameEvaluator
@@ -85,11 +92,49 @@ public class GameEvaluator implements SolutionEvaluator {
         if (avoidOppDupes && opponents.size() < nPlayers - 1)
             throw new AssertionError("Insufficient Opponents to avoid duplicates");
         if (opponents.isEmpty()) fullyCoop = true;
+        setFidelity(parametersToTune.getFidelityLevels() - 1);
+    }
+
+    /**
+     * Sets the fidelity level (see ITPSearchSpace) of subsequent evaluations. The default is full fidelity.
+     *
+     * @param level - index of the level, from 0 (cheapest) to searchSpace.getFidelityLevels() - 1
+     */
+    public void setFidelity(int level) {
+        if (level >= searchSpace.getFidelityLevels())
+            throw new IllegalArgumentException("Fidelity level " + level + " is not defined in the search space");
+        fidelity = level;
+        String paramFile = searchSpace.getFidelityGameParams(level);
+        fidelityParams = paramFile.isEmpty() ? gameParams : ParameterFactory.createFromFile(game, paramFile);
+    }
+
+    public int getFidelity() {
+        return fidelity;
+    }
+
+    /**
+     * @return the total number of forward model next() calls made by all the players in the games played so far
+     */
+    public long getFMCalls() {
+        return fmCalls.get();
     }
 
     @Override
     public void reset() {
         nEvals = 0;
+        if (cache != null)
+            cache.resetVisits();
+    }
+
+    /**
+     * Re-uses the results of earlier games with the same settings and seat, instead of playing new ones.
+     *
+     * @param cache   - the cache of results
+     * @param context - identifies everything else that the results depend on (see EvaluationCache.context())
+     */
+    public void setCache(EvaluationCache cache, String context) {
+        this.cache = cache;
+        this.cacheContext = context;
     }
 
     @Override
@@ -108,9 +153,88 @@ public class GameEvaluator implements SolutionEvaluator {
      */
     @Override
     public double evaluate(int[] settings) {
+        String key = cacheKey(settings);
+        double[] cached = key == null ? null : cache.get(key);
+        if (cached != null) {
+            nEvals++;
+            return cached[0];
+        }
+        double retValue = runGame(prepareGame(settings));
+        if (key != null)
+            cache.put(key, retValue);
+        return retValue;
+    }
+
+    /**
+     * Evaluates a batch of settings, with the games run in parallel.
+     * Everything that uses this evaluator's shared state (the agents from the search space, opponent copies and the
+     * random seed for each game, drawn from rnd) is done first on this thread, in batch order. The result for a given
+     * batch is therefore the same whatever the number of threads, as long as the game and the agents draw all their
+     * random numbers from their seeds.
+     *
+     * @param batch    the settings to evaluate, which may include duplicates
+     * @param nThreads the number of games to run at once
+     * @return the score for each entry in the batch
+     */
+    public double[] evaluate(List<int[]> batch, int nThreads) {
+        double[] retValue = new double[batch.size()];
+        List<Integer> toPlay = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<PreparedGame> games = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            String key = cacheKey(batch.get(i));
+            double[] cached = key == null ? null : cache.get(key);
+            if (cached != null) {
+                retValue[i] = cached[0];
+                nEvals++;
+            } else {
+                toPlay.add(i);
+                keys.add(key);
+                games.add(prepareGame(batch.get(i)));
+            }
+        }
+        List<Double> results = ParallelGames.run(games.size(), nThreads, i -> runGame(games.get(i)));
+        for (int i = 0; i < toPlay.size(); i++) {
+            retValue[toPlay.get(i)] = results.get(i);
+            if (keys.get(i) != null)
+                cache.put(keys.get(i), results.get(i));
+        }
+        return retValue;
+    }
+
+    /**
+     * @return the cache key for the next evaluation of these settings (in the seat that prepareGame will use), or
+     * null if there is no cache
+     */
+    private String cacheKey(int[] settings) {
+        if (cache == null)
+            return null;
+        return cache.nextKey(cacheContext, Arrays.toString(settings) + "@" + nEvals % nPlayers + "/" + fidelity);
+    }
+
+    /**
+     * A game set up by prepareGame(), with everything runGame() needs to score it, so that nothing is left in the
+     * evaluator's fields for the threads running a batch to share.
+     */
+    private static class PreparedGame {
+        final Game game;
+        final int playerIndex;  // the index of the player being tuned, if it is a player that is being tuned
+        final boolean tuningGame;
+
+        PreparedGame(Game game, int playerIndex, boolean tuningGame) {
+            this.game = game;
+            this.playerIndex = playerIndex;
+            this.tuningGame = tuningGame;
+        }
+    }
+
+    /**
+     * Sets up a game with the players for these settings, ready to run.
+     */
+    private PreparedGame prepareGame(int[] settings) {
 /*        System.out.println(String.format("Starting evaluation %d of %s at %tT", nEvals,
                 Arrays.toString(settings), System.currentTimeMillis()));*/
-        Object configuredThing = searchSpace.getAgent(settings);
+        Object configuredThing = searchSpace.getAgent(settings, fidelity);
         boolean tuningPlayer = configuredThing instanceof AbstractPlayer;
         boolean tuningGame = configuredThing instanceof Game;
 
@@ -131,20 +255,34 @@ public class GameEvaluator implements SolutionEvaluator {
                 count = (count + 1) % nPlayers;
                 allPlayers.add(opponents.get(oppIndex).copy());
             } else {
-                AbstractPlayer tunedPlayer = (AbstractPlayer) searchSpace.getAgent(settings); // we create for each, in case this is coop
+                AbstractPlayer tunedPlayer = (AbstractPlayer) searchSpace.getAgent(settings, fidelity); // we create for each, in case this is coop
                 if (reportStatistics) tunedPlayer.setStatsLogger(statsLogger);
                 allPlayers.add(tunedPlayer);
             }
         }
 
-        Game newGame = tuningGame ? (Game) configuredThing : game.createGameInstance(nPlayers, gameParams);
+        // each game has its own copy of the parameters, as reset() sets the seed in them and batches run in parallel
+        AbstractParameters params = null;
+        if (fidelityParams != null) {
+            params = fidelityParams.copy();
+            params.setRandomSeed(fidelityParams.getRandomSeed());
+        }
+        Game newGame = tuningGame ? (Game) configuredThing : game.createGameInstance(nPlayers, params);
         // always reset the random seed for each new game
         newGame.reset(allPlayers, rnd.nextLong());
 
-        newGame.run();
-
         nEvals++;
-        return tuningGame ? gameHeuristic.evaluateGame(newGame) : stateHeuristic.evaluateState(newGame.getGameState(), playerIndex);
+        return new PreparedGame(newGame, playerIndex, tuningGame);
+    }
+
+    private double runGame(PreparedGame prepared) {
+        Game newGame = prepared.game;
+        newGame.run();
+        long calls = 0;
+        for (AbstractPlayer player : newGame.getPlayers())
+            calls += player.getForwardModel().getNextCalls();
+        fmCalls.addAndGet(calls);
+        return prepared.tuningGame ? gameHeuristic.evaluateGame(newGame) : stateHeuristic.evaluateState(newGame.getGameState(), prepared.playerIndex);
     }
 
     /**
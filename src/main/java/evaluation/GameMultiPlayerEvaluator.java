@@ -29,7 +29,8 @@ public class GameMultiPlayerEvaluator implements MultiSolutionEvaluator {
     public boolean reportStatistics;
     public IStatisticLogger statsLogger = new SummaryLogger();
     IStateHeuristic stateHeuristic;
-
+    private EvaluationCache cache;
+    private String cacheContext;
 
     /**
      * GameEvaluator
@@ -52,6 +53,19 @@ public class GameMultiPlayerEvaluator implements MultiSolutionEvaluator {
     @Override
     public void reset() {
         nEvals = 0;
+        if (cache != null)
+            cache.resetVisits();
+    }
+
+    /**
+     * Re-uses the results of earlier games with the same settings for every player, instead of playing new ones.
+     *
+     * @param cache   - the cache of results
+     * @param context - identifies everything else that the results depend on (see EvaluationCache.context())
+     */
+    public void setCache(EvaluationCache cache, String context) {
+        this.cache = cache;
+        this.cacheContext = context;
     }
 
 
@@ -66,6 +80,67 @@ public class GameMultiPlayerEvaluator implements MultiSolutionEvaluator {
      */
     @Override
     public double[] evaluate(List<int[]> settings) {
+        String key = cacheKey(settings);
+        double[] cached = key == null ? null : cache.get(key);
+        if (cached != null) {
+            nEvals++;
+            return cached;
+        }
+        double[] retValue = runGame(prepareGame(settings));
+        if (key != null)
+            cache.put(key, retValue);
+        return retValue;
+    }
+
+    /**
+     * Evaluates a batch of settings, with the games run in parallel. The players and the random seed for each game
+     * (drawn from rnd) are all created first on this thread, in batch order, so the result for a given batch is the
+     * same whatever the number of threads, as long as the game and the agents draw all their random numbers from
+     * their seeds.
+     *
+     * @param batch    the settings to evaluate, each one an int[] per player
+     * @param nThreads the number of games to run at once
+     * @return the scores of each player, for each entry in the batch
+     */
+    public List<double[]> evaluate(List<List<int[]>> batch, int nThreads) {
+        List<double[]> retValue = new ArrayList<>(batch.size());
+        List<Integer> toPlay = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            String key = cacheKey(batch.get(i));
+            double[] cached = key == null ? null : cache.get(key);
+            retValue.add(cached);
+            if (cached != null) {
+                nEvals++;
+            } else {
+                toPlay.add(i);
+                keys.add(key);
+                games.add(prepareGame(batch.get(i)));
+            }
+        }
+        List<double[]> results = ParallelGames.run(games.size(), nThreads, i -> runGame(games.get(i)));
+        for (int i = 0; i < toPlay.size(); i++) {
+            retValue.set(toPlay.get(i), results.get(i));
+            if (keys.get(i) != null)
+                cache.put(keys.get(i), results.get(i));
+        }
+        return retValue;
+    }
+
+    /**
+     * @return the cache key for the next evaluation of these settings, or null if there is no cache
+     */
+    private String cacheKey(List<int[]> settings) {
+        if (cache == null)
+            return null;
+        StringBuilder sb = new StringBuilder();
+        for (int[] playerSettings : settings)
+            sb.append(Arrays.toString(playerSettings));
+        return cache.nextKey(cacheContext, sb.toString());
+    }
+
+    private Game prepareGame(List<int[]> settings) {
    //     System.out.printf("Starting evaluation %d of %n\t%s at %tT%n", nEvals,
      //           settings.stream().map(Arrays::toString).collect(joining(",\n\t")), System.currentTimeMillis());
 
@@ -79,11 +154,14 @@ public class GameMultiPlayerEvaluator implements MultiSolutionEvaluator {
 
         Game newGame = game.createGameInstance(nPlayers);
         newGame.reset(allPlayers, rnd.nextLong());
+        nEvals++;
+        return newGame;
+    }
 
+    private double[] runGame(Game newGame) {
         newGame.run();
         AbstractGameState finalState = newGame.getGameState();
 
-        nEvals++;
         double[] retValue = new double[nPlayers];
         for (int i = 0; i < nPlayers; i++)
             retValue[i] = stateHeuristic.evaluateState(finalState, i);
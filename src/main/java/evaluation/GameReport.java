@@ -10,6 +10,7 @@ import games.GameType;
 import players.PlayerFactory;
 import players.simple.RandomPlayer;
 import utilities.FileStatsLogger;
+import utilities.GameReportListener;
 import utilities.Pair;
 
 import java.util.*;
@@ -49,9 +50,13 @@ public class GameReport {
                             "\t               Defaults to utilities.GameReportListener. \n" +
                             "\t               A pipe-delimited string can be provided to gather many types of statistics \n" +
                             "\t               from the same set of games." +
+                            "\tsampleEvery=   With GameReportListener, only count the components of the state (for StateSize and\n" +
+                            "\t               HiddenInfo) on every n-th decision, which is much faster. Defaults to 1 (every decision).\n" +
                             "\tlogger=        The full class name of an IStatisticsLogger implementation.\n" +
                             "\t               Defaults to utilities.SummaryLogger. \n" +
-                            "\tlogFile=       Will be used as the IStatisticsLogger log file (FileStatsLogger only)\n" +
+                            "\t               utilities.BinaryStatsLogger writes a binary file in the background, for large\n" +
+                            "\t               volumes of data; convert it to text with utilities.BinaryStatsLogger <file> <output>\n" +
+                            "\tlogFile=       Will be used as the IStatisticsLogger log file (FileStatsLogger and BinaryStatsLogger only)\n" +
                             "\t               A pipe-delimited list should be provided if each distinct listener should\n" +
                             "\t               use a different log file.\n" +
                             "\tstatsLog=      (Optional) If specified this file will be used to log statistics generated by the " +
@@ -78,6 +83,7 @@ public class GameReport {
             throw new IllegalArgumentException("Lists of log files and listeners must be the same length");
 
         int nGames = getArg(args, "nGames", 1000);
+        int sampleEvery = getArg(args, "sampleEvery", 1);
         List<String> tempGames = new ArrayList<>(Arrays.asList(getArg(args, "games", "all").split("\\|")));
         List<String> games = tempGames;
         if (tempGames.get(0).equals("all")) {
@@ -113,6 +119,8 @@ public class GameReport {
             String listenerClass = listenerClasses.size() == 1 ? listenerClasses.get(0) : listenerClasses.get(i);
             IStatisticLogger logger = IStatisticLogger.createLogger(loggerClass, logFile);
             IGameListener gameTracker = IGameListener.createListener(listenerClass, logger);
+            if (gameTracker instanceof GameReportListener)
+                ((GameReportListener) gameTracker).setSampleEvery(sampleEvery);
             gameTrackers.add(gameTracker);
         }
 
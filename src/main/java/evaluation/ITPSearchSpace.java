@@ -6,12 +6,10 @@ import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import utilities.Pair;
+import utilities.Utils;
 
 import java.io.FileReader;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -27,6 +25,13 @@ public class ITPSearchSpace extends AgentSearchSpace<Object> {
     static boolean debug = false;
     ITunableParameters itp;
     Map<Integer, String> tunedIndexToParameterName = new HashMap<>();
+    // parameter values (and optionally a game parameters file) for each fidelity level, cheapest first
+    List<Map<String, Object>> fidelityLevels = new ArrayList<>();
+    List<String> fidelityGameParams = new ArrayList<>();
+    // values of the parameters set by fidelity levels before any level is applied
+    Map<String, Object> baseValues = new HashMap<>();
+    // the JSON the search space was defined with, if any
+    JSONObject definition;
 
     /**
      * Constructor of a SearchSpace to use all the default values defined by an
@@ -54,6 +59,12 @@ public class ITPSearchSpace extends AgentSearchSpace<Object> {
      * If the property is set to an Array, then this defines the values that will be optimised over.
      * If the property is a single value, then this defines the constant value to use for that parameter while the
      * others are optimised.
+     * <p>
+     * Optionally, a "fidelity" property lists cheaper versions of the evaluation for multi-fidelity search, from the
+     * cheapest to full fidelity. Each level sets the values of parameters that are not being optimised, and can also
+     * give a "gameParams" file for a shorter variant of the game, for example:
+     * "fidelity" : [ {"budget" : 250, "gameParams" : "short.json"}, {"budget" : 1000}, {"budget" : 4000} ]
+     * The last level is used whenever a fidelity is not specified.
      *
      * @param tunableParameters An implementation of the ITunableParameters interface
      * @param jsonFile          The location of a JSON file to override the defaults of the ITunableParameters
@@ -62,12 +73,16 @@ public class ITPSearchSpace extends AgentSearchSpace<Object> {
     public ITPSearchSpace(ITunableParameters tunableParameters, String jsonFile) {
         super(convertToSuperFormatFile(jsonFile, tunableParameters), tunableParameters.getParameterTypes());
         initialiseITP(tunableParameters);
+        definition = Utils.loadJSONFile(jsonFile);
+        initialiseFidelity(definition);
     }
 
     public ITPSearchSpace(ITunableParameters tunableParameters, JSONObject json) {
         super(convertToSuperFormatJSON(json, tunableParameters),
                 allParameterTypesWithRecursion(json, tunableParameters));
         initialiseITP(tunableParameters);
+        definition = json;
+        initialiseFidelity(json);
     }
 
     private static List<Pair<String, Class<?>>> extractRecursiveParameters(String nameSpace, JSONObject json, ITunableParameters itp) {
@@ -109,7 +124,7 @@ public class ITPSearchSpace extends AgentSearchSpace<Object> {
                         if (debug)
                             System.out.println("Setting default: " + namespaceSplit[namespaceSplit.length - 1] + " = " + data);
                     }
-                } else if (!baseKey.equals("class")) {
+                } else if (!baseKey.equals("class") && !baseKey.equals("fidelity")) {
                     System.out.println("Unexpected key in JSON when loading ITPSearchSpace : " + baseKey);
                 }
             }
@@ -159,15 +174,111 @@ public class ITPSearchSpace extends AgentSearchSpace<Object> {
                 .collect(toMap(i -> i, i -> getSearchKeys().get(i)));
     }
 
+    private void initialiseFidelity(JSONObject json) {
+        Object fidelity = json.get("fidelity");
+        if (fidelity == null)
+            return;
+        if (!(fidelity instanceof JSONArray))
+            throw new IllegalArgumentException("fidelity must be an array of levels, not " + fidelity);
+        for (Object level : (JSONArray) fidelity) {
+            if (!(level instanceof JSONObject))
+                throw new IllegalArgumentException("Each fidelity level must be a JSON object, not " + level);
+            Map<String, Object> values = new HashMap<>();
+            String gameParams = "";
+            for (Object key : ((JSONObject) level).keySet()) {
+                Object value = ((JSONObject) level).get(key);
+                if (key.equals("gameParams"))
+                    gameParams = (String) value;
+                else if (!itp.getParameterNames().contains(key))
+                    throw new IllegalArgumentException("Unknown parameter in fidelity level : " + key);
+                else if (getSearchKeys().contains(key))
+                    throw new IllegalArgumentException("Parameter " + key + " is being optimised, so cannot set fidelity");
+                else {
+                    values.put((String) key, value);
+                    baseValues.putIfAbsent((String) key, itp.getParameterValue((String) key));
+                }
+            }
+            fidelityLevels.add(values);
+            fidelityGameParams.add(gameParams);
+        }
+    }
+
+    /**
+     * @return the number of fidelity levels declared in the JSON file (0 if there are none)
+     */
+    public int getFidelityLevels() {
+        return fidelityLevels.size();
+    }
+
+    /**
+     * @return the game parameters file for the fidelity level, or "" to use the standard parameters
+     */
+    public String getFidelityGameParams(int level) {
+        return level < 0 || fidelityGameParams.isEmpty() ? "" : fidelityGameParams.get(level);
+    }
+
+    /**
+     * @return the fidelity level (as an index into the levels) and its parameter values, for reporting
+     */
+    public String describeFidelity(int level) {
+        if (level < 0 || fidelityLevels.isEmpty())
+            return "full";
+        String gameParams = fidelityGameParams.get(level);
+        return level + " " + fidelityLevels.get(level) + (gameParams.isEmpty() ? "" : " " + gameParams);
+    }
+
+    /**
+     * @return a description of everything that determines the agents created: the JSON definition of the search
+     * space, the value of every parameter (including those that are not optimised), the values of each dimension that
+     * is, and the fidelity levels with the contents of their game parameters files. This is used to key cached results.
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder(EvaluationCache.describeValue(itp));
+        if (definition != null)
+            sb.append(";").append(definition.toJSONString());
+        for (int i = 0; i < nDims(); i++) {
+            sb.append(";").append(name(i)).append(" in ");
+            for (int j = 0; j < nValues(i); j++)
+                sb.append(EvaluationCache.describeValue(value(i, j))).append(",");
+        }
+        for (int level = 0; level < fidelityLevels.size(); level++) {
+            sb.append(";fidelity").append(level).append("=").append(new TreeMap<>(fidelityLevels.get(level)))
+                    .append(EvaluationCache.describeFile(fidelityGameParams.get(level)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Creates the agent (or game) at full fidelity.
+     */
     public Object getAgent(int[] settings) {
-        // we first need to update itp with the specified parameters, and then instantiate
+        return getAgent(settings, fidelityLevels.size() - 1);
+    }
+
+    /**
+     * @param fidelity - index of the fidelity level to use, or -1 for none
+     */
+    public Object getAgent(int[] settings, int fidelity) {
+        // Each agent gets parameters of its own, as players keep a reference to them, and the agents for a batch of
+        // settings are all created before any of them is run (in parallel)
+        ITunableParameters params = itp;
+        if (itp instanceof TunableParameters) {
+            TunableParameters copy = ((TunableParameters) itp).copy();
+            copy.setRandomSeed(((TunableParameters) itp).getRandomSeed());
+            params = copy;
+        }
+        // we first need to update the parameters with the specified settings, and then instantiate
         for (int i = 0; i < settings.length; i++) {
             String pName = tunedIndexToParameterName.get(i);
             Object value = value(i, settings[i]);
             //   Object value = itp.getPossibleValues(pName).get(settings[i]);
-            itp.setParameterValue(pName, value);
+            params.setParameterValue(pName, value);
         }
-        return itp.instantiate();
+        // start from the base values, as parameters that cannot be copied are shared by every agent
+        baseValues.forEach(params::setParameterValue);
+        if (fidelity >= 0 && fidelity < fidelityLevels.size())
+            fidelityLevels.get(fidelity).forEach(params::setParameterValue);
+        return params.instantiate();
     }
 
 }
@@ -0,0 +1,49 @@
+package evaluation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+/**
+ * Runs a batch of independent games (or anything else) over a fixed number of threads, for the evaluators.
+ */
+class ParallelGames {
+
+    private ParallelGames() {
+    }
+
+    /**
+     * @param n        the number of tasks
+     * @param nThreads the number of threads to use; with 1 the tasks are run in turn on this thread
+     * @param task     runs the task with the given index
+     * @return the result of each task, in index order
+     */
+    static <T> List<T> run(int n, int nThreads, IntFunction<T> task) {
+        List<T> results = new ArrayList<>(n);
+        if (nThreads <= 1 || n <= 1) {
+            for (int i = 0; i < n; i++)
+                results.add(task.apply(i));
+            return results;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(n, nThreads));
+        try {
+            List<Future<T>> futures = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int index = i;
+                futures.add(pool.submit(() -> task.apply(index)));
+            }
+            for (Future<T> future : futures)
+                results.add(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted while running games");
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem running game : " + e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return results;
+    }
+}
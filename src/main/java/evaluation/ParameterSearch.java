@@ -28,6 +28,7 @@ import java.util.*;
 import java.util.stream.IntStream;
 
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static utilities.Utils.getArg;
 import static utilities.Utils.loadJSONFile;
@@ -68,37 +69,50 @@ public class ParameterSearch {
                         "\thood=          The size of neighbourhood to look at in NTBEA. Default is min(50, |searchSpace|/100) \n" +
                         "\trepeat=        The number of times NTBEA should be re-run, to find a single best recommendation \n" +
                         "\tverbose        Will log the results marginalised to each dimension, and the Top 10 best tuples for each run \n" +
+                        "\tbatch=         The number of settings NTBEA proposes at a time, so that their games can be run in parallel.\n" +
+                        "\t               Defaults to 1 (standard NTBEA).\n" +
+                        "\tnThreads=      The number of games to run in parallel, both for NTBEA batches and for the evalGames.\n" +
+                        "\t               Defaults to 1.\n" +
+                        SequentialTest.argumentHelp() +
+                        "\t               With a stopping rule, evalGames is the maximum number of evaluation games.\n" +
+                        "\tcandidates=    If the searchSpace file declares fidelity levels, then NTBEA is run at the cheapest level, and\n" +
+                        "\t               this number of the best settings (default 8) are compared at each higher level in turn.\n" +
+                        "\t               The best 1/eta of them go on to the next level, and the last one is the recommendation.\n" +
+                        "\trungGames=     The number of games for each candidate at the second fidelity level. Defaults to 10.\n" +
+                        "\teta=           Each fidelity level keeps 1/eta of the candidates, and plays eta times as many\n" +
+                        "\t               games with each one. Defaults to 2.\n" +
+                        "\tcache=         (Optional) A file in which the result of every game is kept, so that settings evaluated\n" +
+                        "\t               in earlier repeats, or earlier runs with the same cache and arguments, are not replayed.\n" +
+                        "\t               The n-th evaluation of some settings in a run re-uses the n-th result from an earlier run.\n" +
+                        "\tcacheSize=     The maximum number of results kept in the cache, least recently used first out.\n" +
+                        "\t               Defaults to 1000000.\n" +
                         "\tseed=          Random seed for Game use (not used by NTBEA itself). Defaults to System.currentTimeMillis()\n" +
-                        "\tlogFile=       Output file with results of each run for easier statistical analysis"
+                        "\tlogFile=       Output file with results of each run for easier statistical analysis\n" +
+                        "\tspool=        (Optional) A directory used to split the repeats over several local worker processes.\n" +
+                        "\t               Each repeat is run by a worker, with seed + the index of the repeat, and this\n" +
+                        "\t               process reports the results. Re-running with the same spool resumes the search.\n" +
+                        "\tworkers=      The number of worker processes started with spool=. Defaults to 2.\n" +
+                        "\t               Use 0 to start workers separately, with the arguments spool=<dir> role=worker"
         );
 
+        if (!getArg(args, "spool", "").isEmpty()) {
+            runSharded(args);
+            return;
+        }
         if (argsList.size() < 3)
             throw new AssertionError("Must specify at least three parameters: searchSpace/ITunableParameters, NTBEA iterations, game");
 
+        runSearch(args);
+    }
+
+    /**
+     * Runs the search described by the command line arguments.
+     *
+     * @return the best result over all repeats, as the estimated value (mean and std error) and settings.
+     */
+    private static Pair<Pair<Double, Double>, double[]> runSearch(String[] args) {
         // Create the SearchSpace, and report some useful stuff to the console.
-        ITPSearchSpace searchSpace;
-        boolean fileExists = (new File(args[0])).exists();
-        try {
-            String className = args[0];
-            Constructor<ITunableParameters> constructor;
-            JSONObject json = null;
-            if (fileExists) {
-                // We import the file as a JSONObject
-                json = loadJSONFile(args[0]);
-                className = (String) json.get("class");
-                if (className == null)
-                    throw new AssertionError("No class property found in JSON file. This is required to specify the ITunableParameters class that the file complements");
-            }
-            // we pull in the ITP referred to in the JSON file, or directly as args[0]
-            Class<ITunableParameters> itpClass = (Class<ITunableParameters>) Class.forName(className);
-            constructor = itpClass.getConstructor();
-            ITunableParameters itp = constructor.newInstance();
-            // We then initialise the ITPSearchSpace with this ITP and the JSON details
-            searchSpace = fileExists ? new ITPSearchSpace(itp, json) : new ITPSearchSpace(itp);
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new AssertionError(e.getClass() + " : " + e.getMessage() + "Error loading ITunableParameters class in " + args[0]);
-        }
+        ITPSearchSpace searchSpace = loadSearchSpace(args[0]);
 
         int searchSpaceSize = IntStream.range(0, searchSpace.nDims()).reduce(1, (acc, i) -> acc * searchSpace.nValues(i));
         int twoTupleSize = IntStream.range(0, searchSpace.nDims() - 1)
@@ -138,13 +152,104 @@ public class ParameterSearch {
         if (getArg(args, "opponent", "").isEmpty()) {
             if (tuningGame)
                 throw new AssertionError("If 'tuneGame' is set, then the opponent parameter is mandatory");
-            runMultiNTBEA(landscapeModel, args);
+            return runMultiNTBEA(landscapeModel, args);
+        } else {
+            return runSingleNTBEA(landscapeModel, args);
+        }
+    }
+
+    private static ITPSearchSpace loadSearchSpace(String searchSpaceFile) {
+        boolean fileExists = (new File(searchSpaceFile)).exists();
+        try {
+            String className = searchSpaceFile;
+            Constructor<ITunableParameters> constructor;
+            JSONObject json = null;
+            if (fileExists) {
+                // We import the file as a JSONObject
+                json = loadJSONFile(searchSpaceFile);
+                className = (String) json.get("class");
+                if (className == null)
+                    throw new AssertionError("No class property found in JSON file. This is required to specify the ITunableParameters class that the file complements");
+            }
+            // we pull in the ITP referred to in the JSON file, or directly by class name
+            Class<ITunableParameters> itpClass = (Class<ITunableParameters>) Class.forName(className);
+            constructor = itpClass.getConstructor();
+            ITunableParameters itp = constructor.newInstance();
+            // We then initialise the ITPSearchSpace with this ITP and the JSON details
+            return fileExists ? new ITPSearchSpace(itp, json) : new ITPSearchSpace(itp);
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new AssertionError(e.getClass() + " : " + e.getMessage() + "Error loading ITunableParameters class in " + searchSpaceFile);
+        }
+    }
+
+    /**
+     * Runs the repeats of the search as a coordinator or worker on a WorkSpool (see the spool= argument).
+     * Each repeat is a separate NTBEA run, with its own evaluator seeded from seed + repeat index.
+     */
+    private static void runSharded(String[] args) {
+        WorkSpool spool = new WorkSpool(getArg(args, "spool", ""));
+        String[] manifest = spool.readManifest();
+        if (getArg(args, "role", "coordinator").equals("worker")) {
+            if (manifest == null)
+                throw new AssertionError("No manifest in spool directory " + spool.dir);
+            String[] searchArgs = manifest;
+            long seed = getArg(searchArgs, "seed", 0L);
+            spool.runWorker((id, task) -> {
+                int repeat = Integer.parseInt(task);
+                List<String> shardArgs = new ArrayList<>();
+                for (String arg : searchArgs) {
+                    String key = arg.contains("=") ? arg.substring(0, arg.indexOf('=')).toLowerCase() : "";
+                    if (!key.equals("repeat") && !key.equals("seed") && !key.equals("logfile"))
+                        shardArgs.add(arg);
+                }
+                shardArgs.add("repeat=1");
+                shardArgs.add("seed=" + (seed + repeat));
+                Pair<Pair<Double, Double>, double[]> result = runSearch(shardArgs.toArray(new String[0]));
+                return result.a.a + "\t" + result.a.b + "\t" +
+                        Arrays.stream(result.b).mapToObj(String::valueOf).collect(joining("\t"));
+            });
+            return;
+        }
+        if (manifest == null) {
+            if (args.length < 3)
+                throw new AssertionError("Must specify at least three parameters: searchSpace/ITunableParameters, NTBEA iterations, game");
+            List<String> manifestArgs = new ArrayList<>(Arrays.asList(args));
+            if (getArg(args, "seed", "").isEmpty())
+                manifestArgs.add("seed=" + System.currentTimeMillis());
+            manifest = manifestArgs.toArray(new String[0]);
+            spool.writeManifest(manifest);
         } else {
-            runSingleNTBEA(landscapeModel, args);
+            System.out.println("Resuming search from " + spool.dir);
+        }
+
+        Map<String, String> tasks = new LinkedHashMap<>();
+        int repeats = getArg(manifest, "repeat", 1);
+        for (int r = 0; r < repeats; r++)
+            tasks.put(String.format("repeat%04d", r), String.valueOf(r));
+        SortedMap<String, String> results = spool.runCoordinator(tasks, ParameterSearch.class,
+                getArg(manifest, "workers", 2), id -> {
+                });
+
+        ITPSearchSpace searchSpace = loadSearchSpace(manifest[0]);
+        String logfile = getArg(manifest, "logFile", "");
+        Pair<Pair<Double, Double>, double[]> bestResult = new Pair<>(new Pair<>(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY), new double[0]);
+        for (String result : results.values()) {
+            String[] values = result.split("\t");
+            double[] settings = new double[values.length - 2];
+            for (int i = 0; i < settings.length; i++)
+                settings[i] = Double.parseDouble(values[i + 2]);
+            Pair<Pair<Double, Double>, double[]> retValue = new Pair<>(
+                    new Pair<>(Double.parseDouble(values[0]), Double.parseDouble(values[1])), settings);
+            printDetailsOfRun(retValue, searchSpace, logfile);
+            if (retValue.a.a > bestResult.a.a)
+                bestResult = retValue;
         }
+        System.out.println("\nFinal Recommendation: ");
+        printDetailsOfRun(bestResult, searchSpace, "");
     }
 
-    public static void runSingleNTBEA(NTupleSystem landscapeModel, String[] args) {
+    public static Pair<Pair<Double, Double>, double[]> runSingleNTBEA(NTupleSystem landscapeModel, String[] args) {
 
         boolean tuningGame = Arrays.asList(args).contains("tuneGame");
         int iterationsPerRun = Integer.parseInt(args[1]);
@@ -161,12 +266,18 @@ public class ParameterSearch {
         String evalMethod = getArg(args, "eval", "Win");
         String paramFile = getArg(args, "gameParam", "");
         AbstractParameters gameParams = ParameterFactory.createFromFile(game, paramFile);
+        // only eval=Win gives results in [0, 1] (Ordinal is negative, and Score and game heuristics are unbounded)
+        SequentialTest stoppingRule = SequentialTest.fromArgs(args, !tuningGame && evalMethod.equals("Win"));
 
         ITPSearchSpace searchSpace = (ITPSearchSpace) landscapeModel.getSearchSpace();
         int searchSpaceSize = IntStream.range(0, searchSpace.nDims()).reduce(1, (acc, i) -> acc * searchSpace.nValues(i));
         int hood = getArg(args, "hood", Math.min(50, searchSpaceSize / 100));
 
-        NTupleBanditEA searchFramework = new NTupleBanditEA(landscapeModel, kExplore, hood);
+        int batchSize = getArg(args, "batch", 1);
+        int nThreads = getArg(args, "nThreads", 1);
+        NTupleBanditEA searchFramework = batchSize > 1 || nThreads > 1 ?
+                new BatchNTupleBanditEA(landscapeModel, kExplore, hood, 1, batchSize, nThreads) :
+                new NTupleBanditEA(landscapeModel, kExplore, hood);
 
         // Set up opponents
         List<AbstractPlayer> opponents = new ArrayList<>();
@@ -222,6 +333,11 @@ public class ParameterSearch {
                 gameHeuristic,
                 !allowDupes
         );
+        EvaluationCache cache = createCache(args);
+        if (cache != null)
+            evaluator.setCache(cache, EvaluationCache.context(game.name(), nPlayers, EvaluationCache.describe(gameParams),
+                    EvaluationCache.describeFile(opponentDescriptor), allowDupes, EvaluationCache.describeFile(evalMethod),
+                    tuningGame, searchSpace.describe()));
 
         // Get the results. And then log them.
         // This loops once for each complete repetition of NTBEA specified.
@@ -230,8 +346,16 @@ public class ParameterSearch {
         Pair<Pair<Double, Double>, double[]> bestResult = new Pair<>(new Pair<>(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY), new double[0]);
         for (int mainLoop = 0; mainLoop < repeats; mainLoop++) {
             landscapeModel.reset();
-            Pair<Double, Double> r = runNTBEA(evaluator, null, searchFramework, iterationsPerRun, iterationsPerRun, evalGames, verbose);
-            Pair<Pair<Double, Double>, double[]> retValue = new Pair<>(r, landscapeModel.getBestOfSampled());
+            Pair<Pair<Double, Double>, double[]> retValue;
+            if (searchSpace.getFidelityLevels() > 1) {
+                retValue = runMultiFidelity(evaluator, searchFramework, iterationsPerRun, evalGames, verbose, nThreads,
+                        stoppingRule, getArg(args, "candidates", 8), getArg(args, "rungGames", 10),
+                        getArg(args, "eta", 2));
+            } else {
+                Pair<Double, Double> r = runNTBEA(evaluator, null, searchFramework, iterationsPerRun, iterationsPerRun, evalGames, verbose, nThreads,
+                        stoppingRule);
+                retValue = new Pair<>(r, landscapeModel.getBestOfSampled());
+            }
             printDetailsOfRun(retValue, searchSpace, logfile);
             if (verbose) {
                 System.out.println("MCTS Statistics: ");
@@ -245,9 +369,14 @@ public class ParameterSearch {
         System.out.println("\nFinal Recommendation: ");
         // we don't log the final run to file to avoid duplication
         printDetailsOfRun(bestResult, searchSpace, "");
+        if (cache != null) {
+            System.out.println(cache);
+            cache.close();
+        }
+        return bestResult;
     }
 
-    public static void runMultiNTBEA(NTupleSystem landscapeModel, String[] args) {
+    public static Pair<Pair<Double, Double>, double[]> runMultiNTBEA(NTupleSystem landscapeModel, String[] args) {
 
         int iterationsPerRun = Integer.parseInt(args[1]);
         GameType game = GameType.valueOf(args[2]);
@@ -276,7 +405,14 @@ public class ParameterSearch {
         int searchSpaceSize = IntStream.range(0, searchSpace.nDims()).reduce(1, (acc, i) -> acc * searchSpace.nValues(i));
         int hood = getArg(args, "hood", Math.min(50, searchSpaceSize / 100));
 
-        MultiNTupleBanditEA searchFramework = new MultiNTupleBanditEA(landscapeModel, kExplore, hood, nPlayers);
+        int batchSize = getArg(args, "batch", 1);
+        int nThreads = getArg(args, "nThreads", 1);
+        NTupleBanditEA searchFramework = batchSize > 1 || nThreads > 1 ?
+                new BatchNTupleBanditEA(landscapeModel, kExplore, hood, nPlayers, batchSize, nThreads) :
+                new MultiNTupleBanditEA(landscapeModel, kExplore, hood, nPlayers);
+
+        if (searchSpace.getFidelityLevels() > 1)
+            System.out.println("Fidelity levels are only used with an opponent; MultiNTBEA runs at full fidelity");
 
         // Initialise the GameEvaluator that will do all the heavy lifting
         GameMultiPlayerEvaluator evaluator = new GameMultiPlayerEvaluator(
@@ -286,6 +422,11 @@ public class ParameterSearch {
                 stateHeuristic,
                 seed
         );
+        EvaluationCache cache = createCache(args);
+        if (cache != null)
+            evaluator.setCache(cache, EvaluationCache.context(game.name(), nPlayers,
+                    EvaluationCache.describe(ParameterFactory.getDefaultParams(game, 0)),
+                    EvaluationCache.describeFile(getArg(args, "opponent", "")), evalMethod, searchSpace.describe()));
 
         // Get the results. And then log them.
         // This loops once for each complete repetition of NTBEA specified.
@@ -294,7 +435,8 @@ public class ParameterSearch {
         Pair<Pair<Double, Double>, double[]> bestResult = new Pair<>(new Pair<>(Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY), new double[0]);
         for (int mainLoop = 0; mainLoop < repeats; mainLoop++) {
             landscapeModel.reset();
-            Pair<Double, Double> r = runNTBEA(null, evaluator, searchFramework, iterationsPerRun, iterationsPerRun, evalGames, verbose);
+            Pair<Double, Double> r = runNTBEA(null, evaluator, searchFramework, iterationsPerRun, iterationsPerRun, evalGames, verbose, nThreads,
+                    SequentialTest.NONE);
             Pair<Pair<Double, Double>, double[]> retValue = new Pair<>(r, landscapeModel.getBestOfSampled());
             printDetailsOfRun(retValue, searchSpace, logfile);
             printDiversityResults(landscapeModel, kExplore);
@@ -306,6 +448,11 @@ public class ParameterSearch {
         System.out.println("\nFinal Recommendation: ");
         // we don't log the final run to file to avoid duplication
         printDetailsOfRun(bestResult, searchSpace, "");
+        if (cache != null) {
+            System.out.println(cache);
+            cache.close();
+        }
+        return bestResult;
     }
 
 
@@ -356,6 +503,137 @@ public class ParameterSearch {
 
     }
 
+    /**
+     * Plays the evaluation games on a recommendation.
+     * With a stoppingRule, evalGames is the maximum, and the games are run nThreads at a time until the rule is met.
+     *
+     * @return the result of each game played
+     */
+    private static double[] playEvaluationGames(GameEvaluator evaluator, int[] settings, int evalGames, int nThreads,
+                                                SequentialTest stoppingRule) {
+        SequentialTest.Tracker tracker = stoppingRule.start(1, 1.0 / evaluator.nPlayers, evalGames);
+        List<Double> allResults = new ArrayList<>();
+        while (!tracker.isStopped()) {
+            int remaining = evalGames - tracker.getGames();
+            int nextGames = stoppingRule.rule == SequentialTest.Rule.NONE ? remaining : Math.min(nThreads, remaining);
+            for (double result : evaluator.evaluate(Collections.nCopies(nextGames, settings), nThreads)) {
+                tracker.add(result);
+                allResults.add(result);
+            }
+        }
+        if (stoppingRule.rule != SequentialTest.Rule.NONE)
+            System.out.printf("Evaluation of recommendation played %d of %d games : %s%n", tracker.getGames(),
+                    evalGames, tracker.getStopReason());
+        return allResults.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private static Pair<Double, Double> meanAndStdErr(double[] results) {
+        double avg = Arrays.stream(results).average().orElse(0.0);
+        double stdErr = Math.sqrt(Arrays.stream(results)
+                .map(d -> Math.pow(d - avg, 2.0)).sum()) / (results.length - 1.0);
+        return new Pair<>(avg, stdErr);
+    }
+
+    /**
+     * Multi-fidelity search, used when the search space declares fidelity levels (see ITPSearchSpace).
+     * NTBEA is run with the cheapest level to screen the search space, and the nCandidates sampled settings with the
+     * best N-Tuple estimates then go through successive halving. At each higher level every remaining candidate plays
+     * rungGames * eta^(level - 1) games, and the best 1/eta of them (by mean result) go on to the next level.
+     * The best candidate at full fidelity is the recommendation, and the evalGames are then played at full fidelity.
+     * <p>
+     * The forward model calls of every level are reported, against an estimate (from the full fidelity games) of a
+     * single-fidelity search with the same number of NTBEA iterations and evaluation games.
+     *
+     * @return the estimated value (mean and std error) of the recommendation, and its settings
+     */
+    private static Pair<Pair<Double, Double>, double[]> runMultiFidelity(GameEvaluator evaluator, NTupleBanditEA searchFramework,
+                                                                         int iterations, int evalGames, boolean verbose,
+                                                                         int nThreads, SequentialTest stoppingRule,
+                                                                         int nCandidates, int rungGames, int eta) {
+        if (nCandidates < 1 || rungGames < 1 || eta < 2)
+            throw new IllegalArgumentException("Multi-fidelity search needs candidates >= 1, rungGames >= 1 and eta >= 2");
+        NTupleSystem landscapeModel = (NTupleSystem) searchFramework.getModel();
+        ITPSearchSpace searchSpace = (ITPSearchSpace) landscapeModel.getSearchSpace();
+        int levels = searchSpace.getFidelityLevels();
+        long[] fmCalls = new long[levels];
+        int[] games = new int[levels];
+
+        // screening with NTBEA at the cheapest level
+        evaluator.setFidelity(0);
+        long fmBefore = evaluator.getFMCalls();
+        runNTBEA(evaluator, null, searchFramework, iterations, iterations, 0, verbose, nThreads, SequentialTest.NONE);
+        fmCalls[0] += evaluator.getFMCalls() - fmBefore;
+        games[0] += iterations;
+
+        Map<String, int[]> sampled = new LinkedHashMap<>();
+        landscapeModel.getTuples().stream()
+                .filter(t -> t.tuple.length == searchSpace.nDims())
+                .flatMap(t -> t.ntMap.keySet().stream())
+                .forEach(k -> sampled.putIfAbsent(Arrays.toString(k.v), k.v));
+        List<int[]> candidates = sampled.values().stream()
+                .sorted(Comparator.comparingDouble(v -> -landscapeModel.getMeanEstimate(v)))
+                .limit(nCandidates)
+                .collect(toList());
+
+        // successive halving up the fidelity levels
+        for (int level = 1; level < levels; level++) {
+            evaluator.setFidelity(level);
+            int gamesEach = rungGames * (int) Math.pow(eta, level - 1);
+            List<int[]> batch = new ArrayList<>();
+            for (int[] candidate : candidates)
+                batch.addAll(Collections.nCopies(gamesEach, candidate));
+            fmBefore = evaluator.getFMCalls();
+            double[] results = evaluator.evaluate(batch, nThreads);
+            fmCalls[level] += evaluator.getFMCalls() - fmBefore;
+            games[level] += batch.size();
+
+            Map<int[], Double> means = new HashMap<>();
+            for (int c = 0; c < candidates.size(); c++)
+                means.put(candidates.get(c), Arrays.stream(results, c * gamesEach, (c + 1) * gamesEach).average().orElse(0.0));
+            candidates.sort(Comparator.comparingDouble(c -> -means.get(c)));
+            System.out.printf("Fidelity %s : %d candidates with %d games each, best %s with %.3g%n",
+                    searchSpace.describeFidelity(level), candidates.size(), gamesEach,
+                    Arrays.toString(candidates.get(0)), means.get(candidates.get(0)));
+            int keep = level == levels - 1 ? 1 : Math.max(1, (int) Math.ceil(candidates.size() / (double) eta));
+            candidates = new ArrayList<>(candidates.subList(0, keep));
+        }
+        int[] best = candidates.get(0);
+
+        Pair<Double, Double> value = new Pair<>(landscapeModel.getMeanEstimate(best), 0.0);
+        int evalPlayed = 0;
+        if (evalGames > 0) {
+            evaluator.reportStatistics = true;
+            fmBefore = evaluator.getFMCalls();
+            double[] results = playEvaluationGames(evaluator, best, evalGames, nThreads, stoppingRule);
+            fmCalls[levels - 1] += evaluator.getFMCalls() - fmBefore;
+            games[levels - 1] += results.length;
+            evalPlayed = results.length;
+            evaluator.reportStatistics = false;
+            value = meanAndStdErr(results);
+        }
+
+        long total = 0;
+        for (int level = 0; level < levels; level++) {
+            System.out.printf("Fidelity %s : %d games, %d FM calls%n", searchSpace.describeFidelity(level),
+                    games[level], fmCalls[level]);
+            total += fmCalls[level];
+        }
+        double fullFidelityCallsPerGame = fmCalls[levels - 1] / (double) Math.max(1, games[levels - 1]);
+        long baseline = (long) (fullFidelityCallsPerGame * (iterations + evalPlayed));
+        System.out.printf("Multi-fidelity search used %d FM calls; single-fidelity NTBEA would use about %d (%.1f%%)%n",
+                total, baseline, 100.0 * total / Math.max(1, baseline));
+
+        return new Pair<>(value, Arrays.stream(best).asDoubleStream().toArray());
+    }
+
+    /**
+     * @return the cache given by the cache= and cacheSize= arguments, or null if there is none
+     */
+    private static EvaluationCache createCache(String[] args) {
+        String cacheFile = getArg(args, "cache", "");
+        return cacheFile.isEmpty() ? null : new EvaluationCache(cacheFile, getArg(args, "cacheSize", 1000000));
+    }
+
     private static String valueToString(int paramIndex, int valueIndex, ITPSearchSpace ss) {
         Object value = ss.value(paramIndex, valueIndex);
         String valueString = value.toString();
@@ -478,6 +756,21 @@ public class ParameterSearch {
                                                 EvoAlg searchFramework,
                                                 int totalRuns, int reportEvery,
                                                 int evalGames, boolean logResults) {
+        return runNTBEA(evaluator, multiPlayerEvaluator, searchFramework, totalRuns, reportEvery, evalGames, logResults, 1, SequentialTest.NONE);
+    }
+
+    /**
+     * As above, but with the evaluation games on the final recommendation run on nThreads threads.
+     * (Use a BatchNTupleBanditEA as the searchFramework to also run the NTBEA trials in parallel.)
+     * With a stoppingRule, evalGames is the maximum, and the evaluation stops once the rule is met. The games are
+     * then run nThreads at a time, and the rule is checked after each set.
+     */
+    public static Pair<Double, Double> runNTBEA(GameEvaluator evaluator,
+                                                GameMultiPlayerEvaluator multiPlayerEvaluator,
+                                                EvoAlg searchFramework,
+                                                int totalRuns, int reportEvery,
+                                                int evalGames, boolean logResults, int nThreads,
+                                                SequentialTest stoppingRule) {
 
         NTupleSystem landscapeModel = (NTupleSystem) searchFramework.getModel();
         SearchSpace searchSpace = landscapeModel.getSearchSpace();
@@ -534,20 +827,12 @@ public class ParameterSearch {
         // now run the evaluation games on the final recommendation
         if (evaluator != null && evalGames > 0) {
             evaluator.reportStatistics = true;
-            double[] results = IntStream.range(0, evalGames)
-                    .mapToDouble(answer -> {
-                        int[] settings = Arrays.stream(landscapeModel.getBestOfSampled())
-                                .mapToInt(d -> (int) d)
-                                .toArray();
-                        return evaluator.evaluate(settings);
-                    }).toArray();
-
-            double avg = Arrays.stream(results).average().orElse(0.0);
-            double stdErr = Math.sqrt(Arrays.stream(results)
-                    .map(d -> Math.pow(d - avg, 2.0)).sum()) / (evalGames - 1.0);
-
+            int[] settings = Arrays.stream(landscapeModel.getBestOfSampled())
+                    .mapToInt(d -> (int) d)
+                    .toArray();
+            double[] results = playEvaluationGames(evaluator, settings, evalGames, nThreads, stoppingRule);
             evaluator.reportStatistics = false;
-            return new Pair<>(avg, stdErr);
+            return meanAndStdErr(results);
         } else {
             return new Pair<>(landscapeModel.getMeanEstimate(landscapeModel.getBestOfSampled()), 0.0);
         }
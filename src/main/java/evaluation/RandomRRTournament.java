@@ -34,19 +34,21 @@ public class RandomRRTournament extends RoundRobinTournament {
      * Instead of recursively constructing all possible combinations of players for the game (as in the super-class)
      * here we create random matchups. This is designed for large numbers of players, for which an exhaustive
      * search of all permutations would be prohibitive.
+     * All matchups are drawn before any are played, so the schedule does not depend on the number of threads.
      *
-     * @param ignored - this input is ignored
-     * @param gameIdx - index of game to play with this match-up.
+     * @param gameIdx - index of game to play with these match-ups.
      */
     @Override
-    public void createAndRunMatchUp(LinkedList<Integer> ignored, int gameIdx) {
+    protected List<List<Integer>> createMatchUps(int gameIdx) {
         int nPlayers = playersPerGame.get(gameIdx);
+        List<List<Integer>> matchUps = new ArrayList<>(totalMatchups);
         for (int i = 0; i < totalMatchups; i++) {
             List<Integer> matchup = new ArrayList<>(nPlayers);
             for (int j = 0; j < nPlayers; j++)
                 matchup.add(idStream.getAsInt());
-            evaluateMatchUp(matchup, gameIdx);
+            matchUps.add(matchup);
         }
+        return matchUps;
     }
 
     /**
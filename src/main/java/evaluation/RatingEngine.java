@@ -0,0 +1,298 @@
+package evaluation;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Skill ratings for the agents in a tournament, updated after every game.
+ * <p>
+ * Each agent's skill is a Gaussian with mean mu and standard deviation sigma, as in TrueSkill. Games may have any
+ * number of players, and the outcome is their ordinal positions (ties allowed). The update is the Bradley-Terry
+ * 'full pair' rule of Weng and Lin (2011, A Bayesian Approximation Method for Online Ranking), which treats a game
+ * as every pair of players playing each other, and has a closed form (so no factor graph is needed).
+ * <p>
+ * The ratings can also choose the next match-up: the one with the largest expected reduction in the variance of the
+ * ratings of its players. This starts from the agent with the most uncertain rating, and adds the opponents whose
+ * games against it (and each other) would be closest, which is where a game tells us most.
+ * <p>
+ * Ratings can be saved to a file after each match-up, and loaded again to resume a tournament. The file also holds
+ * a seed, so that a resumed tournament can carry on with the same random choices.
+ */
+public class RatingEngine {
+
+    public static final double DEFAULT_MU = 25.0;
+    public static final double DEFAULT_SIGMA = DEFAULT_MU / 3.0;
+    // the minimum fraction of the variance that is kept after a game
+    private static final double KAPPA = 1e-4;
+
+    private final List<String> names;
+    private final double[] mu, sigma;
+    private final int[] games;
+    private final double beta;
+    private int matchUps;
+    private long seed;
+
+    /**
+     * @param names - the names of the agents, in the order of their IDs
+     */
+    public RatingEngine(List<String> names) {
+        this(names, DEFAULT_MU, DEFAULT_SIGMA);
+    }
+
+    /**
+     * @param names        - the names of the agents, in the order of their IDs
+     * @param initialMu    - the rating of an agent before any games
+     * @param initialSigma - the uncertainty of that rating. The performance of an agent in a single game varies about
+     *                     its skill with half this standard deviation.
+     */
+    public RatingEngine(List<String> names, double initialMu, double initialSigma) {
+        if (initialSigma <= 0.0)
+            throw new IllegalArgumentException("Initial sigma must be positive, not " + initialSigma);
+        this.names = new ArrayList<>(names);
+        mu = new double[names.size()];
+        sigma = new double[names.size()];
+        games = new int[names.size()];
+        Arrays.fill(mu, initialMu);
+        Arrays.fill(sigma, initialSigma);
+        beta = initialSigma / 2.0;
+    }
+
+    /**
+     * Updates the ratings with the result of one game.
+     *
+     * @param agentIDs - the agent in each seat
+     * @param ordinals - the ordinal position of each seat (1 is first, and equal positions are ties)
+     */
+    public synchronized void update(List<Integer> agentIDs, int[] ordinals) {
+        int n = agentIDs.size();
+        if (ordinals.length != n)
+            throw new IllegalArgumentException("Expected " + n + " positions, not " + ordinals.length);
+        double[] meanChange = new double[n];
+        double[] varianceFactor = new double[n];
+        for (int i = 0; i < n; i++) {
+            int a = agentIDs.get(i);
+            double omega = 0.0, delta = 0.0;
+            for (int q = 0; q < n; q++) {
+                if (q == i) continue;
+                int b = agentIDs.get(q);
+                double c = pairSD(a, b);
+                double p = winProbability(a, b, c);
+                double score = ordinals[i] < ordinals[q] ? 1.0 : ordinals[i] == ordinals[q] ? 0.5 : 0.0;
+                double varianceRatio = sigma[a] * sigma[a] / (c * c);
+                omega += sigma[a] * sigma[a] / c * (score - p);
+                delta += sigma[a] / c * varianceRatio * p * (1.0 - p);
+            }
+            meanChange[i] = omega;
+            varianceFactor[i] = Math.max(1.0 - delta, KAPPA);
+        }
+        for (int i = 0; i < n; i++) {
+            int a = agentIDs.get(i);
+            mu[a] += meanChange[i];
+            sigma[a] *= Math.sqrt(varianceFactor[i]);
+            games[a]++;
+        }
+    }
+
+    /**
+     * Records that a match-up has finished, for the count saved with the ratings.
+     */
+    public synchronized void matchUpFinished() {
+        matchUps++;
+    }
+
+    /**
+     * Chooses the players of the next match-up, greedily maximising the expected reduction in the variance of their
+     * ratings. The seat order is random.
+     *
+     * @param nPlayers - the number of players in the game
+     * @param selfPlay - if true, then an agent may fill more than one seat
+     * @param rnd      - used to break ties and shuffle the seats
+     */
+    public synchronized List<Integer> chooseMatchUp(int nPlayers, boolean selfPlay, Random rnd) {
+        if (!selfPlay && nPlayers > names.size())
+            throw new IllegalArgumentException("Not enough agents for " + nPlayers + " players without self-play");
+        List<Integer> order = new ArrayList<>();
+        for (int a = 0; a < names.size(); a++)
+            order.add(a);
+        Collections.shuffle(order, rnd);
+
+        List<Integer> matchUp = new ArrayList<>(nPlayers);
+        int first = order.get(0);
+        for (int a : order)
+            if (sigma[a] > sigma[first])
+                first = a;
+        matchUp.add(first);
+        while (matchUp.size() < nPlayers) {
+            int best = -1;
+            double bestGain = Double.NEGATIVE_INFINITY;
+            for (int a : order) {
+                if (!selfPlay && matchUp.contains(a))
+                    continue;
+                matchUp.add(a);
+                double gain = expectedVarianceReduction(matchUp);
+                matchUp.remove(matchUp.size() - 1);
+                if (gain > bestGain) {
+                    bestGain = gain;
+                    best = a;
+                }
+            }
+            matchUp.add(best);
+        }
+        Collections.shuffle(matchUp, rnd);
+        return matchUp;
+    }
+
+    /**
+     * @return the total reduction in the variances of the players' ratings expected from a game between them
+     */
+    public synchronized double expectedVarianceReduction(List<Integer> agentIDs) {
+        double retValue = 0.0;
+        for (int i = 0; i < agentIDs.size(); i++) {
+            int a = agentIDs.get(i);
+            double delta = 0.0;
+            for (int q = 0; q < agentIDs.size(); q++) {
+                if (q == i) continue;
+                int b = agentIDs.get(q);
+                double c = pairSD(a, b);
+                double p = winProbability(a, b, c);
+                delta += Math.pow(sigma[a] / c, 3) * p * (1.0 - p);
+            }
+            retValue += sigma[a] * sigma[a] * Math.min(delta, 1.0 - KAPPA);
+        }
+        return retValue;
+    }
+
+    private double pairSD(int a, int b) {
+        return Math.sqrt(sigma[a] * sigma[a] + sigma[b] * sigma[b] + 2.0 * beta * beta);
+    }
+
+    private double winProbability(int a, int b, double c) {
+        return 1.0 / (1.0 + Math.exp((mu[b] - mu[a]) / c));
+    }
+
+    /**
+     * @return the probability, from the current ratings, that agent a finishes ahead of agent b
+     */
+    public synchronized double winProbability(int a, int b) {
+        return winProbability(a, b, pairSD(a, b));
+    }
+
+    public synchronized double getMu(int agent) {
+        return mu[agent];
+    }
+
+    public synchronized double getSigma(int agent) {
+        return sigma[agent];
+    }
+
+    /**
+     * @return mu - 3 sigma, a rating the agent's skill is very likely to be above
+     */
+    public synchronized double getConservativeRating(int agent) {
+        return mu[agent] - 3.0 * sigma[agent];
+    }
+
+    public synchronized double getMaxSigma() {
+        return Arrays.stream(sigma).max().orElse(0.0);
+    }
+
+    public synchronized int getGames(int agent) {
+        return games[agent];
+    }
+
+    public synchronized int getMatchUps() {
+        return matchUps;
+    }
+
+    /**
+     * @return the seed saved with the ratings (the ratings make no use of it)
+     */
+    public synchronized long getSeed() {
+        return seed;
+    }
+
+    public synchronized void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @return the IDs of the agents, from highest to lowest conservative rating
+     */
+    public synchronized List<Integer> ranking() {
+        List<Integer> retValue = new ArrayList<>();
+        for (int a = 0; a < names.size(); a++)
+            retValue.add(a);
+        retValue.sort(Comparator.comparingDouble(a -> -getConservativeRating(a)));
+        return retValue;
+    }
+
+    /**
+     * Prints a table of the ratings, in ranking order, with the probability that each agent finishes ahead of the
+     * next one down.
+     */
+    public synchronized void report() {
+        System.out.printf("Ratings after %d match-ups (mu +/- sigma, conservative mu - 3 sigma) :%n", matchUps);
+        List<Integer> ranking = ranking();
+        for (int r = 0; r < ranking.size(); r++) {
+            int a = ranking.get(r);
+            String ahead = r + 1 < ranking.size() ?
+                    String.format(", ahead of next %.2f", winProbability(a, ranking.get(r + 1))) : "";
+            System.out.printf("%3d %-30s %6.2f +/- %5.2f  (%6.2f) in %d games%s%n", r + 1, names.get(a),
+                    mu[a], sigma[a], getConservativeRating(a), games[a], ahead);
+        }
+    }
+
+    /**
+     * Writes the ratings to a file (via a temporary file, so that a run stopped part way through leaves either the
+     * old or the new ratings).
+     */
+    public synchronized void save(File file) {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8))) {
+            out.write("MatchUps\t" + matchUps + "\tSeed\t" + seed + "\n");
+            for (int a = 0; a < names.size(); a++)
+                out.write(String.format("%s\t%s\t%s\t%d%n", names.get(a), mu[a], sigma[a], games[a]));
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem writing ratings " + file + " : " + e.getMessage());
+        }
+        try {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem writing ratings " + file + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces these ratings with those saved in the file. The agents must be the same, and in the same order.
+     */
+    public synchronized void load(File file) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            String[] header = headerLine == null ? new String[0] : headerLine.split("\t");
+            if (header.length < 2)
+                throw new IllegalArgumentException("Ratings in " + file + " have no header line");
+            int savedMatchUps = Integer.parseInt(header[1]);
+            long savedSeed = header.length >= 4 ? Long.parseLong(header[3]) : seed;
+            for (int a = 0; a < names.size(); a++) {
+                String line = reader.readLine();
+                String[] parts = line == null ? new String[0] : line.split("\t");
+                if (parts.length != 4 || !parts[0].equals(names.get(a)))
+                    throw new IllegalArgumentException("Ratings in " + file + " are not for the same agents : expected "
+                            + names.get(a) + " at line " + (a + 2));
+                mu[a] = Double.parseDouble(parts[1]);
+                sigma[a] = Double.parseDouble(parts[2]);
+                games[a] = Integer.parseInt(parts[3]);
+            }
+            matchUps = savedMatchUps;
+            seed = savedSeed;
+        } catch (IOException | NumberFormatException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem reading ratings " + file + " : " + e.getMessage());
+        }
+    }
+}
@@ -14,9 +14,14 @@ import players.rmhc.RMHCPlayer;
 import players.simple.OSLAPlayer;
 import players.simple.RandomPlayer;
 import utilities.FileStatsLogger;
+import utilities.GameReportListener;
+import utilities.TAGStatSummary;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import static utilities.Utils.GameResult;
 import static utilities.Utils.getArg;
@@ -26,13 +31,18 @@ public class RoundRobinTournament extends AbstractTournament {
     private static boolean debug = false;
     public final boolean selfPlay;
     private final int gamesPerMatchUp;
-    protected List<String> listenerClasses;
-    protected List<String> listenerFiles;
-    int[] pointsPerPlayer;
+    protected List<String> listenerClasses = new ArrayList<>();
+    protected List<String> listenerFiles = new ArrayList<>();
+    protected int listenerSampleEvery = 1;
+    AtomicIntegerArray pointsPerPlayer;
     LinkedList<Integer> agentIDs;
-    private int matchUpsRun;
-    private int gameCounter;
+    private final AtomicInteger matchUpsRun = new AtomicInteger();
+    private final AtomicInteger gamesRun = new AtomicInteger();
+    private int nThreads = 1;
+    private SequentialTest stoppingRule = SequentialTest.NONE;
     private FileStatsLogger dataLogger;
+    protected RatingEngine ratings;
+    private File ratingsFile;
 
     /**
      * Create a round robin tournament, which plays all agents against all others.
@@ -40,7 +50,7 @@ public class RoundRobinTournament extends AbstractTournament {
      * @param agents          - players for the tournament.
      * @param gameToPlay      - game to play in this tournament.
      * @param playersPerGame  - number of players per game.
-     * @param gamesPerMatchUp - number of games for each combination of players.
+     * @param gamesPerMatchUp - number of games for each combination of players (the maximum, with a stopping rule).
      * @param selfPlay        - true if agents are allowed to play copies of themselves.
      */
     public RoundRobinTournament(LinkedList<AbstractPlayer> agents, GameType gameToPlay, int playersPerGame,
@@ -57,7 +67,11 @@ public class RoundRobinTournament extends AbstractTournament {
 
         this.gamesPerMatchUp = gamesPerMatchUp;
         this.selfPlay = selfPlay;
-        this.pointsPerPlayer = new int[agents.size()];
+        this.pointsPerPlayer = new AtomicIntegerArray(agents.size());
+        List<String> names = new ArrayList<>();
+        for (AbstractPlayer agent : this.agents)
+            names.add(agent.toString());
+        this.ratings = new RatingEngine(names);
     }
 
     /**
@@ -78,17 +92,41 @@ public class RoundRobinTournament extends AbstractTournament {
                             "\tgamesPerMatchup  Defaults to 1. The number of games to play for each combination.\n" +
                             "\tselfPlay=      If true, then multiple copies of the same agent can be in one game.\n" +
                             "\t               Defaults to false\n" +
-                            "\tmode=          exhaustive|random - defaults to exhaustive.\n" +
+                            "\tmode=          exhaustive|random|adaptive - defaults to exhaustive.\n" +
                             "\t               exhaustive will iterate exhaustively through every possible matchup: \n" +
                             "\t               every possible player in every possible position. This can be excessive\n" +
                             "\t               for a large number of players, and random will have a random matchup \n" +
                             "\t               in each game, while ensuring no duplicates, and that all players get the\n" +
                             "\t               the same number of games in total.\n" +
-                            "\tmatchups=      The total number of matchups to run if mode=random\n" +
+                            "\t               adaptive chooses each matchup from the current ratings of the players, to\n" +
+                            "\t               play the games that most reduce the uncertainty in the ratings.\n" +
+                            "\tmatchups=      The total number of matchups to run if mode=random or adaptive\n" +
+                            "\tratings=       (Optional) A file to which the players' ratings are saved after each matchup.\n" +
+                            "\t               With mode=adaptive, an existing file is loaded and the tournament resumed\n" +
+                            "\t               with the seed saved in it, so it plays the same games as an unbroken run.\n" +
+                            "\tratingSigma=   With mode=adaptive, stop once every rating has at most this uncertainty.\n" +
+                            "\t               Defaults to 0 (play all the matchups).\n" +
+                            "\tnThreads=      The number of threads over which matchups are run. Defaults to 1.\n" +
+                            "\t               Not available with mode=adaptive.\n" +
+                            "\tseed=         (Optional) Random seed for the matchups if mode=random or adaptive, and for the games.\n" +
+                            "\t               Defaults to System.currentTimeMillis()\n" +
+                            "\tspool=        (Optional) A directory used to split the tournament over several local worker\n" +
+                            "\t               processes. The coordinator (this process) writes shards of matchups to the\n" +
+                            "\t               directory, starts the workers, and merges their points and log files.\n" +
+                            "\t               If the coordinator is stopped, re-running with the same spool resumes the\n" +
+                            "\t               tournament, and shards from workers that die are given to other workers.\n" +
+                            "\t               Not available with mode=adaptive.\n" +
+                            "\tworkers=      The number of worker processes started with spool=. Defaults to 2.\n" +
+                            "\t               Use 0 to start workers separately, with the arguments spool=<dir> role=worker\n" +
+                            "\tshards=       The number of shards with spool=. Defaults to four per worker.\n" +
+                            SequentialTest.argumentHelp() +
+                            "\t               With a stopping rule, gamesPerMatchup is the maximum for each matchup.\n" +
                             "\tlistener=      (Optional) The full class name of an IGameListener implementation. \n" +
                             "\t               Defaults to utilities.GameReportListener. \n" +
                             "\t               A pipe-delimited string can be provided to gather many types of statistics \n" +
-                            "\t               from the same set of games." +
+                            "\t               from the same set of games.\n" +
+                            "\tsampleEvery=   With GameReportListener, only count the components of the state on every n-th\n" +
+                            "\t               decision. Defaults to 1 (every decision).\n" +
                             "\tlogger=        (Optional) The full class name of an IStatisticsLogger implementation.\n" +
                             "\t               Defaults to FileStatsLogger. \n" +
                             "\tlistenerFile= (Optional) Will be used as the IStatisticsLogger log file (FileStatsLogger only)\n" +
@@ -96,6 +134,22 @@ public class RoundRobinTournament extends AbstractTournament {
                             "\t               use a different log file.\n");
             return;
         }
+        if (!getArg(args, "spool", "").isEmpty()) {
+            if (getArg(args, "mode", "exhaustive").equals("adaptive"))
+                throw new IllegalArgumentException("mode=adaptive cannot be used with spool=, as each match-up is chosen from the results of the last");
+            runSharded(args);
+            return;
+        }
+        createTournament(args, true).runTournament();
+    }
+
+    /**
+     * Creates the tournament described by the command line arguments.
+     *
+     * @param args       - the command line arguments.
+     * @param openLogFile - if false, then results are not written to logFile (a sharded run merges them instead).
+     */
+    private static RoundRobinTournament createTournament(String[] args, boolean openLogFile) {
         /* 1. Settings for the tournament */
         GameType gameToPlay = GameType.valueOf(getArg(args, "game", "Uno"));
         int nPlayersPerGame = getArg(args, "nPlayers", 2);
@@ -106,6 +160,8 @@ public class RoundRobinTournament extends AbstractTournament {
         String playerDirectory = getArg(args, "players", "");
         String logFile = getArg(args, "logFile", "");
         String gameParams = getArg(args, "gameParams", "");
+        int nThreads = getArg(args, "nThreads", 1);
+        long seed = getArg(args, "seed", System.currentTimeMillis());
 
 
         List<String> listenerClasses = new ArrayList<>(Arrays.asList(getArg(args, "listener", "utilities.GameReportListener").split("\\|")));
@@ -128,16 +184,29 @@ public class RoundRobinTournament extends AbstractTournament {
         }
 
         AbstractParameters params = ParameterFactory.createFromFile(gameToPlay, gameParams);
+        if (!getArg(args, "seed", "").isEmpty())
+            params.setRandomSeed(seed);
 
         // Run!
-        RoundRobinTournament tournament = mode.equals("exhaustive") ?
-                new RoundRobinTournament(agents, gameToPlay, nPlayersPerGame, nGamesPerMatchUp, selfPlay, params) :
-                new RandomRRTournament(agents, gameToPlay, nPlayersPerGame, nGamesPerMatchUp, selfPlay, totalMatchups,
-                        System.currentTimeMillis(), params);
+        RoundRobinTournament tournament;
+        if (mode.equals("exhaustive"))
+            tournament = new RoundRobinTournament(agents, gameToPlay, nPlayersPerGame, nGamesPerMatchUp, selfPlay, params);
+        else if (mode.equals("adaptive"))
+            tournament = new AdaptiveRRTournament(agents, gameToPlay, nPlayersPerGame, nGamesPerMatchUp, selfPlay,
+                    totalMatchups, seed, params, getArg(args, "ratingSigma", 0.0));
+        else
+            tournament = new RandomRRTournament(agents, gameToPlay, nPlayersPerGame, nGamesPerMatchUp, selfPlay, totalMatchups,
+                    seed, params);
+        String ratingsFile = getArg(args, "ratings", "");
+        if (!ratingsFile.isEmpty())
+            tournament.setRatingsFile(new File(ratingsFile));
         tournament.listenerFiles = listenerFiles;
         tournament.listenerClasses = listenerClasses;
-        tournament.dataLogger = logFile.equals("") ? null : new FileStatsLogger(logFile, "\t", true);
-        tournament.runTournament();
+        tournament.listenerSampleEvery = getArg(args, "sampleEvery", 1);
+        tournament.dataLogger = logFile.equals("") || !openLogFile ? null : new FileStatsLogger(logFile, "\t", true);
+        tournament.setNThreads(nThreads);
+        tournament.setStoppingRule(SequentialTest.fromArgs(args));
+        return tournament;
     }
 
     /**
@@ -147,97 +216,419 @@ public class RoundRobinTournament extends AbstractTournament {
     public void runTournament() {
         for (int g = 0; g < games.size(); g++) {
             System.out.println("Playing " + games.get(g).getGameType().name());
-
-            LinkedList<Integer> matchUp = new LinkedList<>();
-            createAndRunMatchUp(matchUp, g);
-
-            for (int i = 0; i < this.agents.size(); i++) {
-                System.out.printf("%s got %d points %n", agents.get(i), pointsPerPlayer[i]);
-                System.out.printf("%s won %.1f%% of the games %n", agents.get(i), 100.0 * pointsPerPlayer[i] / (gamesPerMatchUp * matchUpsRun));
-            }
+            playMatchUps(g);
+            reportPoints();
         }
         if (dataLogger != null)
             dataLogger.processDataAndFinish();
     }
 
     /**
-     * Recursively creates one combination of players and evaluates it.
+     * Plays all the match-ups of one game.
+     *
+     * @param gameIdx - index of game to play.
+     */
+    protected void playMatchUps(int gameIdx) {
+        List<List<Integer>> matchUps = createMatchUps(gameIdx);
+        long baseSeed = games.get(gameIdx).getGameState().getGameParameters().getRandomSeed();
+        runMatchUps(matchUps, gameIdx, baseSeed, 0, matchUps.size());
+        // leave the tournament's game where a sequential run would have left it
+        games.get(gameIdx).getGameState().getGameParameters().setRandomSeed(baseSeed + (long) matchUps.size() * gamesPerMatchUp);
+    }
+
+    protected void reportPoints() {
+        for (int i = 0; i < this.agents.size(); i++) {
+            System.out.printf("%s got %d points %n", agents.get(i), pointsPerPlayer.get(i));
+            System.out.printf("%s won %.1f%% of the games %n", agents.get(i), 100.0 * pointsPerPlayer.get(i) / gamesRun.get());
+        }
+        if (stoppingRule.rule != SequentialTest.Rule.NONE)
+            System.out.printf("Played %d of a possible %d games with stopping rule %s%n", gamesRun.get(),
+                    gamesPerMatchUp * matchUpsRun.get(), stoppingRule);
+        if (ratings.getMatchUps() > 0)
+            ratings.report();
+    }
+
+    /**
+     * Sets the number of threads over which match-ups are run. Each thread plays its match-ups in its own Game. With
+     * any number of threads, each match-up is played by fresh copies of the agents, seeded from the seed of the
+     * tournament and the index of the match-up (see AbstractPlayer.copyWithSeed), so the results of each match-up
+     * do not depend on the number of threads, or on which thread plays it.
      *
-     * @param matchUp - current combination of players, updated recursively.
-     * @param gameIdx - index of game to play with this match-up.
+     * @param nThreads - number of threads, 1 (the default) runs the match-ups in turn.
+     */
+    public void setNThreads(int nThreads) {
+        if (nThreads < 1)
+            throw new IllegalArgumentException("Number of threads must be at least 1, not " + nThreads);
+        this.nThreads = nThreads;
+    }
+
+    /**
+     * Sets a file to which the ratings are saved after every match-up.
+     */
+    public void setRatingsFile(File ratingsFile) {
+        this.ratingsFile = ratingsFile;
+    }
+
+    public RatingEngine getRatings() {
+        return ratings;
+    }
+
+    /**
+     * Sets a rule for stopping each match-up before gamesPerMatchUp games, once the seats' win rates are clear.
+     * The games that are played have the same seeds as without the rule.
      */
-    public void createAndRunMatchUp(LinkedList<Integer> matchUp, int gameIdx) {
+    public void setStoppingRule(SequentialTest stoppingRule) {
+        this.stoppingRule = stoppingRule;
+    }
+
+    /**
+     * Creates every combination of players for the game, in the order in which they are played.
+     *
+     * @param gameIdx - index of game to play with these match-ups.
+     * @return list of match-ups, each a list of agent IDs in player order.
+     */
+    protected List<List<Integer>> createMatchUps(int gameIdx) {
+        List<List<Integer>> matchUps = new ArrayList<>();
+        addMatchUps(new LinkedList<>(), gameIdx, matchUps);
+        return matchUps;
+    }
+
+    /**
+     * Recursively creates one combination of players and adds it to the list.
+     *
+     * @param matchUp  - current combination of players, updated recursively.
+     * @param gameIdx  - index of game to play with this match-up.
+     * @param matchUps - list of complete match-ups.
+     */
+    private void addMatchUps(LinkedList<Integer> matchUp, int gameIdx, List<List<Integer>> matchUps) {
         if (matchUp.size() == playersPerGame.get(gameIdx)) {
-            evaluateMatchUp(matchUp, gameIdx);
+            matchUps.add(new ArrayList<>(matchUp));
         } else {
             for (Integer agentID : this.agentIDs) {
                 if (selfPlay || !matchUp.contains(agentID)) {
                     matchUp.add(agentID);
-                    createAndRunMatchUp(matchUp, gameIdx);
+                    addMatchUps(matchUp, gameIdx, matchUps);
                     matchUp.remove(agentID);
                 }
             }
         }
     }
 
+    /**
+     * Runs a range of the match-ups, either in turn or on a pool of nThreads threads. For the pool, the Games for
+     * each thread, and the agent copies for each match-up, are all created on this thread, as neither game creation
+     * nor copying an agent is thread-safe. The ratings are updated with the results of each match-up in order, as
+     * they would be with one thread.
+     *
+     * @param matchUps - all match-ups for the game, in order.
+     * @param gameIdx  - index of game to play.
+     * @param baseSeed - seed of the game at the start of the tournament.
+     * @param from     - index of the first match-up to play.
+     * @param to       - index after the last match-up to play.
+     */
+    private void runMatchUps(List<List<Integer>> matchUps, int gameIdx, long baseSeed, int from, int to) {
+        Game game = games.get(gameIdx);
+        if (nThreads == 1) {
+            for (int m = from; m < to; m++)
+                evaluateMatchUp(matchUps.get(m), game, baseSeed, m);
+            return;
+        }
+        AbstractParameters params = game.getGameState().getGameParameters();
+        BlockingQueue<Game> workers = new ArrayBlockingQueue<>(nThreads);
+        for (int t = 0; t < nThreads; t++)
+            workers.add(game.getGameType().createGameInstance(playersPerGame.get(gameIdx), params.copy()));
+
+        ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+        try {
+            List<Future<List<int[]>>> results = new ArrayList<>();
+            for (int m = from; m < to; m++) {
+                int matchUpIdx = m;
+                List<AbstractPlayer> players = matchUpPlayers(matchUps.get(m), baseSeed, m);
+                results.add(pool.submit(() -> {
+                    Game worker = workers.take();
+                    try {
+                        return playMatchUp(matchUps.get(matchUpIdx), players, worker, baseSeed, matchUpIdx);
+                    } finally {
+                        workers.put(worker);
+                    }
+                }));
+            }
+            // the ratings are updated here, in match-up order, so that they do not depend on which games finish first
+            for (int m = from; m < to; m++)
+                updateRatings(matchUps.get(m), results.get(m - from).get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Tournament interrupted");
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem running match-up : " + e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the tournament as a coordinator or worker on a WorkSpool (see the spool= argument). The coordinator writes
+     * its arguments (with a fixed seed) to the spool manifest, and the workers create the same tournament from there.
+     */
+    private static void runSharded(String[] args) {
+        WorkSpool spool = new WorkSpool(getArg(args, "spool", ""));
+        String[] manifest = spool.readManifest();
+        if (getArg(args, "role", "coordinator").equals("worker")) {
+            if (manifest == null)
+                throw new AssertionError("No manifest in spool directory " + spool.dir);
+            createTournament(manifest, false).runWorker(spool);
+            return;
+        }
+        if (manifest == null) {
+            List<String> manifestArgs = new ArrayList<>(Arrays.asList(args));
+            if (getArg(args, "seed", "").isEmpty())
+                manifestArgs.add("seed=" + System.currentTimeMillis());
+            manifest = manifestArgs.toArray(new String[0]);
+            spool.writeManifest(manifest);
+        } else {
+            System.out.println("Resuming tournament from " + spool.dir);
+        }
+        createTournament(manifest, false).runCoordinator(spool, getArg(manifest, "workers", 2),
+                getArg(manifest, "shards", 0), getArg(manifest, "logFile", ""));
+    }
+
+    /**
+     * Splits the match-ups of each game into shards, and runs them on the spool's workers. Points and the logFile and
+     * listener outputs of each shard are merged as they complete.
+     */
+    private void runCoordinator(WorkSpool spool, int nWorkers, int nShards, String logFile) {
+        Map<String, String> tasks = new LinkedHashMap<>();
+        for (int g = 0; g < games.size(); g++) {
+            int nMatchUps = createMatchUps(g).size();
+            int shards = Math.min(nShards > 0 ? nShards : 4 * Math.max(nWorkers, 1), nMatchUps);
+            for (int s = 0; s < shards; s++)
+                tasks.put(String.format("game%d-shard%04d", g, s),
+                        g + "\t" + (nMatchUps * s / shards) + "\t" + (nMatchUps * (s + 1) / shards));
+        }
+
+        SortedMap<String, String> results = spool.runCoordinator(tasks, RoundRobinTournament.class, nWorkers, id -> {
+            if (!logFile.isEmpty())
+                spool.appendLines(id, spool.doneFile(id, "log"), new File(logFile));
+            for (int l = 0; l < listenerFiles.size(); l++)
+                spool.appendLines(id, spool.doneFile(id, "listener" + l), new File(listenerFiles.get(l)));
+        });
+
+        for (int g = 0; g < games.size(); g++) {
+            System.out.println("Playing " + games.get(g).getGameType().name());
+            for (Map.Entry<String, String> result : results.entrySet()) {
+                if (!result.getKey().startsWith("game" + g + "-"))
+                    continue;
+                String[] values = result.getValue().split("\t");
+                matchUpsRun.addAndGet(Integer.parseInt(values[0]));
+                gamesRun.addAndGet(Integer.parseInt(values[1]));
+                for (int i = 0; i < agents.size(); i++)
+                    pointsPerPlayer.addAndGet(i, Integer.parseInt(values[i + 2]));
+            }
+            reportPoints();
+        }
+    }
+
+    /**
+     * Runs shards of match-ups for the coordinator. The output of each shard goes to its own files in the spool,
+     * and the result passed back is the number of match-ups and games run followed by the points of each agent.
+     */
+    private void runWorker(WorkSpool spool) {
+        // all match-ups are created first, in the same order as the coordinator, as RandomRRTournament draws from a
+        // single random sequence
+        List<List<List<Integer>>> allMatchUps = new ArrayList<>();
+        long[] baseSeeds = new long[games.size()];
+        for (int g = 0; g < games.size(); g++) {
+            allMatchUps.add(createMatchUps(g));
+            baseSeeds[g] = games.get(g).getGameState().getGameParameters().getRandomSeed();
+        }
+        int nListenerFiles = listenerFiles.size();
+        ratingsFile = null; // the ratings depend on the order of the games, so each shard's are not kept
+
+        spool.runWorker((id, task) -> {
+            String[] parts = task.split("\t");
+            int g = Integer.parseInt(parts[0]);
+            pointsPerPlayer = new AtomicIntegerArray(agents.size());
+            matchUpsRun.set(0);
+            gamesRun.set(0);
+            dataLogger = new FileStatsLogger(spool.workFile(id, "log").getPath(), "\t", false);
+            listenerFiles = new ArrayList<>();
+            for (int l = 0; l < nListenerFiles; l++)
+                listenerFiles.add(spool.workFile(id, "listener" + l).getPath());
+
+            runMatchUps(allMatchUps.get(g), g, baseSeeds[g], Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+            dataLogger.processDataAndFinish();
+
+            StringBuilder result = new StringBuilder().append(matchUpsRun.get()).append("\t").append(gamesRun.get());
+            for (int i = 0; i < agents.size(); i++)
+                result.append("\t").append(pointsPerPlayer.get(i));
+            return result.toString();
+        });
+    }
+
     /**
      * Evaluates one combination of players.
      *
-     * @param agentIDs - IDs of agents participating in this run.
-     * @param gameIdx  - index of game to play in this evaluation.
+     * @param agentIDs   - IDs of agents participating in this run.
+     * @param game       - game to play in this evaluation.
+     * @param baseSeed   - seed of the game at the start of the tournament.
+     * @param matchUpIdx - index of this match-up in the tournament; this fixes the seeds and IDs of its games, and the
+     *                   seeds of the agents that play it.
+     */
+    protected void evaluateMatchUp(List<Integer> agentIDs, Game game, long baseSeed, int matchUpIdx) {
+        updateRatings(agentIDs, playMatchUp(agentIDs, matchUpPlayers(agentIDs, baseSeed, matchUpIdx), game, baseSeed,
+                matchUpIdx));
+    }
+
+    /**
+     * Copies of the agents of one match-up, one for each seat, each seeded from the tournament seed, the match-up
+     * index and the seat. The copies keep the names and statistics loggers of the agents.
+     *
+     * @param agentIDs   - IDs of the agents, in player order.
+     * @param baseSeed   - seed of the game at the start of the tournament.
+     * @param matchUpIdx - index of this match-up in the tournament.
      */
-    protected void evaluateMatchUp(List<Integer> agentIDs, int gameIdx) {
+    private List<AbstractPlayer> matchUpPlayers(List<Integer> agentIDs, long baseSeed, int matchUpIdx) {
+        Random seeds = new Random(baseSeed ^ (matchUpIdx * 0x9E3779B97F4A7C15L));
+        List<AbstractPlayer> retValue = new ArrayList<>();
+        for (int agentID : agentIDs) {
+            AbstractPlayer agent = agents.get(agentID);
+            AbstractPlayer copy = agent.copyWithSeed(seeds.nextLong());
+            copy.setName(agent.toString());
+            copy.setStatsLogger(agent.getStatsLogger());
+            retValue.add(copy);
+        }
+        return retValue;
+    }
+
+    /**
+     * Plays the games of one match-up, as evaluateMatchUp(), but without updating the ratings.
+     *
+     * @param players - the agents of the match-up, in player order (see matchUpPlayers).
+     * @return the ordinal positions of the agents in each game, in the order the games were played.
+     */
+    private List<int[]> playMatchUp(List<Integer> agentIDs, List<AbstractPlayer> players, Game game,
+                                    long baseSeed, int matchUpIdx) {
         if (debug)
             System.out.printf("Evaluate %s at %tT%n", agentIDs.toString(), System.currentTimeMillis());
-        LinkedList<AbstractPlayer> matchUpPlayers = new LinkedList<>();
-        for (int agentID : agentIDs)
-            matchUpPlayers.add(this.agents.get(agentID));
+        LinkedList<AbstractPlayer> matchUpPlayers = new LinkedList<>(players);
 
         List<IGameListener> gameTrackers = new ArrayList<>();
         for (int l = 0; l < listenerClasses.size(); l++) {
             String logFile = listenerFiles.size() == 1 ? listenerFiles.get(0) : listenerFiles.get(l);
-            IStatisticLogger logger = new FileStatsLogger(logFile);
+            IStatisticLogger logger = nThreads > 1 ? new DeferredFileLogger(logFile) : new FileStatsLogger(logFile);
             String listenerClass = listenerClasses.size() == 1 ? listenerClasses.get(0) : listenerClasses.get(l);
             IGameListener gameTracker = IGameListener.createListener(listenerClass, logger);
-            games.get(gameIdx).addListener(gameTracker);
+            if (gameTracker instanceof GameReportListener)
+                ((GameReportListener) gameTracker).setSampleEvery(listenerSampleEvery);
+            game.addListener(gameTracker);
             gameTrackers.add(gameTracker);
         }
 
-        // Run the game N = gamesPerMatchUp times with these players
-        long currentSeed = games.get(gameIdx).getGameState().getGameParameters().getRandomSeed();
-        for (int i = 0; i < this.gamesPerMatchUp; i++) {
-            gameCounter++;
-            games.get(gameIdx).reset(matchUpPlayers, currentSeed + i + 1);
-
+        // Run the game N = gamesPerMatchUp times with these players, or until the stopping rule is met
+        long currentSeed = baseSeed + (long) matchUpIdx * gamesPerMatchUp;
+        SequentialTest.Tracker tracker = stoppingRule.start(agentIDs.size(), 1.0 / agentIDs.size(), gamesPerMatchUp);
+        List<int[]> gameOrdinals = new ArrayList<>();
+        for (int i = 0; !tracker.isStopped(); i++) {
+            int gameId = matchUpIdx * gamesPerMatchUp + i + 1;
+            game.reset(matchUpPlayers, currentSeed + i + 1);
 
-            games.get(gameIdx).run(null);  // Always running tournaments without visuals
 
-            for (IGameListener gameTracker : gameTrackers) {
-                gameTracker.allGamesFinished();
-            }
-            games.get(gameIdx).clearListeners();
+            game.run(null);  // Always running tournaments without visuals
 
-            GameResult[] results = games.get(gameIdx).getGameState().getPlayerResults();
+            GameResult[] results = game.getGameState().getPlayerResults();
+            double[] wins = new double[matchUpPlayers.size()];
+            int[] ordinals = new int[matchUpPlayers.size()];
             for (int j = 0; j < matchUpPlayers.size(); j++) {
-                pointsPerPlayer[agentIDs.get(j)] += results[j] == GameResult.WIN ? 1 : 0;
+                if (results[j] == GameResult.WIN) {
+                    pointsPerPlayer.incrementAndGet(agentIDs.get(j));
+                    wins[j] = 1.0;
+                }
+                ordinals[j] = game.getGameState().getOrdinalPosition(j);
             }
+            tracker.add(wins);
+            gameOrdinals.add(ordinals);
             if (dataLogger != null) {
-                Game g = games.get(gameIdx);
-                for (int p = 0; p < g.getPlayers().size(); p++) {
-                    Map<String, Object> data = new LinkedHashMap<>();
-                    data.put("GameId", gameCounter);
-                    data.put("Game", g.getGameType().name());
-                    data.put("PlayerCount", g.getGameState().getNPlayers());
-                    data.put("PlayerNumber", p);
-                    data.put("PlayerType", g.getPlayers().get(p).toString());
-                    data.put("Score", g.getGameState().getGameScore(p));
-                    data.put("Ordinal", g.getGameState().getOrdinalPosition(p));
-                    data.put("Result", g.getGameState().getPlayerResults()[p].toString());
-                    dataLogger.record(data);
-                    dataLogger.flush();
+                synchronized (dataLogger) {
+                    for (int p = 0; p < game.getPlayers().size(); p++) {
+                        Map<String, Object> data = new LinkedHashMap<>();
+                        data.put("GameId", gameId);
+                        data.put("Game", game.getGameType().name());
+                        data.put("PlayerCount", game.getGameState().getNPlayers());
+                        data.put("PlayerNumber", p);
+                        data.put("PlayerType", game.getPlayers().get(p).toString());
+                        data.put("Score", game.getGameState().getGameScore(p));
+                        data.put("Ordinal", game.getGameState().getOrdinalPosition(p));
+                        data.put("Result", game.getGameState().getPlayerResults()[p].toString());
+                        dataLogger.record(data);
+                        dataLogger.flush();
+                    }
                 }
             }
         }
-        matchUpsRun++;
+        for (IGameListener gameTracker : gameTrackers) {
+            gameTracker.allGamesFinished();
+        }
+        game.clearListeners();
+        matchUpsRun.incrementAndGet();
+        gamesRun.addAndGet(tracker.getGames());
+        if (stoppingRule.rule != SequentialTest.Rule.NONE)
+            System.out.printf("Match-up %s played %d of %d games : %s%n", matchUpPlayers, tracker.getGames(),
+                    gamesPerMatchUp, tracker.getStopReason());
+        return gameOrdinals;
+    }
+
+    private void updateRatings(List<Integer> agentIDs, List<int[]> gameOrdinals) {
+        for (int[] ordinals : gameOrdinals)
+            ratings.update(agentIDs, ordinals);
+        ratings.matchUpFinished();
+        if (ratingsFile != null)
+            ratings.save(ratingsFile);
+    }
+
+    /**
+     * Used by the listeners of parallel match-ups. Records are kept in memory until the listener is finished, and
+     * then appended to the file in one go, so that match-ups finishing together do not interleave their lines (or
+     * both write a header).
+     */
+    private static class DeferredFileLogger implements IStatisticLogger {
+        private static final Object fileLock = new Object();
+        private final String fileName;
+        private final List<Map<String, ?>> records = new ArrayList<>();
+
+        DeferredFileLogger(String fileName) {
+            this.fileName = fileName;
+        }
+
+        @Override
+        public void record(Map<String, ?> data) {
+            records.add(new LinkedHashMap<>(data));
+        }
+
+        /**
+         * Single values are not written, as each line of the file is one record of a whole game (or decision), as
+         * given to record(Map).
+         */
+        @Override
+        public void record(String key, Object datum) {
+            System.out.println("Datum " + key + " ignored - DeferredFileLogger only writes the records given to record(Map)");
+        }
+
+        @Override
+        public void processDataAndFinish() {
+            if (records.isEmpty())
+                return;
+            synchronized (fileLock) {
+                FileStatsLogger logger = new FileStatsLogger(fileName);
+                records.forEach(logger::record);
+                logger.processDataAndFinish();
+            }
+            records.clear();
+        }
+
+        @Override
+        public Map<String, TAGStatSummary> summary() {
+            return new HashMap<>();
+        }
     }
 }
@@ -0,0 +1,204 @@
+package evaluation;
+
+import static utilities.Utils.getArg;
+
+/**
+ * A rule for stopping a run of games early, once the results are statistically clear.
+ * <p>
+ * The results are one or more streams of values, for example the wins of each seat in a tournament match-up, or the
+ * score of the NTBEA recommendation. A Tracker is started for each run of games, and is given the values of each
+ * game in turn. The rules are:
+ * <ul>
+ *     <li>NONE - all the games are played.</li>
+ *     <li>SPRT - Wald's sequential probability ratio test on each stream, of the mean being below centre - delta
+ *     against it being above centre + delta, with error rates alpha and beta. Values must be in [0, 1], and
+ *     fractional values (e.g. draws as 0.5) are used as fractional successes. The run stops once every stream has
+ *     been decided.</li>
+ *     <li>STD_ERR - the run stops once the standard error on the mean of every stream is at most targetStdErr.</li>
+ * </ul>
+ * Neither rule stops before minGames have been played, and the run always stops at the maximum number of games.
+ */
+public class SequentialTest {
+
+    public enum Rule {NONE, SPRT, STD_ERR}
+
+    public static final SequentialTest NONE = new SequentialTest(Rule.NONE, 0.05, 0.05, 0.1, 0.05, 10);
+
+    public final Rule rule;
+    public final double alpha, beta, delta, targetStdErr;
+    public final int minGames;
+
+    public SequentialTest(Rule rule, double alpha, double beta, double delta, double targetStdErr, int minGames) {
+        if (alpha <= 0.0 || alpha >= 0.5 || beta <= 0.0 || beta >= 0.5)
+            throw new IllegalArgumentException("Error rates must be in (0, 0.5), not " + alpha + " and " + beta);
+        if (delta <= 0.0 || targetStdErr <= 0.0)
+            throw new IllegalArgumentException("delta and targetStdErr must be positive");
+        this.rule = rule;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.delta = delta;
+        this.targetStdErr = targetStdErr;
+        this.minGames = Math.max(1, minGames);
+    }
+
+    /**
+     * Creates the test from the command line arguments stop=none|sprt|stdErr, stopAlpha=, stopBeta=, stopDelta=,
+     * stopStdErr= and stopMinGames=, for results that are wins and losses.
+     */
+    public static SequentialTest fromArgs(String[] args) {
+        return fromArgs(args, true);
+    }
+
+    /**
+     * As fromArgs(args), but stop=sprt is rejected unless every result is a win or loss (a value in [0, 1]), so that
+     * a run is not stopped by an invalid result after it has done all its other work.
+     *
+     * @param winLoss - true if the results to be tested are wins and losses
+     */
+    public static SequentialTest fromArgs(String[] args, boolean winLoss) {
+        String rule = getArg(args, "stop", "none");
+        if (!winLoss && rule.equalsIgnoreCase("sprt"))
+            throw new IllegalArgumentException("stop=sprt needs win/loss results in [0, 1]; use stop=stdErr instead");
+        return new SequentialTest(
+                rule.equalsIgnoreCase("stdErr") ? Rule.STD_ERR : Rule.valueOf(rule.toUpperCase()),
+                getArg(args, "stopAlpha", 0.05),
+                getArg(args, "stopBeta", 0.05),
+                getArg(args, "stopDelta", 0.1),
+                getArg(args, "stopStdErr", 0.05),
+                getArg(args, "stopMinGames", 10)
+        );
+    }
+
+    /**
+     * The help text for the arguments read by fromArgs
+     */
+    public static String argumentHelp() {
+        return "\tstop=          none|sprt|stdErr - defaults to none. Stops a run of games early once the result is clear.\n" +
+                "\t               sprt stops once a sequential probability ratio test has decided whether the win rate is\n" +
+                "\t               below or above the chance rate (1/nPlayers) +/- stopDelta. It needs win/loss results,\n" +
+                "\t               so cannot be used by ParameterSearch with tuneGame or any eval= other than Win.\n" +
+                "\t               stdErr stops once the standard error on the mean is at most stopStdErr.\n" +
+                "\tstopAlpha=     The false positive rate for stop=sprt. Defaults to 0.05\n" +
+                "\tstopBeta=      The false negative rate for stop=sprt. Defaults to 0.05\n" +
+                "\tstopDelta=     The indifference region either side of the chance rate for stop=sprt. Defaults to 0.1\n" +
+                "\tstopStdErr=    The target standard error for stop=stdErr. Defaults to 0.05\n" +
+                "\tstopMinGames=  The minimum number of games before stopping early. Defaults to 10\n";
+    }
+
+    /**
+     * @param nStreams - the number of values for each game.
+     * @param centre   - the mean expected by chance, about which SPRT tests.
+     * @param maxGames - the number of games to play if the rule does not stop the run earlier.
+     */
+    public Tracker start(int nStreams, double centre, int maxGames) {
+        return new Tracker(nStreams, centre, maxGames);
+    }
+
+    @Override
+    public String toString() {
+        switch (rule) {
+            case SPRT:
+                return String.format("SPRT(alpha=%.3g, beta=%.3g, delta=%.3g)", alpha, beta, delta);
+            case STD_ERR:
+                return String.format("StdErr(%.3g)", targetStdErr);
+            default:
+                return "None";
+        }
+    }
+
+    public class Tracker {
+        private final int maxGames;
+        private final double winWeight, lossWeight, upper, lower;
+        private final double[] logLikelihoodRatio, mean, sumSquares;
+        private final int[] decision; // -1 below, +1 above, 0 undecided
+        private int games;
+        private String stopReason;
+
+        private Tracker(int nStreams, double centre, int maxGames) {
+            this.maxGames = maxGames;
+            double p0 = Math.max(1e-6, centre - delta);
+            double p1 = Math.min(1.0 - 1e-6, centre + delta);
+            winWeight = Math.log(p1 / p0);
+            lossWeight = Math.log((1.0 - p1) / (1.0 - p0));
+            upper = Math.log((1.0 - beta) / alpha);
+            lower = Math.log(beta / (1.0 - alpha));
+            logLikelihoodRatio = new double[nStreams];
+            mean = new double[nStreams];
+            sumSquares = new double[nStreams];
+            decision = new int[nStreams];
+            if (maxGames <= 0)
+                stopReason = "no games";
+        }
+
+        /**
+         * Adds the results of one game.
+         *
+         * @param values - one value for each stream
+         * @return true if the run should now stop
+         */
+        public boolean add(double... values) {
+            if (values.length != mean.length)
+                throw new IllegalArgumentException("Expected " + mean.length + " values, not " + values.length);
+            games++;
+            for (int i = 0; i < values.length; i++) {
+                double x = values[i];
+                double previousMean = mean[i];
+                mean[i] += (x - previousMean) / games;
+                sumSquares[i] += (x - previousMean) * (x - mean[i]);
+                if (rule == Rule.SPRT && decision[i] == 0) {
+                    if (x < 0.0 || x > 1.0)
+                        throw new IllegalArgumentException("SPRT needs results in [0, 1], not " + x);
+                    logLikelihoodRatio[i] += x * winWeight + (1.0 - x) * lossWeight;
+                    if (logLikelihoodRatio[i] >= upper)
+                        decision[i] = 1;
+                    else if (logLikelihoodRatio[i] <= lower)
+                        decision[i] = -1;
+                }
+            }
+            if (stopReason == null)
+                stopReason = checkStop();
+            return stopReason != null;
+        }
+
+        private String checkStop() {
+            if (rule != Rule.NONE && games >= minGames) {
+                boolean done = true;
+                for (int i = 0; i < mean.length && done; i++)
+                    done = rule == Rule.SPRT ? decision[i] != 0 : stdErr(i) <= targetStdErr;
+                if (done) {
+                    if (rule == Rule.STD_ERR)
+                        return "std error";
+                    StringBuilder reason = new StringBuilder("SPRT");
+                    for (int d : decision)
+                        reason.append(d > 0 ? " above" : " below");
+                    return reason.toString();
+                }
+            }
+            return games >= maxGames ? "max games" : null;
+        }
+
+        public boolean isStopped() {
+            return stopReason != null;
+        }
+
+        /**
+         * @return why the run stopped (null if it has not): 'max games', 'std error', or 'SPRT' followed by whether
+         * each stream was decided to be above or below the centre.
+         */
+        public String getStopReason() {
+            return stopReason;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        public double mean(int stream) {
+            return mean[stream];
+        }
+
+        public double stdErr(int stream) {
+            return games < 2 ? Double.POSITIVE_INFINITY : Math.sqrt(sumSquares[stream] / (games - 1.0) / games);
+        }
+    }
+}
@@ -157,6 +157,8 @@ public abstract class TunableParameters extends AbstractParameters implements IT
      * <p>
      * Sub-classes should NOT need to implement copy(). Instead they should just implement _copy(), and return
      * an empty copy of themselves, with any non-tunable parameters set appropriately.
+     * <p>
+     * The copy is not frozen, even if this is. Game states should use frozenCopy(), which is much cheaper.
      *
      * @return The copied Parameters
      */
@@ -169,7 +171,11 @@ public abstract class TunableParameters extends AbstractParameters implements IT
         tunable.defaultValues = new HashMap<>(defaultValues);
         tunable.parameterTypes = new HashMap<>(parameterTypes);
         for (String name : parameterNames) {
-            tunable.setParameterValue(name, getParameterValue(name));
+            Object value = getParameterValue(name);
+            // nested parameters (such as a heuristic) are changed by _reset(), so each copy needs its own
+            if (value instanceof TunableParameters)
+                value = ((TunableParameters) value).copy();
+            tunable.setParameterValue(name, value);
         }
         tunable._reset();
         return tunable;
@@ -202,6 +208,7 @@ public abstract class TunableParameters extends AbstractParameters implements IT
      * @param <T>          The type of the parameter
      */
     public <T> void addTunableParameter(String name, T defaultValue, List<T> allSettings) {
+        checkNotFrozen();
         if (!parameterNames.contains(name)) parameterNames.add(name);
         defaultValues.put(name, defaultValue);
         parameterTypes.put(name, defaultValue.getClass());
@@ -210,6 +217,7 @@ public abstract class TunableParameters extends AbstractParameters implements IT
     }
 
     public <T> void addTunableParameter(String name, Class<T> classType) {
+        checkNotFrozen();
         if (!parameterNames.contains(name)) parameterNames.add(name);
         defaultValues.put(name, null);
         parameterTypes.put(name, classType);
@@ -256,6 +264,7 @@ public abstract class TunableParameters extends AbstractParameters implements IT
      */
     @Override
     public void setParameterValue(String parameterName, Object value) {
+        checkNotFrozen();
         if (parameterTypes.get(parameterName).isEnum() && value instanceof String) {
             Object[] values = parameterTypes.get(parameterName).getEnumConstants();
             Optional<Object> found = Arrays.stream(values).filter(v -> v.toString().equals(value)).findFirst();
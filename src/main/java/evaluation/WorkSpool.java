@@ -0,0 +1,451 @@
+package evaluation;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * A work queue held in a directory, so that a large tournament or parameter search can be split over several
+ * local JVMs (each with its own heap) with no other infrastructure.
+ * <p>
+ * A coordinator writes the command line arguments to a manifest, and each shard of work to a file in todo/.
+ * A worker claims a shard by atomically moving it to claimed/, under a name with a token that is unique to that claim,
+ * and keeps it claimed by touching the file while it works. Output files are written to work/, also named with the
+ * token, so that they are never confused with those of another claim on the same shard. When the shard is complete,
+ * the worker atomically moves its claim out of claimed/ (which fails if the claim has gone stale and been returned to
+ * todo/, in which case its output is discarded), and then moves its output to done/ with the result.
+ * The coordinator merges each completed shard and records it in merged/.
+ * <p>
+ * Merging appends a shard's output to files outside the spool, which cannot be done atomically with recording the
+ * shard in merged/. So before appendLines() changes a file it notes the file's length in merging/. If the coordinator
+ * stops part way through a merge, then on restart every file noted there is cut back to that length before the shard
+ * is merged again, and no output is duplicated or lost.
+ * <p>
+ * If a worker dies its claim goes stale and the shard is returned to todo/ for another worker. If the coordinator
+ * dies, it can be restarted with the same spool directory. It then uses the original manifest (so seeds match)
+ * and only runs the shards that have not yet been merged.
+ */
+public class WorkSpool {
+
+    public static final long STALE_AFTER = 60_000;
+    private static final long POLL_INTERVAL = 500;
+
+    public final File dir;
+    private final File todo, claimed, work, done, merged, merging, manifest, finished;
+    private final String workerId = ManagementFactory.getRuntimeMXBean().getName();
+    // the token of each shard claimed by this worker, by shard id
+    private final Map<String, String> myClaims = new ConcurrentHashMap<>();
+    private ScheduledExecutorService heartbeat;
+
+    public interface ShardRunner {
+        /**
+         * Runs one shard of work.
+         *
+         * @param id   - the id of the shard, used to name its output files.
+         * @param task - the task description written by the coordinator.
+         * @return the result to pass back to the coordinator.
+         */
+        String run(String id, String task) throws Exception;
+    }
+
+    public WorkSpool(String dirName) {
+        dir = new File(dirName);
+        todo = new File(dir, "todo");
+        claimed = new File(dir, "claimed");
+        work = new File(dir, "work");
+        done = new File(dir, "done");
+        merged = new File(dir, "merged");
+        merging = new File(dir, "merging");
+        manifest = new File(dir, "manifest.txt");
+        finished = new File(dir, "finished");
+        for (File d : new File[]{todo, claimed, work, done, merged, merging, new File(dir, "workers")})
+            if (!d.isDirectory() && !d.mkdirs())
+                throw new AssertionError("Unable to create spool directory " + d);
+    }
+
+    /**
+     * @return the arguments in the manifest, or null if there is none yet
+     */
+    public String[] readManifest() {
+        if (!manifest.exists())
+            return null;
+        return read(manifest).split("\n");
+    }
+
+    public void writeManifest(String[] args) {
+        write(manifest, String.join("\n", args));
+    }
+
+    /**
+     * Runs the coordinator until every shard has been merged.
+     *
+     * @param tasks     - the task for each shard, by id (which must not contain '.'). Shards that are already queued,
+     *                    running or complete are not added again.
+     * @param mainClass - the class whose main method is run (with spool= and role=worker) in each worker process.
+     * @param nWorkers  - the number of local worker processes to keep running. This can be 0 if the workers are
+     *                    started separately.
+     * @param merger    - called with the id of each newly completed shard, to merge its output files. This should
+     *                    only add to files with appendLines(), so that an interrupted merge can be redone.
+     * @return the result of every shard, in id order.
+     */
+    public SortedMap<String, String> runCoordinator(Map<String, String> tasks, Class<?> mainClass, int nWorkers,
+                                                    Consumer<String> merger) {
+        finished.delete();
+        for (Map.Entry<String, String> task : tasks.entrySet()) {
+            String id = task.getKey();
+            if (id.contains("."))
+                throw new IllegalArgumentException("Shard id " + id + " must not contain '.'");
+            if (!new File(todo, id).exists() && claimsOn(id).isEmpty() && !new File(done, id).exists()
+                    && !new File(merged, id).exists())
+                write(new File(todo, id), task.getValue());
+        }
+        // the coordinator stopped after recording these merges, but before clearing the notes made for them
+        for (String id : list(merging))
+            if (new File(merged, id).exists())
+                new File(merging, id).delete();
+
+        List<Process> workers = new ArrayList<>();
+        int restarts = 0;
+        try {
+            for (int i = 0; i < nWorkers; i++)
+                workers.add(launchWorker(mainClass, i));
+            while (true) {
+                manifest.setLastModified(System.currentTimeMillis());
+                reclaimStale();
+                for (String id : list(done)) {
+                    if (id.contains(".")) continue;
+                    undoPartialMerge(id);
+                    merger.accept(id);
+                    for (File f : filesFor(done, id))
+                        if (!f.getName().equals(id)) f.delete();
+                    move(new File(done, id), new File(merged, id));
+                    new File(merging, id).delete();
+                    System.out.printf("Merged %s at %tT%n", id, System.currentTimeMillis());
+                }
+                if (list(merged).containsAll(tasks.keySet()))
+                    break;
+                // replace any worker that has died, with a limit in case they all fail on start-up
+                for (int i = 0; i < workers.size(); i++) {
+                    if (!workers.get(i).isAlive() && restarts < 3 * nWorkers) {
+                        System.out.printf("Worker %d exited with %d; restarting%n", i, workers.get(i).exitValue());
+                        workers.set(i, launchWorker(mainClass, i));
+                        restarts++;
+                    }
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            write(finished, "");
+            for (Process worker : workers)
+                worker.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.forEach(Process::destroy);
+            throw new AssertionError("Coordinator interrupted");
+        }
+
+        SortedMap<String, String> results = new TreeMap<>();
+        for (String id : tasks.keySet())
+            results.put(id, read(new File(merged, id)));
+        return results;
+    }
+
+    /**
+     * Runs shards until the coordinator marks the spool finished, or stops updating the manifest.
+     */
+    public void runWorker(ShardRunner runner) {
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "spool-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat.scheduleAtFixedRate(() -> {
+            for (Map.Entry<String, String> claim : myClaims.entrySet()) {
+                String name = claim.getKey() + "." + claim.getValue();
+                // the claim is in claimed/ while the shard runs, and in work/ while its output is published
+                new File(claimed, name).setLastModified(System.currentTimeMillis());
+                new File(work, name + ".claim").setLastModified(System.currentTimeMillis());
+            }
+        }, STALE_AFTER / 4, STALE_AFTER / 4, TimeUnit.MILLISECONDS);
+        try {
+            while (!finished.exists()) {
+                String id = claim();
+                if (id == null) {
+                    if (System.currentTimeMillis() - manifest.lastModified() > STALE_AFTER) {
+                        System.out.println("Coordinator has stopped; worker exiting");
+                        break;
+                    }
+                    Thread.sleep(POLL_INTERVAL);
+                    continue;
+                }
+                System.out.printf("Worker %s starting %s at %tT%n", workerId, id, System.currentTimeMillis());
+                String result = runner.run(id, read(new File(claimed, id + "." + myClaims.get(id))));
+                complete(id, result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem running shard : " + e.getMessage());
+        } finally {
+            heartbeat.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the file to which a worker writes one of the outputs of a shard it has claimed
+     */
+    public File workFile(String id, String suffix) {
+        String token = myClaims.get(id);
+        if (token == null)
+            throw new IllegalStateException("Shard " + id + " is not claimed by this worker");
+        return new File(work, id + "." + token + "." + suffix);
+    }
+
+    /**
+     * @return one of the outputs of a completed shard, for use by the merger
+     */
+    public File doneFile(String id, String suffix) {
+        return new File(done, id + "." + suffix);
+    }
+
+    /**
+     * Appends the lines of a shard's output file to the target file, leaving out the header line if the target
+     * already has one. For use by the merger passed to runCoordinator().
+     *
+     * @param id - the id of the shard being merged.
+     */
+    public void appendLines(String id, File from, File to) {
+        if (!from.exists())
+            return;
+        noteLength(id, to);
+        try {
+            List<String> lines = Files.readAllLines(from.toPath(), StandardCharsets.UTF_8);
+            if (to.exists() && to.length() > 0 && !lines.isEmpty())
+                lines = lines.subList(1, lines.size());
+            Files.write(to.toPath(), lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem appending " + from + " to " + to + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Notes the length of the file before the merge of this shard first changes it (unless it has been noted already).
+     */
+    private void noteLength(String id, File target) {
+        File notes = new File(merging, id);
+        String path = target.getAbsolutePath();
+        if (notedLengths(notes).containsKey(path))
+            return;
+        String line = (target.exists() ? target.length() : 0L) + "\t" + path + "\n";
+        try {
+            Files.write(notes.toPath(), line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem writing " + notes + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the length noted for each file changed by the merge, by path. A partly written last line is ignored,
+     * as the file it names was not changed until the line was complete.
+     */
+    private static Map<String, Long> notedLengths(File notes) {
+        Map<String, Long> retValue = new LinkedHashMap<>();
+        if (!notes.exists())
+            return retValue;
+        String[] lines = read(notes).split("\n", -1);
+        // the text after the last newline is either empty or an incomplete line
+        for (int i = 0; i < lines.length - 1; i++) {
+            String[] values = lines[i].split("\t", 2);
+            retValue.putIfAbsent(values[1], Long.parseLong(values[0]));
+        }
+        return retValue;
+    }
+
+    /**
+     * Cuts every file changed by an interrupted merge of this shard back to the length it had before.
+     */
+    private void undoPartialMerge(String id) {
+        for (Map.Entry<String, Long> noted : notedLengths(new File(merging, id)).entrySet()) {
+            File target = new File(noted.getKey());
+            if (!target.exists() || target.length() <= noted.getValue())
+                continue;
+            try (FileChannel channel = FileChannel.open(target.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(noted.getValue());
+            } catch (IOException e) {
+                e.printStackTrace();
+                throw new AssertionError("Problem restoring " + target + " : " + e.getMessage());
+            }
+            System.out.printf("Undid partial merge of %s into %s%n", id, target);
+        }
+    }
+
+    private String claim() {
+        for (String id : list(todo)) {
+            String token = UUID.randomUUID().toString();
+            File claim = new File(claimed, id + "." + token);
+            try {
+                Files.move(new File(todo, id).toPath(), claim.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                continue; // another worker got there first
+            }
+            // the move keeps the time the task was written, so refresh it before the claim looks stale
+            if (claim.setLastModified(System.currentTimeMillis())) {
+                myClaims.put(id, token);
+                return id;
+            }
+        }
+        return null;
+    }
+
+    private void complete(String id, String result) {
+        String name = id + "." + myClaims.get(id);
+        List<File> outputs = filesFor(work, name);
+        File publishing = new File(work, name + ".claim");
+        try {
+            // once the claim is out of claimed/ it cannot be returned to the queue, so no other worker can publish
+            Files.move(new File(claimed, name).toPath(), publishing.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // the claim went stale and the shard was returned to the queue, so its output is another worker's to give
+            System.out.printf("Claim on %s was lost; discarding its output%n", id);
+            myClaims.remove(id);
+            for (File f : outputs) f.delete();
+            return;
+        }
+        for (File f : outputs)
+            move(f, new File(done, id + f.getName().substring(name.length())));
+        write(new File(done, id), result);
+        publishing.delete();
+        myClaims.remove(id);
+    }
+
+    /**
+     * @return the claims on a shard, either running (in claimed/) or publishing their output (in work/)
+     */
+    private List<File> claimsOn(String id) {
+        List<File> retValue = filesFor(claimed, id);
+        for (File f : filesFor(work, id))
+            if (f.getName().endsWith(".claim"))
+                retValue.add(f);
+        return retValue;
+    }
+
+    private void reclaimStale() {
+        List<File> claims = new ArrayList<>();
+        for (String name : list(claimed))
+            claims.add(new File(claimed, name));
+        for (String name : list(work))
+            if (name.endsWith(".claim"))
+                claims.add(new File(work, name));
+        for (File f : claims) {
+            if (System.currentTimeMillis() - f.lastModified() <= STALE_AFTER)
+                continue;
+            String[] parts = f.getName().split("\\.");
+            String id = parts[0];
+            if (new File(done, id).exists() || new File(merged, id).exists()) {
+                // the worker published the shard, but stopped before removing its claim
+                f.delete();
+                continue;
+            }
+            try {
+                Files.move(f.toPath(), new File(todo, id).toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                continue; // the worker completed it just now
+            }
+            // the output of the stale claim will never be published
+            for (File output : filesFor(work, id + "." + parts[1]))
+                output.delete();
+            System.out.printf("Claim on %s is stale; returned to queue%n", id);
+        }
+    }
+
+    /**
+     * The JVM arguments of the coordinator that are passed on to the workers it starts: heap and stack sizes, -XX:
+     * options and system properties. Anything else (such as -Xdebug, -Xrunjdwp, -agentlib or -javaagent, which would
+     * have every worker try to bind the coordinator's debug port) is left out.
+     */
+    public static List<String> workerJvmArguments(List<String> jvmArgs) {
+        List<String> retValue = new ArrayList<>();
+        for (String jvmArg : jvmArgs)
+            if (jvmArg.startsWith("-Xmx") || jvmArg.startsWith("-Xms") || jvmArg.startsWith("-Xss")
+                    || jvmArg.startsWith("-XX:") || jvmArg.startsWith("-D"))
+                retValue.add(jvmArg);
+        return retValue;
+    }
+
+    private Process launchWorker(Class<?> mainClass, int index) {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(workerJvmArguments(ManagementFactory.getRuntimeMXBean().getInputArguments()));
+        command.addAll(Arrays.asList("-cp", System.getProperty("java.class.path"), mainClass.getName(),
+                "spool=" + dir.getPath(), "role=worker"));
+        File log = new File(new File(dir, "workers"), "worker" + index + ".log");
+        try {
+            return new ProcessBuilder(command).redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(log)).start();
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Unable to start worker : " + e.getMessage());
+        }
+    }
+
+    private static List<String> list(File d) {
+        String[] names = d.list();
+        if (names == null)
+            return new ArrayList<>();
+        List<String> retValue = new ArrayList<>();
+        for (String name : names)
+            if (!name.startsWith("."))  // temporary files
+                retValue.add(name);
+        Collections.sort(retValue);
+        return retValue;
+    }
+
+    private static List<File> filesFor(File d, String id) {
+        List<File> retValue = new ArrayList<>();
+        for (String name : list(d))
+            if (name.equals(id) || name.startsWith(id + "."))
+                retValue.add(new File(d, name));
+        return retValue;
+    }
+
+    private static void move(File from, File to) {
+        try {
+            Files.move(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem moving " + from + " to " + to + " : " + e.getMessage());
+        }
+    }
+
+    private static String read(File f) {
+        try {
+            return new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem reading " + f + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes via a temporary file, so that readers never see a partial file
+     */
+    private static void write(File f, String content) {
+        File tmp = new File(f.getParentFile(), "." + f.getName() + ".tmp");
+        try {
+            Files.write(tmp.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem writing " + f + " : " + e.getMessage());
+        }
+        move(tmp, f);
+    }
+}
@@ -0,0 +1,73 @@
+package evaluation.test;
+
+import evaluation.EvaluationCache;
+import evaluation.ITPSearchSpace;
+import games.sushigo.SGParameters;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.*;
+import players.mcts.MCTSParams;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class EvaluationCacheKeys {
+
+    File cacheFile;
+    EvaluationCache cache;
+
+    @Before
+    public void setup() throws IOException {
+        cacheFile = File.createTempFile("evaluationCache", ".txt");
+        cacheFile.delete();
+        cache = new EvaluationCache(cacheFile.getPath(), 100);
+    }
+
+    @After
+    public void cleanup() {
+        cache.close();
+        cacheFile.delete();
+    }
+
+    private ITPSearchSpace searchSpace(String json) throws ParseException {
+        return new ITPSearchSpace(new MCTSParams(), (JSONObject) new JSONParser().parse(json));
+    }
+
+    private String context(ITPSearchSpace searchSpace) {
+        return EvaluationCache.context("SushiGo", 2, EvaluationCache.describe(new SGParameters(1)), "random",
+                false, "Win", false, searchSpace.describe());
+    }
+
+    @Test
+    public void changedFixedValueMissesTheCache() throws ParseException {
+        ITPSearchSpace ss = searchSpace("{\"K\" : [0.1, 1.0, 10.0], \"budget\" : 200}");
+        ITPSearchSpace sameSpace = searchSpace("{\"K\" : [0.1, 1.0, 10.0], \"budget\" : 200}");
+        ITPSearchSpace biggerBudget = searchSpace("{\"K\" : [0.1, 1.0, 10.0], \"budget\" : 2000}");
+
+        cache.put(cache.nextKey(context(ss), "K=1.0"), 1.0);
+        cache.resetVisits();
+        assertNotNull(cache.get(cache.nextKey(context(sameSpace), "K=1.0")));
+        cache.resetVisits();
+        assertNull(cache.get(cache.nextKey(context(biggerBudget), "K=1.0")));
+    }
+
+    @Test
+    public void changedFidelityMissesTheCache() throws ParseException {
+        ITPSearchSpace ss = searchSpace("{\"K\" : [0.1, 1.0], \"fidelity\" : [{\"budget\" : 100}, {\"budget\" : 1000}]}");
+        ITPSearchSpace other = searchSpace("{\"K\" : [0.1, 1.0], \"fidelity\" : [{\"budget\" : 100}, {\"budget\" : 500}]}");
+        assertFalse(ss.describe().equals(other.describe()));
+    }
+
+    @Test
+    public void gameParametersAreDescribedByValueNotSeed() {
+        SGParameters params = new SGParameters(1);
+        SGParameters otherSeed = new SGParameters(2);
+        assertEquals(EvaluationCache.describe(params), EvaluationCache.describe(otherSeed));
+
+        otherSeed.nMaki_3Cards++;
+        assertFalse(EvaluationCache.describe(params).equals(EvaluationCache.describe(otherSeed)));
+    }
+}
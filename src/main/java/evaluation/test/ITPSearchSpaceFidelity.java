@@ -0,0 +1,70 @@
+package evaluation.test;
+
+import core.AbstractParameters;
+import evaluation.ITPSearchSpace;
+import evaluation.TunableParameters;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ITPSearchSpaceFidelity {
+
+    // instantiates the values of K and budget, so that tests can see the values an agent was created with
+    // (compared as strings, as values from JSON are Longs rather than Integers)
+    public static class FidelityParams extends TunableParameters {
+        public FidelityParams() {
+            super(0);
+            addTunableParameter("K", 1.0, Arrays.asList(1.0, 2.0, 4.0));
+            addTunableParameter("budget", 5000);
+        }
+
+        @Override
+        public void _reset() {
+        }
+
+        @Override
+        protected AbstractParameters _copy() {
+            return new FidelityParams();
+        }
+
+        @Override
+        protected boolean _equals(Object o) {
+            return o instanceof FidelityParams;
+        }
+
+        @Override
+        public List<Object> instantiate() {
+            return Arrays.asList(getParameterValue("K"), getParameterValue("budget"));
+        }
+    }
+
+    ITPSearchSpace searchSpace;
+
+    @Before
+    public void setup() throws ParseException {
+        searchSpace = new ITPSearchSpace(new FidelityParams(), (JSONObject) new JSONParser().parse(
+                "{\"K\" : [1.0, 2.0, 4.0], \"fidelity\" : [{\"budget\" : 100}, {\"budget\" : 1000}]}"));
+    }
+
+    @Test
+    public void fidelityLevelsSetTheirValues() {
+        assertEquals("[2.0, 100]", searchSpace.getAgent(new int[]{1}, 0).toString());
+        assertEquals("[4.0, 1000]", searchSpace.getAgent(new int[]{2}, 1).toString());
+    }
+
+    @Test
+    public void fidelityDoesNotLeakIntoLaterAgents() {
+        searchSpace.getAgent(new int[]{1}, 0);
+        // the last level is full fidelity
+        assertEquals("[2.0, 1000]", searchSpace.getAgent(new int[]{1}).toString());
+        searchSpace.getAgent(new int[]{0}, 0);
+        // and with no level the values are those of the search space
+        assertEquals("[1.0, 5000]", searchSpace.getAgent(new int[]{0}, -1).toString());
+    }
+}
@@ -0,0 +1,109 @@
+package evaluation.test;
+
+import core.AbstractPlayer;
+import evaluation.*;
+import games.GameType;
+import games.tictactoe.TicTacToeGameParameters;
+import ntbea.NTupleSystem;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.junit.*;
+import players.search.AlphaBetaParams;
+import players.simple.RandomPlayer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ParallelEvaluation {
+
+    // the same settings more than once, so that later entries of a batch differ from earlier ones only in seat and seed
+    List<int[]> batch = Arrays.asList(new int[]{0}, new int[]{1}, new int[]{2}, new int[]{0}, new int[]{1}, new int[]{0});
+    List<File> cacheFiles = new ArrayList<>();
+
+    @After
+    public void cleanup() {
+        cacheFiles.forEach(File::delete);
+    }
+
+    private ITPSearchSpace searchSpace() throws ParseException {
+        // a shallow search with a seed of its own, so that the players differ only in the seed of each game (drawn by
+        // the evaluator) and the depth they search to
+        return new ITPSearchSpace(new AlphaBetaParams(42), (JSONObject) new JSONParser().parse(
+                "{\"maxDepth\" : [1, 2, 3], \"budget\" : 2000}"));
+    }
+
+    private GameEvaluator evaluator() throws ParseException, IOException {
+        List<AbstractPlayer> opponents = Collections.singletonList(new RandomPlayer(new Random(3)));
+        GameEvaluator retValue = new GameEvaluator(GameType.TicTacToe, searchSpace(), new TicTacToeGameParameters(1), 2,
+                opponents, 7, (state, playerId) -> state.getGameScore(playerId), null, true);
+        File cacheFile = File.createTempFile("evaluationCache", ".txt");
+        cacheFile.delete();
+        cacheFiles.add(cacheFile);
+        retValue.setCache(new EvaluationCache(cacheFile.getPath(), 100), "test");
+        return retValue;
+    }
+
+    // the scores of the batch, and then of the batch with two more entries once the evaluator has been reset, so
+    // that the second time round the first six come from the cache
+    private double[][] evaluateTwice(int nThreads) throws ParseException, IOException {
+        GameEvaluator evaluator = evaluator();
+        double[] first = evaluator.evaluate(batch, nThreads);
+        evaluator.reset();
+        List<int[]> longer = new ArrayList<>(batch);
+        longer.add(new int[]{2});
+        longer.add(new int[]{1});
+        double[] second = evaluator.evaluate(longer, nThreads);
+        assertEquals(longer.size(), evaluator.nEvals());
+        return new double[][]{first, second};
+    }
+
+    @Test
+    public void batchScoresDoNotDependOnTheNumberOfThreads() throws ParseException, IOException {
+        double[][] oneThread = evaluateTwice(1);
+        double[][] fourThreads = evaluateTwice(4);
+        assertArrayEquals(oneThread[0], fourThreads[0], 0.0);
+        assertArrayEquals(oneThread[1], fourThreads[1], 0.0);
+        // the cached entries are the scores of the first time round
+        assertArrayEquals(oneThread[0], Arrays.copyOf(oneThread[1], batch.size()), 0.0);
+        // and the games did not all end the same way, so the comparison means something
+        assertTrue(Arrays.stream(oneThread[1]).distinct().count() > 1);
+    }
+
+    @Test
+    public void batchScoresAreThoseOfEvaluationsOneAtATime() throws ParseException, IOException {
+        double[] batchScores = evaluator().evaluate(batch, 4);
+        GameEvaluator evaluator = evaluator();
+        for (int i = 0; i < batch.size(); i++)
+            assertEquals(batchScores[i], evaluator.evaluate(batch.get(i)), 0.0);
+    }
+
+    @Test
+    public void multiPlayerBatchScoresDoNotDependOnTheNumberOfThreads() throws ParseException {
+        List<List<int[]>> multiBatch = new ArrayList<>();
+        for (int[] settings : batch)
+            multiBatch.add(Arrays.asList(settings, new int[]{(settings[0] + 1) % 3}));
+        List<double[]> oneThread = new GameMultiPlayerEvaluator(GameType.TicTacToe, searchSpace(), 2,
+                (state, playerId) -> state.getGameScore(playerId), 7).evaluate(multiBatch, 1);
+        List<double[]> fourThreads = new GameMultiPlayerEvaluator(GameType.TicTacToe, searchSpace(), 2,
+                (state, playerId) -> state.getGameScore(playerId), 7).evaluate(multiBatch, 4);
+        assertEquals(multiBatch.size(), fourThreads.size());
+        for (int i = 0; i < multiBatch.size(); i++)
+            assertArrayEquals(oneThread.get(i), fourThreads.get(i), 0.0);
+    }
+
+    @Test
+    public void batchNTBEAEvaluatesTheNumberOfSettingsAskedFor() throws ParseException, IOException {
+        // ten evaluations in batches of four, so the last batch is shortened to two
+        GameEvaluator evaluator = evaluator();
+        NTupleSystem model = new NTupleSystem(evaluator.searchSpace());
+        model.addTuples();
+        double[] best = new BatchNTupleBanditEA(model, 1.0, 10, 1, 4, 4).runTrial(evaluator, 10);
+        assertEquals(10, evaluator.nEvals());
+        assertEquals(1, best.length);
+        assertTrue(best[0] >= 0 && best[0] < 3);
+    }
+}
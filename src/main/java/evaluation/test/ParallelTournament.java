@@ -0,0 +1,115 @@
+package evaluation.test;
+
+import core.AbstractGameState;
+import core.AbstractPlayer;
+import core.CoreConstants;
+import core.Game;
+import core.actions.AbstractAction;
+import core.interfaces.IGameListener;
+import core.interfaces.IStatisticLogger;
+import evaluation.RoundRobinTournament;
+import games.GameType;
+import games.tictactoe.TicTacToeGameParameters;
+import org.junit.*;
+import players.mcts.MCTSParams;
+import players.mcts.MCTSPlayer;
+import players.simple.RandomPlayer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ParallelTournament {
+
+    // the players and result of each game, by the seed of the game (which is different for every game of a tournament)
+    static final Map<Long, String> results = new TreeMap<>();
+
+    /**
+     * Records the result of each game in results.
+     */
+    public static class ResultListener implements IGameListener {
+        final IStatisticLogger logger;
+
+        public ResultListener(IStatisticLogger logger) {
+            this.logger = logger;
+        }
+
+        @Override
+        public void onGameEvent(CoreConstants.GameEvents type, Game game) {
+            if (type == CoreConstants.GameEvents.GAME_OVER) {
+                AbstractGameState state = game.getGameState();
+                StringBuilder result = new StringBuilder();
+                for (int p = 0; p < state.getNPlayers(); p++)
+                    result.append(game.getPlayers().get(p)).append(":").append(state.getOrdinalPosition(p)).append(" ");
+                synchronized (results) {
+                    results.put(state.getGameParameters().getRandomSeed(), result.toString());
+                }
+            }
+        }
+
+        @Override
+        public void onEvent(CoreConstants.GameEvents type, AbstractGameState state, AbstractAction action) {
+        }
+
+        @Override
+        public void allGamesFinished() {
+            logger.processDataAndFinish();
+        }
+    }
+
+    // gives the tests access to the listeners of the tournament
+    private static class Tournament extends RoundRobinTournament {
+        Tournament(LinkedList<AbstractPlayer> agents, String listenerFile) {
+            super(agents, GameType.TicTacToe, 2, 3, false, new TicTacToeGameParameters(42));
+            listenerClasses = Collections.singletonList(ResultListener.class.getName());
+            listenerFiles = Collections.singletonList(listenerFile);
+        }
+    }
+
+    File listenerFile;
+
+    @Before
+    public void setup() throws IOException {
+        listenerFile = File.createTempFile("results", ".txt");
+    }
+
+    @After
+    public void cleanup() {
+        listenerFile.delete();
+    }
+
+    private static MCTSPlayer mcts(long seed, String name) {
+        MCTSParams params = new MCTSParams(seed);
+        params.setParameterValue("budget", 200);
+        return new MCTSPlayer(params, name);
+    }
+
+    // the result of every game of the tournament, in order of the game seeds
+    private Map<Long, String> runTournament(int nThreads) {
+        LinkedList<AbstractPlayer> agents = new LinkedList<>(Arrays.asList(mcts(1, "MCTS-1"), mcts(2, "MCTS-2"),
+                new RandomPlayer(new Random(3)), new RandomPlayer(new Random(4))));
+        Tournament tournament = new Tournament(agents, listenerFile.getPath());
+        tournament.setNThreads(nThreads);
+        synchronized (results) {
+            results.clear();
+        }
+        tournament.runTournament();
+        synchronized (results) {
+            return new TreeMap<>(results);
+        }
+    }
+
+    @Test
+    public void resultsOfEachMatchUpDoNotDependOnTheNumberOfThreads() {
+        Map<Long, String> sequential = runTournament(1);
+        // twelve match-ups of three games
+        assertEquals(36, sequential.size());
+        // and the games did not all end the same way, so the comparison means something
+        assertTrue(new HashSet<>(sequential.values()).size() > 4);
+        assertEquals(sequential, runTournament(1));
+        for (int run = 0; run < 2; run++)
+            assertEquals(sequential, runTournament(4));
+    }
+}
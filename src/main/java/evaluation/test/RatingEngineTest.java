@@ -0,0 +1,91 @@
+package evaluation.test;
+
+import evaluation.RatingEngine;
+import org.junit.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class RatingEngineTest {
+
+    RatingEngine ratings = new RatingEngine(Arrays.asList("A", "B", "C", "D"));
+
+    @Test
+    public void winBetweenNewAgents() {
+        // with mu 25 and sigma 25/3 for both, c^2 = 2 sigma^2 + 2 beta^2 (beta = sigma / 2) and the win probability
+        // is 1/2, so mu moves by sigma^2 / 2c and sigma shrinks by sqrt(1 - (sigma / c)^3 / 4)
+        ratings.update(Arrays.asList(0, 1), new int[]{1, 2});
+        assertEquals(27.635231, ratings.getMu(0), 1e-6);
+        assertEquals(22.364769, ratings.getMu(1), 1e-6);
+        assertEquals(8.065506, ratings.getSigma(0), 1e-6);
+        assertEquals(8.065506, ratings.getSigma(1), 1e-6);
+        assertEquals(1, ratings.getGames(0));
+        assertEquals(0, ratings.getGames(2));
+        assertTrue(ratings.winProbability(0, 1) > 0.5);
+    }
+
+    @Test
+    public void tieBetweenEqualAgentsOnlyReducesSigma() {
+        ratings.update(Arrays.asList(2, 3), new int[]{1, 1});
+        assertEquals(RatingEngine.DEFAULT_MU, ratings.getMu(2), 1e-9);
+        assertEquals(RatingEngine.DEFAULT_MU, ratings.getMu(3), 1e-9);
+        assertTrue(ratings.getSigma(2) < RatingEngine.DEFAULT_SIGMA);
+    }
+
+    @Test
+    public void multiPlayerGameRanksInOrder() {
+        for (int i = 0; i < 20; i++)
+            ratings.update(Arrays.asList(3, 1, 0, 2), new int[]{1, 3, 4, 2});
+        assertEquals(Arrays.asList(3, 2, 1, 0), ratings.ranking());
+        assertTrue(ratings.getMaxSigma() < RatingEngine.DEFAULT_SIGMA);
+    }
+
+    @Test
+    public void matchUpStartsFromTheMostUncertainAgent() {
+        for (int i = 0; i < 5; i++)
+            ratings.update(Arrays.asList(0, 1, 3), new int[]{1, 2, 3});
+        List<Integer> matchUp = ratings.chooseMatchUp(3, false, new Random(1));
+        assertTrue(matchUp.contains(2));
+        assertEquals(3, new HashSet<>(matchUp).size());
+    }
+
+    @Test
+    public void savedRatingsResumeTheSameMatchUps() throws IOException {
+        File file = File.createTempFile("ratings", ".txt");
+        try {
+            ratings.setSeed(42);
+            ratings.update(Arrays.asList(0, 1), new int[]{1, 2});
+            ratings.update(Arrays.asList(2, 3), new int[]{2, 1});
+            ratings.matchUpFinished();
+            ratings.save(file);
+
+            RatingEngine resumed = new RatingEngine(Arrays.asList("A", "B", "C", "D"));
+            resumed.load(file);
+            assertEquals(42, resumed.getSeed());
+            assertEquals(1, resumed.getMatchUps());
+            for (int a = 0; a < 4; a++) {
+                assertEquals(ratings.getMu(a), resumed.getMu(a), 0.0);
+                assertEquals(ratings.getSigma(a), resumed.getSigma(a), 0.0);
+            }
+            assertEquals(ratings.chooseMatchUp(2, false, new Random(43)), resumed.chooseMatchUp(2, false, new Random(43)));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void emptyFileIsRejected() throws IOException {
+        File file = File.createTempFile("ratings", ".txt");
+        try {
+            ratings.load(file);
+            fail("An empty ratings file was loaded");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("no header"));
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package evaluation.test;
+
+import core.AbstractPlayer;
+import evaluation.AdaptiveRRTournament;
+import evaluation.RatingEngine;
+import evaluation.RoundRobinTournament;
+import games.GameType;
+import org.junit.*;
+import players.simple.FirstActionPlayer;
+import players.simple.RandomPlayer;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RoundRobinRatings {
+
+    // with deterministic agents every game of a match-up has the same result, so the ratings differ between runs only
+    // if the order in which they are updated does
+    private RatingEngine runTournament(int nThreads) {
+        LinkedList<AbstractPlayer> agents = new LinkedList<>();
+        for (int i = 0; i < 4; i++)
+            agents.add(new FirstActionPlayer());
+        RoundRobinTournament tournament = new RoundRobinTournament(agents, GameType.TicTacToe, 2, 3, false, null);
+        tournament.setNThreads(nThreads);
+        tournament.runTournament();
+        return tournament.getRatings();
+    }
+
+    @Test
+    public void ratingsDoNotDependOnTheNumberOfThreads() {
+        RatingEngine sequential = runTournament(1);
+        for (int run = 0; run < 3; run++) {
+            RatingEngine parallel = runTournament(4);
+            assertEquals(sequential.getMatchUps(), parallel.getMatchUps());
+            for (int a = 0; a < 4; a++) {
+                assertEquals(sequential.getMu(a), parallel.getMu(a), 0.0);
+                assertEquals(sequential.getSigma(a), parallel.getSigma(a), 0.0);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void adaptiveTournamentRejectsThreads() {
+        LinkedList<AbstractPlayer> agents = new LinkedList<>();
+        for (int i = 0; i < 4; i++)
+            agents.add(new FirstActionPlayer());
+        new AdaptiveRRTournament(agents, GameType.TicTacToe, 2, 3, false, 10, 42, null, 0.0).setNThreads(4);
+    }
+
+    // exposes the match-ups that the base class asks for
+    private static class Adaptive extends AdaptiveRRTournament {
+        Adaptive(LinkedList<AbstractPlayer> agents, int totalMatchUps) {
+            super(agents, GameType.TicTacToe, 2, 2, false, totalMatchUps, 42, null, 0.0);
+        }
+
+        List<List<Integer>> matchUps() {
+            return createMatchUps(0);
+        }
+    }
+
+    @Test
+    public void adaptiveTournamentListsTheMatchUpsPlayed() {
+        LinkedList<AbstractPlayer> agents = new LinkedList<>();
+        for (int i = 0; i < 4; i++)
+            agents.add(new RandomPlayer(new Random(i)));
+        Adaptive tournament = new Adaptive(agents, 12);
+        assertTrue(tournament.matchUps().isEmpty());
+        tournament.runTournament();
+
+        List<List<Integer>> matchUps = tournament.matchUps();
+        assertEquals(12, tournament.getRatings().getMatchUps());
+        assertEquals(12, matchUps.size());
+        for (List<Integer> matchUp : matchUps) {
+            assertEquals(2, matchUp.size());
+            assertFalse(matchUp.get(0).equals(matchUp.get(1)));
+        }
+        // each agent has played the games of its match-ups
+        int[] games = new int[4];
+        for (List<Integer> matchUp : matchUps)
+            matchUp.forEach(a -> games[a] += 2);
+        for (int a = 0; a < 4; a++)
+            assertEquals(games[a], tournament.getRatings().getGames(a));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void adaptiveTournamentCannotBeSharded() {
+        RoundRobinTournament.main(new String[]{"game=TicTacToe", "mode=adaptive", "spool=unused"});
+    }
+}
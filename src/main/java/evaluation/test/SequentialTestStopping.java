@@ -0,0 +1,89 @@
+package evaluation.test;
+
+import evaluation.SequentialTest;
+import org.junit.*;
+
+import java.util.Random;
+
+import static evaluation.SequentialTest.Rule.*;
+import static org.junit.Assert.*;
+
+public class SequentialTestStopping {
+
+    // plays Bernoulli games with win probability p until the tracker stops
+    private SequentialTest.Tracker play(SequentialTest test, double p, int maxGames, long seed) {
+        Random rnd = new Random(seed);
+        SequentialTest.Tracker tracker = test.start(1, 0.5, maxGames);
+        while (!tracker.isStopped())
+            tracker.add(rnd.nextDouble() < p ? 1.0 : 0.0);
+        return tracker;
+    }
+
+    @Test
+    public void sprtAcceptsAStrongWinRate() {
+        SequentialTest sprt = new SequentialTest(SPRT, 0.05, 0.05, 0.1, 0.05, 10);
+        for (long seed = 0; seed < 20; seed++) {
+            SequentialTest.Tracker tracker = play(sprt, 0.8, 1000, seed);
+            assertEquals("SPRT above", tracker.getStopReason());
+            assertTrue(tracker.getGames() < 200);
+        }
+    }
+
+    @Test
+    public void sprtRejectsAWeakWinRate() {
+        SequentialTest sprt = new SequentialTest(SPRT, 0.05, 0.05, 0.1, 0.05, 10);
+        for (long seed = 0; seed < 20; seed++) {
+            SequentialTest.Tracker tracker = play(sprt, 0.2, 1000, seed);
+            assertEquals("SPRT below", tracker.getStopReason());
+            assertTrue(tracker.getGames() < 200);
+        }
+    }
+
+    @Test
+    public void sprtWithTwoStreamsWaitsForBoth() {
+        SequentialTest.Tracker tracker = new SequentialTest(SPRT, 0.05, 0.05, 0.1, 0.05, 1).start(2, 0.5, 1000);
+        Random rnd = new Random(3);
+        while (!tracker.isStopped()) {
+            boolean firstWins = rnd.nextDouble() < 0.9;
+            tracker.add(firstWins ? 1.0 : 0.0, firstWins ? 0.0 : 1.0);
+        }
+        assertEquals("SPRT above below", tracker.getStopReason());
+    }
+
+    @Test
+    public void stdErrStopsAtTheTarget() {
+        SequentialTest stdErr = new SequentialTest(STD_ERR, 0.05, 0.05, 0.1, 0.05, 10);
+        SequentialTest.Tracker tracker = play(stdErr, 0.5, 10000, 1);
+        assertEquals("std error", tracker.getStopReason());
+        assertTrue(tracker.stdErr(0) <= 0.05);
+        // with a standard deviation of about 0.5, this takes about (0.5 / 0.05)^2 = 100 games
+        assertTrue(tracker.getGames() > 80 && tracker.getGames() < 120);
+    }
+
+    @Test
+    public void noRuleOrMinGamesStopsEarly() {
+        SequentialTest sprt = new SequentialTest(SPRT, 0.05, 0.05, 0.1, 0.05, 30);
+        // all wins would be decided in a handful of games
+        assertEquals(30, play(sprt, 1.0, 1000, 1).getGames());
+        assertEquals(50, play(SequentialTest.NONE, 1.0, 50, 1).getGames());
+        assertEquals("max games", play(sprt, 0.5, 12, 1).getStopReason());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sprtNeedsResultsInUnitInterval() {
+        new SequentialTest(SPRT, 0.05, 0.05, 0.1, 0.05, 10).start(1, 0.5, 100).add(-1.0);
+    }
+
+    @Test
+    public void sprtIsRejectedForResultsThatAreNotWins() {
+        String[] args = {"stop=sprt"};
+        assertEquals(SPRT, SequentialTest.fromArgs(args).rule);
+        try {
+            SequentialTest.fromArgs(args, false);
+            fail("stop=sprt should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(STD_ERR, SequentialTest.fromArgs(new String[]{"stop=stdErr"}, false).rule);
+    }
+}
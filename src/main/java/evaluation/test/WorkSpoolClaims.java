@@ -0,0 +1,99 @@
+package evaluation.test;
+
+import evaluation.WorkSpool;
+import org.junit.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class WorkSpoolClaims {
+
+    File dir, target;
+
+    @Before
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("spool").toFile();
+        target = new File(dir, "merged.log");
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        Files.walk(dir.toPath()).sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+    }
+
+    private Thread worker(String name, CountDownLatch started, CountDownLatch release) {
+        WorkSpool spool = new WorkSpool(dir.getPath());
+        Thread retValue = new Thread(() -> spool.runWorker((id, task) -> {
+            Files.write(spool.workFile(id, "log").toPath(), Arrays.asList("worker", name), StandardCharsets.UTF_8);
+            started.countDown();
+            release.await();
+            return name;
+        }));
+        retValue.start();
+        return retValue;
+    }
+
+    private static void waitFor(Callable<Boolean> condition) throws Exception {
+        long end = System.currentTimeMillis() + 20_000;
+        while (!condition.call()) {
+            assertTrue("Timed out", System.currentTimeMillis() < end);
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    public void staleWorkerDoesNotPublishOverTheNewClaim() throws Exception {
+        WorkSpool coordinator = new WorkSpool(dir.getPath());
+        coordinator.writeManifest(new String[]{"test"});
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<SortedMap<String, String>> results = pool.submit(() ->
+                    coordinator.runCoordinator(Collections.singletonMap("shard", "task"), WorkSpoolClaims.class, 0,
+                            id -> coordinator.appendLines(id, coordinator.doneFile(id, "log"), target)));
+
+            CountDownLatch slowStarted = new CountDownLatch(1), slowRelease = new CountDownLatch(1);
+            Thread slow = worker("slow", slowStarted, slowRelease);
+            assertTrue(slowStarted.await(20, TimeUnit.SECONDS));
+
+            // make the slow worker's claim look stale, so that the coordinator returns the shard to the queue
+            File claimed = new File(dir, "claimed");
+            File[] claims = claimed.listFiles();
+            assertEquals(1, claims.length);
+            assertTrue(claims[0].getName().startsWith("shard."));
+            assertTrue(claims[0].setLastModified(0));
+            waitFor(() -> new File(dir, "todo/shard").exists());
+
+            CountDownLatch fastStarted = new CountDownLatch(1);
+            Thread fast = worker("fast", fastStarted, new CountDownLatch(0));
+            assertEquals("fast", results.get(30, TimeUnit.SECONDS).get("shard"));
+            fast.join(20_000);
+
+            // the slow worker finishes after the shard has been merged, and its output goes nowhere
+            slowRelease.countDown();
+            slow.join(20_000);
+            assertFalse(slow.isAlive());
+            assertEquals(Arrays.asList("worker", "fast"), Files.readAllLines(target.toPath(), StandardCharsets.UTF_8));
+            assertEquals("fast", new String(Files.readAllBytes(new File(dir, "merged/shard").toPath()), StandardCharsets.UTF_8));
+            assertEquals(0, new File(dir, "done").list().length);
+            assertEquals(0, new File(dir, "work").list().length);
+            assertEquals(0, claimed.list().length);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void workersGetHeapSettingsButNotDebuggers() {
+        List<String> coordinator = Arrays.asList("-Xmx4g", "-Xms1g", "-Xss2m", "-XX:+UseG1GC", "-Dseed=3", "-Xdebug",
+                "-Xrunjdwp:transport=dt_socket,server=y,address=5005", "-agentlib:jdwp=transport=dt_socket,address=5005",
+                "-javaagent:/tmp/agent.jar", "-ea");
+        assertEquals(Arrays.asList("-Xmx4g", "-Xms1g", "-Xss2m", "-XX:+UseG1GC", "-Dseed=3"),
+                WorkSpool.workerJvmArguments(coordinator));
+    }
+}
@@ -6,16 +6,25 @@ import games.battlelore.components.Unit;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class BattleloreData extends AbstractGameData {
     private List<Unit> units;
 
     @Override
-    public void load(String dataPath) {
-        units = Unit.loadUnits(dataPath + "units.json");
+    protected void parse(String dataPath) {
+        units = Collections.unmodifiableList(Unit.loadUnits(dataPath + "units.json"));
     }
 
+    @Override
+    protected void shareFrom(AbstractGameData parsed) {
+        units = ((BattleloreData) parsed).units;
+    }
+
+    /**
+     * @return - the unit types, shared by all games, so these should be copied rather than changed.
+     */
     public List<Unit> getUnits() {
         return units;
     }
@@ -216,7 +216,7 @@ public class BattleloreForwardModel extends AbstractForwardModel {
 
     @Override
     protected void endGame(AbstractGameState gameState) {
-        if (gameState.getCoreGameParameters().verbose) {
+        if (gameState.getCoreGameParameters().isVerbose()) {
             System.out.println(Arrays.toString(gameState.getPlayerResults()));
         }
     }
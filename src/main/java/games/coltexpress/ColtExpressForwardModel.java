@@ -120,7 +120,7 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
         if (action != null) {
             action.execute(gameState);
         } else {
-            if (gameState.getCoreGameParameters().verbose)
+            if (gameState.getCoreGameParameters().isVerbose())
                 System.out.println("Player cannot do anything since he has drawn cards or " +
                     " doesn't have any targets available");
         }
@@ -189,7 +189,7 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
             cegs.setPlayerResult(cegs.getOrdinalPosition(p) == 1 ? WIN : LOSE, p);
         }
 
-        if (gameState.getCoreGameParameters().verbose) {
+        if (gameState.getCoreGameParameters().isVerbose()) {
             System.out.println(Arrays.toString(cegs.getPlayerResults()));
         }
     }
@@ -262,7 +262,7 @@ public class ColtExpressForwardModel extends AbstractForwardModel {
 
         ColtExpressCard plannedActionCard = cegs.plannedActions.peek(cardIdx);
         if (plannedActionCard.playerID == -1 || plannedActionCard.cardType == ColtExpressCard.CardType.Bullet) {
-            if (cegs.getCoreGameParameters().verbose) {
+            if (cegs.getCoreGameParameters().isVerbose()) {
                 System.out.println("Player on planned action card is -1: " + plannedActionCard);
             }
             new DrawCard(deckFromID, deckToID, cardIdx).execute(cegs);
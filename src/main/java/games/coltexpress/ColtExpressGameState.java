@@ -73,7 +73,7 @@ public class ColtExpressGameState extends AbstractGameState implements IPrintabl
 
     @Override
     protected AbstractGameState _copy(int playerId) {
-        ColtExpressGameState copy = new ColtExpressGameState(gameParameters, getNPlayers());
+        ColtExpressGameState copy = new ColtExpressGameState(gameParameters.frozenCopy(), getNPlayers());
 
         // These are always visible
         copy.bulletsLeft = bulletsLeft.clone();
@@ -100,7 +100,7 @@ public class ColtExpressGameState extends AbstractGameState implements IPrintabl
             copy.trainCompartments.add((Compartment) d.copy());
         }
 
-        if (getCoreGameParameters().partialObservable && playerId != -1) {
+        if (getCoreGameParameters().isPartialObservable() && playerId != -1) {
             for (int i = 0; i < getNPlayers(); i++) {
                 if (i != playerId) {
                     // Other player hands are hidden, but it's known what's in a player's deck
@@ -66,7 +66,7 @@ public class DiamantGameState extends AbstractGameState implements IPrintable {
     {
         Random r = new Random(getGameParameters().getRandomSeed());
 
-        DiamantGameState dgs = new DiamantGameState(gameParameters.copy(), getNPlayers());
+        DiamantGameState dgs = new DiamantGameState(gameParameters.frozenCopy(), getNPlayers());
 
         dgs.mainDeck    = mainDeck.copy();
         dgs.discardDeck = discardDeck.copy();
@@ -101,7 +101,7 @@ public class DiamantGameState extends AbstractGameState implements IPrintable {
         dgs.playerInCave.addAll(playerInCave);
 
         // mainDeck and is actionsPlayed are hidden.
-        if (getCoreGameParameters().partialObservable && playerId != -1)
+        if (getCoreGameParameters().isPartialObservable() && playerId != -1)
         {
             dgs.mainDeck.shuffle(new Random(getGameParameters().getRandomSeed()));
 
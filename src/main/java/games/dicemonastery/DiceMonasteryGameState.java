@@ -534,7 +534,7 @@ public class DiceMonasteryGameState extends AbstractGameState {
     */
     @Override
     protected DiceMonasteryGameState _copy(int playerId) {
-        DiceMonasteryGameState retValue = new DiceMonasteryGameState(gameParameters.copy(), getNPlayers());
+        DiceMonasteryGameState retValue = new DiceMonasteryGameState(gameParameters.frozenCopy(), getNPlayers());
         DiceMonasteryTurnOrder dmto = (DiceMonasteryTurnOrder) turnOrder;
         rnd = new Random(System.currentTimeMillis());
         for (ActionArea a : actionAreas.keySet()) {
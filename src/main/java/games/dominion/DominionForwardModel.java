@@ -166,7 +166,7 @@ public class DominionForwardModel extends AbstractForwardModel {
      */
     @Override
     protected AbstractForwardModel _copy() {
-        // no internal state as yet
-        return this;
+        // no internal state other than the count of calls to next(), which each copy keeps for itself
+        return new DominionForwardModel();
     }
 }
@@ -283,7 +283,7 @@ public class DominionGameState extends AbstractGameState {
      */
     @Override
     protected AbstractGameState _copy(int playerId) {
-        DominionGameState retValue = new DominionGameState(gameParameters.copy(), playerCount);
+        DominionGameState retValue = new DominionGameState(gameParameters.frozenCopy(), playerCount);
         for (CardType ct : cardsIncludedInGame.keySet()) {
             retValue.cardsIncludedInGame.put(ct, cardsIncludedInGame.get(ct));
         }
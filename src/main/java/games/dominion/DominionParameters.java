@@ -119,8 +119,12 @@ public class DominionParameters extends TunableParameters {
      */
     @Override
     protected AbstractParameters _copy() {
-        return this;
-        // currently parameters are immutable
+        // the tunable parameters are copied by TunableParameters.copy()
+        DominionParameters retValue = new DominionParameters(getRandomSeed());
+        retValue.cardsUsed = new ArrayList<>(cardsUsed);
+        retValue.dataPath = dataPath;
+        retValue.VICTORY_CARDS_PER_PLAYER = VICTORY_CARDS_PER_PLAYER.clone();
+        return retValue;
     }
 
     /**
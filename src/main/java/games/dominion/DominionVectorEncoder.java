@@ -0,0 +1,112 @@
+package games.dominion;
+
+import core.AbstractGameState;
+import core.components.Deck;
+import core.interfaces.IVectorEncoder;
+import games.dominion.cards.CardType;
+import games.dominion.cards.DominionCard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * For each CardType: the number in the supply, in my hand, my draw pile, my discard pile and the trash, and then the
+ * number owned by each player. The order of a player's draw pile is hidden, but not its contents, and everything
+ * a player gains is public, so all of these are known to the observer.
+ * <p>
+ * This is followed by whether it is my turn, whether we are in the Buy phase, the actions and buys left, the money
+ * available (only if it is my turn), and then each player's victory points and hand, draw and discard pile sizes.
+ */
+public class DominionVectorEncoder implements IVectorEncoder {
+
+    private static final CardType[] cardTypes = CardType.values();
+    private static final int PER_CARD_TYPE_FIXED = 5;
+    private static final int PER_PLAYER = 4;
+
+    private final int nPlayers;
+    private final int length;
+    private final String[] names;
+
+    public DominionVectorEncoder(int nPlayers) {
+        this.nPlayers = nPlayers;
+        length = cardTypes.length * (PER_CARD_TYPE_FIXED + nPlayers) + 5 + PER_PLAYER * nPlayers;
+
+        List<String> allNames = new ArrayList<>();
+        for (CardType type : cardTypes) {
+            allNames.add(type + "_SUPPLY");
+            allNames.add(type + "_HAND");
+            allNames.add(type + "_DRAW");
+            allNames.add(type + "_DISCARD");
+            allNames.add(type + "_TRASH");
+            for (int p = 0; p < nPlayers; p++)
+                allNames.add(type + "_OWNED_" + p);
+        }
+        allNames.add("MY_TURN");
+        allNames.add("BUY_PHASE");
+        allNames.add("ACTIONS_LEFT");
+        allNames.add("BUYS_LEFT");
+        allNames.add("SPEND_AVAILABLE");
+        for (int p = 0; p < nPlayers; p++) {
+            allNames.add("VP_" + p);
+            allNames.add("HAND_SIZE_" + p);
+            allNames.add("DRAW_SIZE_" + p);
+            allNames.add("DISCARD_SIZE_" + p);
+        }
+        names = allNames.toArray(new String[0]);
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    @Override
+    public void encode(AbstractGameState gs, int playerId, double[] buffer, int offset) {
+        DominionGameState state = (DominionGameState) gs;
+        if (state.getNPlayers() != nPlayers)
+            throw new IllegalArgumentException("Encoder is for " + nPlayers + " players, not " + state.getNPlayers());
+        Arrays.fill(buffer, offset, offset + length, 0.0);
+
+        int stride = PER_CARD_TYPE_FIXED + nPlayers;
+        for (CardType type : cardTypes)
+            buffer[offset + type.ordinal() * stride] = state.cardsIncludedInGame.getOrDefault(type, 0);
+        addCounts(state.playerHands[playerId], buffer, offset + 1, stride);
+        addCounts(state.playerDrawPiles[playerId], buffer, offset + 2, stride);
+        addCounts(state.playerDiscards[playerId], buffer, offset + 3, stride);
+        addCounts(state.trashPile, buffer, offset + 4, stride);
+        for (int i = 0; i < nPlayers; i++) {
+            int p = (playerId + i) % nPlayers;
+            int start = offset + PER_CARD_TYPE_FIXED + i;
+            addCounts(state.playerHands[p], buffer, start, stride);
+            addCounts(state.playerDrawPiles[p], buffer, start, stride);
+            addCounts(state.playerDiscards[p], buffer, start, stride);
+            addCounts(state.playerTableaux[p], buffer, start, stride);
+        }
+
+        int index = offset + cardTypes.length * stride;
+        boolean myTurn = state.getCurrentPlayer() == playerId;
+        buffer[index++] = myTurn ? 1.0 : 0.0;
+        buffer[index++] = state.getGamePhase() == DominionGameState.DominionGamePhase.Buy ? 1.0 : 0.0;
+        buffer[index++] = state.actionsLeftForCurrentPlayer;
+        buffer[index++] = state.buysLeftForCurrentPlayer;
+        buffer[index++] = state.getTurnOrder().getTurnOwner() == playerId ? state.availableSpend(playerId) : 0.0;
+        for (int i = 0; i < nPlayers; i++) {
+            int p = (playerId + i) % nPlayers;
+            buffer[index++] = state.getGameScore(p);
+            buffer[index++] = state.playerHands[p].getSize();
+            buffer[index++] = state.playerDrawPiles[p].getSize();
+            buffer[index++] = state.playerDiscards[p].getSize();
+        }
+    }
+
+    private static void addCounts(Deck<DominionCard> deck, double[] buffer, int start, int stride) {
+        for (int i = 0; i < deck.getSize(); i++)
+            buffer[start + deck.get(i).cardType().ordinal() * stride] += 1.0;
+    }
+}
@@ -0,0 +1,37 @@
+package games.dominion.test;
+
+import core.AbstractPlayer;
+import games.dominion.*;
+import games.dominion.DominionConstants.DeckType;
+import games.dominion.cards.CardType;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class VectorEncoding {
+
+    List<AbstractPlayer> players = Arrays.asList(new TestPlayer(),
+            new TestPlayer(),
+            new TestPlayer(),
+            new TestPlayer());
+
+    DominionGame game = new DominionGame(players, DominionParameters.firstGame(System.currentTimeMillis()));
+    DominionGameState state = (DominionGameState) game.getGameState();
+    DominionVectorEncoder encoder = new DominionVectorEncoder(4);
+
+    @Test
+    public void ownHandIsEncodedButOthersAreNot() {
+        state.addCard(CardType.GOLD, 1, DeckType.HAND);
+        List<String> names = Arrays.asList(encoder.getNames());
+        double[] fromZero = encoder.encode(state, 0);
+        double[] fromOne = encoder.encode(state, 1);
+        int goldInHand = names.indexOf("GOLD_HAND");
+        assertEquals(0.0, fromZero[goldInHand], 0.0);
+        assertEquals(1.0, fromOne[goldInHand], 0.0);
+        // but player 1's Gold is part of their deck, which everyone knows
+        assertEquals(1.0, fromZero[names.indexOf("GOLD_OWNED_1")], 0.0);
+        assertEquals(1.0, fromOne[names.indexOf("GOLD_OWNED_0")], 0.0);
+    }
+}
@@ -0,0 +1,86 @@
+package games.dotsboxes;
+
+import core.AbstractGameState;
+import core.interfaces.IVectorEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Whether each edge has been drawn (first the horizontal edges row by row, then the vertical edges column by column),
+ * then for each player a layer of the cells they own, then each player's score, and whether it is my turn.
+ * The game is fully observable.
+ */
+public class DBVectorEncoder implements IVectorEncoder {
+
+    private final int nPlayers, width, height;
+    private final int nHorizontal, nEdges, nCells;
+    private final int length;
+    private final String[] names;
+
+    public DBVectorEncoder(DBParameters params, int nPlayers) {
+        this.nPlayers = nPlayers;
+        width = params.gridWidth;
+        height = params.gridHeight;
+        nHorizontal = (height + 1) * width;
+        nEdges = nHorizontal + (width + 1) * height;
+        nCells = width * height;
+        length = nEdges + nCells * nPlayers + nPlayers + 1;
+
+        List<String> allNames = new ArrayList<>();
+        for (int y = 0; y <= height; y++)
+            for (int x = 0; x < width; x++)
+                allNames.add("H_" + x + "_" + y);
+        for (int x = 0; x <= width; x++)
+            for (int y = 0; y < height; y++)
+                allNames.add("V_" + x + "_" + y);
+        for (int p = 0; p < nPlayers; p++)
+            for (int y = 0; y < height; y++)
+                for (int x = 0; x < width; x++)
+                    allNames.add("CELL_" + x + "_" + y + "_" + p);
+        for (int p = 0; p < nPlayers; p++)
+            allNames.add("SCORE_" + p);
+        allNames.add("MY_TURN");
+        names = allNames.toArray(new String[0]);
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    @Override
+    public void encode(AbstractGameState gs, int playerId, double[] buffer, int offset) {
+        DBGameState state = (DBGameState) gs;
+        if (state.getNPlayers() != nPlayers)
+            throw new IllegalArgumentException("Encoder is for " + nPlayers + " players, not " + state.getNPlayers());
+        Arrays.fill(buffer, offset, offset + length, 0.0);
+
+        for (DBEdge edge : state.edgeToOwnerMap.keySet())
+            buffer[offset + edgeIndex(edge)] = 1.0;
+        for (Map.Entry<DBCell, Integer> entry : state.cellToOwnerMap.entrySet()) {
+            int relativeOwner = (entry.getValue() - playerId + nPlayers) % nPlayers;
+            DBCell cell = entry.getKey();
+            buffer[offset + nEdges + relativeOwner * nCells + cell.position.getY() * width + cell.position.getX()] = 1.0;
+        }
+        int index = offset + nEdges + nCells * nPlayers;
+        for (int i = 0; i < nPlayers; i++)
+            buffer[index++] = state.nCellsPerPlayer[(playerId + i) % nPlayers];
+        buffer[index] = state.getCurrentPlayer() == playerId ? 1.0 : 0.0;
+    }
+
+    private int edgeIndex(DBEdge edge) {
+        int x = Math.min(edge.from.getX(), edge.to.getX());
+        int y = Math.min(edge.from.getY(), edge.to.getY());
+        if (edge.from.getY() == edge.to.getY())
+            return y * width + x;
+        return nHorizontal + x * height + y;
+    }
+}
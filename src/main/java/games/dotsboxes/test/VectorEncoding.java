@@ -0,0 +1,69 @@
+package games.dotsboxes.test;
+
+import core.AbstractForwardModel;
+import core.Game;
+import games.GameType;
+import games.dotsboxes.*;
+import org.junit.Before;
+import org.junit.Test;
+import utilities.Vector2D;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class VectorEncoding {
+
+    Game game = GameType.DotsAndBoxes.createGameInstance(3, 42);
+    DBGameState state = (DBGameState) game.getGameState();
+    AbstractForwardModel fm = game.getForwardModel();
+    DBVectorEncoder encoder = new DBVectorEncoder((DBParameters) state.getGameParameters(), 3);
+    List<String> names = Arrays.asList(encoder.getNames());
+
+    private void draw(int x1, int y1, int x2, int y2) {
+        fm.next(state, new AddGridCellEdge(new DBEdge(new Vector2D(x1, y1), new Vector2D(x2, y2))));
+    }
+
+    @Before
+    public void drawBoxAtOneTwo() {
+        assertEquals(0, state.getCurrentPlayer());
+        draw(1, 2, 2, 2);
+        draw(1, 3, 2, 3);
+        draw(1, 2, 1, 3);
+        // player 0 draws the last side, so owns the box and moves again
+        draw(2, 2, 2, 3);
+    }
+
+    private double value(double[] encoding, String name) {
+        assertTrue(name, names.contains(name));
+        return encoding[names.indexOf(name)];
+    }
+
+    @Test
+    public void drawnEdgesAreSet() {
+        for (int p = 0; p < 3; p++) {
+            double[] encoding = encoder.encode(state, p);
+            assertEquals(1.0, value(encoding, "H_1_2"), 0.0);
+            assertEquals(1.0, value(encoding, "H_1_3"), 0.0);
+            assertEquals(1.0, value(encoding, "V_1_2"), 0.0);
+            assertEquals(1.0, value(encoding, "V_2_2"), 0.0);
+            assertEquals(4.0, Arrays.stream(encoding, 0, names.indexOf("CELL_0_0_0")).sum(), 0.0);
+        }
+    }
+
+    @Test
+    public void boxesAndScoresAreInTurnOrderFromMe() {
+        double[] fromZero = encoder.encode(state, 0);
+        assertEquals(1.0, value(fromZero, "CELL_1_2_0"), 0.0);
+        assertEquals(1.0, value(fromZero, "SCORE_0"), 0.0);
+        assertEquals(1.0, value(fromZero, "MY_TURN"), 0.0);
+
+        double[] fromOne = encoder.encode(state, 1);
+        assertEquals(0.0, value(fromOne, "CELL_1_2_0"), 0.0);
+        assertEquals(1.0, value(fromOne, "CELL_1_2_2"), 0.0);
+        assertEquals(1.0, value(fromOne, "SCORE_2"), 0.0);
+        assertEquals(0.0, value(fromOne, "SCORE_0"), 0.0);
+        assertEquals(0.0, value(fromOne, "MY_TURN"), 0.0);
+    }
+}
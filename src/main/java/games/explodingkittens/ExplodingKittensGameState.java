@@ -55,7 +55,7 @@ public class ExplodingKittensGameState extends AbstractGameState implements IPri
 
     @Override
     protected AbstractGameState _copy(int playerId) {
-        ExplodingKittensGameState ekgs = new ExplodingKittensGameState(gameParameters.copy(), getNPlayers());
+        ExplodingKittensGameState ekgs = new ExplodingKittensGameState(gameParameters.frozenCopy(), getNPlayers());
         ekgs.discardPile = discardPile.copy();
         ekgs.playerGettingAFavor = playerGettingAFavor;
         ekgs.actionStack = new Stack<>();
@@ -68,7 +68,7 @@ public class ExplodingKittensGameState extends AbstractGameState implements IPri
             ekgs.playerHandCards.add(d.copy());
         }
         ekgs.drawPile = drawPile.copy();
-        if (getCoreGameParameters().partialObservable && playerId != -1) {
+        if (getCoreGameParameters().isPartialObservable() && playerId != -1) {
             // Other player hands + draw deck are hidden, combine in draw pile and shuffle
             // Note: this considers the agent to track opponent's cards that are known to him by itself
             // e.g. in case the agent has previously given a favor card to its opponent
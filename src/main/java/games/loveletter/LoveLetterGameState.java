@@ -65,7 +65,7 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
 
     @Override
     protected AbstractGameState _copy(int playerId) {
-        LoveLetterGameState llgs = new LoveLetterGameState(gameParameters.copy(), getNPlayers());
+        LoveLetterGameState llgs = new LoveLetterGameState(gameParameters.frozenCopy(), getNPlayers());
         llgs.drawPile = drawPile.copy();
         llgs.reserveCards = reserveCards.copy();
         llgs.playerHandCards = new ArrayList<>();
@@ -77,7 +77,7 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
         llgs.effectProtection = effectProtection.clone();
         llgs.affectionTokens = affectionTokens.clone();
 
-        if (getCoreGameParameters().partialObservable && playerId != -1) {
+        if (getCoreGameParameters().isPartialObservable() && playerId != -1) {
             // Draw pile, some reserve cards and other player's hand is possibly hidden. Mix all together and draw randoms
             HashSet<Integer>[] cardsNotVisible = new HashSet[getNPlayers()];
             for (int i = 0; i < getNPlayers(); i++) {
@@ -90,8 +90,10 @@ public class LoveLetterGameState extends AbstractGameState implements IPrintable
                             cardsNotVisible[i].add(j);
                         }
                     }
-                    for (int j: cardsNotVisible[i]) {
-                        llgs.drawPile.add(llgs.playerHandCards.get(i).pick(j));
+                    // from the top index down, so that each pick leaves the indices still to come where they were
+                    for (int j = deck.getSize() - 1; j >= 0; j--) {
+                        if (cardsNotVisible[i].contains(j))
+                            llgs.drawPile.add(deck.pick(j));
                     }
                 }
             }
@@ -0,0 +1,103 @@
+package games.loveletter;
+
+import core.AbstractGameState;
+import core.components.Deck;
+import core.components.PartialObservableDeck;
+import core.interfaces.IVectorEncoder;
+import games.loveletter.cards.LoveLetterCard;
+import utilities.Utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * For each player: affection tokens, whether still in the round, whether protected by the Handmaid and hand size,
+ * then the number of each card type in their hand that the observer can see (all of them for the observer), and
+ * the number of each card type in their discard pile.
+ * This is followed by the draw pile size, the number of each visible card type in the reserve, the reserve size,
+ * and whether it is my turn.
+ */
+public class LoveLetterVectorEncoder implements IVectorEncoder {
+
+    private static final LoveLetterCard.CardType[] cardTypes = LoveLetterCard.CardType.values();
+    private static final int PER_PLAYER = 4 + 2 * cardTypes.length;
+
+    private final int nPlayers;
+    private final int length;
+    private final String[] names;
+
+    public LoveLetterVectorEncoder(int nPlayers) {
+        this.nPlayers = nPlayers;
+        length = PER_PLAYER * nPlayers + cardTypes.length + 3;
+
+        List<String> allNames = new ArrayList<>();
+        for (int p = 0; p < nPlayers; p++) {
+            allNames.add("AFFECTION_" + p);
+            allNames.add("ACTIVE_" + p);
+            allNames.add("PROTECTED_" + p);
+            allNames.add("HAND_SIZE_" + p);
+            for (LoveLetterCard.CardType type : cardTypes)
+                allNames.add(type + "_HAND_" + p);
+            for (LoveLetterCard.CardType type : cardTypes)
+                allNames.add(type + "_DISCARD_" + p);
+        }
+        allNames.add("DRAW_SIZE");
+        for (LoveLetterCard.CardType type : cardTypes)
+            allNames.add(type + "_RESERVE");
+        allNames.add("RESERVE_SIZE");
+        allNames.add("MY_TURN");
+        names = allNames.toArray(new String[0]);
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    @Override
+    public void encode(AbstractGameState gs, int playerId, double[] buffer, int offset) {
+        LoveLetterGameState state = (LoveLetterGameState) gs;
+        if (state.getNPlayers() != nPlayers)
+            throw new IllegalArgumentException("Encoder is for " + nPlayers + " players, not " + state.getNPlayers());
+        Arrays.fill(buffer, offset, offset + length, 0.0);
+
+        int index = offset;
+        for (int i = 0; i < nPlayers; i++) {
+            int p = (playerId + i) % nPlayers;
+            PartialObservableDeck<LoveLetterCard> hand = state.playerHandCards.get(p);
+            buffer[index] = state.affectionTokens[p];
+            buffer[index + 1] = state.getPlayerResults()[p] == Utils.GameResult.LOSE ? 0.0 : 1.0;
+            buffer[index + 2] = state.effectProtection[p] ? 1.0 : 0.0;
+            buffer[index + 3] = hand.getSize();
+            index += 4;
+            for (int c = 0; c < hand.getSize(); c++) {
+                if (p == playerId || hand.getVisibilityForPlayer(c, playerId))
+                    buffer[index + hand.get(c).cardType.ordinal()] += 1.0;
+            }
+            index += cardTypes.length;
+            addCounts(state.playerDiscardCards.get(p), buffer, index);
+            index += cardTypes.length;
+        }
+
+        buffer[index++] = state.drawPile.getSize();
+        PartialObservableDeck<LoveLetterCard> reserve = state.reserveCards;
+        for (int c = 0; c < reserve.getSize(); c++) {
+            if (reserve.isComponentVisible(c, playerId))
+                buffer[index + reserve.get(c).cardType.ordinal()] += 1.0;
+        }
+        index += cardTypes.length;
+        buffer[index++] = reserve.getSize();
+        buffer[index] = state.getCurrentPlayer() == playerId ? 1.0 : 0.0;
+    }
+
+    private static void addCounts(Deck<LoveLetterCard> deck, double[] buffer, int start) {
+        for (int i = 0; i < deck.getSize(); i++)
+            buffer[start + deck.get(i).cardType.ordinal()] += 1.0;
+    }
+}
@@ -0,0 +1,97 @@
+package games.loveletter.test;
+
+import core.Game;
+import games.GameType;
+import games.loveletter.LoveLetterGameState;
+import games.loveletter.LoveLetterVectorEncoder;
+import games.loveletter.cards.LoveLetterCard;
+import games.loveletter.cards.LoveLetterCard.CardType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class VectorEncoding {
+
+    Game game = GameType.LoveLetter.createGameInstance(3, 42);
+    LoveLetterGameState state = (LoveLetterGameState) game.getGameState();
+    LoveLetterVectorEncoder encoder = new LoveLetterVectorEncoder(3);
+    List<String> names = Arrays.asList(encoder.getNames());
+
+    @Before
+    public void setupHands() {
+        for (int p = 0; p < 3; p++) {
+            state.getPlayerHandCards().get(p).clear();
+            state.getPlayerDiscardCards().get(p).clear();
+        }
+        // player 0 holds a Guard and the Princess, player 1 a Baron that player 0 has seen, player 2 a hidden King
+        state.getPlayerHandCards().get(0).add(new LoveLetterCard(CardType.Guard), new boolean[]{true, false, false});
+        state.getPlayerHandCards().get(0).add(new LoveLetterCard(CardType.Princess), new boolean[]{true, false, false});
+        state.getPlayerHandCards().get(1).add(new LoveLetterCard(CardType.Baron), new boolean[]{true, true, false});
+        state.getPlayerHandCards().get(2).add(new LoveLetterCard(CardType.King), new boolean[]{false, false, true});
+        state.getPlayerDiscardCards().get(1).add(new LoveLetterCard(CardType.Guard));
+        state.getPlayerDiscardCards().get(1).add(new LoveLetterCard(CardType.Guard));
+        state.getPlayerDiscardCards().get(2).add(new LoveLetterCard(CardType.Priest));
+        state.addAffectionToken(1);
+        state.addAffectionToken(1);
+        state.setProtection(2, true);
+    }
+
+    private double value(double[] encoding, String name) {
+        assertTrue(name, names.contains(name));
+        return encoding[names.indexOf(name)];
+    }
+
+    @Test
+    public void handsAreEncodedOnlyWhereVisible() {
+        double[] fromZero = encoder.encode(state, 0);
+        assertEquals(2.0, value(fromZero, "HAND_SIZE_0"), 0.0);
+        assertEquals(1.0, value(fromZero, "Guard_HAND_0"), 0.0);
+        assertEquals(1.0, value(fromZero, "Princess_HAND_0"), 0.0);
+        // player 0 has seen player 1's Baron, but not player 2's King
+        assertEquals(1.0, value(fromZero, "Baron_HAND_1"), 0.0);
+        assertEquals(1.0, value(fromZero, "HAND_SIZE_2"), 0.0);
+        assertEquals(0.0, value(fromZero, "King_HAND_2"), 0.0);
+        for (CardType type : CardType.values())
+            if (type != CardType.Baron)
+                assertEquals(type.toString(), 0.0, value(fromZero, type + "_HAND_1"), 0.0);
+
+        // from player 1, whose own Baron is at index 0 and player 0 (two to the left) is hidden
+        double[] fromOne = encoder.encode(state, 1);
+        assertEquals(1.0, value(fromOne, "Baron_HAND_0"), 0.0);
+        assertEquals(2.0, value(fromOne, "HAND_SIZE_2"), 0.0);
+        assertEquals(0.0, value(fromOne, "Guard_HAND_2"), 0.0);
+        assertEquals(0.0, value(fromOne, "Princess_HAND_2"), 0.0);
+    }
+
+    @Test
+    public void discardsTokensAndProtectionAreCountedByPlayer() {
+        double[] fromZero = encoder.encode(state, 0);
+        assertEquals(2.0, value(fromZero, "Guard_DISCARD_1"), 0.0);
+        assertEquals(1.0, value(fromZero, "Priest_DISCARD_2"), 0.0);
+        assertEquals(0.0, value(fromZero, "Guard_DISCARD_0"), 0.0);
+        assertEquals(2.0, value(fromZero, "AFFECTION_1"), 0.0);
+        assertEquals(1.0, value(fromZero, "PROTECTED_2"), 0.0);
+        assertEquals(0.0, value(fromZero, "PROTECTED_1"), 0.0);
+
+        // the same values seen from player 2 are one place on in the turn order
+        double[] fromTwo = encoder.encode(state, 2);
+        assertEquals(2.0, value(fromTwo, "Guard_DISCARD_2"), 0.0);
+        assertEquals(1.0, value(fromTwo, "Priest_DISCARD_0"), 0.0);
+        assertEquals(2.0, value(fromTwo, "AFFECTION_2"), 0.0);
+        assertEquals(1.0, value(fromTwo, "PROTECTED_0"), 0.0);
+        assertEquals(1.0, value(fromTwo, "King_HAND_0"), 0.0);
+    }
+
+    @Test
+    public void sharedValues() {
+        double[] fromZero = encoder.encode(state, 0);
+        assertEquals(state.getRemainingCards(), value(fromZero, "DRAW_SIZE"), 0.0);
+        assertEquals(state.getReserveCards().getSize(), value(fromZero, "RESERVE_SIZE"), 0.0);
+        for (int p = 0; p < 3; p++)
+            assertEquals(state.getCurrentPlayer() == p ? 1.0 : 0.0, value(encoder.encode(state, p), "MY_TURN"), 0.0);
+    }
+}
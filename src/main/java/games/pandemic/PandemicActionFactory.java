@@ -33,7 +33,7 @@ class PandemicActionFactory {
         String roleString = pgs.getPlayerRoleActingPlayer();
         PropertyString playerLocationName = (PropertyString) pgs.getComponentActingPlayer(playerCardHash)
                 .getProperty(playerLocationHash);
-        BoardNode playerLocationNode = pgs.world.getNodeByProperty(nameHash, playerLocationName);
+        BoardNode playerLocationNode = pgs.world.getNodeByStringProperty(nameHash, playerLocationName.value);
         int activePlayer = pgs.getTurnOrder().getCurrentPlayer(pgs);
 
         // Create a list for possible actions, including first move actions
@@ -237,7 +237,7 @@ class PandemicActionFactory {
         PropertyString playerLocationProperty = (PropertyString) pgs.getComponent(playerCardHash, playerId)
                 .getProperty(playerLocationHash);
         String playerLocationName = playerLocationProperty.value;
-        BoardNode playerLocationNode = pgs.world.getNodeByProperty(nameHash, playerLocationProperty);
+        BoardNode playerLocationNode = pgs.world.getNodeByStringProperty(nameHash, playerLocationName);
         HashSet<BoardNode> neighbours = playerLocationNode.getNeighbours();
 
         // Drive / Ferry add actions for travelling to immediate cities
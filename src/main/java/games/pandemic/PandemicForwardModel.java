@@ -325,7 +325,7 @@ public class PandemicForwardModel extends AbstractRuleBasedForwardModel {
         for (int i = 0; i < gameState.getNPlayers(); i++) {
             gameState.setPlayerResult(gameState.getGameStatus(), i);
         }
-        if (gameState.getCoreGameParameters().verbose) {
+        if (gameState.getCoreGameParameters().isVerbose()) {
             System.out.println(gameState.getGameStatus());
         }
     }
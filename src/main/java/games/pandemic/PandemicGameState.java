@@ -216,7 +216,7 @@ public class PandemicGameState extends AbstractGameState implements IFeatureRepr
 
     @Override
     protected AbstractGameState _copy(int playerId) {
-        PandemicGameState gs = new PandemicGameState(gameParameters.copy(), getNPlayers());
+        PandemicGameState gs = new PandemicGameState(gameParameters.frozenCopy(), getNPlayers());
 
         gs.areas = new HashMap<>();
         for(int key : areas.keySet())
@@ -227,7 +227,7 @@ public class PandemicGameState extends AbstractGameState implements IFeatureRepr
                 a = new Area(key, "Game area");
                 HashMap<Integer, Component> oldComponents = areas.get(key).getComponentsMap();
                 for (Map.Entry<Integer, Component> e: oldComponents.entrySet()) {
-                    if (gs.getCoreGameParameters().partialObservable && (e.getKey() == playerDeckHash || e.getKey() == infectionHash)) {
+                    if (gs.getCoreGameParameters().isPartialObservable() && (e.getKey() == playerDeckHash || e.getKey() == infectionHash)) {
                         Random r = new Random(gs.getGameParameters().getRandomSeed());
                         Deck<Card> hiddenDeck = (Deck<Card>) e.getValue().copy();
                         if (gamePhase == Forecast && e.getKey() == infectionHash) {
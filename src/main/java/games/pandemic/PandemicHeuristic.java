@@ -3,9 +3,13 @@ package games.pandemic;
 import core.AbstractGameState;
 import core.AbstractParameters;
 import core.CoreConstants;
+import core.components.BoardNode;
 import core.components.Counter;
 import core.components.Deck;
+import core.components.GraphBoard;
 import core.interfaces.IStateHeuristic;
+import core.properties.PropertyIntArray;
+import core.properties.PropertyString;
 import evaluation.TunableParameters;
 import utilities.Hash;
 import utilities.Utils;
@@ -18,6 +22,7 @@ public class PandemicHeuristic extends TunableParameters implements IStateHeuris
     double FACTOR_CARDS_IN_HAND = 0.15;
     double FACTOR_OUTBREAKS = -0.2;
     double FACTOR_RS = 0.2;
+    double FACTOR_HOTSPOT_DISTANCE = 0.0;
 
     public PandemicHeuristic() {
         addTunableParameter("FACTOR_CURES", 0.3);
@@ -26,6 +31,7 @@ public class PandemicHeuristic extends TunableParameters implements IStateHeuris
         addTunableParameter("FACTOR_CARDS_IN_HAND", 0.15);
         addTunableParameter("FACTOR_OUTBREAKS", -0.2);
         addTunableParameter("FACTOR_RS", 0.2);
+        addTunableParameter("FACTOR_HOTSPOT_DISTANCE", 0.0);
     }
 
     @Override
@@ -36,6 +42,7 @@ public class PandemicHeuristic extends TunableParameters implements IStateHeuris
         FACTOR_CARDS_IN_HAND = (double) getParameterValue("FACTOR_CARDS_IN_HAND");
         FACTOR_OUTBREAKS = (double) getParameterValue("FACTOR_OUTBREAKS");
         FACTOR_RS = (double) getParameterValue("FACTOR_RS");
+        FACTOR_HOTSPOT_DISTANCE = (double) getParameterValue("FACTOR_HOTSPOT_DISTANCE");
     }
 
     @Override
@@ -69,9 +76,31 @@ public class PandemicHeuristic extends TunableParameters implements IStateHeuris
                 + nCardsInPile * FACTOR_CARDS_IN_PILE
                 + nOutbreaks * FACTOR_OUTBREAKS
                 + nResearchStations * FACTOR_RS
+                + (FACTOR_HOTSPOT_DISTANCE == 0.0 ? 0.0 : hotspotProximity(pgs, pp, playerId) * FACTOR_HOTSPOT_DISTANCE)
                 ;
     }
 
+    /**
+     * A hot-spot is a city where one more cube of a disease would cause an outbreak.
+     * @return 1 / (1 + the number of connections from the player to the nearest hot-spot), or 0 if there is none.
+     */
+    private double hotspotProximity(PandemicGameState pgs, PandemicParameters pp, int playerId) {
+        GraphBoard world = pgs.getWorld();
+        String location = ((PropertyString) pgs.getComponent(PandemicConstants.playerCardHash, playerId)
+                .getProperty(PandemicConstants.playerLocationHash)).value;
+        BoardNode playerNode = world.getNodeByStringProperty(CoreConstants.nameHash, location);
+        if (playerNode == null)
+            return 0.0;
+        // nearest first, so we stop at the first hot-spot
+        for (BoardNode bn : world.getNodesWithin(playerNode, Integer.MAX_VALUE)) {
+            for (int cubes : ((PropertyIntArray) bn.getProperty(PandemicConstants.infectionHash)).getValues()) {
+                if (cubes >= pp.max_cubes_per_city)
+                    return 1.0 / (1 + world.distance(playerNode, bn));
+            }
+        }
+        return 0.0;
+    }
+
     @Override
     protected PandemicHeuristic _copy() {
         PandemicHeuristic retValue = new PandemicHeuristic();
@@ -81,6 +110,7 @@ public class PandemicHeuristic extends TunableParameters implements IStateHeuris
         retValue.FACTOR_CARDS_IN_PILE = FACTOR_CARDS_IN_PILE;
         retValue.FACTOR_OUTBREAKS = FACTOR_OUTBREAKS;
         retValue.FACTOR_RS = FACTOR_RS;
+        retValue.FACTOR_HOTSPOT_DISTANCE = FACTOR_HOTSPOT_DISTANCE;
         return retValue;
     }
 
@@ -90,7 +120,8 @@ public class PandemicHeuristic extends TunableParameters implements IStateHeuris
             PandemicHeuristic other = (PandemicHeuristic) o;
             return other.FACTOR_RS == FACTOR_RS && other.FACTOR_OUTBREAKS == FACTOR_OUTBREAKS &&
                     other.FACTOR_CARDS_IN_HAND == FACTOR_CARDS_IN_HAND && other.FACTOR_CARDS_IN_PILE == FACTOR_CARDS_IN_PILE &&
-                    other.FACTOR_CUBES == FACTOR_CUBES && other.FACTOR_CURES == FACTOR_CURES;
+                    other.FACTOR_CUBES == FACTOR_CUBES && other.FACTOR_CURES == FACTOR_CURES &&
+                    other.FACTOR_HOTSPOT_DISTANCE == FACTOR_HOTSPOT_DISTANCE;
         }
         return false;
     }
@@ -0,0 +1,173 @@
+package games.pandemic;
+
+import core.AbstractGameData;
+import core.AbstractGameState;
+import core.components.*;
+import core.interfaces.IVectorEncoder;
+import core.properties.PropertyBoolean;
+import core.properties.PropertyIntArray;
+import core.properties.PropertyString;
+import utilities.Hash;
+
+import java.util.*;
+
+import static core.CoreConstants.nameHash;
+import static core.CoreConstants.playerHandHash;
+import static games.pandemic.PandemicConstants.*;
+
+/**
+ * For each city: the disease cubes of each colour and whether it has a research station; then the number of times
+ * each city appears in the infection discard pile.
+ * For each player: their location (one-hot by city), the city cards in their hand, the number of event cards in their
+ * hand, and their role (one-hot).
+ * Finally, for each colour whether it is cured (1) or eradicated (2) and the cubes left in the supply, then the
+ * outbreaks, infection rate, research stations left, player and infection deck sizes, whether Quiet Night has been
+ * played, whether an epidemic has been drawn, the cards drawn this turn and whether it is my turn.
+ * <p>
+ * Player hands are open in Pandemic, but the order of the player and infection decks is hidden, so only their sizes
+ * are used. Cities are indexed in the order of the board data file, as copies of the board do not keep node order.
+ */
+public class PandemicVectorEncoder implements IVectorEncoder {
+
+    private final int nPlayers;
+    private final Map<String, Integer> cityIndex = new HashMap<>();
+    private final Map<String, Integer> roleIndex = new HashMap<>();
+    private final int nCities, nRoles, perPlayer;
+    private final int[] diseaseHashes = new int[colors.length];
+    private final int[] diseaseCubeHashes = new int[colors.length];
+    private final int length;
+    private final String[] names;
+
+    public PandemicVectorEncoder(PandemicParameters params, int nPlayers) {
+        this.nPlayers = nPlayers;
+        AbstractGameData data = new AbstractGameData();
+        data.load(params.getDataPath());
+        List<String> cityNames = new ArrayList<>();
+        for (BoardNode node : data.findGraphBoard("cities").getBoardNodes()) {
+            String name = ((PropertyString) node.getProperty(nameHash)).value;
+            cityIndex.put(name, cityNames.size());
+            cityNames.add(name);
+        }
+        List<String> roleNames = new ArrayList<>();
+        for (Card card : data.<Card>findDeck("Player Roles").getComponents()) {
+            String name = ((PropertyString) card.getProperty(nameHash)).value;
+            roleIndex.put(name, roleNames.size());
+            roleNames.add(name);
+        }
+        for (int c = 0; c < colors.length; c++) {
+            diseaseHashes[c] = Hash.GetInstance().hash("Disease " + colors[c]);
+            diseaseCubeHashes[c] = Hash.GetInstance().hash("Disease Cube " + colors[c]);
+        }
+        nCities = cityNames.size();
+        nRoles = roleNames.size();
+        perPlayer = 2 * nCities + 1 + nRoles;
+        length = nCities * (colors.length + 2) + perPlayer * nPlayers + 2 * colors.length + 9;
+
+        List<String> allNames = new ArrayList<>();
+        for (String city : cityNames) {
+            for (String color : colors)
+                allNames.add(city + "_" + color);
+            allNames.add(city + "_RESEARCH_STATION");
+        }
+        for (String city : cityNames)
+            allNames.add(city + "_INFECTION_DISCARD");
+        for (int p = 0; p < nPlayers; p++) {
+            for (String city : cityNames)
+                allNames.add("LOCATION_" + city + "_" + p);
+            for (String city : cityNames)
+                allNames.add("HAND_" + city + "_" + p);
+            allNames.add("HAND_EVENTS_" + p);
+            for (String role : roleNames)
+                allNames.add("ROLE_" + role + "_" + p);
+        }
+        for (String color : colors) {
+            allNames.add("CURE_" + color);
+            allNames.add("CUBES_LEFT_" + color);
+        }
+        allNames.addAll(Arrays.asList("OUTBREAKS", "INFECTION_RATE", "RESEARCH_STATIONS_LEFT", "PLAYER_DECK_SIZE",
+                "INFECTION_DECK_SIZE", "QUIET_NIGHT", "EPIDEMIC", "CARDS_DRAWN", "MY_TURN"));
+        names = allNames.toArray(new String[0]);
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void encode(AbstractGameState gs, int playerId, double[] buffer, int offset) {
+        PandemicGameState state = (PandemicGameState) gs;
+        if (state.getNPlayers() != nPlayers)
+            throw new IllegalArgumentException("Encoder is for " + nPlayers + " players, not " + state.getNPlayers());
+        Arrays.fill(buffer, offset, offset + length, 0.0);
+
+        int perCity = colors.length + 1;
+        for (BoardNode node : state.getWorld().getBoardNodes()) {
+            Integer city = cityIndex.get(((PropertyString) node.getProperty(nameHash)).value);
+            if (city == null)
+                continue;
+            int start = offset + city * perCity;
+            int[] cubes = ((PropertyIntArray) node.getProperty(infectionHash)).getValues();
+            for (int c = 0; c < colors.length; c++)
+                buffer[start + c] = cubes[c];
+            PropertyBoolean researchStation = (PropertyBoolean) node.getProperty(researchStationHash);
+            buffer[start + colors.length] = researchStation != null && researchStation.value ? 1.0 : 0.0;
+        }
+        int index = offset + nCities * perCity;
+        addCityCounts((Deck<Card>) state.getComponent(infectionDiscardHash), buffer, index);
+        index += nCities;
+
+        for (int i = 0; i < nPlayers; i++) {
+            int p = (playerId + i) % nPlayers;
+            Card playerCard = (Card) state.getComponent(playerCardHash, p);
+            PropertyString location = (PropertyString) playerCard.getProperty(playerLocationHash);
+            Integer city = location == null || location.value == null ? null : cityIndex.get(location.value);
+            if (city != null)
+                buffer[index + city] = 1.0;
+            int events = addCityCounts((Deck<Card>) state.getComponent(playerHandHash, p), buffer, index + nCities);
+            buffer[index + 2 * nCities] = events;
+            Integer role = roleIndex.get(((PropertyString) playerCard.getProperty(nameHash)).value);
+            if (role != null)
+                buffer[index + 2 * nCities + 1 + role] = 1.0;
+            index += perPlayer;
+        }
+
+        for (int c = 0; c < colors.length; c++) {
+            buffer[index++] = ((Counter) state.getComponent(diseaseHashes[c])).getValue();
+            buffer[index++] = ((Counter) state.getComponent(diseaseCubeHashes[c])).getValue();
+        }
+        buffer[index++] = ((Counter) state.getComponent(outbreaksHash)).getValue();
+        buffer[index++] = ((Counter) state.getComponent(infectionRateHash)).getValue();
+        buffer[index++] = ((Counter) state.getComponent(researchStationHash)).getValue();
+        buffer[index++] = ((Deck<Card>) state.getComponent(playerDeckHash)).getSize();
+        buffer[index++] = ((Deck<Card>) state.getComponent(infectionHash)).getSize();
+        buffer[index++] = state.isQuietNight() ? 1.0 : 0.0;
+        buffer[index++] = state.isEpidemic() ? 1.0 : 0.0;
+        buffer[index++] = state.getNCardsDrawn();
+        buffer[index] = state.getCurrentPlayer() == playerId ? 1.0 : 0.0;
+    }
+
+    /**
+     * Adds one for each city card in the deck, at start + the city index
+     *
+     * @return the number of cards that are not city cards
+     */
+    private int addCityCounts(Deck<Card> deck, double[] buffer, int start) {
+        int others = 0;
+        for (int i = 0; i < deck.getSize(); i++) {
+            PropertyString name = (PropertyString) deck.get(i).getProperty(nameHash);
+            Integer city = name == null ? null : cityIndex.get(name.value);
+            if (city == null)
+                others++;
+            else
+                buffer[start + city] += 1.0;
+        }
+        return others;
+    }
+}
@@ -62,7 +62,7 @@ public class InfectCity extends DrawCard {
                         return true;
                     }
                 }
-                PropertyIntArray infectionArray = (PropertyIntArray) bn.getProperty(infectionHash);
+                PropertyIntArray infectionArray = (PropertyIntArray) bn.getPropertyForUpdate(infectionHash);
                 int[] array = infectionArray.getValues();
 
                 // Add count cubes to this city
@@ -115,7 +115,7 @@ public class InfectCity extends DrawCard {
                 if (!roleString.equals("Quarantine Specialist")) {
                     // no infection or outbreak in the city where the QS is placed
                     // Try to add a disease cube here
-                    PropertyIntArray infectionArray = (PropertyIntArray) b2.getProperty(infectionHash);
+                    PropertyIntArray infectionArray = (PropertyIntArray) b2.getPropertyForUpdate(infectionHash);
                     int[] array = infectionArray.getValues();
                     if (array[colorIdx] == maxCubesPerCity) {
                         // Chain outbreak
@@ -40,7 +40,7 @@ public class MovePlayer extends AbstractAction {
 
     public static void placePlayer(PandemicGameState gs, String city, int playerIdx) {
         BoardNode bn = gs.getWorld().getNodeByStringProperty(nameHash, city);
-        PropertyIntArrayList prop = (PropertyIntArrayList) bn.getProperty(playersHash);
+        PropertyIntArrayList prop = (PropertyIntArrayList) bn.getPropertyForUpdate(playersHash);
         prop.getValues().add(playerIdx);
 
         Card playerCard = (Card) gs.getComponent(PandemicConstants.playerCardHash, playerIdx);
@@ -49,7 +49,7 @@ public class MovePlayer extends AbstractAction {
 
     public static void removePlayer(PandemicGameState gs, String city, int playerIdx) {
         BoardNode bn = gs.getWorld().getNodeByStringProperty(nameHash, city);
-        PropertyIntArrayList prop = (PropertyIntArrayList) bn.getProperty(playersHash);
+        PropertyIntArrayList prop = (PropertyIntArrayList) bn.getPropertyForUpdate(playersHash);
         prop.getValues().remove(Integer.valueOf(playerIdx));
 
         Card playerCard = (Card) gs.getComponent(PandemicConstants.playerCardHash, playerIdx);
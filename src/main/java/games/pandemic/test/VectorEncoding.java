@@ -0,0 +1,107 @@
+package games.pandemic.test;
+
+import core.Game;
+import core.components.Card;
+import core.components.Deck;
+import core.properties.PropertyString;
+import games.GameType;
+import games.pandemic.PandemicGameState;
+import games.pandemic.PandemicParameters;
+import games.pandemic.PandemicVectorEncoder;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static core.CoreConstants.nameHash;
+import static core.CoreConstants.playerHandHash;
+import static games.pandemic.PandemicConstants.*;
+import static org.junit.Assert.*;
+
+public class VectorEncoding {
+
+    Game game = GameType.Pandemic.createGameInstance(3, 42);
+    PandemicGameState state = (PandemicGameState) game.getGameState();
+    PandemicVectorEncoder encoder = new PandemicVectorEncoder((PandemicParameters) state.getGameParameters(), 3);
+    List<String> names = Arrays.asList(encoder.getNames());
+
+    private double value(double[] encoding, String name) {
+        assertTrue(name, names.contains(name));
+        return encoding[names.indexOf(name)];
+    }
+
+    private static String name(Card card) {
+        return ((PropertyString) card.getProperty(nameHash)).value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Deck<Card> hand(int player) {
+        return (Deck<Card>) state.getComponent(playerHandHash, player);
+    }
+
+    @Test
+    public void everyoneStartsInAtlantaWithAResearchStation() {
+        double[] encoding = encoder.encode(state, 1);
+        assertEquals(1.0, value(encoding, "Atlanta_RESEARCH_STATION"), 0.0);
+        for (int p = 0; p < 3; p++) {
+            assertEquals(1.0, value(encoding, "LOCATION_Atlanta_" + p), 0.0);
+            double locations = 0.0;
+            for (String n : names)
+                if (n.startsWith("LOCATION_") && n.endsWith("_" + p))
+                    locations += value(encoding, n);
+            assertEquals(1.0, locations, 0.0);
+            // each player has exactly one role
+            double roles = 0.0;
+            for (String n : names)
+                if (n.startsWith("ROLE_") && n.endsWith("_" + p))
+                    roles += value(encoding, n);
+            assertEquals(1.0, roles, 0.0);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void infectedCitiesHaveCubesAndAreInTheDiscard() {
+        double[] encoding = encoder.encode(state, 0);
+        Deck<Card> discard = (Deck<Card>) state.getComponent(infectionDiscardHash);
+        assertTrue(discard.getSize() > 0);
+        for (Card card : discard.getComponents()) {
+            String city = name(card);
+            assertEquals(city, 1.0, value(encoding, city + "_INFECTION_DISCARD"), 0.0);
+            double cubes = 0.0;
+            for (String color : colors)
+                cubes += value(encoding, city + "_" + color);
+            assertTrue(city, cubes > 0.0);
+        }
+    }
+
+    @Test
+    public void handsAreOpenAndInTurnOrderFromMe() {
+        // give one of player 0's city cards to player 2
+        Card moved = null;
+        for (Card card : hand(0).getComponents())
+            if (names.contains("HAND_" + name(card) + "_0"))
+                moved = card;
+        assertNotNull(moved);
+        String city = name(moved);
+        double[] before = encoder.encode(state, 0);
+        hand(0).remove(moved);
+        hand(2).add(moved);
+
+        double[] fromZero = encoder.encode(state, 0);
+        assertEquals(value(before, "HAND_" + city + "_0") - 1.0, value(fromZero, "HAND_" + city + "_0"), 0.0);
+        assertEquals(value(before, "HAND_" + city + "_2") + 1.0, value(fromZero, "HAND_" + city + "_2"), 0.0);
+        // player 2 sees their own hand first, and player 0's after player 1's
+        double[] fromTwo = encoder.encode(state, 2);
+        assertEquals(value(fromZero, "HAND_" + city + "_2"), value(fromTwo, "HAND_" + city + "_0"), 0.0);
+        assertEquals(value(fromZero, "HAND_" + city + "_0"), value(fromTwo, "HAND_" + city + "_1"), 0.0);
+
+        for (int p = 0; p < 3; p++) {
+            double cards = value(fromZero, "HAND_EVENTS_" + p);
+            for (String n : names)
+                if (n.startsWith("HAND_") && n.endsWith("_" + p) && !n.startsWith("HAND_EVENTS_"))
+                    cards += value(fromZero, n);
+            assertEquals(hand(p).getSize(), cards, 0.0);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package games.poker;
+
+import core.AbstractGameState;
+import core.components.Deck;
+import core.components.FrenchCard;
+import core.interfaces.IVectorEncoder;
+import games.poker.components.MoneyPot;
+import utilities.Utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cards are one-hot over the 52 card deck, indexed by suite and then rank. The vector holds my hand, the community
+ * cards, the game phase (one-hot), whether a bet has been made this street, the total in all pots, and then for each
+ * player their money, current bet, and whether they are still in the game, have folded, need to call, or have acted
+ * this street. Finally, whether it is my turn. Other players' hands are not visible.
+ */
+public class PokerVectorEncoder implements IVectorEncoder {
+
+    private static final int N_RANKS = 13;
+    private static final int N_CARDS = FrenchCard.Suite.values().length * N_RANKS;
+    private static final PokerGameState.PokerGamePhase[] phases = PokerGameState.PokerGamePhase.values();
+    private static final int PER_PLAYER = 6;
+
+    private final int nPlayers;
+    private final int length;
+    private final String[] names;
+
+    public PokerVectorEncoder(int nPlayers) {
+        this.nPlayers = nPlayers;
+        length = 2 * N_CARDS + phases.length + 2 + PER_PLAYER * nPlayers + 1;
+
+        List<String> cardNames = new ArrayList<>();
+        for (FrenchCard.Suite suite : FrenchCard.Suite.values())
+            for (int rank = 2; rank < 2 + N_RANKS; rank++)
+                cardNames.add(suite + "_" + rank);
+        List<String> allNames = new ArrayList<>();
+        for (String card : cardNames)
+            allNames.add("HAND_" + card);
+        for (String card : cardNames)
+            allNames.add("COMMUNITY_" + card);
+        for (PokerGameState.PokerGamePhase phase : phases)
+            allNames.add("PHASE_" + phase);
+        allNames.add("BET_MADE");
+        allNames.add("POT_TOTAL");
+        for (int p = 0; p < nPlayers; p++) {
+            allNames.add("MONEY_" + p);
+            allNames.add("BET_" + p);
+            allNames.add("ACTIVE_" + p);
+            allNames.add("FOLDED_" + p);
+            allNames.add("NEEDS_TO_CALL_" + p);
+            allNames.add("ACTED_" + p);
+        }
+        allNames.add("MY_TURN");
+        names = allNames.toArray(new String[0]);
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    @Override
+    public void encode(AbstractGameState gs, int playerId, double[] buffer, int offset) {
+        PokerGameState state = (PokerGameState) gs;
+        if (state.getNPlayers() != nPlayers)
+            throw new IllegalArgumentException("Encoder is for " + nPlayers + " players, not " + state.getNPlayers());
+        Arrays.fill(buffer, offset, offset + length, 0.0);
+
+        setCards(state.playerDecks.get(playerId), buffer, offset);
+        setCards(state.communityCards, buffer, offset + N_CARDS);
+        int index = offset + 2 * N_CARDS;
+        for (int i = 0; i < phases.length; i++)
+            buffer[index + i] = state.getGamePhase() == phases[i] ? 1.0 : 0.0;
+        index += phases.length;
+        buffer[index++] = state.bet ? 1.0 : 0.0;
+        double potTotal = 0.0;
+        for (MoneyPot pot : state.moneyPots)
+            potTotal += pot.getValue();
+        buffer[index++] = potTotal;
+        for (int i = 0; i < nPlayers; i++) {
+            int p = (playerId + i) % nPlayers;
+            buffer[index++] = state.playerMoney[p].getValue();
+            buffer[index++] = state.playerBet[p].getValue();
+            buffer[index++] = state.getPlayerResults()[p] == Utils.GameResult.LOSE ? 0.0 : 1.0;
+            buffer[index++] = state.playerFold[p] ? 1.0 : 0.0;
+            buffer[index++] = state.playerNeedsToCall[p] ? 1.0 : 0.0;
+            buffer[index++] = state.playerActStreet[p] ? 1.0 : 0.0;
+        }
+        buffer[index] = state.getCurrentPlayer() == playerId ? 1.0 : 0.0;
+    }
+
+    private static void setCards(Deck<FrenchCard> deck, double[] buffer, int start) {
+        for (int i = 0; i < deck.getSize(); i++) {
+            FrenchCard card = deck.get(i);
+            buffer[start + card.suite.ordinal() * N_RANKS + card.number - 2] = 1.0;
+        }
+    }
+}
@@ -328,9 +328,9 @@ public class PokerGUIManager extends AbstractGUIManager {
             pgs = (PokerGameState)gameState.copy();
             for (int i = 0; i < gameState.getNPlayers(); i++) {
                 playerHands[i].update(pgs);
-                if (i == gameState.getCurrentPlayer() && coreParameters.alwaysDisplayCurrentPlayer
+                if (i == gameState.getCurrentPlayer() && coreParameters.isAlwaysDisplayCurrentPlayer()
                         || i == humanID
-                        || coreParameters.alwaysDisplayFullObservable) {
+                        || coreParameters.isAlwaysDisplayFullObservable()) {
                     playerHands[i].setFront(true);
                     playerHands[i].setFocusable(true);
                 } else {
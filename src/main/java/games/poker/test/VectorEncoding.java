@@ -0,0 +1,96 @@
+package games.poker.test;
+
+import core.Game;
+import core.components.FrenchCard;
+import core.components.FrenchCard.FrenchCardType;
+import core.components.FrenchCard.Suite;
+import games.GameType;
+import games.poker.PokerGameState;
+import games.poker.PokerVectorEncoder;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class VectorEncoding {
+
+    Game game = GameType.Poker.createGameInstance(3, 42);
+    PokerGameState state = (PokerGameState) game.getGameState();
+    PokerVectorEncoder encoder = new PokerVectorEncoder(3);
+    List<String> names = Arrays.asList(encoder.getNames());
+
+    @Before
+    public void setupCards() {
+        for (int p = 0; p < 3; p++)
+            state.getPlayerDecks().get(p).clear();
+        state.getCommunityCards().clear();
+        // player 0 holds the Ace of Hearts and the 2 of Spades, player 1 the King and Queen of Clubs
+        state.getPlayerDecks().get(0).add(new FrenchCard(FrenchCardType.Ace, Suite.Hearts));
+        state.getPlayerDecks().get(0).add(new FrenchCard(FrenchCardType.Number, Suite.Spades, 2));
+        state.getPlayerDecks().get(1).add(new FrenchCard(FrenchCardType.King, Suite.Clubs));
+        state.getPlayerDecks().get(1).add(new FrenchCard(FrenchCardType.Queen, Suite.Clubs));
+        state.getPlayerDecks().get(2).add(new FrenchCard(FrenchCardType.Number, Suite.Diamonds, 7));
+        state.getPlayerDecks().get(2).add(new FrenchCard(FrenchCardType.Number, Suite.Diamonds, 8));
+        state.getCommunityCards().add(new FrenchCard(FrenchCardType.Number, Suite.Diamonds, 10));
+        state.getCommunityCards().add(new FrenchCard(FrenchCardType.Jack, Suite.Hearts));
+        state.getPlayerMoney()[1].setValue(37);
+        state.getPlayerFold()[2] = true;
+    }
+
+    private double value(double[] encoding, String name) {
+        assertTrue(name, names.contains(name));
+        return encoding[names.indexOf(name)];
+    }
+
+    private double handTotal(double[] encoding) {
+        return Arrays.stream(encoding, 0, names.indexOf("COMMUNITY_Diamonds_2")).sum();
+    }
+
+    @Test
+    public void holeCardsAreHiddenFromOtherPlayers() {
+        double[] fromZero = encoder.encode(state, 0);
+        assertEquals(1.0, value(fromZero, "HAND_Hearts_14"), 0.0);
+        assertEquals(1.0, value(fromZero, "HAND_Spades_2"), 0.0);
+        assertEquals(2.0, handTotal(fromZero), 0.0);
+
+        double[] fromOne = encoder.encode(state, 1);
+        assertEquals(1.0, value(fromOne, "HAND_Clubs_13"), 0.0);
+        assertEquals(1.0, value(fromOne, "HAND_Clubs_12"), 0.0);
+        assertEquals(0.0, value(fromOne, "HAND_Hearts_14"), 0.0);
+        assertEquals(2.0, handTotal(fromOne), 0.0);
+
+        double[] fromTwo = encoder.encode(state, 2);
+        assertEquals(1.0, value(fromTwo, "HAND_Diamonds_7"), 0.0);
+        assertEquals(0.0, value(fromTwo, "HAND_Clubs_13"), 0.0);
+        assertEquals(0.0, value(fromTwo, "HAND_Spades_2"), 0.0);
+        assertEquals(2.0, handTotal(fromTwo), 0.0);
+    }
+
+    @Test
+    public void communityCardsAreShared() {
+        for (int p = 0; p < 3; p++) {
+            double[] encoding = encoder.encode(state, p);
+            assertEquals(1.0, value(encoding, "COMMUNITY_Diamonds_10"), 0.0);
+            assertEquals(1.0, value(encoding, "COMMUNITY_Hearts_11"), 0.0);
+            assertEquals(0.0, value(encoding, "COMMUNITY_Hearts_14"), 0.0);
+            assertEquals(1.0, value(encoding, "PHASE_" + state.getGamePhase()), 0.0);
+            assertEquals(state.getCurrentPlayer() == p ? 1.0 : 0.0, value(encoding, "MY_TURN"), 0.0);
+        }
+    }
+
+    @Test
+    public void playerValuesAreInTurnOrderFromMe() {
+        double[] fromZero = encoder.encode(state, 0);
+        assertEquals(37.0, value(fromZero, "MONEY_1"), 0.0);
+        assertEquals(1.0, value(fromZero, "FOLDED_2"), 0.0);
+        assertEquals(0.0, value(fromZero, "FOLDED_1"), 0.0);
+
+        double[] fromOne = encoder.encode(state, 1);
+        assertEquals(37.0, value(fromOne, "MONEY_0"), 0.0);
+        assertEquals(1.0, value(fromOne, "FOLDED_1"), 0.0);
+        assertEquals(state.getPlayerMoney()[0].getValue(), value(fromOne, "MONEY_2"), 0.0);
+    }
+}
@@ -57,7 +57,7 @@ public class SGGameState extends AbstractGameState {
 
     @Override
     protected AbstractGameState _copy(int playerId) {
-        SGGameState copy = new SGGameState(gameParameters.copy(), getNPlayers());
+        SGGameState copy = new SGGameState(gameParameters.frozenCopy(), getNPlayers());
         copy.playerScore = playerScore.clone();
         copy.playerCardPicks = playerCardPicks.clone();
         copy.playerExtraCardPicks = playerExtraCardPicks.clone();
@@ -130,7 +130,7 @@ public class SGGameState extends AbstractGameState {
         return copy;
     }
 
-    private boolean hasSeenHand(int playerId, int opponentId) {
+    boolean hasSeenHand(int playerId, int opponentId) {
         int opponentSpacesToLeft = opponentId - playerId;
         if (opponentSpacesToLeft < 0)
             opponentSpacesToLeft = getNPlayers() + opponentSpacesToLeft;
@@ -0,0 +1,89 @@
+package games.sushigo;
+
+import core.AbstractGameState;
+import core.components.Deck;
+import core.interfaces.IVectorEncoder;
+import games.sushigo.cards.SGCard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * For each player: score, hand size, wasabi available and chopsticks held, then the number of each card type in their
+ * field, whether the observer has seen their hand, and the number of each card type in that hand if it has been seen
+ * (hands are passed round the table, so after T rotations we know the hands of the T players to our left).
+ * This is followed by the number of deck rotations and the round.
+ */
+public class SGVectorEncoder implements IVectorEncoder {
+
+    private static final SGCard.SGCardType[] cardTypes = SGCard.SGCardType.values();
+    private static final int PER_PLAYER = 5 + 2 * cardTypes.length;
+
+    private final int nPlayers;
+    private final int length;
+    private final String[] names;
+
+    public SGVectorEncoder(int nPlayers) {
+        this.nPlayers = nPlayers;
+        length = PER_PLAYER * nPlayers + 2;
+
+        List<String> allNames = new ArrayList<>();
+        for (int p = 0; p < nPlayers; p++) {
+            allNames.add("SCORE_" + p);
+            allNames.add("HAND_SIZE_" + p);
+            allNames.add("WASABI_" + p);
+            allNames.add("CHOPSTICKS_" + p);
+            for (SGCard.SGCardType type : cardTypes)
+                allNames.add(type + "_FIELD_" + p);
+            allNames.add("HAND_SEEN_" + p);
+            for (SGCard.SGCardType type : cardTypes)
+                allNames.add(type + "_HAND_" + p);
+        }
+        allNames.add("DECK_ROTATIONS");
+        allNames.add("ROUND");
+        names = allNames.toArray(new String[0]);
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    @Override
+    public void encode(AbstractGameState gs, int playerId, double[] buffer, int offset) {
+        SGGameState state = (SGGameState) gs;
+        if (state.getNPlayers() != nPlayers)
+            throw new IllegalArgumentException("Encoder is for " + nPlayers + " players, not " + state.getNPlayers());
+        Arrays.fill(buffer, offset, offset + length, 0.0);
+
+        int index = offset;
+        for (int i = 0; i < nPlayers; i++) {
+            int p = (playerId + i) % nPlayers;
+            buffer[index] = state.playerScore[p];
+            buffer[index + 1] = state.playerHands.get(p).getSize();
+            buffer[index + 2] = state.playerWasabiAvailable[p];
+            buffer[index + 3] = state.playerChopSticksAmount[p];
+            index += 4;
+            addCounts(state.playerFields.get(p), buffer, index);
+            index += cardTypes.length;
+            boolean seen = state.hasSeenHand(playerId, p);
+            buffer[index++] = seen ? 1.0 : 0.0;
+            if (seen)
+                addCounts(state.playerHands.get(p), buffer, index);
+            index += cardTypes.length;
+        }
+        buffer[index++] = state.deckRotations;
+        buffer[index] = state.getTurnOrder().getRoundCounter();
+    }
+
+    private static void addCounts(Deck<SGCard> deck, double[] buffer, int start) {
+        for (int i = 0; i < deck.getSize(); i++)
+            buffer[start + deck.get(i).type.ordinal()] += 1.0;
+    }
+}
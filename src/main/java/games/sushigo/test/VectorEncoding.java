@@ -0,0 +1,72 @@
+package games.sushigo.test;
+
+import core.Game;
+import games.GameType;
+import games.sushigo.SGGameState;
+import games.sushigo.SGVectorEncoder;
+import games.sushigo.cards.SGCard;
+import games.sushigo.cards.SGCard.SGCardType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class VectorEncoding {
+
+    Game game = GameType.SushiGo.createGameInstance(3, 42);
+    SGGameState state = (SGGameState) game.getGameState();
+    SGVectorEncoder encoder = new SGVectorEncoder(3);
+    List<String> names = Arrays.asList(encoder.getNames());
+
+    @Before
+    public void setupCards() {
+        for (int p = 0; p < 3; p++) {
+            state.getPlayerDecks().get(p).clear();
+            state.getPlayerFields().get(p).clear();
+        }
+        // no hands have been passed yet, so each player has only seen their own
+        state.getPlayerDecks().get(0).add(new SGCard(SGCardType.Tempura));
+        state.getPlayerDecks().get(0).add(new SGCard(SGCardType.Tempura));
+        state.getPlayerDecks().get(1).add(new SGCard(SGCardType.Maki_3));
+        state.getPlayerDecks().get(2).add(new SGCard(SGCardType.Maki_1));
+        state.getPlayerFields().get(1).add(new SGCard(SGCardType.Maki_2));
+        state.getPlayerFields().get(1).add(new SGCard(SGCardType.Maki_2));
+        state.setGameScore(2, 12);
+    }
+
+    private double value(double[] encoding, String name) {
+        assertTrue(name, names.contains(name));
+        return encoding[names.indexOf(name)];
+    }
+
+    @Test
+    public void onlySeenHandsAreEncoded() {
+        double[] fromZero = encoder.encode(state, 0);
+        assertEquals(1.0, value(fromZero, "HAND_SEEN_0"), 0.0);
+        assertEquals(2.0, value(fromZero, "Tempura_HAND_0"), 0.0);
+        assertEquals(2.0, value(fromZero, "HAND_SIZE_0"), 0.0);
+        assertEquals(0.0, value(fromZero, "HAND_SEEN_1"), 0.0);
+        assertEquals(0.0, value(fromZero, "Maki_3_HAND_1"), 0.0);
+        assertEquals(1.0, value(fromZero, "HAND_SIZE_1"), 0.0);
+
+        double[] fromOne = encoder.encode(state, 1);
+        assertEquals(1.0, value(fromOne, "Maki_3_HAND_0"), 0.0);
+        assertEquals(0.0, value(fromOne, "Tempura_HAND_2"), 0.0);
+        assertEquals(2.0, value(fromOne, "HAND_SIZE_2"), 0.0);
+    }
+
+    @Test
+    public void fieldsAndScoresAreInTurnOrderFromMe() {
+        double[] fromZero = encoder.encode(state, 0);
+        assertEquals(2.0, value(fromZero, "Maki_2_FIELD_1"), 0.0);
+        assertEquals(0.0, value(fromZero, "Maki_2_FIELD_0"), 0.0);
+        assertEquals(12.0, value(fromZero, "SCORE_2"), 0.0);
+
+        double[] fromTwo = encoder.encode(state, 2);
+        assertEquals(2.0, value(fromTwo, "Maki_2_FIELD_2"), 0.0);
+        assertEquals(12.0, value(fromTwo, "SCORE_0"), 0.0);
+    }
+}
@@ -4,7 +4,7 @@ import core.AbstractForwardModel;
 import core.AbstractGameState;
 import core.actions.AbstractAction;
 import core.actions.SetGridValueAction;
-import core.components.GridBoard;
+import core.components.PaletteGridBoard;
 import core.components.Token;
 import utilities.Utils;
 
@@ -12,6 +12,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import static core.components.PaletteGridBoard.DEFAULT_INDEX;
+
 
 public class TicTacToeForwardModel extends AbstractForwardModel {
 
@@ -20,20 +22,23 @@ public class TicTacToeForwardModel extends AbstractForwardModel {
         TicTacToeGameParameters tttgp = (TicTacToeGameParameters) firstState.getGameParameters();
         int gridSize = tttgp.gridSize;
         TicTacToeGameState state = (TicTacToeGameState) firstState;
-        state.gridBoard = new GridBoard<>(gridSize, gridSize, new Token(TicTacToeConstants.emptyCell));
+        state.gridBoard = new PaletteGridBoard<>(gridSize, gridSize, new Token(TicTacToeConstants.emptyCell));
     }
 
     @Override
     protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState) {
         TicTacToeGameState tttgs = (TicTacToeGameState) gameState;
+        PaletteGridBoard<Token> gridBoard = tttgs.gridBoard;
         ArrayList<AbstractAction> actions = new ArrayList<>();
         int player = gameState.getTurnOrder().getCurrentPlayer(gameState);
+        Token playerToken = TicTacToeConstants.playerMapping.get(player);
 
+        // The empty cell is the value the board was created with
         if (gameState.isNotTerminal())
-            for (int x = 0; x < tttgs.gridBoard.getWidth(); x++) {
-                for (int y = 0; y < tttgs.gridBoard.getHeight(); y++) {
-                    if (tttgs.gridBoard.getElement(x, y).getTokenType().equals(TicTacToeConstants.emptyCell))
-                        actions.add(new SetGridValueAction<>(tttgs.gridBoard.getComponentID(), x, y, TicTacToeConstants.playerMapping.get(player)));
+            for (int x = 0; x < gridBoard.getWidth(); x++) {
+                for (int y = 0; y < gridBoard.getHeight(); y++) {
+                    if (gridBoard.getValueIndex(x, y) == DEFAULT_INDEX)
+                        actions.add(new SetGridValueAction<>(gridBoard.getComponentID(), x, y, playerToken));
                 }
             }
         return actions;
@@ -66,22 +71,22 @@ public class TicTacToeForwardModel extends AbstractForwardModel {
      * @param gameState - game state to check game end.
      */
     private boolean checkGameEnd(TicTacToeGameState gameState) {
-        GridBoard<Token> gridBoard = gameState.getGridBoard();
+        PaletteGridBoard<Token> gridBoard = gameState.getGridBoard();
 
+        // Cells are compared by their palette index, and the empty cell has the default index
         // Check columns
         for (int x = 0; x < gridBoard.getWidth(); x++) {
-            Token c = gridBoard.getElement(x, 0);
-            if (!c.getTokenType().equals(TicTacToeConstants.emptyCell)) {
+            int c = gridBoard.getValueIndex(x, 0);
+            if (c != DEFAULT_INDEX) {
                 boolean win = true;
                 for (int y = 1; y < gridBoard.getHeight(); y++) {
-                    Token o = gridBoard.getElement(x, y);
-                    if (o.getTokenType().equals(TicTacToeConstants.emptyCell) || !o.equals(c)) {
+                    if (gridBoard.getValueIndex(x, y) != c) {
                         win = false;
                         break;
                     }
                 }
                 if (win) {
-                    registerWinner(gameState, c);
+                    registerWinner(gameState, gridBoard.getPaletteValue(c));
                     return true;
                 }
             }
@@ -89,18 +94,17 @@ public class TicTacToeForwardModel extends AbstractForwardModel {
 
         // Check rows
         for (int y = 0; y < gridBoard.getHeight(); y++) {
-            Token c = gridBoard.getElement(0, y);
-            if (!c.getTokenType().equals(TicTacToeConstants.emptyCell)) {
+            int c = gridBoard.getValueIndex(0, y);
+            if (c != DEFAULT_INDEX) {
                 boolean win = true;
                 for (int x = 1; x < gridBoard.getWidth(); x++) {
-                    Token o = gridBoard.getElement(x, y);
-                    if (o.getTokenType().equals(TicTacToeConstants.emptyCell) || !o.equals(c)) {
+                    if (gridBoard.getValueIndex(x, y) != c) {
                         win = false;
                         break;
                     }
                 }
                 if (win) {
-                    registerWinner(gameState, c);
+                    registerWinner(gameState, gridBoard.getPaletteValue(c));
                     return true;
                 }
             }
@@ -108,37 +112,37 @@ public class TicTacToeForwardModel extends AbstractForwardModel {
 
         // Check diagonals
         // Primary
-        Token c = gridBoard.getElement(0, 0);
-        if (!c.getTokenType().equals(TicTacToeConstants.emptyCell)) {
+        int c = gridBoard.getValueIndex(0, 0);
+        if (c != DEFAULT_INDEX) {
             boolean win = true;
             for (int i = 1; i < gridBoard.getWidth(); i++) {
-                Token o = gridBoard.getElement(i, i);
-                if (o.getTokenType().equals(TicTacToeConstants.emptyCell) || !o.equals(c)) {
+                if (gridBoard.getValueIndex(i, i) != c) {
                     win = false;
+                    break;
                 }
             }
             if (win) {
-                registerWinner(gameState, c);
+                registerWinner(gameState, gridBoard.getPaletteValue(c));
                 return true;
             }
         }
 
         // Secondary
-        c = gridBoard.getElement(gridBoard.getWidth() - 1, 0);
-        if (!c.getTokenType().equals(TicTacToeConstants.emptyCell)) {
+        c = gridBoard.getValueIndex(gridBoard.getWidth() - 1, 0);
+        if (c != DEFAULT_INDEX) {
             boolean win = true;
             for (int i = 1; i < gridBoard.getWidth(); i++) {
-                Token o = gridBoard.getElement(gridBoard.getWidth() - 1 - i, i);
-                if (o.getTokenType().equals(TicTacToeConstants.emptyCell) || !o.equals(c)) {
+                if (gridBoard.getValueIndex(gridBoard.getWidth() - 1 - i, i) != c) {
                     win = false;
+                    break;
                 }
             }
             if (win) {
-                registerWinner(gameState, c);
+                registerWinner(gameState, gridBoard.getPaletteValue(c));
                 return true;
             }
         }
-        boolean tie = gridBoard.getComponents().stream().noneMatch(t -> t.getTokenType().equals(TicTacToeConstants.emptyCell));
+        boolean tie = gridBoard.countCells(DEFAULT_INDEX) == 0;
 
         if (tie) {
             gameState.setGameStatus(Utils.GameResult.DRAW);
@@ -150,7 +154,7 @@ public class TicTacToeForwardModel extends AbstractForwardModel {
 
     @Override
     protected void endGame(AbstractGameState gameState) {
-        if (gameState.getCoreGameParameters().verbose) {
+        if (gameState.getCoreGameParameters().isVerbose()) {
             System.out.println(Arrays.toString(gameState.getPlayerResults()));
         }
     }
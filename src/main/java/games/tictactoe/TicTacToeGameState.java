@@ -3,7 +3,7 @@ package games.tictactoe;
 import core.AbstractGameState;
 import core.AbstractParameters;
 import core.components.Component;
-import core.components.GridBoard;
+import core.components.PaletteGridBoard;
 import core.components.Token;
 import core.interfaces.IGridGameState;
 import core.interfaces.IPrintable;
@@ -20,7 +20,7 @@ import java.util.Objects;
 
 public class TicTacToeGameState extends AbstractGameState implements IPrintable, IGridGameState<Token>, IVectorObservation {
 
-    GridBoard<Token> gridBoard;
+    PaletteGridBoard<Token> gridBoard;
 
     public TicTacToeGameState(AbstractParameters gameParameters, int nPlayers) {
         super(gameParameters, new AlternatingTurnOrder(nPlayers), GameType.TicTacToe);
@@ -35,7 +35,7 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
 
     @Override
     protected AbstractGameState _copy(int playerId) {
-        TicTacToeGameState s = new TicTacToeGameState(gameParameters.copy(), getNPlayers());
+        TicTacToeGameState s = new TicTacToeGameState(gameParameters.frozenCopy(), getNPlayers());
         s.gridBoard = gridBoard.copy();
         return s;
     }
@@ -83,7 +83,7 @@ public class TicTacToeGameState extends AbstractGameState implements IPrintable,
     }
 
     @Override
-    public GridBoard<Token> getGridBoard() {
+    public PaletteGridBoard<Token> getGridBoard() {
         return gridBoard;
     }
 
@@ -123,7 +123,7 @@ public class UnoForwardModel extends AbstractForwardModel {
         // The first card cannot be a wild.
         // In case, add to draw deck and shuffle again
         while (ugs.isWildCard(ugs.currentCard)) {
-            if (ugs.getCoreGameParameters().verbose) {
+            if (ugs.getCoreGameParameters().isVerbose()) {
                 System.out.println("First card wild");
             }
             ugs.drawDeck.add(ugs.currentCard);
@@ -134,7 +134,7 @@ public class UnoForwardModel extends AbstractForwardModel {
 
         // If the first card is Skip, Reverse or DrawTwo, play the card
         if (!ugs.isNumberCard(ugs.currentCard)) {
-            if (ugs.getCoreGameParameters().verbose) {
+            if (ugs.getCoreGameParameters().isVerbose()) {
                 System.out.println("First card no number " + ugs.currentColor);
             }
             if (ugs.currentCard.type == UnoCard.UnoCardType.Reverse) {
@@ -353,7 +353,7 @@ public class UnoForwardModel extends AbstractForwardModel {
 
     @Override
     protected void endGame(AbstractGameState gameState) {
-        if (gameState.getCoreGameParameters().verbose) {
+        if (gameState.getCoreGameParameters().isVerbose()) {
             System.out.println("Game Results:");
             for (int playerID = 0; playerID < gameState.getNPlayers(); playerID++) {
                 if (gameState.getPlayerResults()[playerID] == Utils.GameResult.WIN) {
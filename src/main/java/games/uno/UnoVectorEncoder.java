@@ -0,0 +1,142 @@
+package games.uno;
+
+import core.AbstractGameState;
+import core.components.Deck;
+import core.interfaces.IVectorEncoder;
+import core.turnorders.AlternatingTurnOrder;
+import games.uno.cards.UnoCard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cards are counted by kind: for each colour the number cards, Skip, Reverse and each Draw card, and then each kind
+ * of Wild card.
+ * <p>
+ * The vector holds the number of each kind in my hand, the number of each kind in the discard pile, the current card
+ * (one-hot by kind) and current colour (one-hot), then for each player their hand size and score, and finally the draw
+ * pile size, the direction of play and whether it is my turn. Other players' hands are not visible.
+ */
+public class UnoVectorEncoder implements IVectorEncoder {
+
+    private final int nPlayers;
+    private final String[] colors;
+    private final int nNumbers, perColor, nKinds;
+    private final int[] drawCards, wildCards;
+    private final int length;
+    private final String[] names;
+
+    public UnoVectorEncoder(UnoGameParameters params, int nPlayers) {
+        this.nPlayers = nPlayers;
+        colors = params.colors.clone();
+        nNumbers = params.nNumberCards;
+        drawCards = params.specialDrawCards.clone();
+        wildCards = params.specialWildDrawCards.clone();
+        perColor = nNumbers + 2 + drawCards.length;
+        nKinds = colors.length * perColor + wildCards.length;
+        length = 3 * nKinds + colors.length + 2 * nPlayers + 3;
+
+        List<String> kindNames = new ArrayList<>();
+        for (String color : colors) {
+            for (int n = 0; n < nNumbers; n++)
+                kindNames.add(color + "_" + n);
+            kindNames.add(color + "_SKIP");
+            kindNames.add(color + "_REVERSE");
+            for (int n : drawCards)
+                kindNames.add(color + "_DRAW" + n);
+        }
+        for (int n : wildCards)
+            kindNames.add("WILD_" + n);
+
+        List<String> allNames = new ArrayList<>();
+        for (String kind : kindNames)
+            allNames.add("HAND_" + kind);
+        for (String kind : kindNames)
+            allNames.add("DISCARD_" + kind);
+        for (String kind : kindNames)
+            allNames.add("CURRENT_" + kind);
+        for (String color : colors)
+            allNames.add("CURRENT_COLOR_" + color);
+        for (int p = 0; p < nPlayers; p++) {
+            allNames.add("HAND_SIZE_" + p);
+            allNames.add("SCORE_" + p);
+        }
+        allNames.add("DRAW_SIZE");
+        allNames.add("DIRECTION");
+        allNames.add("MY_TURN");
+        names = allNames.toArray(new String[0]);
+    }
+
+    @Override
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    @Override
+    public void encode(AbstractGameState gs, int playerId, double[] buffer, int offset) {
+        UnoGameState state = (UnoGameState) gs;
+        if (state.getNPlayers() != nPlayers)
+            throw new IllegalArgumentException("Encoder is for " + nPlayers + " players, not " + state.getNPlayers());
+        Arrays.fill(buffer, offset, offset + length, 0.0);
+
+        addCounts(state.playerDecks.get(playerId), buffer, offset);
+        addCounts(state.discardDeck, buffer, offset + nKinds);
+        if (state.currentCard != null)
+            buffer[offset + 2 * nKinds + kindIndex(state.currentCard)] = 1.0;
+        int index = offset + 3 * nKinds;
+        int currentColor = colorIndex(state.currentColor);
+        if (currentColor > -1)
+            buffer[index + currentColor] = 1.0;
+        index += colors.length;
+        for (int i = 0; i < nPlayers; i++) {
+            int p = (playerId + i) % nPlayers;
+            buffer[index++] = state.playerDecks.get(p).getSize();
+            buffer[index++] = state.playerScore[p];
+        }
+        buffer[index++] = state.drawDeck.getSize();
+        buffer[index++] = ((AlternatingTurnOrder) state.getTurnOrder()).getDirection();
+        buffer[index] = state.getCurrentPlayer() == playerId ? 1.0 : 0.0;
+    }
+
+    private void addCounts(Deck<UnoCard> deck, double[] buffer, int start) {
+        for (int i = 0; i < deck.getSize(); i++)
+            buffer[start + kindIndex(deck.get(i))] += 1.0;
+    }
+
+    private int kindIndex(UnoCard card) {
+        switch (card.type) {
+            case Wild:
+                return colors.length * perColor + indexOf(wildCards, card.number);
+            case Number:
+                return colorIndex(card.color) * perColor + card.number;
+            case Skip:
+                return colorIndex(card.color) * perColor + nNumbers;
+            case Reverse:
+                return colorIndex(card.color) * perColor + nNumbers + 1;
+            case Draw:
+                return colorIndex(card.color) * perColor + nNumbers + 2 + indexOf(drawCards, card.drawN);
+            default:
+                throw new AssertionError("Unknown card type " + card.type);
+        }
+    }
+
+    private int colorIndex(String color) {
+        for (int i = 0; i < colors.length; i++)
+            if (colors[i].equals(color))
+                return i;
+        return -1;
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++)
+            if (values[i] == value)
+                return i;
+        throw new AssertionError("Unexpected card value " + value);
+    }
+}
@@ -0,0 +1,93 @@
+package games.uno.test;
+
+import core.Game;
+import games.GameType;
+import games.uno.UnoGameParameters;
+import games.uno.UnoGameState;
+import games.uno.UnoVectorEncoder;
+import games.uno.cards.UnoCard;
+import games.uno.cards.UnoCard.UnoCardType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class VectorEncoding {
+
+    Game game = GameType.Uno.createGameInstance(3, 42);
+    UnoGameState state = (UnoGameState) game.getGameState();
+    UnoVectorEncoder encoder = new UnoVectorEncoder((UnoGameParameters) state.getGameParameters(), 3);
+    List<String> names = Arrays.asList(encoder.getNames());
+
+    @Before
+    public void setupHands() {
+        for (int p = 0; p < 3; p++)
+            state.getPlayerDecks().get(p).clear();
+        state.getDiscardDeck().clear();
+        // player 0 holds two Red 3s and a Blue Skip, player 1 a Wild Draw Four and a Green 7, player 2 nothing
+        state.getPlayerDecks().get(0).add(new UnoCard(UnoCardType.Number, "Red", 3));
+        state.getPlayerDecks().get(0).add(new UnoCard(UnoCardType.Number, "Red", 3));
+        state.getPlayerDecks().get(0).add(new UnoCard(UnoCardType.Skip, "Blue"));
+        state.getPlayerDecks().get(1).add(new UnoCard(UnoCardType.Wild, "Wild", 4));
+        state.getPlayerDecks().get(1).add(new UnoCard(UnoCardType.Number, "Green", 7));
+        state.getDiscardDeck().add(new UnoCard(UnoCardType.Draw, "Red", 2));
+        state.getDiscardDeck().add(new UnoCard(UnoCardType.Number, "Yellow", 0));
+        // a Wild played as Blue
+        state.updateCurrentCard(new UnoCard(UnoCardType.Wild, "Wild", 0), "Blue");
+    }
+
+    private double value(double[] encoding, String name) {
+        assertTrue(name, names.contains(name));
+        return encoding[names.indexOf(name)];
+    }
+
+    @Test
+    public void onlyMyOwnHandIsEncoded() {
+        double[] fromZero = encoder.encode(state, 0);
+        assertEquals(2.0, value(fromZero, "HAND_Red_3"), 0.0);
+        assertEquals(1.0, value(fromZero, "HAND_Blue_SKIP"), 0.0);
+        assertEquals(0.0, value(fromZero, "HAND_WILD_4"), 0.0);
+        assertEquals(0.0, value(fromZero, "HAND_Green_7"), 0.0);
+        assertEquals(3.0, Arrays.stream(fromZero, 0, names.indexOf("DISCARD_Red_0")).sum(), 0.0);
+
+        double[] fromOne = encoder.encode(state, 1);
+        assertEquals(1.0, value(fromOne, "HAND_WILD_4"), 0.0);
+        assertEquals(1.0, value(fromOne, "HAND_Green_7"), 0.0);
+        assertEquals(0.0, value(fromOne, "HAND_Red_3"), 0.0);
+        assertEquals(2.0, Arrays.stream(fromOne, 0, names.indexOf("DISCARD_Red_0")).sum(), 0.0);
+
+        // player 2 sees no cards in hand at all
+        double[] fromTwo = encoder.encode(state, 2);
+        assertEquals(0.0, Arrays.stream(fromTwo, 0, names.indexOf("DISCARD_Red_0")).sum(), 0.0);
+    }
+
+    @Test
+    public void handSizesAreInTurnOrderFromMe() {
+        double[] fromZero = encoder.encode(state, 0);
+        assertEquals(3.0, value(fromZero, "HAND_SIZE_0"), 0.0);
+        assertEquals(2.0, value(fromZero, "HAND_SIZE_1"), 0.0);
+        assertEquals(0.0, value(fromZero, "HAND_SIZE_2"), 0.0);
+
+        double[] fromTwo = encoder.encode(state, 2);
+        assertEquals(0.0, value(fromTwo, "HAND_SIZE_0"), 0.0);
+        assertEquals(3.0, value(fromTwo, "HAND_SIZE_1"), 0.0);
+        assertEquals(2.0, value(fromTwo, "HAND_SIZE_2"), 0.0);
+    }
+
+    @Test
+    public void discardAndCurrentCardAreShared() {
+        for (int p = 0; p < 3; p++) {
+            double[] encoding = encoder.encode(state, p);
+            assertEquals(1.0, value(encoding, "DISCARD_Red_DRAW2"), 0.0);
+            assertEquals(1.0, value(encoding, "DISCARD_Yellow_0"), 0.0);
+            assertEquals(1.0, value(encoding, "CURRENT_WILD_0"), 0.0);
+            assertEquals(1.0, value(encoding, "CURRENT_COLOR_Blue"), 0.0);
+            assertEquals(0.0, value(encoding, "CURRENT_COLOR_Red"), 0.0);
+            assertEquals(state.getDrawDeck().getSize(), value(encoding, "DRAW_SIZE"), 0.0);
+            assertEquals(state.getCurrentPlayer() == p ? 1.0 : 0.0, value(encoding, "MY_TURN"), 0.0);
+        }
+    }
+}
@@ -39,7 +39,7 @@ public class VirusGameState extends AbstractGameState implements IPrintable {
 
     @Override
     protected AbstractGameState _copy(int playerId) {
-        VirusGameState vgs = new VirusGameState(gameParameters.copy(), getNPlayers());
+        VirusGameState vgs = new VirusGameState(gameParameters.frozenCopy(), getNPlayers());
         vgs.drawDeck = drawDeck.copy();
         vgs.discardDeck = discardDeck.copy();
         vgs.playerDecks = new ArrayList<>();
@@ -48,7 +48,7 @@ public class VirusGameState extends AbstractGameState implements IPrintable {
             vgs.playerDecks.add(playerDecks.get(i).copy());
             vgs.playerBodies.add((VirusBody) playerBodies.get(i).copy());
         }
-        if (getCoreGameParameters().partialObservable && playerId != -1) {
+        if (getCoreGameParameters().isPartialObservable() && playerId != -1) {
             // Draw deck and opponent hand cards are hidden. Shuffle all together and deal random cards for opponents.
             for (int i = 0; i < getNPlayers(); i++) {
                 if (playerId != i) {
@@ -9,6 +9,8 @@ import players.mcts.MCTSParams;
 import players.mcts.MCTSPlayer;
 import players.rmhc.RMHCParams;
 import players.rmhc.RMHCPlayer;
+import players.search.AlphaBetaParams;
+import players.search.AlphaBetaPlayer;
 import players.simple.OSLAPlayer;
 import players.simple.RandomPlayer;
 
@@ -18,6 +20,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -36,7 +39,8 @@ import java.util.Objects;
  * (OSLAPlayer and RandomPlayer in the example above)
  * or the class name of a TunableParameters implementation which returns an AbstractPlayer from instantiate()
  * <p>
- * "random" and "osla" require no further properties.
+ * "random" and "osla" require no further properties. An OSLAPlayer that evaluates its actions on several threads is
+ * configured with "class" : "players.simple.OSLAParams" and "parallelism" : n
  * "heuristic" requires a further property of:
  * "class" : "<fullNameOfClassThatImplementsAbstractPlayerWithANoArgumentConstructor>"
  */
@@ -96,8 +100,8 @@ public class PlayerFactory {
      * The input can be one of a few things:
      * 1) A JSON file - in which case this is used to generate a player using fromJSONFile()
      * 2) A simple String with any of:
-     * "mcts", "rmhc", "osla", "random", "className"
-     * The first four of these will return the appropriate player with default parameters
+     * "mcts", "rmhc", "alphabeta", "osla", "random", "className"
+     * The first five of these will return the appropriate player with default parameters
      * Anything else is interpreted as a class name that implements AbstractPlayer with a no-argument constructor
      *
      * @param data
@@ -126,6 +130,8 @@ public class PlayerFactory {
                 return new MCTSPlayer(new MCTSParams(System.currentTimeMillis()));
             case "rmhc":
                 return new RMHCPlayer(new RMHCParams(System.currentTimeMillis()));
+            case "alphabeta":
+                return new AlphaBetaPlayer(new AlphaBetaParams(System.currentTimeMillis()));
             default:
                 throw new AssertionError("Unknown player key : " + input);
         }
@@ -135,7 +141,10 @@ public class PlayerFactory {
         List<AbstractPlayer> retValue = new ArrayList<>();
         File od = new File(opponentDescriptor);
         if (od.exists() && od.isDirectory()) {
-            for (String fileName : Objects.requireNonNull(od.list())) {
+            // sorted, so that separate processes give the same players the same indices
+            String[] fileNames = Objects.requireNonNull(od.list());
+            Arrays.sort(fileNames);
+            for (String fileName : fileNames) {
                 if (!fileName.endsWith(".json"))
                     continue;
                 AbstractPlayer player = PlayerFactory.createPlayer(od.getAbsolutePath() + File.separator + fileName);
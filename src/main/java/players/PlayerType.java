@@ -8,6 +8,8 @@ import players.mcts.MCTSParams;
 import players.mcts.MCTSPlayer;
 import players.rmhc.RMHCParams;
 import players.rmhc.RMHCPlayer;
+import players.search.AlphaBetaParams;
+import players.search.AlphaBetaPlayer;
 import players.simple.OSLAPlayer;
 import players.simple.RandomPlayer;
 
@@ -34,7 +36,8 @@ public enum PlayerType {
     Random (new ArrayList<Property>() {{ add(Simple); add(Stochastic); }}),
     OSLA (new ArrayList<Property>() {{ add(Simple); add(Stochastic); add(ForwardPlanning); add(Greedy); }}),
     MCTS (new ArrayList<Property>() {{ add(Stochastic); add(ForwardPlanning); add(TreeSearch); }}),
-    RMHC (new ArrayList<Property>() {{ add(Stochastic); add(ForwardPlanning); add(EvolutionaryAlgorithm); }});
+    RMHC (new ArrayList<Property>() {{ add(Stochastic); add(ForwardPlanning); add(EvolutionaryAlgorithm); }}),
+    AlphaBeta (new ArrayList<Property>() {{ add(ForwardPlanning); add(TreeSearch); }});
 
     /**
      * Converts a given string to the enum type corresponding to the player.
@@ -52,6 +55,8 @@ public enum PlayerType {
                 return MCTS;
             case "rmhc":
                 return RMHC;
+            case "alphabeta":
+                return AlphaBeta;
             case "console":
                 return HumanConsolePlayer;
             case "gui":
@@ -101,6 +106,12 @@ public enum PlayerType {
                 }
                 player = new RMHCPlayer((RMHCParams) params);
                 break;
+            case AlphaBeta:
+                if (params == null) {
+                    params = new AlphaBetaParams(seed);
+                }
+                player = new AlphaBetaPlayer((AlphaBetaParams) params);
+                break;
         }
 
         return player;
@@ -112,6 +123,8 @@ public enum PlayerType {
                 return new MCTSParams(seed);
             case RMHC:
                 return new RMHCParams(seed);
+            case AlphaBeta:
+                return new AlphaBetaParams(seed);
             default:
                 return null;
         }
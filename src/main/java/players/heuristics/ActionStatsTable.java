@@ -0,0 +1,405 @@
+package players.heuristics;
+
+import utilities.Pair;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Visit counts and total values for each (bucket, action hash) pair, as gathered by LearnedValue.
+ * <p>
+ * Entries are held in primitive arrays with open addressing, so that tables with millions of entries can be loaded,
+ * decayed and copied without boxing. Bucket names are interned to small integer indices.
+ * <p>
+ * Tables can be stored either in the original CSV format (Bucket, ActionHash, Visits, TotAdvantage), or in a compact
+ * binary format. A binary file is a sequence of segments, each holding:
+ * - a header of MAGIC, VERSION, the number of buckets and their names (UTF-8, length-prefixed)
+ * - the number of records, then fixed-width records of (bucket index, hash, visits, total value)
+ * Records for the same key in different segments are summed when read, so new data can be appended as a new
+ * segment without touching what is already in the file.
+ * <p>
+ * Binary files are read into memory in one go and then parsed. loadShared() keeps one parsed, read-only copy of the
+ * latest version of each of the most recently used files for the whole process, so that concurrent games share it.
+ */
+public class ActionStatsTable {
+
+    static final int MAGIC = 0x54414753; // "TAGS"
+    static final int VERSION = 1;
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int RECORD_BYTES = 4 + 4 + 4 + 8;
+
+    private static final int MAX_SHARED_TABLES = 8;
+    // by file path, with the version read; the least recently used file is dropped once there are too many
+    private static final Map<String, Pair<String, ActionStatsTable>> sharedTables =
+            new LinkedHashMap<String, Pair<String, ActionStatsTable>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Pair<String, ActionStatsTable>> eldest) {
+                    return size() > MAX_SHARED_TABLES;
+                }
+            };
+
+    private final List<String> bucketNames;
+    private final Map<String, Integer> bucketIndices;
+    private long[] keys;
+    private int[] visits;
+    private double[] values;
+    private int size;
+    private boolean readOnly;
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(String bucket, int hash, int visits, double totValue);
+    }
+
+    public ActionStatsTable() {
+        this(16);
+    }
+
+    public ActionStatsTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        visits = new int[capacity];
+        values = new double[capacity];
+        bucketNames = new ArrayList<>();
+        bucketIndices = new HashMap<>();
+    }
+
+    private ActionStatsTable(ActionStatsTable other) {
+        keys = other.keys.clone();
+        visits = other.visits.clone();
+        values = other.values.clone();
+        size = other.size;
+        bucketNames = new ArrayList<>(other.bucketNames);
+        bucketIndices = new HashMap<>(other.bucketIndices);
+    }
+
+    /**
+     * @return A modifiable copy of this table (the copy of a read-only table is not itself read-only)
+     */
+    public ActionStatsTable copy() {
+        return new ActionStatsTable(this);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<String> getBuckets() {
+        return Collections.unmodifiableList(bucketNames);
+    }
+
+    /**
+     * Adds the visits and value to those already held for this bucket and hash (creating the entry if needed)
+     */
+    public void add(String bucket, int hash, int nVisits, double totValue) {
+        if (readOnly)
+            throw new IllegalStateException("This ActionStatsTable is shared and read-only; use copy()");
+        add(bucketIndex(bucket), hash, nVisits, totValue);
+    }
+
+    private void add(int bucket, int hash, int nVisits, double totValue) {
+        long key = key(bucket, hash);
+        int slot = slotFor(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+            if (size * 2 > keys.length) {
+                resize();
+                slot = slotFor(key);
+            }
+        }
+        visits[slot] += nVisits;
+        values[slot] += totValue;
+    }
+
+    /**
+     * Adds all the data in other to this table
+     */
+    public void addAll(ActionStatsTable other) {
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            long key = other.keys[slot];
+            if (key != EMPTY)
+                add(other.bucketNames.get((int) (key >>> 32)), (int) key, other.visits[slot], other.values[slot]);
+        }
+    }
+
+    public boolean contains(String bucket, int hash) {
+        return find(bucket, hash) > -1;
+    }
+
+    public int getVisits(String bucket, int hash) {
+        int slot = find(bucket, hash);
+        return slot > -1 ? visits[slot] : 0;
+    }
+
+    public double getTotValue(String bucket, int hash) {
+        int slot = find(bucket, hash);
+        return slot > -1 ? values[slot] : 0.0;
+    }
+
+    /**
+     * @return The mean value for this bucket and hash, 0.0 if it is present with no visits, and defaultValue if
+     * there is no entry at all
+     */
+    public double getMeanValue(String bucket, int hash, double defaultValue) {
+        int slot = find(bucket, hash);
+        if (slot == -1)
+            return defaultValue;
+        return visits[slot] == 0 ? 0.0 : values[slot] / visits[slot];
+    }
+
+    /**
+     * Decays every entry in place by gamma, with the same rounding as Utils.decay()
+     */
+    public void decay(double gamma) {
+        if (readOnly)
+            throw new IllegalStateException("This ActionStatsTable is shared and read-only; use copy()");
+        if (gamma >= 1.0 || gamma < 0.0)
+            return;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == EMPTY)
+                continue;
+            int oldCount = visits[slot];
+            if (oldCount == 0) {
+                values[slot] = 0.0;
+            } else {
+                int newCount = (int) (oldCount * gamma);
+                values[slot] = values[slot] * newCount / oldCount;
+                visits[slot] = newCount;
+            }
+        }
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            long key = keys[slot];
+            if (key != EMPTY)
+                consumer.accept(bucketNames.get((int) (key >>> 32)), (int) key, visits[slot], values[slot]);
+        }
+    }
+
+    private int find(String bucket, int hash) {
+        Integer bucketIndex = bucketIndices.get(bucket);
+        if (bucketIndex == null)
+            return -1;
+        long key = key(bucketIndex, hash);
+        int slot = slotFor(key);
+        return keys[slot] == key ? slot : -1;
+    }
+
+    private int bucketIndex(String bucket) {
+        Integer retValue = bucketIndices.get(bucket);
+        if (retValue == null) {
+            retValue = bucketNames.size();
+            bucketNames.add(bucket);
+            bucketIndices.put(bucket, retValue);
+        }
+        return retValue;
+    }
+
+    private static long key(int bucket, int hash) {
+        return ((long) bucket << 32) | (hash & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return the slot holding key, or the empty slot where it would go (linear probing)
+     */
+    private int slotFor(long key) {
+        int mask = keys.length - 1;
+        long h = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (h ^ (h >>> 32)) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldVisits = visits;
+        double[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        Arrays.fill(keys, EMPTY);
+        visits = new int[keys.length];
+        values = new double[keys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotFor(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                visits[slot] = oldVisits[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /* File handling */
+
+    public static boolean isBinary(File file) {
+        return file.getName().endsWith(".bin");
+    }
+
+    /**
+     * Reads a table from file, in binary or CSV format depending on the file suffix.
+     * The table returned is shared by every caller reading the same version of the file, and is read-only.
+     * Use copy() to get a modifiable version.
+     *
+     * @return The table, or null if the file does not exist
+     */
+    public static ActionStatsTable loadShared(File file) throws IOException {
+        if (!file.exists())
+            return null;
+        String path = file.getCanonicalPath();
+        String version = file.lastModified() + ":" + file.length();
+        synchronized (sharedTables) {
+            Pair<String, ActionStatsTable> cached = sharedTables.get(path);
+            if (cached != null && cached.a.equals(version))
+                return cached.b;
+            ActionStatsTable table = isBinary(file) ? readBinary(file) : readCSV(file);
+            table.readOnly = true;
+            sharedTables.put(path, new Pair<>(version, table));
+            return table;
+        }
+    }
+
+    public static ActionStatsTable readCSV(File file) throws IOException {
+        ActionStatsTable retValue = new ActionStatsTable();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            // we expect four columns; bucket, hash, visits, totAdvantage
+            reader.readLine(); // skip header
+            String nextLine = reader.readLine();
+            while (nextLine != null) {
+                String[] data = nextLine.split(",");
+                retValue.add(data[0], Integer.parseInt(data[1].trim()),
+                        Integer.parseInt(data[2].trim()), Double.parseDouble(data[3].trim()));
+                nextLine = reader.readLine();
+            }
+        }
+        return retValue;
+    }
+
+    public static ActionStatsTable readBinary(File file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        try {
+            ActionStatsTable retValue = null;
+            while (buffer.hasRemaining()) {
+                if (buffer.getInt() != MAGIC)
+                    throw new IOException("Not an action statistics file : " + file);
+                int version = buffer.getInt();
+                if (version != VERSION)
+                    throw new IOException("Unsupported version " + version + " in " + file);
+                int[] bucketMap = new int[buffer.getInt()];
+                String[] names = new String[bucketMap.length];
+                for (int i = 0; i < bucketMap.length; i++) {
+                    byte[] name = new byte[buffer.getShort()];
+                    buffer.get(name);
+                    names[i] = new String(name, StandardCharsets.UTF_8);
+                }
+                int nRecords = buffer.getInt();
+                if (retValue == null)
+                    retValue = new ActionStatsTable(nRecords);
+                for (int i = 0; i < names.length; i++)
+                    bucketMap[i] = retValue.bucketIndex(names[i]);
+                for (int i = 0; i < nRecords; i++) {
+                    int index = buffer.getInt();
+                    if (index < 0 || index >= bucketMap.length)
+                        throw new IOException("Corrupt bucket index " + index + " in " + file);
+                    int bucket = bucketMap[index];
+                    int hash = buffer.getInt();
+                    int nVisits = buffer.getInt();
+                    retValue.add(bucket, hash, nVisits, buffer.getDouble());
+                }
+            }
+            return retValue == null ? new ActionStatsTable() : retValue;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated action statistics file : " + file);
+        }
+    }
+
+    public void writeCSV(File file) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            writer.write("Bucket, ActionHash, Visits, TotAdvantage");
+            writer.newLine();
+            for (int slot = 0; slot < keys.length; slot++) {
+                long key = keys[slot];
+                if (key == EMPTY)
+                    continue;
+                writer.write(String.format("%s, %d, %d, %.6f", bucketNames.get((int) (key >>> 32)), (int) key, visits[slot], values[slot]));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Writes this table as a single segment, replacing any existing file. The new file is written alongside and
+     * then moved into place, so concurrent readers see either the old or the new version, never a partial one.
+     */
+    public void writeBinary(File file) throws IOException {
+        File temp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeSegment(channel);
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Appends this table to the file as a new segment (creating the file if needed).
+     */
+    public void appendBinary(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            writeSegment(channel);
+        }
+    }
+
+    private void writeSegment(FileChannel channel) throws IOException {
+        byte[][] names = new byte[bucketNames.size()][];
+        int headerBytes = 4 * 4;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = bucketNames.get(i).getBytes(StandardCharsets.UTF_8);
+            headerBytes += 2 + names[i].length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(headerBytes + size * RECORD_BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(names.length);
+        for (byte[] name : names) {
+            buffer.putShort((short) name.length);
+            buffer.put(name);
+        }
+        buffer.putInt(size);
+        for (int slot = 0; slot < keys.length; slot++) {
+            long key = keys[slot];
+            if (key == EMPTY)
+                continue;
+            buffer.putInt((int) (key >>> 32)).putInt((int) key).putInt(visits[slot]).putDouble(values[slot]);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    /**
+     * Converts a statistics file between the CSV and binary formats; the direction is given by the file suffixes
+     * (.bin for binary, anything else for CSV). Appended binary segments are merged in the output.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: ActionStatsTable <inputFile> <outputFile>");
+            return;
+        }
+        File input = new File(args[0]);
+        File output = new File(args[1]);
+        ActionStatsTable table = isBinary(input) ? readBinary(input) : readCSV(input);
+        if (isBinary(output))
+            table.writeBinary(output);
+        else
+            table.writeCSV(output);
+        System.out.printf("Converted %d entries from %s to %s%n", table.size(), input, output);
+    }
+}
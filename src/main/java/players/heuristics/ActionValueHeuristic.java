@@ -23,6 +23,8 @@ public class ActionValueHeuristic extends AbstractPlayer implements ToDoubleBiFu
     double defaultValue = 0.0;
 
     Map<String, Map<Integer, Double>> actionValues = new HashMap<>();
+    // if set, then values are taken from this table instead of actionValues
+    ActionStatsTable actionStats;
     Map<Integer, String> actionNames = new HashMap<>();
     Function<AbstractGameState, String> bucketFunction = s -> "";
 
@@ -40,6 +42,20 @@ public class ActionValueHeuristic extends AbstractPlayer implements ToDoubleBiFu
         this.defaultValue = defaultValue;
     }
 
+    /**
+     * Uses the mean value of each (bucket, action hash) in stats. The table is used directly, and must not be
+     * modified afterwards.
+     */
+    public ActionValueHeuristic(
+            ActionStatsTable stats,
+            double rndWeight,
+            Function<AbstractGameState, String> bucketFn,
+            double defaultValue
+    ) {
+        this(new HashMap<>(), rndWeight, bucketFn, defaultValue);
+        actionStats = stats;
+    }
+
     public ActionValueHeuristic(String filename) {
         this.filename = filename;
         initialiseFromFile();
@@ -54,6 +70,7 @@ public class ActionValueHeuristic extends AbstractPlayer implements ToDoubleBiFu
     public ActionValueHeuristic copy() {
         ActionValueHeuristic retValue = new ActionValueHeuristic(new HashMap<>(), RND_WEIGHT, bucketFunction, defaultValue);
         retValue.actionValues.putAll(this.actionValues);
+        retValue.actionStats = this.actionStats;
         retValue.filename = this.filename;
         retValue.rnd = new Random(rnd.nextInt());
         retValue.actionNames.putAll(this.actionNames);
@@ -134,14 +151,22 @@ public class ActionValueHeuristic extends AbstractPlayer implements ToDoubleBiFu
     }
 
     private double actionValue(AbstractAction action, String bucket) {
-        Map<Integer, Double> actionValues = getActionValues(bucket);
-        Map<Integer, Double> defaultValues = getActionValues("");
         int hash = action.hashCode();
         double actionValue = defaultValue;
-        if (actionValues.containsKey(hash)) {
-            actionValue = actionValues.get(hash);
-        } else if (defaultValues.containsKey(hash)) {
-            actionValue = defaultValues.get(hash);
+        if (actionStats != null) {
+            if (actionStats.contains(bucket, hash)) {
+                actionValue = actionStats.getMeanValue(bucket, hash, defaultValue);
+            } else {
+                actionValue = actionStats.getMeanValue("", hash, defaultValue);
+            }
+        } else {
+            Map<Integer, Double> actionValues = getActionValues(bucket);
+            Map<Integer, Double> defaultValues = getActionValues("");
+            if (actionValues.containsKey(hash)) {
+                actionValue = actionValues.get(hash);
+            } else if (defaultValues.containsKey(hash)) {
+                actionValue = defaultValues.get(hash);
+            }
         }
 
         actionValue += rnd.nextDouble() * RND_WEIGHT;
@@ -28,8 +28,9 @@ public class LearnedValue extends AbstractPlayer implements IGameListener, ITree
     boolean useAdvantage = true;
     double defaultValue = 0.0;
     ActionValueHeuristic valueHeuristic;
-    Map<String, Map<Integer, Pair<Integer, Double>>> statsByBucketAndHash = new HashMap<>();
-    Map<String, Map<Integer, Pair<Integer, Double>>> newData = new HashMap<>();
+    // the contents of the statistics file when last read; this is shared with other players, and read-only
+    ActionStatsTable statsByBucketAndHash = new ActionStatsTable();
+    ActionStatsTable newData = new ActionStatsTable();
     Function<AbstractGameState, String> bucketingFunction;
 
     @SuppressWarnings("unchecked")
@@ -59,24 +60,32 @@ public class LearnedValue extends AbstractPlayer implements IGameListener, ITree
             }
         }
 
-        statsByBucketAndHash.put("", new HashMap<>());
         timestamp = initialiseFromFile();
-        statsByBucketAndHash = decayStats();
-        valueHeuristic = new ActionValueHeuristic(getValues(), RND_WEIGHT, bucketingFunction, defaultValue);
-    }
-
-    private Map<String, Map<Integer, Pair<Integer, Double>>> decayStats() {
-        return statsByBucketAndHash.keySet().stream()
-                .collect(toMap(bucket -> bucket, bucket -> Utils.decay(statsByBucketAndHash.get(bucket), gameGamma)));
+        valueHeuristic = createHeuristic(RND_WEIGHT);
     }
 
     @Override
     public void initializePlayer(AbstractGameState state) {
         timestamp = initialiseFromFile();
-        statsByBucketAndHash = decayStats();
-        newData = new HashMap<>();
-        newData.put("", new HashMap<>());
-        valueHeuristic = new ActionValueHeuristic(getValues(), valueHeuristic.RND_WEIGHT, bucketingFunction, defaultValue);
+        newData = new ActionStatsTable();
+        valueHeuristic = createHeuristic(valueHeuristic.RND_WEIGHT);
+    }
+
+    private boolean decaying() {
+        return gameGamma < 1.0 && gameGamma >= 0.0;
+    }
+
+    /**
+     * The heuristic uses the statistics from the file, decayed by gameGamma. Without decay it shares the read-only
+     * table read from the file; otherwise it has a decayed copy of its own.
+     */
+    private ActionValueHeuristic createHeuristic(double rndWeight) {
+        ActionStatsTable stats = statsByBucketAndHash;
+        if (decaying()) {
+            stats = stats.copy();
+            stats.decay(gameGamma);
+        }
+        return new ActionValueHeuristic(stats, rndWeight, bucketingFunction, defaultValue);
     }
 
     @Override
@@ -84,126 +93,101 @@ public class LearnedValue extends AbstractPlayer implements IGameListener, ITree
         return valueHeuristic.getAction(gameState, possibleActions);
     }
 
-    private long initialiseFromFile() {
-
-        File file = new File(filename + "_Stats." + suffix);
+    private File statsFile() {
+        return new File(filename + "_Stats." + suffix);
+    }
 
+    /**
+     * Replaces statsByBucketAndHash with the current contents of the statistics file (not copied, so read-only).
+     * A suffix of 'bin' uses the binary format of ActionStatsTable; anything else is CSV.
+     *
+     * @return the timestamp of the file read, or -1 if there is none
+     */
+    private long initialiseFromFile() {
+        File file = statsFile();
         try {
-            if (file.exists()) {
-                long retValue = file.lastModified();
-
-                BufferedReader reader = new BufferedReader(new FileReader(file));
-
-                // we expect four columns; bucket, hash, visits, totAdvantage
-                reader.readLine(); // skip header
-                String nextLine = reader.readLine();
-                while (nextLine != null) {
-                    String[] data = nextLine.split(",");
-                    String bucket = data[0];
-                    if (!statsByBucketAndHash.containsKey(bucket))
-                        statsByBucketAndHash.put(bucket, new HashMap<>());
-                    int hash = Integer.parseInt(data[1].trim());
-                    int visits = Integer.parseInt(data[2].trim());
-                    double totValue = Double.parseDouble(data[3].trim());
-                    Pair<Integer, Double> stats = new Pair<>(visits, totValue);
-                    statsByBucketAndHash.get(bucket).put(hash, stats);
-                    nextLine = reader.readLine();
-                }
-
-                reader.close();
-
+            long retValue = file.lastModified();
+            ActionStatsTable fromFile = ActionStatsTable.loadShared(file);
+            if (fromFile != null) {
+                statsByBucketAndHash = fromFile;
                 return retValue;
             }
-
         } catch (Exception e) {
             e.printStackTrace();
         }
+        statsByBucketAndHash = new ActionStatsTable();
         return -1;
     }
 
     private void mergeWithAndWriteToFile() {
-        // the file may have been updated since we read it in
-
-        statsByBucketAndHash = new HashMap<>(); // clear data (but keep newData)
-        statsByBucketAndHash.put("", new HashMap<>());
-        long newTimestamp = initialiseFromFile(); // pick up latest data
-        //    System.out.printf("%d into %d %n", currentData.size(), statsByHash.size());
-        //      System.out.printf("Writing file - from TS %d to %d%n", timestamp, newTimestamp);
-        if (newTimestamp == timestamp) {
-            // file has not been changed, so we are responsible for decaying the current file contents before writing
-            statsByBucketAndHash = decayStats();
-            //         System.out.printf("\tWriting all data : %d%n", newData.size());
-        } else {
-            // we do not decay the current file contents, as that has been done already
-            //         System.out.printf("\tWriting only newData : %d%n", newData.size());
-        }
-
-        for (String bucket : statsByBucketAndHash.keySet()) {
-            Map<Integer, Pair<Integer, Double>> statsByHash = statsByBucketAndHash.get(bucket);
-            if (!newData.containsKey(bucket))
-                newData.put(bucket, new HashMap<>());
-            Map<Integer, Pair<Integer, Double>> newDataByHash = newData.get(bucket);
-            for (Integer key : statsByHash.keySet()) {
-                newDataByHash.merge(key, statsByHash.get(key),
-                        (val1, val2) -> new Pair<>(val1.a + val2.a, val1.b + val2.b));
-            }
-        }
-
+        File file = statsFile();
+        boolean binary = ActionStatsTable.isBinary(file);
         try {
-            BufferedWriter advWriter = new BufferedWriter(new FileWriter(filename + "_A002." + suffix));
-            BufferedWriter advWriter2 = new BufferedWriter(new FileWriter(filename + "_A002_" + count + "." + suffix));
-            BufferedWriter statsWriter = new BufferedWriter(new FileWriter(filename + "_Stats." + suffix));
-            BufferedWriter statsWriter2 = new BufferedWriter(new FileWriter(filename + "_Stats_" + count + "." + suffix));
-
-
-            advWriter.write(valueHeuristic.RND_WEIGHT + "," + (bucketingFunction == null ? "" : bucketingFunction.getClass().getName()));
-            advWriter.newLine();
-            advWriter.write("Bucket, ActionHash, Value, Name");
-            advWriter.newLine();
-            advWriter2.write(valueHeuristic.RND_WEIGHT + "," + (bucketingFunction == null ? "" : bucketingFunction.getClass().getName()));
-            advWriter2.newLine();
-            advWriter2.write("Bucket, ActionHash, Value, Name");
-            advWriter2.newLine();
-            // we expect two columns; hash and advantage estimate
-
-
-            statsWriter.write("Bucket, ActionHash, Visits, TotAdvantage");
-            statsWriter.newLine();
-            statsWriter2.write("Bucket, ActionHash, Visits, TotAdvantage");
-            statsWriter2.newLine();
-
+            ActionStatsTable allData;
+            if (binary && !decaying()) {
+                // nothing already in the file changes, so we just append our new data, and then re-read the
+                // file to pick up anything that other processes have added as well
+                newData.appendBinary(file);
+                initialiseFromFile();
+                allData = statsByBucketAndHash;
+            } else {
+                // the file may have been updated since we read it in
+                long newTimestamp = initialiseFromFile(); // pick up latest data
+                allData = statsByBucketAndHash.copy();
+                if (newTimestamp == timestamp) {
+                    // file has not been changed, so we are responsible for decaying the current file contents before writing
+                    allData.decay(gameGamma);
+                }
+                // else we do not decay the current file contents, as that has been done already
+                allData.addAll(newData);
+                if (binary)
+                    allData.writeBinary(file);
+                else
+                    allData.writeCSV(file);
+            }
+            newData = new ActionStatsTable();
+
+            File snapshot = new File(filename + "_Stats_" + count + "." + suffix);
+            if (binary)
+                allData.writeBinary(snapshot);
+            else
+                allData.writeCSV(snapshot);
+
+            // the advantage estimates are always text, as read by ActionValueHeuristic
+            String advSuffix = binary ? "csv" : suffix;
+            BufferedWriter advWriter = new BufferedWriter(new FileWriter(filename + "_A002." + advSuffix));
+            BufferedWriter advWriter2 = new BufferedWriter(new FileWriter(filename + "_A002_" + count + "." + advSuffix));
+
+            String header = valueHeuristic.RND_WEIGHT + "," + (bucketingFunction == null ? "" : bucketingFunction.getClass().getName());
+            for (BufferedWriter writer : Arrays.asList(advWriter, advWriter2)) {
+                writer.write(header);
+                writer.newLine();
+                writer.write("Bucket, ActionHash, Value, Name");
+                writer.newLine();
+            }
 
-          //  Map<String, Map<Integer, Double>> actionAdvantageByBucket = getValues();
             Map<Integer, String> actionNames = valueHeuristic.actionNames;
-            for (String bucket : newData.keySet()) {
-                Map<Integer, Pair<Integer, Double>> newDataByHash = newData.get(bucket);
-             //   Map<Integer, Double> actionAdvantage = actionAdvantageByBucket.getOrDefault(bucket, new HashMap<>());
-                for (Integer hash : newDataByHash.keySet()) {
-                    double specificVisits = newDataByHash.get(hash).a;
-                    double specificAdvantage = newDataByHash.get(hash).b;
-                    double generalAdvantage = newData.get("").get(hash).b;
-                    double generalVisits = newData.get("").get(hash).a;
-                    double generalWeight = Math.sqrt(anchorVisits / (3.0 * specificVisits + anchorVisits));
-                    double specificResult = specificAdvantage / (specificVisits + anchorVisits);
-                    double generalResult = generalAdvantage / (generalVisits + anchorVisits);
-                    double finalAdvantage = specificResult * (1.0 - generalWeight) + generalResult * generalWeight;
-
-                    advWriter.write(String.format("%s, %d, %.3f, %s", bucket, hash, finalAdvantage, actionNames.getOrDefault(hash, "")));
+            allData.forEach((bucket, hash, specificVisits, specificAdvantage) -> {
+                double generalAdvantage = allData.getTotValue("", hash);
+                double generalVisits = allData.getVisits("", hash);
+                double generalWeight = Math.sqrt(anchorVisits / (3.0 * specificVisits + anchorVisits));
+                double specificResult = specificAdvantage / (specificVisits + anchorVisits);
+                double generalResult = generalAdvantage / (generalVisits + anchorVisits);
+                double finalAdvantage = specificResult * (1.0 - generalWeight) + generalResult * generalWeight;
+
+                String line = String.format("%s, %d, %.3f, %s", bucket, hash, finalAdvantage, actionNames.getOrDefault(hash, ""));
+                try {
+                    advWriter.write(line);
                     advWriter.newLine();
-                    advWriter2.write(String.format("%s, %d, %.3f, %s", bucket, hash, finalAdvantage, actionNames.getOrDefault(hash, "")));
+                    advWriter2.write(line);
                     advWriter2.newLine();
-
-                    statsWriter.write(String.format("%s, %d, %.0f, %.6f", bucket, hash, specificVisits, specificAdvantage));
-                    statsWriter.newLine();
-                    statsWriter2.write(String.format("%s, %d, %.0f, %.6f", bucket, hash, specificVisits, specificAdvantage));
-                    statsWriter2.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-            }
+            });
 
             advWriter.close();
             advWriter2.close();
-            statsWriter.close();
-            statsWriter2.close();
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -259,29 +243,13 @@ public class LearnedValue extends AbstractPlayer implements IGameListener, ITree
 
 
                 for (String bucket : buckets) {
-
-                    if (!statsByBucketAndHash.containsKey(bucket))
-                        statsByBucketAndHash.put(bucket, new HashMap<>());
-                    if (!newData.containsKey(bucket))
-                        newData.put(bucket, new HashMap<>());
-
-                    Map<Integer, Pair<Integer, Double>> statsByHash = statsByBucketAndHash.get(bucket);
-
                     // if useAdvantage then we subtract meanValue * visits
-                    Map<Integer, Pair<Integer, Double>> data = actionsToNodes.stream()
-                            .collect(toMap(p -> p.a.hashCode(),
-                                    p -> new Pair<>(p.b.getVisits(), p.b.getTotValue()[actor] - meanValue * p.b.getVisits())));
-
-
-                    // now we merge this data into the existing map
-                    Map<Integer, Pair<Integer, Double>> newDataByHash = newData.get(bucket);
-                    for (Integer hash : data.keySet()) {
-                        newDataByHash.merge(hash, data.get(hash),
-                                (val1, val2) -> new Pair<>(val1.a + val2.a, val1.b + val2.b));
-                        statsByHash.merge(hash, data.get(hash),
-                                (val1, val2) -> new Pair<>(val1.a + val2.a, val1.b + val2.b));
+                    for (Pair<AbstractAction, SingleTreeNode> p : actionsToNodes) {
+                        int hash = p.a.hashCode();
+                        int visits = p.b.getVisits();
+                        double value = p.b.getTotValue()[actor] - meanValue * visits;
+                        newData.add(bucket, hash, visits, value);
                     }
-
                 }
             }
             // and then add the child node that have sufficient visits
@@ -293,21 +261,6 @@ public class LearnedValue extends AbstractPlayer implements IGameListener, ITree
         }
     }
 
-    private Map<String, Map<Integer, Double>> getValues() {
-        return statsByBucketAndHash.keySet().stream().collect(toMap(
-                bucket -> bucket,
-                bucket -> {
-                    Map<Integer, Pair<Integer, Double>> statsByHash = statsByBucketAndHash.get(bucket);
-                    return statsByBucketAndHash.get(bucket).keySet().stream().collect(toMap(
-                            hash -> hash,
-                            hash -> {
-                                int visits = statsByHash.get(hash).a;
-                                return visits == 0 ? 0.0 : statsByHash.get(hash).b / (double) visits;
-                            }
-                    ));
-                }));
-    }
-
     @Override
     public LearnedValue copy() {
         throw new AssertionError("Not yet supported");
@@ -0,0 +1,121 @@
+package players.heuristics.test;
+
+import org.junit.*;
+import players.heuristics.ActionStatsTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ActionStatsFiles {
+
+    File dir;
+
+    @Before
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("stats").toFile();
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        Files.walk(dir.toPath()).sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+    }
+
+    // values with few decimal places, so that they survive the CSV format unchanged
+    private static ActionStatsTable table(int seed, int nEntries) {
+        ActionStatsTable retValue = new ActionStatsTable();
+        for (int i = 0; i < nEntries; i++)
+            retValue.add("bucket" + (i % 3), i * 31 + seed, i + seed, (i - seed) * 0.25);
+        return retValue;
+    }
+
+    private static void assertSameEntries(ActionStatsTable expected, ActionStatsTable actual) {
+        assertEquals(expected.size(), actual.size());
+        expected.forEach((bucket, hash, visits, totValue) -> {
+            assertEquals(visits, actual.getVisits(bucket, hash));
+            assertEquals(totValue, actual.getTotValue(bucket, hash), 1e-9);
+        });
+    }
+
+    private static List<String> sortedLines(File file) throws IOException {
+        List<String> retValue = Files.readAllLines(file.toPath());
+        Collections.sort(retValue);
+        return retValue;
+    }
+
+    @Test
+    public void csvToBinaryToCsv() throws IOException {
+        ActionStatsTable original = table(0, 500);
+        File csv = new File(dir, "stats.csv"), bin = new File(dir, "stats.bin"), back = new File(dir, "back.csv");
+        original.writeCSV(csv);
+        ActionStatsTable.main(new String[]{csv.getPath(), bin.getPath()});
+        ActionStatsTable.main(new String[]{bin.getPath(), back.getPath()});
+        assertSameEntries(original, ActionStatsTable.readBinary(bin));
+        assertSameEntries(original, ActionStatsTable.readCSV(back));
+        // the same lines, though not necessarily in the same order
+        assertEquals(sortedLines(csv), sortedLines(back));
+    }
+
+    @Test
+    public void appendedSegmentsAreSummed() throws IOException {
+        File bin = new File(dir, "stats.bin");
+        ActionStatsTable first = table(0, 100), second = table(0, 50);
+        // a bucket and entries only in the second segment, so its bucket indices differ from the first
+        second.add("newBucket", 7, 3, 1.5);
+        second.add("bucket1", 99999, 2, -0.5);
+        first.writeBinary(bin);
+        second.appendBinary(bin);
+
+        ActionStatsTable expected = first.copy();
+        expected.addAll(second);
+        ActionStatsTable read = ActionStatsTable.readBinary(bin);
+        assertSameEntries(expected, read);
+        assertEquals(2 * first.getVisits("bucket0", 0), read.getVisits("bucket0", 0));
+        assertEquals(3, read.getVisits("newBucket", 7));
+
+        // appending to a file that does not exist creates it
+        File created = new File(dir, "created.bin");
+        second.appendBinary(created);
+        assertSameEntries(second, ActionStatsTable.readBinary(created));
+    }
+
+    @Test
+    public void truncatedFileIsReported() throws IOException {
+        File bin = new File(dir, "stats.bin");
+        table(0, 20).writeBinary(bin);
+        byte[] bytes = Files.readAllBytes(bin.toPath());
+        for (int length : new int[]{2, 10, bytes.length / 2, bytes.length - 1}) {
+            Files.write(bin.toPath(), Arrays.copyOf(bytes, length));
+            try {
+                ActionStatsTable.readBinary(bin);
+                fail("Read a file truncated to " + length + " bytes");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().startsWith("Truncated"));
+            }
+        }
+    }
+
+    @Test
+    public void corruptBucketIndexIsReported() throws IOException {
+        File bin = new File(dir, "stats.bin");
+        ActionStatsTable table = new ActionStatsTable();
+        table.add("bucket", 1, 1, 1.0);
+        table.writeBinary(bin);
+        byte[] bytes = Files.readAllBytes(bin.toPath());
+        // the single record is the last 20 bytes, starting with its bucket index
+        for (int index : new int[]{1, -1, Integer.MAX_VALUE}) {
+            ByteBuffer.wrap(bytes).putInt(bytes.length - 20, index);
+            Files.write(bin.toPath(), bytes);
+            try {
+                ActionStatsTable.readBinary(bin);
+                fail("Read bucket index " + index);
+            } catch (IOException e) {
+                assertTrue(e.getMessage().startsWith("Corrupt bucket index"));
+            }
+        }
+    }
+}
@@ -1,129 +1,148 @@
 package players.mcts;
 
-import core.AbstractForwardModel;
+import core.AbstractGameState;
 import core.actions.AbstractAction;
 import core.interfaces.IGameAttribute;
+import utilities.ColumnarFileWriter;
 
 import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.*;
 
 import static java.util.stream.Collectors.toList;
 
+/**
+ * Records the value and visits of each node in an MCTS tree with at least visitThreshold visits (to fileStem_V.bin),
+ * and of each action from those nodes (to fileStem_Q.bin), together with the value of every feature in the state at
+ * that node.
+ * <p>
+ * Data is written with ColumnarFileWriter, and can be exported to the older tab-separated text format with
+ * ColumnarFileWriter.main(). Gatherers are long-lived and shared between all players that use the same file stem,
+ * via forFileStem(); they are closed (and the files completed) when the JVM exits, or on closeAll().
+ * <p>
+ * Actions are taken from the children of each node, rather than by recomputing the available actions
+ * from the node's state; with open loop MCTS this includes every action that has been tried from the node.
+ */
 public class ExpertIterationDataGatherer {
 
-    File logFileV, logFileQ;
+    private static final Map<String, ExpertIterationDataGatherer> openGatherers = new HashMap<>();
+    private static boolean shutdownHookAdded;
+
     List<IGameAttribute> features;
-    FileWriter writerV, writerQ;
+    ColumnarFileWriter writerV, writerQ;
     public int visitThreshold = 50;
 
     public ExpertIterationDataGatherer(String fileStem, List<IGameAttribute> features) {
-        this.logFileV = new File(fileStem + "_V.txt");
-        this.logFileQ = new File(fileStem + "_Q.txt");
-        this.features = features;
-        try {
-            // if file does not already exist, add a header row
-            if (!logFileV.exists()) {
-                writerV = new FileWriter(logFileV, false);
-                StringBuilder header = new StringBuilder();
-                header.append("Value\tDepth\tVisits");
-                for (IGameAttribute feature : features) {
-                    header.append("\t").append(feature.name());
-                }
-                header.append(System.lineSeparator());
-                writerV.write(header.toString());
-            } else {
-                writerV = new FileWriter(logFileV, true);
-            }
+        this(fileStem, features, false);
+    }
 
-            if (!logFileQ.exists()) {
-                writerQ = new FileWriter(logFileQ, false);
-                StringBuilder header = new StringBuilder();
-                header.append("Action\tActionHash\tValue\tAdvantage\tVisits\tN");
-                for (IGameAttribute feature : features) {
-                    header.append("\t").append(feature.name());
-                }
-                header.append(System.lineSeparator());
-                writerQ.write(header.toString());
-            } else {
-                writerQ = new FileWriter(logFileQ, true);
-            }
+    /**
+     * @param async if true, all writing to disk is done on a background thread
+     */
+    public ExpertIterationDataGatherer(String fileStem, List<IGameAttribute> features, boolean async) {
+        this.features = new ArrayList<>(features);
+        List<String> featureNames = features.stream().map(IGameAttribute::name).collect(toList());
 
-        } catch (IOException e) {
-            e.printStackTrace();
+        List<String> columnsV = new ArrayList<>(Arrays.asList("Value", "Depth", "Visits"));
+        columnsV.addAll(featureNames);
+        writerV = new ColumnarFileWriter(new File(fileStem + "_V.bin"), columnsV, 4096, async);
+
+        List<String> columnsQ = new ArrayList<>(Arrays.asList("Action", "ActionHash", "Value", "Advantage", "Visits", "N"));
+        columnsQ.addAll(featureNames);
+        writerQ = new ColumnarFileWriter(new File(fileStem + "_Q.bin"), columnsQ, 4096, async);
+    }
+
+    /**
+     * @return The gatherer for this file stem, which is created (asynchronous) on first use.
+     * All later callers must use the same features.
+     */
+    public static synchronized ExpertIterationDataGatherer forFileStem(String fileStem, List<IGameAttribute> features) {
+        ExpertIterationDataGatherer retValue = openGatherers.get(fileStem);
+        if (retValue == null) {
+            retValue = new ExpertIterationDataGatherer(fileStem, features, true);
+            openGatherers.put(fileStem, retValue);
+            if (!shutdownHookAdded) {
+                Runtime.getRuntime().addShutdownHook(new Thread(ExpertIterationDataGatherer::closeAll));
+                shutdownHookAdded = true;
+            }
+        } else if (!retValue.features.equals(features)) {
+            throw new IllegalArgumentException("Data for " + fileStem + " is already being gathered with different features");
         }
+        return retValue;
     }
 
-    public void recordData(SingleTreeNode root, AbstractForwardModel forwardModel) {
+    /**
+     * Closes all gatherers obtained via forFileStem(), waiting until all their data is written
+     */
+    public static synchronized void closeAll() {
+        openGatherers.values().forEach(ExpertIterationDataGatherer::close);
+        openGatherers.clear();
+    }
+
+    public void recordData(SingleTreeNode root) {
 
         // Now do our stuff, and trawl through the root to record data
         Queue<SingleTreeNode> nodeQueue = new ArrayDeque<>();
         nodeQueue.add(root);
+        int nFeatures = features.size();
+        Object[] rowV = new Object[3 + nFeatures];
+        Object[] rowQ = new Object[6 + nFeatures];
+
+        while (!nodeQueue.isEmpty()) {
+            SingleTreeNode node = nodeQueue.poll();
+            // process this nodes
+            // we record its depth, value, visits, and the full feature list
+            int player = node.getActor();
+            double stateValue = node.getTotValue()[player] / node.getVisits();
+            AbstractGameState state = node.getState();
+            for (int i = 0; i < nFeatures; i++) {
+                Object value = features.get(i).get(state, player);
+                rowV[3 + i] = value;
+                rowQ[6 + i] = value;
+            }
+            rowV[0] = stateValue;
+            rowV[1] = node.depth;
+            rowV[2] = node.getVisits();
+            writerV.addRow(rowV);
+
+            // then write action data : the core feature data is the same, but we write one row per action, and the value we reach for that action
+            for (Map.Entry<AbstractAction, SingleTreeNode[]> entry : node.children.entrySet()) {
+                if (entry.getValue() == null || entry.getValue()[player] == null)
+                    continue;
+                AbstractAction action = entry.getKey();
+                SingleTreeNode childNode = entry.getValue()[player];
+                double actionValue = childNode.getTotValue()[player] / childNode.getVisits();
+                rowQ[0] = action.toString();
+                rowQ[1] = action.hashCode();
+                rowQ[2] = actionValue;
+                rowQ[3] = actionValue - stateValue;
+                rowQ[4] = childNode.getVisits();
+                rowQ[5] = node.getVisits();
+                writerQ.addRow(rowQ);
+            }
 
-        try {
-            while (!nodeQueue.isEmpty()) {
-                SingleTreeNode node = nodeQueue.poll();
-                // process this nodes
-                // we record its depth, value, visits, and the full feature list
-                StringBuilder output = new StringBuilder();
-                StringBuilder coreData = new StringBuilder();
-                int player = node.getActor();
-                double stateValue = node.getTotValue()[player] / node.getVisits();
-                List<AbstractAction> actionsFromState = forwardModel.computeAvailableActions(node.getState());
-                output.append(String.format("%.3g\t%d\t%d", stateValue, node.depth, node.getVisits()));
-//                if (actionsFromState.stream().anyMatch(a -> a instanceof KillMonk)) {
-//                    if ((boolean) DiceMonasteryStateAttributes.AUTUMN.get(node.getState(), player))
-//                        throw new AssertionError("???");
-//                }
-                for (IGameAttribute feature : features) {
-                    coreData.append("\t").append(feature.get(node.getState(), player));
-                }
-                output.append(coreData).append(System.lineSeparator());
-                writerV.write(output.toString());
-
-                // then write action data : the core feature data is the same, but we write one row per action, and the value we reach for that action
-                for (AbstractAction action : actionsFromState) {
-                    output = new StringBuilder();
-                    if (node.children.get(action) == null || node.children.get(action)[player] == null)
-                        continue;
-                    SingleTreeNode childNode = node.children.get(action)[player];
-                    double actionValue = childNode.getTotValue()[player] / childNode.getVisits();
-                    output.append(String.format("%s\t%d\t%.3g\t%.3g\t%d\t%d", action.toString(), action.hashCode(),
-                            actionValue, actionValue - stateValue, childNode.getVisits(), node.getVisits()));
-                    output.append(coreData).append(System.lineSeparator());
-                    writerQ.write(output.toString());
-                }
-
-
-                // add children of current node to queue
-                for (SingleTreeNode child : node.children.values().stream()
-                        .filter(Objects::nonNull)
-                        .flatMap(Arrays::stream)
-                        .filter(Objects::nonNull)
-                        .filter(n -> n.getVisits() >= visitThreshold)
-                        .collect(toList())) {
-                    if (child != null)
+            // add children of current node to queue
+            for (SingleTreeNode[] children : node.children.values()) {
+                if (children == null)
+                    continue;
+                for (SingleTreeNode child : children) {
+                    if (child != null && child.getVisits() >= visitThreshold)
                         nodeQueue.add(child);
                 }
             }
-            writerV.flush();
-            writerQ.flush();
-        } catch (IOException e) {
-            System.out.println("Error writing file in MCTSRecordingPlayer");
-            e.printStackTrace();
         }
     }
 
+    /**
+     * Passes on all recorded data for writing; this does not wait for the disk if the gatherer is asynchronous.
+     */
+    public void flush() {
+        writerV.flush();
+        writerQ.flush();
+    }
+
     public void close() {
-        try {
-            if (writerQ != null)
-                writerQ.close();
-            if (writerV != null)
-                writerV.close();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        writerV.close();
+        writerQ.close();
     }
 
 }
@@ -57,6 +57,11 @@ public class MASTPlayer extends AbstractPlayer {
 
     @Override
     public MASTPlayer copy() {
-        return new MASTPlayer(new Random(rnd.nextInt()));
+        return copyWithSeed(rnd.nextInt());
+    }
+
+    @Override
+    public MASTPlayer copyWithSeed(long seed) {
+        return new MASTPlayer(new Random(seed));
     }
 }
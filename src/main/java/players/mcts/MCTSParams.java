@@ -4,6 +4,7 @@ import core.AbstractGameState;
 import core.AbstractParameters;
 import core.AbstractPlayer;
 import core.actions.AbstractAction;
+import core.interfaces.IGameAttribute;
 import core.interfaces.IStateHeuristic;
 import core.interfaces.ITunableParameters;
 import evaluation.TunableParameters;
@@ -13,6 +14,7 @@ import players.simple.RandomPlayer;
 
 import java.lang.reflect.Constructor;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 import java.util.function.ToDoubleBiFunction;
 import java.util.regex.Pattern;
@@ -53,6 +55,8 @@ public class MCTSParams extends PlayerParameters {
     private IStateHeuristic opponentHeuristic = AbstractGameState::getHeuristicScore;
     public boolean gatherExpertIterationData = false;
     public String expertIterationFileStem = "ExpertIterationData";
+    // an enum that implements IGameAttribute, all of whose values are recorded as features
+    public String expertIterationAttributes = "games.dicemonastery.DiceMonasteryStateAttributes";
     public String advantageFunctionString = "";
     public ToDoubleBiFunction<AbstractAction, AbstractGameState> advantageFunction;
     public int biasVisits = 0;
@@ -92,6 +96,7 @@ public class MCTSParams extends PlayerParameters {
         addTunableParameter("MASTGamma", 0.5);
         addTunableParameter("expertIteration", false);
         addTunableParameter("expIterFile", "");
+        addTunableParameter("expIterAttributes", "games.dicemonastery.DiceMonasteryStateAttributes");
         addTunableParameter("advantageFunction", "");
         addTunableParameter("biasVisits", 0);
         addTunableParameter("progressiveWideningConstant", 0.0);
@@ -124,6 +129,7 @@ public class MCTSParams extends PlayerParameters {
         oppModelClass = (String) getParameterValue("oppModelClass");
         gatherExpertIterationData = (boolean) getParameterValue("expertIteration");
         expertIterationFileStem = (String) getParameterValue("expIterFile");
+        expertIterationAttributes = (String) getParameterValue("expIterAttributes");
         advantageFunctionString = (String) getParameterValue("advantageFunction");
         advantageFunction = getAdvantageFunction();
         biasVisits = (int) getParameterValue("biasVisits");
@@ -240,6 +246,17 @@ public class MCTSParams extends PlayerParameters {
         }
     }
 
+    public List<IGameAttribute> getExpertIterationAttributes() {
+        try {
+            Class<?> attributeClass = Class.forName(expertIterationAttributes);
+            if (!attributeClass.isEnum() || !IGameAttribute.class.isAssignableFrom(attributeClass))
+                throw new IllegalArgumentException(expertIterationAttributes + " is not an enum of IGameAttribute");
+            return Arrays.asList((IGameAttribute[]) attributeClass.getEnumConstants());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unknown expIterAttributes class " + expertIterationAttributes, e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public ToDoubleBiFunction<AbstractAction, AbstractGameState> getAdvantageFunction() {
         if (advantageFunctionString.isEmpty() || advantageFunctionString.equalsIgnoreCase("none"))
@@ -7,7 +7,6 @@ import core.CoreConstants;
 import core.actions.AbstractAction;
 import core.interfaces.IGameListener;
 import core.interfaces.IStateHeuristic;
-import games.dicemonastery.DiceMonasteryStateAttributes;
 import utilities.Pair;
 import utilities.Utils;
 
@@ -33,6 +32,7 @@ public class MCTSPlayer extends AbstractPlayer {
     List<Map<AbstractAction, Pair<Integer, Double>>> MASTStats;
     private AbstractPlayer opponentModel;
     private ToDoubleBiFunction<AbstractAction, AbstractGameState> advantageFunction;
+    private ExpertIterationDataGatherer expertIterationData;
 
     public MCTSPlayer() {
         this(System.currentTimeMillis());
@@ -85,9 +85,9 @@ public class MCTSPlayer extends AbstractPlayer {
         }
         root.mctsSearch(getStatsLogger());
         if (params.gatherExpertIterationData) {
-            ExpertIterationDataGatherer eidg = new ExpertIterationDataGatherer(params.expertIterationFileStem, Arrays.asList(DiceMonasteryStateAttributes.values()));
-            eidg.recordData(root, getForwardModel());
-            eidg.close();
+            if (expertIterationData == null)
+                expertIterationData = ExpertIterationDataGatherer.forFileStem(params.expertIterationFileStem, params.getExpertIterationAttributes());
+            expertIterationData.recordData(root);
         }
         if (advantageFunction instanceof ITreeProcessor)
             ((ITreeProcessor) advantageFunction).process(root);
@@ -115,6 +115,8 @@ public class MCTSPlayer extends AbstractPlayer {
 
     @Override
     public void finalizePlayer(AbstractGameState state) {
+        if (expertIterationData != null)
+            expertIterationData.flush();
         if (rolloutStrategy instanceof IGameListener)
             ((IGameListener) rolloutStrategy).onEvent(CoreConstants.GameEvents.GAME_OVER, state, null);
         if (opponentModel instanceof IGameListener)
@@ -131,6 +133,21 @@ public class MCTSPlayer extends AbstractPlayer {
         return new MCTSPlayer((MCTSParams) params.copy());
     }
 
+    /**
+     * As well as the search, the rollout policy and opponent model are reseeded, as the params may hold instances of
+     * these that would otherwise be shared with this player.
+     */
+    @Override
+    public MCTSPlayer copyWithSeed(long seed) {
+        MCTSParams newParams = (MCTSParams) params.copy();
+        newParams.setRandomSeed(seed);
+        MCTSPlayer retValue = new MCTSPlayer(newParams);
+        Random seeds = new Random(seed);
+        retValue.rolloutStrategy = rolloutStrategy.copyWithSeed(seeds.nextLong());
+        retValue.opponentModel = opponentModel.copyWithSeed(seeds.nextLong());
+        return retValue;
+    }
+
     @Override
     public void setForwardModel(AbstractForwardModel model) {
         super.setForwardModel(model);
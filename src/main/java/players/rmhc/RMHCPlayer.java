@@ -91,8 +91,13 @@ public class RMHCPlayer extends AbstractPlayer {
 
     @Override
     public RMHCPlayer copy() {
+        return copyWithSeed(randomGenerator.nextInt());
+    }
+
+    @Override
+    public RMHCPlayer copyWithSeed(long seed) {
         RMHCParams newParams = (RMHCParams) params.copy();
-        newParams.setRandomSeed(randomGenerator.nextInt());
+        newParams.setRandomSeed(seed);
         return new RMHCPlayer(newParams);
     }
 
@@ -0,0 +1,99 @@
+package players.search;
+
+import core.AbstractGameState;
+import core.AbstractParameters;
+import core.interfaces.IStateHeuristic;
+import evaluation.TunableParameters;
+import org.json.simple.JSONObject;
+import players.PlayerParameters;
+
+import java.util.Arrays;
+
+import static players.search.SearchEnums.Algorithm.AlphaBeta;
+import static players.search.SearchEnums.TranspositionKey.State;
+
+public class AlphaBetaParams extends PlayerParameters {
+
+    public SearchEnums.Algorithm algorithm = AlphaBeta;
+    public int maxDepth = 20;
+    public int chanceSamples = 4;
+    // Bounds on the heuristic value; these are needed by Star1 to prune chance nodes
+    public double minValue = -1.0;
+    public double maxValue = 1.0;
+    public boolean useTranspositionTable = true;
+    public int transpositionTableBits = 16;
+    public SearchEnums.TranspositionKey transpositionKey = State;
+    public boolean historyHeuristic = true;
+    private IStateHeuristic heuristic = AbstractGameState::getHeuristicScore;
+
+    public AlphaBetaParams() {
+        this(System.currentTimeMillis());
+    }
+
+    public AlphaBetaParams(long seed) {
+        super(seed);
+        addTunableParameter("algorithm", AlphaBeta, Arrays.asList(SearchEnums.Algorithm.values()));
+        addTunableParameter("maxDepth", 20, Arrays.asList(1, 2, 3, 5, 10, 20, 50));
+        addTunableParameter("chanceSamples", 4, Arrays.asList(1, 2, 4, 8, 16));
+        addTunableParameter("minValue", -1.0);
+        addTunableParameter("maxValue", 1.0);
+        addTunableParameter("useTranspositionTable", true, Arrays.asList(false, true));
+        addTunableParameter("transpositionTableBits", 16);
+        addTunableParameter("transpositionKey", State);
+        addTunableParameter("historyHeuristic", true, Arrays.asList(false, true));
+        addTunableParameter("heuristic", (IStateHeuristic) AbstractGameState::getHeuristicScore);
+    }
+
+    @Override
+    public void _reset() {
+        super._reset();
+        algorithm = (SearchEnums.Algorithm) getParameterValue("algorithm");
+        maxDepth = (int) getParameterValue("maxDepth");
+        chanceSamples = (int) getParameterValue("chanceSamples");
+        minValue = (double) getParameterValue("minValue");
+        maxValue = (double) getParameterValue("maxValue");
+        useTranspositionTable = (boolean) getParameterValue("useTranspositionTable");
+        transpositionTableBits = (int) getParameterValue("transpositionTableBits");
+        transpositionKey = (SearchEnums.TranspositionKey) getParameterValue("transpositionKey");
+        historyHeuristic = (boolean) getParameterValue("historyHeuristic");
+        heuristic = (IStateHeuristic) getParameterValue("heuristic");
+        if (heuristic instanceof TunableParameters) {
+            TunableParameters tunableHeuristic = (TunableParameters) heuristic;
+            for (String name : tunableHeuristic.getParameterNames()) {
+                tunableHeuristic.setParameterValue(name, this.getParameterValue("heuristic." + name));
+            }
+        }
+    }
+
+    /**
+     * Any nested tunable parameter space is expected to be the IStateHeuristic.
+     *
+     * @param json The raw JSON
+     * @return The instantiated object
+     */
+    @Override
+    public Object registerChild(String nameSpace, JSONObject json) {
+        Object child = super.registerChild(nameSpace, json);
+        if (nameSpace.equals("heuristic")) {
+            heuristic = (IStateHeuristic) child;
+            setParameterValue("heuristic", child);
+        } else {
+            throw new AssertionError("Unknown child in TunableParameters: " + nameSpace);
+        }
+        return child;
+    }
+
+    @Override
+    protected AbstractParameters _copy() {
+        return new AlphaBetaParams(System.currentTimeMillis());
+    }
+
+    public IStateHeuristic getHeuristic() {
+        return heuristic;
+    }
+
+    @Override
+    public AlphaBetaPlayer instantiate() {
+        return new AlphaBetaPlayer(this);
+    }
+}
@@ -0,0 +1,417 @@
+package players.search;
+
+import core.AbstractGameState;
+import core.AbstractParameters;
+import core.AbstractPlayer;
+import core.actions.AbstractAction;
+import core.components.Component;
+import core.interfaces.IStateHeuristic;
+import players.PlayerConstants;
+import utilities.ElapsedCpuTimer;
+
+import java.util.*;
+
+import static players.search.SearchEnums.Algorithm.Expectimax;
+import static players.search.SearchEnums.TranspositionKey.State;
+
+/**
+ * Iterative-deepening search with alpha-beta pruning. All players other than the one searching are assumed to
+ * minimise its value (the paranoid assumption), which is exact for two-player zero-sum games.
+ * <p>
+ * In Expectimax mode each action is applied to several copies of the state, each with its own random seed, and the
+ * value of the action is the mean over these sampled outcomes; the resulting chance nodes are pruned with Star1, using the heuristic
+ * bounds given in the parameters.
+ * <p>
+ * The budget is counted in the same units as MCTSPlayer, so that the two can be compared directly; BUDGET_ITERATIONS
+ * counts nodes visited. The deepest completed iteration is used, and the first iteration is always completed.
+ * <p>
+ * The transposition table identifies the best action at a node by its position in the list the forward model gives
+ * for the state, as the action objects themselves differ between copies of the state. The history heuristic scores
+ * each action by the player taking it and the action itself (using its equals() and hashCode()), so that a cutoff
+ * found at one node promotes the same action at every other node; scores are halved at the start of each iteration
+ * of iterative deepening, so that the cutoffs of the latest iteration count the most.
+ */
+public class AlphaBetaPlayer extends AbstractPlayer {
+
+    AlphaBetaParams params;
+    private final Random rnd;
+    private IStateHeuristic heuristic;
+    private TranspositionTable transpositionTable;
+    // for each player, the history score of each action it has taken in a cutoff
+    private final List<Map<AbstractAction, Integer>> historyScores = new ArrayList<>();
+
+    // Search state for the current decision
+    private int rootPlayer;
+    private int iterationDepth;
+    private boolean aborted, reachedHorizon;
+    private ElapsedCpuTimer timer;
+
+    // Budgets and statistics
+    private int fmCalls, copyCalls, nodes, depthReached;
+    private double lastValue;
+
+    public AlphaBetaPlayer() {
+        this(System.currentTimeMillis());
+    }
+
+    public AlphaBetaPlayer(long seed) {
+        this(new AlphaBetaParams(seed));
+    }
+
+    public AlphaBetaPlayer(AlphaBetaParams params) {
+        this.params = params;
+        rnd = new Random(params.getRandomSeed());
+        heuristic = params.getHeuristic();
+        setName(params.algorithm.name());
+    }
+
+    public AlphaBetaPlayer(AlphaBetaParams params, IStateHeuristic heuristic) {
+        this(params);
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    public AbstractAction getAction(AbstractGameState gameState, List<AbstractAction> actions) {
+        timer = new ElapsedCpuTimer();
+        if (params.budgetType == PlayerConstants.BUDGET_TIME)
+            timer.setMaxTimeMillis(params.budget);
+        fmCalls = 0;
+        copyCalls = 0;
+        nodes = 0;
+        depthReached = 0;
+        aborted = false;
+        rootPlayer = getPlayerID();
+        historyScores.clear();
+        for (int p = 0; p < gameState.getNPlayers(); p++)
+            historyScores.add(new HashMap<>());
+        if (params.useTranspositionTable) {
+            if (transpositionTable == null)
+                transpositionTable = new TranspositionTable(params.transpositionTableBits);
+            else
+                transpositionTable.clear();
+        }
+
+        int bestIndex = 0;
+        for (iterationDepth = 1; iterationDepth <= params.maxDepth; iterationDepth++) {
+            reachedHorizon = false;
+            if (iterationDepth > 1)
+                ageHistoryScores();
+            int iterationBest = searchRoot(gameState, actions, iterationDepth);
+            if (aborted)
+                break;
+            bestIndex = iterationBest;
+            lastValue = rootValue;
+            depthReached = iterationDepth;
+            // if every line ended in a terminal state then searching deeper will not change anything
+            if (!reachedHorizon)
+                break;
+        }
+
+        if (statsLogger != null)
+            logStatistics(gameState);
+        return actions.get(bestIndex);
+    }
+
+    // value of the best action found by the current call to searchRoot()
+    private double rootValue;
+
+    /**
+     * @return the index in actions of the best action
+     */
+    private int searchRoot(AbstractGameState state, List<AbstractAction> actions, int depth) {
+        long nodeKey = nodeKey(state, 0L);
+        int check = nodeCheck(state);
+        int[] ordered = orderActions(actions, state.getCurrentPlayer(), ttIndex(nodeKey, check));
+        double alpha = Double.NEGATIVE_INFINITY;
+        int best = ordered[0];
+        for (int index : ordered) {
+            double value = actionValue(state, actions.get(index), childKey(0L, index), depth, alpha, Double.POSITIVE_INFINITY);
+            if (aborted)
+                return best;
+            if (value > alpha) {
+                alpha = value;
+                best = index;
+            }
+        }
+        rootValue = alpha;
+        if (params.useTranspositionTable)
+            transpositionTable.store(nodeKey, check, depth, alpha, TranspositionTable.EXACT, best);
+        return best;
+    }
+
+    /**
+     * @param childKey the path key of the state after the action is taken
+     * @return The value of taking action in state, searched to the given depth
+     */
+    private double actionValue(AbstractGameState state, AbstractAction action, long childKey, int depth, double alpha, double beta) {
+        if (params.algorithm != Expectimax)
+            return search(successor(state, action, false), childKey, depth - 1, alpha, beta);
+
+        // Star1 pruning over equally likely sampled outcomes
+        int n = params.chanceSamples;
+        double lower = params.minValue, upper = params.maxValue;
+        double sum = 0.0;
+        for (int i = 0; i < n; i++) {
+            int remaining = n - 1 - i;
+            // the window this sample must fall in for the chance node to end up inside (alpha, beta)
+            double childAlpha = n * alpha - sum - remaining * upper;
+            double childBeta = n * beta - sum - remaining * lower;
+            double value = search(successor(state, action, true), childKey, depth - 1,
+                    Math.max(lower, childAlpha), Math.min(upper, childBeta));
+            if (aborted)
+                return 0.0;
+            sum += value;
+            if (value <= childAlpha)
+                return (sum + remaining * upper) / n;
+            if (value >= childBeta)
+                return (sum + remaining * lower) / n;
+        }
+        return sum / n;
+    }
+
+    private double search(AbstractGameState state, long key, int depth, double alpha, double beta) {
+        nodes++;
+        if (!state.isNotTerminal())
+            return heuristic.evaluateState(state, rootPlayer);
+        if (depth == 0) {
+            reachedHorizon = true;
+            return heuristic.evaluateState(state, rootPlayer);
+        }
+        if (iterationDepth > 1 && budgetExhausted()) {
+            aborted = true;
+            return 0.0;
+        }
+
+        long nodeKey = nodeKey(state, key);
+        int check = nodeCheck(state);
+        double originalAlpha = alpha, originalBeta = beta;
+        int ttIndex = -1;
+        if (params.useTranspositionTable) {
+            int slot = transpositionTable.find(nodeKey, check);
+            if (slot > -1) {
+                ttIndex = transpositionTable.bestIndex(slot);
+                // sampled outcomes make stored values approximate, so in Expectimax they only help move ordering
+                if (params.algorithm != Expectimax && transpositionTable.depth(slot) >= depth) {
+                    double value = transpositionTable.value(slot);
+                    switch (transpositionTable.flag(slot)) {
+                        case TranspositionTable.EXACT:
+                            return value;
+                        case TranspositionTable.LOWER_BOUND:
+                            alpha = Math.max(alpha, value);
+                            break;
+                        case TranspositionTable.UPPER_BOUND:
+                            beta = Math.min(beta, value);
+                            break;
+                    }
+                    if (alpha >= beta)
+                        return value;
+                }
+            }
+        }
+
+        List<AbstractAction> actions = getForwardModel().computeAvailableActions(state);
+        if (actions.isEmpty()) {
+            reachedHorizon = true;
+            return heuristic.evaluateState(state, rootPlayer);
+        }
+        int player = state.getCurrentPlayer();
+        int[] ordered = orderActions(actions, player, ttIndex);
+        boolean maximising = player == rootPlayer;
+        double bestValue = maximising ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        int bestIndex = ordered[0];
+        for (int index : ordered) {
+            double value = actionValue(state, actions.get(index), childKey(key, index), depth, alpha, beta);
+            if (aborted)
+                return 0.0;
+            if (maximising ? value > bestValue : value < bestValue) {
+                bestValue = value;
+                bestIndex = index;
+            }
+            if (maximising)
+                alpha = Math.max(alpha, value);
+            else
+                beta = Math.min(beta, value);
+            if (alpha >= beta) {
+                if (params.historyHeuristic)
+                    historyScores.get(player).merge(actions.get(index), depth * depth, Integer::sum);
+                break;
+            }
+        }
+
+        if (params.useTranspositionTable) {
+            byte flag = TranspositionTable.EXACT;
+            if (bestValue <= originalAlpha)
+                flag = TranspositionTable.UPPER_BOUND;
+            else if (bestValue >= originalBeta)
+                flag = TranspositionTable.LOWER_BOUND;
+            transpositionTable.store(nodeKey, check, depth, bestValue, flag, bestIndex);
+        }
+        return bestValue;
+    }
+
+    /**
+     * @param sample if true then the copy is given a fresh random seed, so that each sampled outcome of a chance
+     *               event is drawn independently
+     */
+    private AbstractGameState successor(AbstractGameState state, AbstractAction action, boolean sample) {
+        AbstractGameState next = state.copy();
+        copyCalls++;
+        if (sample)
+            next.getGameParameters().setRandomSeed(rnd.nextLong());
+        getForwardModel().next(next, action.copy());
+        fmCalls++;
+        return next;
+    }
+
+    /**
+     * @return the index of the best action stored in the transposition table for this node, or -1 if there is none
+     */
+    private int ttIndex(long nodeKey, int check) {
+        if (params.useTranspositionTable) {
+            int slot = transpositionTable.find(nodeKey, check);
+            if (slot > -1)
+                return transpositionTable.bestIndex(slot);
+        }
+        return -1;
+    }
+
+    /**
+     * The action stored in the transposition table goes first, then the rest by history score.
+     * The sort is stable, so actions with equal scores keep the order the forward model gave them.
+     *
+     * @return the indices of the actions, in the order they are to be searched
+     */
+    private int[] orderActions(List<AbstractAction> actions, int player, int ttIndex) {
+        int nActions = actions.size();
+        Integer[] ordered = new Integer[nActions];
+        for (int i = 0; i < nActions; i++)
+            ordered[i] = i;
+        Map<AbstractAction, Integer> scores = historyScores.get(player);
+        if (params.historyHeuristic && !scores.isEmpty())
+            Arrays.sort(ordered, Comparator.comparingInt((Integer i) -> scores.getOrDefault(actions.get(i), 0)).reversed());
+        int[] retValue = new int[nActions];
+        int next = 0;
+        if (ttIndex > -1 && ttIndex < nActions)
+            retValue[next++] = ttIndex;
+        for (Integer i : ordered) {
+            if (i != ttIndex)
+                retValue[next++] = i;
+        }
+        return retValue;
+    }
+
+    /**
+     * @return the path key of the state reached by taking the action at this index in the state with this path key
+     */
+    private static long childKey(long key, int index) {
+        return mix(key * 31 + index + 1);
+    }
+
+    private void ageHistoryScores() {
+        for (Map<AbstractAction, Integer> scores : historyScores) {
+            scores.replaceAll((action, score) -> score / 2);
+            scores.values().removeIf(score -> score == 0);
+        }
+    }
+
+    /**
+     * @return the key of this node in the transposition table
+     */
+    private long nodeKey(AbstractGameState state, long pathKey) {
+        // hashing the state is only worth its cost when there is a table to look it up in
+        if (params.transpositionKey != State || !params.useTranspositionTable)
+            return pathKey;
+        // the random seed of the parameters differs between copies of the same state, so it is left out
+        AbstractParameters gameParameters = state.getGameParameters();
+        long seed = gameParameters.getRandomSeed();
+        gameParameters.setRandomSeed(0);
+        try {
+            return mix(state.hashCode());
+        } finally {
+            gameParameters.setRandomSeed(seed);
+        }
+    }
+
+    /**
+     * The key of a State node carries only the 32 bits of the state's hashCode(), so a second hash, computed
+     * independently of hashCode() from the top-level components, the turn and the score of each player, is stored with
+     * each entry and must match before the entry is used. Path keys are 64-bit hashes of the path, and need no check.
+     *
+     * @return the check stored with this node in the transposition table
+     */
+    private int nodeCheck(AbstractGameState state) {
+        if (params.transpositionKey != State || !params.useTranspositionTable)
+            return 0;
+        long h = mix(state.getCurrentPlayer());
+        h = mix(h ^ state.getTurnOrder().getRoundCounter());
+        h = mix(h ^ state.getTurnOrder().getTurnCounter());
+        h = mix(h ^ Objects.hashCode(state.getGamePhase()));
+        for (int p = 0; p < state.getNPlayers(); p++)
+            h = mix(h ^ Double.doubleToLongBits(state.getGameScore(p)));
+        for (Component c : state.getAllTopLevelComponents())
+            h = mix(h ^ c.hashCode());
+        return (int) (h >>> 32);
+    }
+
+    // SplitMix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private boolean budgetExhausted() {
+        switch (params.budgetType) {
+            case BUDGET_TIME:
+                return timer.remainingTimeMillis() <= params.breakMS;
+            case BUDGET_FM_CALLS:
+                return fmCalls >= params.budget;
+            case BUDGET_COPY_CALLS:
+                return copyCalls >= params.budget;
+            case BUDGET_FMANDCOPY_CALLS:
+                return fmCalls + copyCalls >= params.budget;
+            case BUDGET_ITERATIONS:
+                return nodes >= params.budget;
+            default:
+                throw new AssertionError("Unknown budget type " + params.budgetType);
+        }
+    }
+
+    /**
+     * @return the value (from the point of view of this player) of the action chosen by the last decision, as found
+     * by the deepest completed iteration
+     */
+    public double getLastValue() {
+        return lastValue;
+    }
+
+    private void logStatistics(AbstractGameState state) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long time = timer.elapsedMillis();
+        stats.put("round", state.getTurnOrder().getRoundCounter());
+        stats.put("turn", state.getTurnOrder().getTurnCounter());
+        stats.put("depthReached", depthReached);
+        stats.put("nodes", nodes);
+        stats.put("fmCalls", fmCalls);
+        stats.put("copyCalls", copyCalls);
+        stats.put("time", time);
+        stats.put("nodesPerSecond", time > 0 ? nodes * 1000.0 / time : 0.0);
+        if (transpositionTable != null) {
+            stats.put("ttHits", transpositionTable.hits);
+            stats.put("ttStores", transpositionTable.stores);
+        }
+        statsLogger.record(stats);
+    }
+
+    @Override
+    public AlphaBetaPlayer copy() {
+        return copyWithSeed(rnd.nextInt());
+    }
+
+    @Override
+    public AlphaBetaPlayer copyWithSeed(long seed) {
+        AlphaBetaParams newParams = (AlphaBetaParams) params.copy();
+        newParams.setRandomSeed(seed);
+        return new AlphaBetaPlayer(newParams, heuristic);
+    }
+}
@@ -0,0 +1,25 @@
+package players.search;
+
+public class SearchEnums {
+
+    /**
+     * AlphaBeta treats every transition as deterministic (paranoid minimax with alpha-beta pruning).
+     * Expectimax samples several outcomes of each action, and prunes the resulting chance nodes with Star1.
+     */
+    public enum Algorithm {
+        AlphaBeta, Expectimax
+    }
+
+    /**
+     * How states are identified in the transposition table.
+     * State uses the hashCode() of the game state (leaving out the random seed of its parameters), so transpositions
+     * are recognised in any game whose state hashCode() covers the position; a second hash of the state guards
+     * against collisions of the 32-bit hashCode().
+     * Path uses the positions in the action lists of the actions taken from the root, so only re-visits of the same
+     * line are recognised. This is cheaper than hashing the state, and still gives move ordering across iterations of
+     * iterative deepening.
+     */
+    public enum TranspositionKey {
+        State, Path
+    }
+}
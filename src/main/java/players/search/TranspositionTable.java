@@ -0,0 +1,84 @@
+package players.search;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size, always-replace transposition table. Entries are held in parallel primitive arrays indexed by the
+ * low bits of the key, with the full key and a second, independent check stored to detect collisions.
+ */
+class TranspositionTable {
+
+    static final byte EXACT = 0, LOWER_BOUND = 1, UPPER_BOUND = 2;
+
+    private final long[] keys;
+    private final int[] checks;
+    private final int[] depths;
+    private final double[] values;
+    private final byte[] flags;
+    private final int[] bestIndices;  // index of the best action in the list of actions at the position
+    private final boolean[] used;
+    private final int mask;
+
+    int hits, stores;
+
+    TranspositionTable(int bits) {
+        int size = 1 << bits;
+        mask = size - 1;
+        keys = new long[size];
+        checks = new int[size];
+        depths = new int[size];
+        values = new double[size];
+        flags = new byte[size];
+        bestIndices = new int[size];
+        used = new boolean[size];
+    }
+
+    /**
+     * @return the slot holding this key and check, or -1 if they are not in the table
+     */
+    int find(long key, int check) {
+        int slot = (int) (key & mask);
+        if (used[slot] && keys[slot] == key && checks[slot] == check) {
+            hits++;
+            return slot;
+        }
+        return -1;
+    }
+
+    void store(long key, int check, int depth, double value, byte flag, int bestIndex) {
+        int slot = (int) (key & mask);
+        // a shallower result never replaces a deeper one for the same position
+        if (used[slot] && keys[slot] == key && checks[slot] == check && depths[slot] > depth)
+            return;
+        used[slot] = true;
+        keys[slot] = key;
+        checks[slot] = check;
+        depths[slot] = depth;
+        values[slot] = value;
+        flags[slot] = flag;
+        bestIndices[slot] = bestIndex;
+        stores++;
+    }
+
+    int depth(int slot) {
+        return depths[slot];
+    }
+
+    double value(int slot) {
+        return values[slot];
+    }
+
+    byte flag(int slot) {
+        return flags[slot];
+    }
+
+    int bestIndex(int slot) {
+        return bestIndices[slot];
+    }
+
+    void clear() {
+        Arrays.fill(used, false);
+        hits = 0;
+        stores = 0;
+    }
+}
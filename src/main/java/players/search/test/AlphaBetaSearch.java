@@ -0,0 +1,318 @@
+package players.search.test;
+
+import core.*;
+import core.actions.AbstractAction;
+import core.actions.SetGridValueAction;
+import core.components.Component;
+import core.interfaces.IStateHeuristic;
+import core.turnorders.AlternatingTurnOrder;
+import games.GameType;
+import games.tictactoe.TicTacToeGameParameters;
+import org.junit.*;
+import players.PlayerConstants;
+import players.search.*;
+import players.simple.RandomPlayer;
+import utilities.SummaryLogger;
+import utilities.Utils;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class AlphaBetaSearch {
+
+    // 1 for a win, -1 for a loss and 0 otherwise, so the value of a fully searched position is its minimax value
+    IStateHeuristic result = (state, playerId) -> {
+        Utils.GameResult r = state.getPlayerResults()[playerId];
+        return r == Utils.GameResult.WIN ? 1.0 : r == Utils.GameResult.LOSE ? -1.0 : 0.0;
+    };
+
+    Game game;
+    AlphaBetaPlayer player;
+
+    public void createGame(SearchEnums.TranspositionKey key, boolean useTranspositionTable, boolean historyHeuristic) {
+        AlphaBetaParams params = new AlphaBetaParams(42);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_ITERATIONS);
+        params.setParameterValue("budget", 10000000);
+        params.setParameterValue("maxDepth", 9);
+        params.setParameterValue("transpositionKey", key);
+        params.setParameterValue("useTranspositionTable", useTranspositionTable);
+        params.setParameterValue("historyHeuristic", historyHeuristic);
+        player = new AlphaBetaPlayer(params, result);
+        List<AbstractPlayer> players = Arrays.asList(player, new RandomPlayer(new Random(1)));
+        game = GameType.TicTacToe.createGameInstance(2, 330);
+        game.reset(players);
+    }
+
+    // makes the moves (x, y) in turn on the board
+    private void play(int... moves) {
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        for (int i = 0; i < moves.length; i += 2) {
+            int x = moves[i], y = moves[i + 1];
+            AbstractAction move = fm.computeAvailableActions(state).stream()
+                    .filter(a -> ((SetGridValueAction<?>) a).getX() == x && ((SetGridValueAction<?>) a).getY() == y)
+                    .findFirst().orElseThrow(() -> new AssertionError("No move at " + x + ", " + y));
+            fm.next(state, move);
+        }
+    }
+
+    private SetGridValueAction<?> decide() {
+        AbstractGameState state = game.getGameState().copy(0);
+        return (SetGridValueAction<?>) player.getAction(state, game.getForwardModel().computeAvailableActions(state));
+    }
+
+    @Test
+    public void emptyBoardIsADraw() {
+        for (SearchEnums.TranspositionKey key : SearchEnums.TranspositionKey.values()) {
+            for (boolean tt : new boolean[]{false, true}) {
+                createGame(key, tt, true);
+                decide();
+                assertEquals(key + " " + tt, 0.0, player.getLastValue(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void winsInOne() {
+        for (SearchEnums.TranspositionKey key : SearchEnums.TranspositionKey.values()) {
+            createGame(key, true, true);
+            // X at (0,0) and (1,0), O at (0,1) and (1,1): X wins at (2,0)
+            play(0, 0, 0, 1, 1, 0, 1, 1);
+            SetGridValueAction<?> move = decide();
+            assertEquals(1.0, player.getLastValue(), 1e-9);
+            assertEquals(2, move.getX());
+            assertEquals(0, move.getY());
+        }
+    }
+
+    @Test
+    public void forkIsAForcedWin() {
+        for (SearchEnums.TranspositionKey key : SearchEnums.TranspositionKey.values()) {
+            createGame(key, true, true);
+            // X at (0,0) and (1,1), O at (1,0) and (2,2): X at (0,1) threatens both (0,2) and (2,1)
+            play(0, 0, 1, 0, 1, 1, 2, 2);
+            decide();
+            assertEquals(1.0, player.getLastValue(), 1e-9);
+        }
+    }
+
+    @Test
+    public void sameValueWithAndWithoutTables() {
+        createGame(SearchEnums.TranspositionKey.Path, false, false);
+        play(1, 1, 0, 0);
+        decide();
+        double expected = player.getLastValue();
+        for (SearchEnums.TranspositionKey key : SearchEnums.TranspositionKey.values()) {
+            createGame(key, true, true);
+            play(1, 1, 0, 0);
+            decide();
+            assertEquals(key.name(), expected, player.getLastValue(), 1e-9);
+        }
+    }
+
+    // A one-player game of a few rounds: in each the player either adds a fixed amount to its score, or rolls a die and
+    // adds the roll / 6, so the value of rolling is 3.5 / 6 on average
+    static class DiceState extends AbstractGameState {
+        final int nRounds;
+        final double safeValue;
+        int round;
+        double score;
+
+        DiceState(AbstractParameters parameters, int nRounds, double safeValue) {
+            super(parameters, new AlternatingTurnOrder(1), GameType.TicTacToe);
+            this.nRounds = nRounds;
+            this.safeValue = safeValue;
+        }
+
+        @Override
+        protected List<Component> _getAllComponents() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        protected AbstractGameState _copy(int playerId) {
+            DiceState retValue = new DiceState(gameParameters.frozenCopy(), nRounds, safeValue);
+            retValue.round = round;
+            retValue.score = score;
+            return retValue;
+        }
+
+        @Override
+        protected double _getHeuristicScore(int playerId) {
+            return score / nRounds;
+        }
+
+        @Override
+        public double getGameScore(int playerId) {
+            return score;
+        }
+
+        @Override
+        protected void _reset() {
+            round = 0;
+            score = 0.0;
+        }
+
+        @Override
+        protected boolean _equals(Object o) {
+            if (!(o instanceof DiceState)) return false;
+            DiceState other = (DiceState) o;
+            return round == other.round && score == other.score;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(super.hashCode(), round, score);
+        }
+    }
+
+    static class DiceAction extends AbstractAction {
+        final boolean roll;
+
+        DiceAction(boolean roll) {
+            this.roll = roll;
+        }
+
+        @Override
+        public boolean execute(AbstractGameState gs) {
+            DiceState state = (DiceState) gs;
+            if (roll)
+                state.score += (new Random(state.getGameParameters().getRandomSeed()).nextInt(6) + 1) / 6.0;
+            else
+                state.score += state.safeValue;
+            return true;
+        }
+
+        @Override
+        public AbstractAction copy() {
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof DiceAction && ((DiceAction) obj).roll == roll;
+        }
+
+        @Override
+        public int hashCode() {
+            return roll ? 1 : 0;
+        }
+
+        @Override
+        public String getString(AbstractGameState gameState) {
+            return toString();
+        }
+
+        @Override
+        public String toString() {
+            return roll ? "Roll" : "Safe";
+        }
+    }
+
+    static class DiceForwardModel extends AbstractForwardModel {
+        @Override
+        protected void _setup(AbstractGameState firstState) {
+        }
+
+        @Override
+        protected void _next(AbstractGameState currentState, AbstractAction action) {
+            DiceState state = (DiceState) currentState;
+            action.execute(state);
+            state.round++;
+            if (state.round == state.nRounds) {
+                state.setGameStatus(Utils.GameResult.GAME_END);
+                state.setPlayerResult(Utils.GameResult.GAME_END, 0);
+            }
+        }
+
+        @Override
+        protected List<AbstractAction> _computeAvailableActions(AbstractGameState gameState) {
+            // the safe action first, so that it sets the bound the roll has to beat
+            return Arrays.asList(new DiceAction(false), new DiceAction(true));
+        }
+
+        @Override
+        protected AbstractForwardModel _copy() {
+            return new DiceForwardModel();
+        }
+    }
+
+    SummaryLogger searchStats;
+
+    // the action chosen by an Expectimax player in a new dice game
+    private DiceAction decideDice(int nRounds, double safeValue, int chanceSamples, double bound, boolean useTranspositionTable) {
+        AlphaBetaParams params = new AlphaBetaParams(42);
+        params.setParameterValue("algorithm", SearchEnums.Algorithm.Expectimax);
+        params.setParameterValue("budgetType", PlayerConstants.BUDGET_ITERATIONS);
+        params.setParameterValue("budget", 10000000);
+        params.setParameterValue("chanceSamples", chanceSamples);
+        // the heuristic lies in [0, 1]; wider bounds than these make Star1 prune less, or (when very wide) not at all
+        params.setParameterValue("minValue", -bound);
+        params.setParameterValue("maxValue", bound);
+        params.setParameterValue("useTranspositionTable", useTranspositionTable);
+        // without cutoffs to learn from, the order of the actions depends only on the table
+        params.setParameterValue("historyHeuristic", false);
+        player = new AlphaBetaPlayer(params, (state, playerId) -> state.getHeuristicScore(playerId));
+        DiceForwardModel fm = new DiceForwardModel();
+        player.setForwardModel(fm);
+        searchStats = new SummaryLogger();
+        searchStats.printToConsole = false;
+        player.setStatsLogger(searchStats);
+        DiceState state = new DiceState(new TicTacToeGameParameters(3), nRounds, safeValue);
+        fm.setup(state);
+        return (DiceAction) player.getAction(state, fm.computeAvailableActions(state));
+    }
+
+    private int nodesSearched() {
+        return (int) searchStats.summary().get("nodes").sum();
+    }
+
+    @Test
+    public void expectimaxValueIsTheMeanOverOutcomes() {
+        // one roll, and then two rolls in a row (the second after each sampled outcome of the first)
+        for (int nRounds = 1; nRounds <= 2; nRounds++) {
+            DiceAction action = decideDice(nRounds, 0.3, 200, 1.0, false);
+            assertTrue(action.roll);
+            assertEquals(3.5 / 6, player.getLastValue(), 0.03);
+        }
+        // when the safe amount is better than the mean roll it is chosen, whatever the rolls sampled
+        DiceAction action = decideDice(2, 0.75, 200, 1.0, false);
+        assertFalse(action.roll);
+        assertEquals(0.75, player.getLastValue(), 1e-9);
+    }
+
+    @Test
+    public void star1PrunesWithoutChangingTheResult() {
+        for (double safeValue : new double[]{0.3, 0.75}) {
+            // bounds so wide that no sampled outcome can ever fall outside the window, so nothing is pruned
+            DiceAction unpruned = decideDice(1, safeValue, 40, 1e6, false);
+            double unprunedValue = player.getLastValue();
+            int unprunedNodes = nodesSearched();
+            DiceAction pruned = decideDice(1, safeValue, 40, 1.0, false);
+            assertEquals(unpruned, pruned);
+            assertEquals(unprunedValue, player.getLastValue(), 1e-9);
+            if (safeValue > 3.5 / 6)
+                assertTrue(nodesSearched() < unprunedNodes);
+            else
+                assertEquals(unprunedNodes, nodesSearched());
+        }
+    }
+
+    @Test
+    public void expectimaxUsesStoredValuesOnlyForOrdering() {
+        // The safe amount is always best, and without Star1 windows no roll fails high, so the move stored in the
+        // table is the one searched first anyway, and the table changes nothing but whether stored values are used.
+        // After (safe, roll) and (roll, safe) the states are the same, so the table does find transpositions; as
+        // stored values are not used there, the same outcomes are sampled and the same nodes searched without it.
+        DiceAction withoutTable = decideDice(3, 0.95, 30, 1e6, false);
+        double expected = player.getLastValue();
+        int expectedNodes = nodesSearched();
+        DiceAction withTable = decideDice(3, 0.95, 30, 1e6, true);
+        assertFalse(withoutTable.roll);
+        assertEquals(withoutTable, withTable);
+        assertEquals(expected, player.getLastValue(), 1e-9);
+        assertEquals(expectedNodes, nodesSearched());
+        assertTrue(searchStats.summary().get("ttHits").sum() > 0);
+    }
+}
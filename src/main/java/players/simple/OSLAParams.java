@@ -0,0 +1,90 @@
+package players.simple;
+
+import core.AbstractGameState;
+import core.AbstractParameters;
+import core.interfaces.IStateHeuristic;
+import evaluation.TunableParameters;
+import org.json.simple.JSONObject;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Parameters for an OSLAPlayer, so that one can be configured from JSON through PlayerFactory, e.g.
+ * { "class" : "players.simple.OSLAParams", "parallelism" : 4 }
+ */
+public class OSLAParams extends TunableParameters {
+
+    public int parallelism = 1;
+    private IStateHeuristic heuristic;
+
+    public OSLAParams() {
+        this(System.currentTimeMillis());
+    }
+
+    public OSLAParams(long seed) {
+        super(seed);
+        addTunableParameter("parallelism", 1, Arrays.asList(1, 2, 4, 8));
+        addTunableParameter("heuristic", (IStateHeuristic) AbstractGameState::getHeuristicScore);
+        // the same default heuristic as copies, which take it from the parameter value, so that they are equal
+        heuristic = (IStateHeuristic) getParameterValue("heuristic");
+    }
+
+    @Override
+    public void _reset() {
+        parallelism = (int) getParameterValue("parallelism");
+        heuristic = (IStateHeuristic) getParameterValue("heuristic");
+        if (heuristic instanceof TunableParameters) {
+            TunableParameters tunableHeuristic = (TunableParameters) heuristic;
+            for (String name : tunableHeuristic.getParameterNames()) {
+                tunableHeuristic.setParameterValue(name, this.getParameterValue("heuristic." + name));
+            }
+        }
+    }
+
+    /**
+     * Any nested tunable parameter space is expected to be the IStateHeuristic.
+     *
+     * @param json The raw JSON
+     * @return The instantiated object
+     */
+    @Override
+    public Object registerChild(String nameSpace, JSONObject json) {
+        Object child = super.registerChild(nameSpace, json);
+        if (nameSpace.equals("heuristic")) {
+            heuristic = (IStateHeuristic) child;
+            setParameterValue("heuristic", child);
+        } else {
+            throw new AssertionError("Unknown child in TunableParameters: " + nameSpace);
+        }
+        return child;
+    }
+
+    @Override
+    protected AbstractParameters _copy() {
+        return new OSLAParams(System.currentTimeMillis());
+    }
+
+    @Override
+    protected boolean _equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OSLAParams)) return false;
+        OSLAParams that = (OSLAParams) o;
+        return parallelism == that.parallelism && Objects.equals(heuristic, that.heuristic);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), parallelism, heuristic);
+    }
+
+    public IStateHeuristic getHeuristic() {
+        return heuristic;
+    }
+
+    @Override
+    public OSLAPlayer instantiate() {
+        return new OSLAPlayer(heuristic, new Random(getRandomSeed()), parallelism);
+    }
+}
@@ -7,8 +7,12 @@ import core.actions.AbstractAction;
 import core.interfaces.IStateHeuristic;
 import core.turnorders.SimultaneousTurnOrder;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import static utilities.Utils.noise;
 
@@ -18,10 +22,15 @@ public class OSLAPlayer extends AbstractPlayer {
     public double epsilon = 1e-6;
     // Heuristics used for the agent
     IStateHeuristic heuristic;
+    // Number of threads used to evaluate the candidate actions. With 1 (the default) everything runs on the calling thread.
+    private final int parallelism;
+    // Created on the first decision that needs it, and shut down at the end of each game
+    private ForkJoinPool pool;
+    // Wall-clock time of the last call to getAction, in nanoseconds
+    private long lastDecisionTime;
 
     public OSLAPlayer(Random random) {
-        this.random = random;
-        setName("OSLA");
+        this(null, random, 1);
     }
 
     public OSLAPlayer() {
@@ -33,60 +42,134 @@ public class OSLAPlayer extends AbstractPlayer {
     }
 
     public OSLAPlayer(IStateHeuristic heuristic, Random random) {
-        this(random);
+        this(heuristic, random, 1);
+    }
+
+    /**
+     * @param heuristic   - heuristic used to value the state after each action (null to use the game's own heuristic)
+     * @param random      - random generator for noise and for the random play used by simultaneous-move games
+     * @param parallelism - number of threads over which candidate actions are evaluated. The chosen action does not
+     *                    depend on this, so results with a fixed seed are reproducible regardless of the value. If
+     *                    greater than 1 then the heuristic must be safe to call from several threads at once.
+     */
+    public OSLAPlayer(IStateHeuristic heuristic, Random random, int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1, not " + parallelism);
+        this.random = random;
         this.heuristic = heuristic;
+        this.parallelism = parallelism;
         setName("OSLA");
     }
 
     @Override
     public AbstractAction getAction(AbstractGameState gs, List<AbstractAction> actions) {
-
-        double maxQ = Double.NEGATIVE_INFINITY;
-        AbstractAction bestAction = null;
+        long startTime = System.nanoTime();
         int playerID = gs.getCurrentPlayer();
 
-        double[] valState = new double[actions.size()];
-        for (int actionIndex = 0; actionIndex < actions.size(); actionIndex++) {
-            AbstractAction action = actions.get(actionIndex);
-            AbstractGameState gsCopy = gs.copy();
-
-            getForwardModel().next(gsCopy, action);
-
-            if (gsCopy.getTurnOrder() instanceof SimultaneousTurnOrder) {
-                advanceToEndOfRoundWithRandomActions(gsCopy, playerID);
-            }
+        // All the randomness is drawn up front and in action order, so that each action gets its own independent
+        // stream, and the result is identical however the evaluations are then scheduled
+        int nActions = actions.size();
+        double[] noiseDraws = new double[nActions];
+        long[] seeds = new long[nActions];
+        for (int actionIndex = 0; actionIndex < nActions; actionIndex++) {
+            noiseDraws[actionIndex] = random.nextDouble();
+            seeds[actionIndex] = random.nextLong();
+        }
 
-            if (heuristic != null) {
-                valState[actionIndex] = heuristic.evaluateState(gsCopy, playerID);
-            } else {
-                valState[actionIndex] = gsCopy.getHeuristicScore(playerID);
+        double[] valState = new double[nActions];
+        if (parallelism > 1 && nActions > 1) {
+            if (pool == null)
+                pool = new ForkJoinPool(parallelism);
+            // each action is evaluated with its own copy of the forward model, whose calls to next() are then
+            // counted against ours
+            AbstractForwardModel[] fms = new AbstractForwardModel[nActions];
+            for (int actionIndex = 0; actionIndex < nActions; actionIndex++)
+                fms[actionIndex] = getForwardModel().copy();
+            pool.submit(() -> IntStream.range(0, nActions).parallel().forEach(
+                    i -> valState[i] = evaluateAction(gs, actions.get(i), playerID, fms[i], new Random(seeds[i]))
+            )).join();
+            for (AbstractForwardModel fm : fms)
+                if (fm != getForwardModel())  // a forward model with no state of its own may return itself as a copy
+                    getForwardModel().addNextCalls(fm.getNextCalls());
+        } else {
+            for (int actionIndex = 0; actionIndex < nActions; actionIndex++) {
+                valState[actionIndex] = evaluateAction(gs, actions.get(actionIndex), playerID,
+                        getForwardModel(), new Random(seeds[actionIndex]));
             }
+        }
 
-            double Q = noise(valState[actionIndex], this.epsilon, this.random.nextDouble());
-            //     System.out.println(Arrays.stream(valState).mapToObj(v -> String.format("%1.3f", v)).collect(Collectors.joining("\t")));
-
+        // ties are broken in favour of the earliest action in the list
+        double maxQ = Double.NEGATIVE_INFINITY;
+        AbstractAction bestAction = null;
+        for (int actionIndex = 0; actionIndex < nActions; actionIndex++) {
+            double Q = noise(valState[actionIndex], this.epsilon, noiseDraws[actionIndex]);
             if (Q > maxQ) {
                 maxQ = Q;
-                bestAction = action;
+                bestAction = actions.get(actionIndex);
             }
         }
 
+        lastDecisionTime = System.nanoTime() - startTime;
+        if (statsLogger != null) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("nActions", nActions);
+            stats.put("threads", parallelism);
+            stats.put("time", lastDecisionTime / 1e6);
+            statsLogger.record(stats);
+        }
         return bestAction;
     }
 
+    private double evaluateAction(AbstractGameState gs, AbstractAction action, int playerID,
+                                  AbstractForwardModel fm, Random rnd) {
+        AbstractGameState gsCopy = gs.copy();
+
+        fm.next(gsCopy, action.copy());
+
+        if (gsCopy.getTurnOrder() instanceof SimultaneousTurnOrder) {
+            advanceToEndOfRoundWithRandomActions(gsCopy, playerID, fm, rnd);
+        }
+
+        if (heuristic != null) {
+            return heuristic.evaluateState(gsCopy, playerID);
+        } else {
+            return gsCopy.getHeuristicScore(playerID);
+        }
+    }
+
+    @Override
+    public void finalizePlayer(AbstractGameState gameState) {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    /**
+     * @return The wall-clock time taken by the last decision, in milliseconds
+     */
+    public double getLastDecisionTime() {
+        return lastDecisionTime / 1e6;
+    }
+
     @Override
     public OSLAPlayer copy() {
-        return new OSLAPlayer(heuristic, new Random(random.nextInt()));
+        return copyWithSeed(random.nextInt());
+    }
+
+    @Override
+    public OSLAPlayer copyWithSeed(long seed) {
+        return new OSLAPlayer(heuristic, new Random(seed), parallelism);
     }
 
-    private void advanceToEndOfRoundWithRandomActions(AbstractGameState gsCopy, int startingPlayer) {
+    private void advanceToEndOfRoundWithRandomActions(AbstractGameState gsCopy, int startingPlayer,
+                                                      AbstractForwardModel fm, Random rnd) {
         // we assume that every other player now has to make a decision
-        RandomPlayer rnd = new RandomPlayer(random);
-        AbstractForwardModel fm = getForwardModel();
+        RandomPlayer rndPlayer = new RandomPlayer(rnd);
         if (gsCopy.getCurrentPlayer() == startingPlayer) {
             // first get to the end of our actions
             while (gsCopy.getCurrentPlayer() == startingPlayer && gsCopy.isNotTerminal()) {
-                AbstractAction action = rnd.getAction(gsCopy, fm.computeAvailableActions(gsCopy));
+                AbstractAction action = rndPlayer.getAction(gsCopy, fm.computeAvailableActions(gsCopy));
                 fm.next(gsCopy, action);
             }
         }
@@ -98,7 +181,7 @@ public class OSLAPlayer extends AbstractPlayer {
                     throw new AssertionError("Not expecting to return to player " + getPlayerID());
                 }
                 while (gsCopy.getCurrentPlayer() == currentPlayer && gsCopy.isNotTerminal()) {
-                    AbstractAction action = rnd.getAction(gsCopy, fm.computeAvailableActions(gsCopy));
+                    AbstractAction action = rndPlayer.getAction(gsCopy, fm.computeAvailableActions(gsCopy));
                     fm.next(gsCopy, action);
                 }
             }
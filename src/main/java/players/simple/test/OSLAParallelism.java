@@ -0,0 +1,46 @@
+package players.simple.test;
+
+import core.*;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.*;
+import players.simple.OSLAPlayer;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class OSLAParallelism {
+
+    @Test
+    public void serialAndParallelPickTheSameActionWithTheSameCost() {
+        Game game = GameType.Dominion.createGameInstance(2, 42);
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        OSLAPlayer serial = new OSLAPlayer(null, new Random(7), 1);
+        OSLAPlayer parallel = new OSLAPlayer(null, new Random(7), 4);
+        serial.setForwardModel(fm.copy());
+        parallel.setForwardModel(fm.copy());
+        Random rnd = new Random(3);
+        int decisions = 0;
+        try {
+            for (int i = 0; i < 100 && state.isNotTerminal(); i++) {
+                List<AbstractAction> actions = fm.computeAvailableActions(state);
+                if (actions.size() > 1) {
+                    decisions++;
+                    AbstractAction serialAction = serial.getAction(state.copy(), actions);
+                    AbstractAction parallelAction = parallel.getAction(state.copy(), actions);
+                    assertEquals(serialAction, parallelAction);
+                    assertEquals(serial.getForwardModel().getNextCalls(), parallel.getForwardModel().getNextCalls());
+                }
+                // the game goes its own way, so that the players see many different states
+                fm.next(state, actions.get(rnd.nextInt(actions.size())));
+            }
+        } finally {
+            parallel.finalizePlayer(state);
+        }
+        assertTrue(decisions > 10);
+        // at least one call for each action considered
+        assertTrue(parallel.getForwardModel().getNextCalls() >= 2L * decisions);
+    }
+}
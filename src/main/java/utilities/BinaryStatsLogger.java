@@ -0,0 +1,217 @@
+package utilities;
+
+import core.interfaces.IStatisticLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An IStatisticLogger for high volume data, such as the per-decision statistics of an agent, that does as little
+ * work as possible on the calling thread.
+ * <p>
+ * record() copies the values into a row, in the order of the keys of the first record, and puts it in a
+ * fixed-size ring buffer. Any number of threads can record at once without locking; if the buffer is full they wait
+ * for space rather than lose data. A single background thread takes rows from the buffer and writes them with a
+ * ColumnarFileWriter, which gives a typed binary file with the column names in its header.
+ * <p>
+ * The file is complete once processDataAndFinish() has returned. It can be converted to the same tab-separated
+ * format as FileStatsLogger with: ColumnarFileWriter input output (or main() here, which does the same).
+ * As with FileStatsLogger, keys that are not in the first record are ignored (and logged to console), and missing
+ * values are written as blanks.
+ * <p>
+ * If writing fails, the background thread stops, and every later call to record() or processDataAndFinish() throws an
+ * IllegalStateException with the cause (rather than waiting for a buffer that is never emptied).
+ */
+public class BinaryStatsLogger implements IStatisticLogger {
+
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+    private static final int ROWS_PER_BLOCK = 4096;
+    // put in a slot that was claimed after processDataAndFinish(), so the writer does not wait for it
+    private static final Object[] SKIPPED = new Object[0];
+
+    private final File file;
+    private final int mask;
+    private final AtomicReferenceArray<Object[]> ring;
+    private final AtomicLong tail = new AtomicLong(); // next slot to be claimed by a producer
+    private final AtomicLong head = new AtomicLong(); // next slot to be read by the writer
+    private volatile String[] keys;
+    private volatile boolean finishing;
+    private volatile Throwable failure;
+    private Map<String, Integer> keyIndex;
+    private Set<String> unknownKeys;
+    private ColumnarFileWriter writer;
+    private Thread writerThread;
+
+    public BinaryStatsLogger(String fileName) {
+        this(fileName, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param fileName - the file to write to. If it exists, then rows are appended (and must have the same keys).
+     * @param capacity - the number of rows the ring buffer holds, which is rounded up to a power of two.
+     */
+    public BinaryStatsLogger(String fileName, int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be positive, not " + capacity);
+        file = new File(fileName);
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity)
+            size <<= 1;
+        mask = size - 1;
+        ring = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Use to register a set of data in one go. The keys of the first call fix the columns of the file.
+     *
+     * @param data A map of name -> value pairs
+     */
+    @Override
+    public void record(Map<String, ?> data) {
+        if (keys == null)
+            start(data.keySet());
+        String[] columns = keys;
+        if (data.size() > columns.length || !keyIndex.keySet().containsAll(data.keySet()))
+            reportUnknownKeys(data.keySet());
+        Object[] row = new Object[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            Object datum = data.get(columns[c]);
+            row[c] = datum == null ? "" : datum instanceof Number || datum instanceof Boolean ? datum : datum.toString();
+        }
+        offer(row);
+    }
+
+    @Override
+    public void record(String key, Object datum) {
+        System.out.println("Datum ignored - BinaryStatsLogger only to be used with other record()");
+    }
+
+    /**
+     * Waits for all recorded rows to be written, and closes the file.
+     * A record() that overlaps this call either has its row written or throws an IllegalStateException.
+     */
+    @Override
+    public void processDataAndFinish() {
+        synchronized (this) {
+            if (writerThread == null || finishing)
+                return;
+            finishing = true;
+        }
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError("Interrupted while finishing " + file);
+        }
+        checkFailure();
+    }
+
+    /**
+     * This always returns an empty Map
+     *
+     * @return A summary of the data
+     */
+    @Override
+    public Map<String, TAGStatSummary> summary() {
+        return new HashMap<>();
+    }
+
+    /**
+     * @return the number of rows recorded so far (whether or not they have been written yet)
+     */
+    public long getRowsRecorded() {
+        return tail.get();
+    }
+
+    private synchronized void start(Set<String> firstKeys) {
+        if (keys != null)
+            return;
+        Map<String, Integer> index = new HashMap<>();
+        for (String key : firstKeys)
+            index.put(key, index.size());
+        keyIndex = index;
+        unknownKeys = Collections.synchronizedSet(new HashSet<>());
+        writer = new ColumnarFileWriter(file, new ArrayList<>(firstKeys), ROWS_PER_BLOCK, false);
+        writerThread = new Thread(this::drain, "BinaryStatsLogger-" + file.getName());
+        writerThread.setDaemon(true);
+        writerThread.start();
+        keys = firstKeys.toArray(new String[0]);
+    }
+
+    private void reportUnknownKeys(Set<String> dataKeys) {
+        for (String key : dataKeys)
+            if (!keyIndex.containsKey(key) && unknownKeys.add(key))
+                System.out.println("Unknown key in BinaryStatsLogger : " + key);
+    }
+
+    private void checkFailure() {
+        if (failure != null)
+            throw new IllegalStateException("Writing to " + file + " has failed", failure);
+    }
+
+    private void offer(Object[] row) {
+        checkFailure();
+        long slot = tail.getAndIncrement();
+        // finishing is read after the slot is claimed: if it is still false, then the writer will read tail after
+        // this, and so will wait for the slot before it stops. Otherwise the writer may already have stopped, so the
+        // row is rejected, and the slot is filled with a marker that the writer skips
+        boolean rejected = finishing;
+        // wait until the writer has taken the row that was last in this slot
+        while (slot - head.get() > mask) {
+            if (!writerThread.isAlive()) {
+                checkFailure();
+                throw new IllegalStateException(file + " has already been finished");
+            }
+            LockSupport.parkNanos(10_000);
+        }
+        ring.set((int) (slot & mask), rejected ? SKIPPED : row);
+        if (rejected)
+            throw new IllegalStateException(file + " has already been finished");
+    }
+
+    // the background thread
+    private void drain() {
+        long next = head.get();
+        int idle = 0;
+        try {
+            while (true) {
+                Object[] row = ring.get((int) (next & mask));
+                if (row == null) {
+                    if (finishing && next == tail.get())
+                        break;
+                    // nothing to do, so make sure what we have is on disk, then back off
+                    if (idle++ == 0)
+                        writer.flush();
+                    LockSupport.parkNanos(idle < 100 ? 50_000 : 1_000_000);
+                    continue;
+                }
+                idle = 0;
+                ring.set((int) (next & mask), null);
+                head.lazySet(++next);
+                if (row != SKIPPED)
+                    writer.addRow(row);
+            }
+        } catch (RuntimeException | Error e) {
+            failure = e;
+        } finally {
+            try {
+                writer.close();
+            } catch (RuntimeException e) {
+                if (failure == null)
+                    failure = e;
+            }
+        }
+    }
+
+    /**
+     * Converts a file written by this logger to tab-separated text (or CSV if output ends in .csv).
+     */
+    public static void main(String[] args) throws IOException {
+        ColumnarFileWriter.main(args);
+    }
+}
@@ -0,0 +1,322 @@
+package utilities;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes rows of data to a compact binary file, organised by column in blocks of rows.
+ * <p>
+ * The file starts with a header of MAGIC, VERSION, the number of columns and then the column names.
+ * This is followed by any number of blocks, each of which is the number of rows, and then for each column a type byte
+ * and that column's values for all the rows. Columns where every value in the block is a Number or Boolean are
+ * written as doubles (TYPE_DOUBLE), and anything else as UTF strings (TYPE_STRING).
+ * Appending to an existing file just adds more blocks, so long as the column names match.
+ * <p>
+ * Rows are buffered in memory, and a block is written every rowsPerBlock rows, or on flush().
+ * In asynchronous mode blocks are encoded and written on a single background thread, so that addRow() and flush()
+ * never wait on the disk. The file is only complete once close() has returned.
+ * <p>
+ * Each block is encoded in memory before any of it is written, so a block that cannot be written (for example because
+ * it has a string of more than 64K bytes) leaves the file as it was. Such an error is thrown as an UncheckedIOException
+ * from the call that wrote the block, and stops the writer: every later call (which in asynchronous mode includes the
+ * first one after the failure) throws an IllegalStateException with it as the cause.
+ * <p>
+ * main(input, output) exports a file to CSV, or to tab-separated text if output does not end in .csv.
+ */
+public class ColumnarFileWriter {
+
+    public static final int MAGIC = 0x54434F4C; // "TCOL"
+    public static final int VERSION = 1;
+    public static final byte TYPE_DOUBLE = 'D';
+    public static final byte TYPE_STRING = 'S';
+
+    private final File file;
+    private final String[] columns;
+    private final int rowsPerBlock;
+    private final ExecutorService executor;
+    private final ByteArrayOutputStream blockBytes = new ByteArrayOutputStream();
+    private final DataOutputStream blockOut = new DataOutputStream(blockBytes);
+    private DataOutputStream out;
+    private boolean closed;
+    private volatile RuntimeException failure;
+
+    private Object[][] buffer;
+    private int rows;
+    private long rowsWritten;
+
+    public ColumnarFileWriter(File file, List<String> columns, int rowsPerBlock, boolean async) {
+        if (columns.isEmpty())
+            throw new IllegalArgumentException("At least one column is needed");
+        if (rowsPerBlock < 1)
+            throw new IllegalArgumentException("rowsPerBlock must be positive");
+        this.file = file;
+        this.columns = columns.toArray(new String[0]);
+        this.rowsPerBlock = rowsPerBlock;
+        buffer = new Object[this.columns.length][rowsPerBlock];
+        executor = async ? Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "ColumnarFileWriter-" + file.getName());
+            t.setDaemon(true);
+            return t;
+        }) : null;
+        try {
+            boolean append = file.exists() && file.length() > 0;
+            if (append)
+                checkHeader(file, this.columns);
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, append), 1 << 16));
+            if (!append) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(this.columns.length);
+                for (String column : this.columns)
+                    out.writeUTF(column);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new AssertionError("Problem opening file " + file + " : " + e.getMessage());
+        }
+    }
+
+    public List<String> getColumns() {
+        return Arrays.asList(columns);
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return the number of rows that have been passed on for writing, excluding those still buffered
+     */
+    public synchronized long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Adds a row, which must have one value per column. The array is copied, so can be reused by the caller.
+     */
+    public synchronized void addRow(Object... values) {
+        checkFailure();
+        if (closed)
+            throw new IllegalStateException(file + " has already been closed");
+        if (values.length != columns.length)
+            throw new IllegalArgumentException("Expected " + columns.length + " values, but got " + values.length);
+        for (int c = 0; c < columns.length; c++)
+            buffer[c][rows] = values[c];
+        rows++;
+        if (rows == rowsPerBlock)
+            submitBlock();
+    }
+
+    /**
+     * Passes on any buffered rows to be written, and flushes the underlying stream.
+     * In asynchronous mode this returns immediately.
+     */
+    public synchronized void flush() {
+        checkFailure();
+        if (closed)
+            return;
+        if (rows > 0)
+            submitBlock();
+        run(this::flushStream);
+    }
+
+    /**
+     * Writes everything outstanding, and closes the file. This waits for the background thread if there is one.
+     * The file is closed even if writing has failed, in which case the failure is then thrown.
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed)
+                return;
+            closed = true;
+            if (rows > 0 && failure == null)
+                submitBlock();
+            run(this::closeStream);
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        checkFailure();
+    }
+
+    /**
+     * @return the error that stopped this writer, or null if there has not been one
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    private void checkFailure() {
+        if (failure != null)
+            throw new IllegalStateException("Writing to " + file + " has failed", failure);
+    }
+
+    private RuntimeException fail(RuntimeException e) {
+        if (failure == null)
+            failure = e;
+        return e;
+    }
+
+    private void submitBlock() {
+        Object[][] block = buffer;
+        int blockRows = rows;
+        buffer = new Object[columns.length][rowsPerBlock];
+        rows = 0;
+        rowsWritten += blockRows;
+        run(() -> writeBlock(block, blockRows));
+    }
+
+    // runs on the background thread if there is one, or else immediately
+    private void run(Runnable task) {
+        if (executor != null)
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    // kept for the next call on the writer's own thread
+                    fail(e);
+                }
+            });
+        else
+            task.run();
+    }
+
+    private void writeBlock(Object[][] block, int blockRows) {
+        if (failure != null)
+            return;
+        try {
+            blockBytes.reset();
+            blockOut.writeInt(blockRows);
+            for (Object[] column : block) {
+                boolean numeric = true;
+                for (int r = 0; r < blockRows && numeric; r++)
+                    numeric = column[r] instanceof Number || column[r] instanceof Boolean;
+                if (numeric) {
+                    blockOut.writeByte(TYPE_DOUBLE);
+                    for (int r = 0; r < blockRows; r++)
+                        blockOut.writeDouble(column[r] instanceof Boolean ? ((Boolean) column[r] ? 1.0 : 0.0) : ((Number) column[r]).doubleValue());
+                } else {
+                    blockOut.writeByte(TYPE_STRING);
+                    for (int r = 0; r < blockRows; r++)
+                        blockOut.writeUTF(String.valueOf(column[r]));
+                }
+            }
+            blockBytes.writeTo(out);
+        } catch (IOException e) {
+            throw fail(new UncheckedIOException("Problem writing a block of " + blockRows + " rows to " + file + " : " + e.getMessage(), e));
+        }
+    }
+
+    private void flushStream() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw fail(new UncheckedIOException("Problem flushing " + file + " : " + e.getMessage(), e));
+        }
+    }
+
+    private void closeStream() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw fail(new UncheckedIOException("Problem closing " + file + " : " + e.getMessage(), e));
+        }
+    }
+
+    private static String[] readHeader(DataInputStream in, File file) throws IOException {
+        if (in.readInt() != MAGIC)
+            throw new IOException(file + " is not a columnar data file");
+        int version = in.readInt();
+        if (version != VERSION)
+            throw new IOException("Unsupported version " + version + " in " + file);
+        String[] retValue = new String[in.readInt()];
+        for (int c = 0; c < retValue.length; c++)
+            retValue[c] = in.readUTF();
+        return retValue;
+    }
+
+    private static void checkHeader(File file, String[] columns) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            String[] existing = readHeader(in, file);
+            if (!Arrays.equals(existing, columns))
+                throw new IllegalArgumentException("Columns in " + file + " are " + Arrays.toString(existing) +
+                        ", which do not match " + Arrays.toString(columns));
+        }
+    }
+
+    /**
+     * Converts a file written by this class to delimited text, with a header row of the column names.
+     * Whole numbers are written without a decimal point.
+     *
+     * @return the number of rows exported
+     */
+    public static long exportToText(File input, File output, String delimiter) throws IOException {
+        long count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(input), 1 << 16));
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(output), StandardCharsets.UTF_8))) {
+            String[] columns = readHeader(in, input);
+            writer.write(String.join(delimiter, columns));
+            writer.newLine();
+            String[][] block = new String[columns.length][];
+            while (true) {
+                int blockRows;
+                try {
+                    blockRows = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                for (int c = 0; c < columns.length; c++) {
+                    block[c] = new String[blockRows];
+                    byte type = in.readByte();
+                    for (int r = 0; r < blockRows; r++) {
+                        if (type == TYPE_DOUBLE) {
+                            double value = in.readDouble();
+                            block[c][r] = value == Math.rint(value) && Math.abs(value) < 1e15 ?
+                                    String.valueOf((long) value) : String.valueOf(value);
+                        } else if (type == TYPE_STRING) {
+                            block[c][r] = in.readUTF();
+                        } else {
+                            throw new IOException("Unknown column type " + type + " in " + input);
+                        }
+                    }
+                }
+                for (int r = 0; r < blockRows; r++) {
+                    for (int c = 0; c < columns.length; c++) {
+                        if (c > 0)
+                            writer.write(delimiter);
+                        writer.write(escape(block[c][r], delimiter));
+                    }
+                    writer.newLine();
+                }
+                count += blockRows;
+            }
+        }
+        return count;
+    }
+
+    private static String escape(String value, String delimiter) {
+        if (!value.contains(delimiter) && !value.contains("\"") && !value.contains("\n"))
+            return value;
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: ColumnarFileWriter <input> <output>; output is CSV if it ends in .csv, and tab-separated otherwise");
+            return;
+        }
+        File output = new File(args[1]);
+        String delimiter = output.getName().toLowerCase().endsWith(".csv") ? "," : "\t";
+        long rows = exportToText(new File(args[0]), output, delimiter);
+        System.out.printf("Exported %d rows from %s to %s%n", rows, args[0], args[1]);
+    }
+}
@@ -14,6 +14,15 @@ import java.util.stream.IntStream;
 
 import static core.CoreConstants.GameEvents.*;
 
+/**
+ * Records statistics about each game played, such as the size of the state and action space, the hidden information
+ * and how scores change, and logs one record per game.
+ * <p>
+ * The branching factor uses the actions the Game has already computed for each decision. Counting the components of
+ * the state (for StateSize and HiddenInfo) is expensive, so with setSampleEvery(n) this is done only on every n-th
+ * decision. The time the listener itself takes is recorded as TimeListener (in microseconds, as for the other
+ * timings), and the number of decisions at which components were counted as SampledDecisions.
+ */
 public class GameReportListener implements IGameListener {
 
     List<Double> scores = new ArrayList<>();
@@ -22,6 +31,9 @@ public class GameReportListener implements IGameListener {
     Map<String, Object> collectedData = new LinkedHashMap<>();
     AbstractForwardModel fm;
     IStatisticLogger logger;
+    int sampleEvery = 1;
+    int decisions;
+    long listenerTime;
 
     public GameReportListener(IStatisticLogger logger) {
         this.logger = logger;
@@ -30,41 +42,77 @@ public class GameReportListener implements IGameListener {
         this.logger = null;
     }
 
+    /**
+     * @param sampleEvery - components are counted on every sampleEvery-th decision (1, the default, for all of them)
+     */
+    public void setSampleEvery(int sampleEvery) {
+        if (sampleEvery < 1)
+            throw new IllegalArgumentException("sampleEvery must be at least 1, not " + sampleEvery);
+        this.sampleEvery = sampleEvery;
+    }
+
     @Override
     public void onEvent(CoreConstants.GameEvents type, AbstractGameState state, AbstractAction actionChosen) {
         if (type == ACTION_CHOSEN) {
-            // each action taken, we record branching factor and states (this is triggered when the decision is made,
-            // so before it is executed
-            int player = state.getCurrentPlayer();
+            // without the available actions from the Game, we have to compute them ourselves
             if (fm == null) {
                 throw new AssertionError("We have not yet received an ABOUT_TO_START event to initialise the required ForwardModel");
             }
+            long s = System.nanoTime();
             List<AbstractAction> allActions = fm.computeAvailableActions(state);
-            if (allActions.size() < 2) return;
+            listenerTime += System.nanoTime() - s;
+            onEvent(type, state, actionChosen, allActions);
+        }
+    }
 
+    @Override
+    public void onEvent(CoreConstants.GameEvents type, AbstractGameState state, AbstractAction actionChosen,
+                        List<AbstractAction> availableActions) {
+        if (type == ACTION_CHOSEN) {
+            // each action taken, we record branching factor and states (this is triggered when the decision is made,
+            // so before it is executed
+            if (availableActions == null) {
+                onEvent(type, state, actionChosen);
+                return;
+            }
+            if (availableActions.size() < 2) return;
+            long s = System.nanoTime();
+            int player = state.getCurrentPlayer();
             scores.add(state.getGameScore(player));
-            Pair<Integer, int[]> allComp = countComponents(state);
-            components.add(allComp.a);
-            visibilityOnTurn.add(allComp.b[player] / (double) allComp.a);
+            if (decisions++ % sampleEvery == 0) {
+                Pair<Integer, int[]> allComp = countComponents(state);
+                components.add(allComp.a);
+                visibilityOnTurn.add(allComp.b[player] / (double) allComp.a);
+            }
+            listenerTime += System.nanoTime() - s;
         }
     }
 
     @Override
     public void onGameEvent(CoreConstants.GameEvents type, Game game) {
         if (type == ABOUT_TO_START) {
+            long start = System.nanoTime();
             AbstractGameState state = game.getGameState();
-            long s = System.nanoTime();
             fm = game.getForwardModel();
+            decisions = 0;
+            scores.clear();
+            components.clear();
+            visibilityOnTurn.clear();
 
             collectedData.put("Game", game.getGameState().getGameID());
             collectedData.put("Players", String.valueOf(game.getGameState().getNPlayers()));
             collectedData.put("PlayerType", game.getPlayers().get(0).toString());
-            fm.setup(state);
-            collectedData.put("TimeSetup", (System.nanoTime() - s) / 1e3);
+            // setup is timed on a copy, so that the state of the game to be played is untouched
+            AbstractGameState setupState = state.copy();
+            long s = System.nanoTime();
+            fm.setup(setupState);
+            long setupTime = System.nanoTime() - s;
+            collectedData.put("TimeSetup", setupTime / 1e3);
 
             Pair<Integer, int[]> components = countComponents(state);
             collectedData.put("StateSizeStart", components.a);
             collectedData.put("HiddenInfoStart", Arrays.stream(components.b).sum() / (double) components.a / state.getNPlayers());
+            listenerTime = System.nanoTime() - start - setupTime;
         } else if (type == GAME_OVER) {
             //    Retrieves a list with one entry per game tick, each a pair (active player ID, # actions)
             List<Pair<Integer, Integer>> actionSpaceRecord = game.getActionSpaceSize();
@@ -116,6 +164,9 @@ public class GameReportListener implements IGameListener {
             collectedData.put("HiddenInfoMin", visibility.min());
             collectedData.put("HiddenInfoVarCoeff", Math.abs(visibility.sd() / visibility.mean()));
 
+            collectedData.put("SampledDecisions", components.size());
+            collectedData.put("TimeListener", listenerTime / 1e3);
+
             logger.record(collectedData);
             collectedData = new HashMap<>();
         }
@@ -0,0 +1,173 @@
+package utilities;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A mergeable streaming quantile sketch (after Karnin, Lang and Liberty's KLL sketch), which holds
+ * O(k log(n / k)) values however many are added.
+ * <p>
+ * Values are added to level 0. When the sketch is full, the lowest level that is over its capacity is sorted and
+ * compacted: every other value (starting at random from the first or second) moves up a level, where it counts for
+ * twice as much. Capacities shrink by 2/3 for each level below the top, so most of the space is used by the
+ * highest weight values. The rank error is then about 1.7 / k with high probability.
+ * <p>
+ * Sketches can be merged, which gives (statistically) the same result as adding every value to one sketch. If they
+ * have different k, then the result has the accuracy of the smaller.
+ */
+public class QuantileSketch {
+
+    private static final double SHRINK = 2.0 / 3.0;
+
+    private final int k;
+    private final Random rnd;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private long n;
+
+    /**
+     * @param k - controls the accuracy and size of the sketch. 200 gives a rank error of about 1%.
+     */
+    public QuantileSketch(int k) {
+        this(k, 0);
+    }
+
+    public QuantileSketch(int k, long seed) {
+        if (k < 8)
+            throw new IllegalArgumentException("k must be at least 8, not " + k);
+        this.k = k;
+        this.rnd = new Random(seed);
+        levels[0] = new double[capacity(0)];
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * @return the number of values added (including those of merged sketches)
+     */
+    public long n() {
+        return n;
+    }
+
+    /**
+     * @return the number of values the sketch is holding
+     */
+    public int retained() {
+        int retValue = 0;
+        for (int size : sizes)
+            retValue += size;
+        return retValue;
+    }
+
+    public void add(double value) {
+        if (sizes[0] == levels[0].length)
+            levels[0] = Arrays.copyOf(levels[0], Math.max(2, levels[0].length * 2));
+        levels[0][sizes[0]++] = value;
+        n++;
+        if (retained() > totalCapacity())
+            compress();
+    }
+
+    /**
+     * Adds all the values summarised by the other sketch into this one.
+     */
+    public void merge(QuantileSketch other) {
+        while (levels.length < other.levels.length)
+            addLevel();
+        for (int h = 0; h < other.levels.length; h++) {
+            if (sizes[h] + other.sizes[h] > levels[h].length)
+                levels[h] = Arrays.copyOf(levels[h], sizes[h] + other.sizes[h]);
+            System.arraycopy(other.levels[h], 0, levels[h], sizes[h], other.sizes[h]);
+            sizes[h] += other.sizes[h];
+        }
+        n += other.n;
+        while (retained() > totalCapacity())
+            compress();
+    }
+
+    /**
+     * @param q - between 0 and 1
+     * @return an estimate of the value with rank q * n (NaN if the sketch is empty)
+     */
+    public double quantile(double q) {
+        if (n == 0)
+            return Double.NaN;
+        int size = retained();
+        double[] values = new double[size];
+        long[] weights = new long[size];
+        int i = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int j = 0; j < sizes[h]; j++) {
+                values[i] = levels[h][j];
+                weights[i++] = 1L << h;
+            }
+        }
+        // sort by value, keeping the weights alongside
+        Integer[] order = new Integer[size];
+        for (int j = 0; j < size; j++)
+            order[j] = j;
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        long total = 0;
+        for (long w : weights)
+            total += w;
+        double target = q * total;
+        long cumulative = 0;
+        for (int j = 0; j < size; j++) {
+            cumulative += weights[order[j]];
+            if (cumulative > target)
+                return values[order[j]];
+        }
+        return values[order[size - 1]];
+    }
+
+    public QuantileSketch copy() {
+        QuantileSketch retValue = new QuantileSketch(k, rnd.nextLong());
+        retValue.levels = new double[levels.length][];
+        for (int h = 0; h < levels.length; h++)
+            retValue.levels[h] = levels[h].clone();
+        retValue.sizes = sizes.clone();
+        retValue.n = n;
+        return retValue;
+    }
+
+    private int capacity(int level) {
+        int depth = levels.length - 1 - level;
+        return Math.max(2, (int) Math.ceil(k * Math.pow(SHRINK, depth)));
+    }
+
+    private int totalCapacity() {
+        int retValue = 0;
+        for (int h = 0; h < levels.length; h++)
+            retValue += capacity(h);
+        return retValue;
+    }
+
+    private void addLevel() {
+        levels = Arrays.copyOf(levels, levels.length + 1);
+        sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        levels[levels.length - 1] = new double[capacity(levels.length - 1)];
+    }
+
+    private void compress() {
+        for (int h = 0; h < levels.length; h++) {
+            if (sizes[h] < capacity(h))
+                continue;
+            if (h == levels.length - 1)
+                addLevel();
+            double[] level = levels[h];
+            Arrays.sort(level, 0, sizes[h]);
+            // an odd value out stays at this level
+            int start = sizes[h] % 2;
+            int offset = rnd.nextBoolean() ? 1 : 0;
+            int promoted = (sizes[h] - start) / 2;
+            if (sizes[h + 1] + promoted > levels[h + 1].length)
+                levels[h + 1] = Arrays.copyOf(levels[h + 1], sizes[h + 1] + promoted);
+            for (int j = start + offset; j < sizes[h]; j += 2)
+                levels[h + 1][sizes[h + 1]++] = level[j];
+            sizes[h] = start;
+            return;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package utilities;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * A list held in a circular array, so that adding or removing at either end takes constant time (an ArrayList has
+ * to shift every element to add or remove at the front). Adding or removing in the middle shifts whichever side of
+ * the index is shorter. Access by index is constant time, as in an ArrayList.
+ * <p>
+ * This is used for the components of a Deck, which are mostly drawn from and added to the top (index 0).
+ */
+public class RingList<E> extends AbstractList<E> implements RandomAccess {
+
+    private Object[] elements;  // length is always a power of 2
+    private int head;  // position in elements of index 0
+    private int size;
+
+    public RingList() {
+        this(8);
+    }
+
+    public RingList(int initialCapacity) {
+        elements = new Object[capacityFor(initialCapacity)];
+    }
+
+    public RingList(Collection<? extends E> c) {
+        Object[] values = c.toArray();
+        elements = new Object[capacityFor(values.length)];
+        System.arraycopy(values, 0, elements, 0, values.length);
+        size = values.length;
+    }
+
+    private RingList(RingList<E> other) {
+        elements = other.elements.clone();
+        head = other.head;
+        size = other.size;
+    }
+
+    /**
+     * @return a shallow copy of this list (the elements are shared), made by copying the backing array
+     */
+    public RingList<E> copy() {
+        return new RingList<>(this);
+    }
+
+    private static int capacityFor(int n) {
+        int retValue = 8;
+        while (retValue < n)
+            retValue <<= 1;
+        return retValue;
+    }
+
+    private int position(int index) {
+        return (head + index) & (elements.length - 1);
+    }
+
+    private void ensureCapacity(int n) {
+        if (n <= elements.length)
+            return;
+        Object[] newElements = new Object[capacityFor(n)];
+        for (int i = 0; i < size; i++)
+            newElements[i] = elements[position(i)];
+        elements = newElements;
+        head = 0;
+    }
+
+    private void checkIndex(int index, int limit) {
+        if (index < 0 || index >= limit)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index, size);
+        return (E) elements[position(index)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index, size);
+        int p = position(index);
+        E old = (E) elements[p];
+        elements[p] = element;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(E element) {
+        ensureCapacity(size + 1);
+        elements[position(size)] = element;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size + 1);
+        openGap(index, 1);
+        elements[position(index)] = element;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return addAll(size, c);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        checkIndex(index, size + 1);
+        Object[] values = c.toArray();
+        if (values.length == 0)
+            return false;
+        openGap(index, values.length);
+        for (int i = 0; i < values.length; i++)
+            elements[position(index + i)] = values[i];
+        return true;
+    }
+
+    /**
+     * Makes room for n elements at index, by moving the elements before it back or those after it forward.
+     */
+    private void openGap(int index, int n) {
+        ensureCapacity(size + n);
+        if (index < size - index) {
+            head = (head - n) & (elements.length - 1);
+            for (int i = 0; i < index; i++)
+                elements[position(i)] = elements[position(i + n)];
+        } else {
+            for (int i = size - 1; i >= index; i--)
+                elements[position(i + n)] = elements[position(i)];
+        }
+        size += n;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index, size);
+        E old = (E) elements[position(index)];
+        if (index < size - 1 - index) {
+            for (int i = index; i > 0; i--)
+                elements[position(i)] = elements[position(i - 1)];
+            elements[head] = null;
+            head = (head + 1) & (elements.length - 1);
+        } else {
+            for (int i = index; i < size - 1; i++)
+                elements[position(i)] = elements[position(i + 1)];
+            elements[position(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++)
+            elements[position(i)] = null;
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] retValue = new Object[size];
+        int first = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, retValue, 0, first);
+        System.arraycopy(elements, 0, retValue, first, size - first);
+        return retValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        T[] retValue = a.length >= size ? a : (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size);
+        System.arraycopy(toArray(), 0, retValue, 0, size);
+        if (retValue.length > size)
+            retValue[size] = null;
+        return retValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        for (int i = 0; i < size; i++)
+            action.accept((E) elements[position(i)]);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    // As AbstractList's iterator, but without the range check of get() on every element
+    private class Itr implements Iterator<E> {
+        int cursor;
+        int lastReturned = -1;
+        int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (cursor >= size)
+                throw new NoSuchElementException();
+            lastReturned = cursor++;
+            return (E) elements[position(lastReturned)];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            RingList.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(o, elements[position(i)]))
+                return i;
+        }
+        return -1;
+    }
+}
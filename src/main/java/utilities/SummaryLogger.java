@@ -16,6 +16,8 @@ public class SummaryLogger implements IStatisticLogger {
 
     File logFile;
     public boolean printToConsole = true;
+    // if positive, then each statistic keeps a quantile sketch of this size instead of every value (see TAGStatSummary)
+    public int sketchK = 0;
     Map<String, TAGStatSummary> allData = new HashMap<>();
     Map<String, String> otherData = new HashMap<>();
 
@@ -26,11 +28,12 @@ public class SummaryLogger implements IStatisticLogger {
         this.logFile = new File(logFile);
     }
 
+    // synchronized, as games evaluated in parallel by NTBEA share a logger
     @Override
-    public void record(String key, Object value) {
+    public synchronized void record(String key, Object value) {
         if (value instanceof Number) {
             if (!allData.containsKey(key))
-                allData.put(key, new TAGStatSummary());
+                allData.put(key, new TAGStatSummary(key, sketchK));
             allData.get(key).add((Number) value);
         } else {
             otherData.put(key, value.toString());
@@ -43,7 +46,7 @@ public class SummaryLogger implements IStatisticLogger {
      * @param data A map of name -> Number pairs
      */
     @Override
-    public void record(Map<String, ?> data) {
+    public synchronized void record(Map<String, ?> data) {
         for (String key : data.keySet()) {
             record(key, data.get(key));
         }
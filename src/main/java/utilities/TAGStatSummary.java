@@ -7,6 +7,11 @@ import java.util.Collections;
  * This class is used to model the statistics of several numbers.  For the statistics
  * we choose here it is not necessary to store all the numbers - just keeping a running total
  * of how many, the sum and the sum of the squares is sufficient (plus max and min, for max and min).
+ * <p>
+ * By default every number is also kept, for the exact median, skew and kurtosis. With a sketchK (see the
+ * constructor) memory is bounded instead: the median comes from a QuantileSketch, and skew and kurtosis from
+ * running central moments. Summaries in either mode can be merged with add(TAGStatSummary); adding a bounded
+ * summary to an exact one makes it bounded.
  */
 
 public class TAGStatSummary {
@@ -22,13 +27,28 @@ public class TAGStatSummary {
     private boolean valid;
 
     private ArrayList<Double> elements;
+    private int sketchK;
+    private QuantileSketch sketch;
+    // running mean and sums of 2nd, 3rd and 4th powers of differences from it
+    private double runningMean, m2, m3, m4;
+    private double runningMin, runningMax;
 
     public TAGStatSummary() {
         this("");
     }
 
     public TAGStatSummary(String name) {
+        this(name, 0);
+    }
+
+    /**
+     * @param name    - the name of the statistic
+     * @param sketchK - if positive, then the numbers are not kept, and the median is estimated by a QuantileSketch
+     *                  of this size. 200 gives a rank error of about 1%.
+     */
+    public TAGStatSummary(String name, int sketchK) {
         this.name = name;
+        this.sketchK = sketchK;
         reset();
     }
 
@@ -40,7 +60,18 @@ public class TAGStatSummary {
         min = Double.POSITIVE_INFINITY;
         max = Double.NEGATIVE_INFINITY;
         valid = false;
-        elements = new ArrayList<>();
+        elements = sketchK > 0 ? null : new ArrayList<>();
+        sketch = sketchK > 0 ? new QuantileSketch(sketchK) : null;
+        runningMean = m2 = m3 = m4 = 0.0;
+        runningMin = Double.POSITIVE_INFINITY;
+        runningMax = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * @return true if the numbers are summarised by a sketch, rather than kept
+     */
+    public boolean isBounded() {
+        return sketch != null;
     }
 
     public double max() {
@@ -71,7 +102,7 @@ public class TAGStatSummary {
         if (n < 4 || sd < 0.001) return 0.0;
         if (!valid)
             computeStats();
-        double sumQuarticDiffs = elements.stream().mapToDouble(d -> Math.pow(d - mean, 4)).sum();
+        double sumQuarticDiffs = sketch != null ? m4 : elements.stream().mapToDouble(d -> Math.pow(d - mean, 4)).sum();
         return sumQuarticDiffs / Math.pow(sd, 4) * n * (n + 1) / (n - 1) / (n - 2) / (n - 3);
     }
 
@@ -79,7 +110,7 @@ public class TAGStatSummary {
         if (n < 3 || sd < 0.001) return 0.0;
         if (!valid)
             computeStats();
-        double sumCubeDiffs = elements.stream().mapToDouble(d -> Math.pow(d - mean, 3)).sum();
+        double sumCubeDiffs = sketch != null ? m3 : elements.stream().mapToDouble(d -> Math.pow(d - mean, 3)).sum();
         return sumCubeDiffs / Math.pow(sd, 3) * n / (n - 1) / (n - 2);
     }
 
@@ -91,7 +122,14 @@ public class TAGStatSummary {
     }
 
     private void computeStats() {
-        if (!valid) {
+        if (!valid && sketch != null) {
+            max = runningMax;
+            min = runningMin;
+            mean = sum / n;
+            sd = Math.sqrt(m2 / (n - 1));
+            median = sketch.quantile(0.5);
+            valid = true;
+        } else if (!valid) {
             if (!elements.isEmpty()) {
                 max = elements.stream().mapToDouble(i -> i).max().getAsDouble();
                 min = elements.stream().mapToDouble(i -> i).min().getAsDouble();
@@ -109,6 +147,20 @@ public class TAGStatSummary {
         }
     }
 
+    /**
+     * @param q - between 0 and 1
+     * @return the value with rank q * n (estimated if the summary is bounded)
+     */
+    public double quantile(double q) {
+        if (n == 0)
+            return Double.NaN;
+        if (sketch != null)
+            return sketch.quantile(q);
+        if (!valid)
+            computeStats();
+        return elements.get(Math.min(elements.size() - 1, (int) (q * elements.size())));
+    }
+
     public double sd() {
         if (!valid)
             computeStats();
@@ -124,21 +176,72 @@ public class TAGStatSummary {
     }
 
     public void add(TAGStatSummary ss) {
+        if (ss.sketch != null && sketch == null) {
+            sketchK = ss.sketchK;
+            sketch = new QuantileSketch(sketchK);
+            elements.forEach(sketch::add);
+            elements = null;
+        }
+        mergeMoments(ss);
         n += ss.n;
         sum += ss.sum;
         sumsq += ss.sumsq;
         lastAdded = ss.lastAdded;
         valid = false;
-        elements.addAll(ss.getElements());
+        if (sketch == null) {
+            elements.addAll(ss.getElements());
+        } else if (ss.sketch != null) {
+            sketch.merge(ss.sketch);
+        } else {
+            ss.getElements().forEach(sketch::add);
+        }
     }
 
     public void add(double d) {
+        updateMoments(d);
         n++;
         sum += d;
         sumsq += d * d;
         lastAdded = d;
         valid = false;
-        elements.add(d);
+        if (sketch != null)
+            sketch.add(d);
+        else
+            elements.add(d);
+    }
+
+    // the single value and pairwise updates of Pebay (2008), before n is updated
+    private void updateMoments(double d) {
+        double n1 = n + 1;
+        double delta = d - runningMean;
+        double deltaN = delta / n1;
+        double deltaN2 = deltaN * deltaN;
+        double term1 = delta * deltaN * n;
+        runningMean += deltaN;
+        m4 += term1 * deltaN2 * (n1 * n1 - 3 * n1 + 3) + 6 * deltaN2 * m2 - 4 * deltaN * m3;
+        m3 += term1 * deltaN * (n1 - 2) - 3 * deltaN * m2;
+        m2 += term1;
+        runningMin = Math.min(runningMin, d);
+        runningMax = Math.max(runningMax, d);
+    }
+
+    private void mergeMoments(TAGStatSummary ss) {
+        if (ss.n == 0)
+            return;
+        double na = n, nb = ss.n, total = na + nb;
+        double delta = ss.runningMean - runningMean;
+        double delta2 = delta * delta;
+        double newM4 = m4 + ss.m4 + delta2 * delta2 * na * nb * (na * na - na * nb + nb * nb) / (total * total * total)
+                + 6 * delta2 * (na * na * ss.m2 + nb * nb * m2) / (total * total)
+                + 4 * delta * (na * ss.m3 - nb * m3) / total;
+        double newM3 = m3 + ss.m3 + delta2 * delta * na * nb * (na - nb) / (total * total)
+                + 3 * delta * (na * ss.m2 - nb * m2) / total;
+        m2 += ss.m2 + delta2 * na * nb / total;
+        m3 = newM3;
+        m4 = newM4;
+        runningMean += delta * nb / total;
+        runningMin = Math.min(runningMin, ss.runningMin);
+        runningMax = Math.max(runningMax, ss.runningMax);
     }
 
     public void add(Number n) {
@@ -189,12 +292,15 @@ public class TAGStatSummary {
                 ;
     }
 
+    /**
+     * @return every number added, or an empty list if the summary is bounded
+     */
     public ArrayList<Double> getElements() {
-        return elements;
+        return elements == null ? new ArrayList<>() : elements;
     }
 
     public TAGStatSummary copy() {
-        TAGStatSummary ss = new TAGStatSummary();
+        TAGStatSummary ss = new TAGStatSummary(this.name, this.sketchK);
 
         ss.name = this.name;
         ss.sum = this.sum;
@@ -203,9 +309,20 @@ public class TAGStatSummary {
         ss.max = this.max;
         ss.mean = this.mean;
         ss.sd = this.sd;
+        ss.median = this.median;
         ss.n = this.n;
         ss.valid = this.valid;
         ss.lastAdded = this.lastAdded;
+        if (sketch != null)
+            ss.sketch = sketch.copy();
+        else
+            ss.elements = new ArrayList<>(elements);
+        ss.runningMean = runningMean;
+        ss.m2 = m2;
+        ss.m3 = m3;
+        ss.m4 = m4;
+        ss.runningMin = runningMin;
+        ss.runningMax = runningMax;
 
         return ss;
     }
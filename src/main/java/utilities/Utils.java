@@ -217,6 +217,8 @@ public abstract class Utils {
             String rawString = raw.get().split("=")[1];
             if (defaultValue instanceof Integer) {
                 return (T) Integer.valueOf(rawString);
+            } else if (defaultValue instanceof Long) {
+                return (T) Long.valueOf(rawString);
             } else if (defaultValue instanceof Double) {
                 return (T) Double.valueOf(rawString);
             } else if (defaultValue instanceof Boolean) {
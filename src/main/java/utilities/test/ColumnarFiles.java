@@ -0,0 +1,174 @@
+package utilities.test;
+
+import org.junit.*;
+import utilities.BinaryStatsLogger;
+import utilities.ColumnarFileWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ColumnarFiles {
+
+    File file, text;
+
+    @Before
+    public void setup() throws IOException {
+        file = File.createTempFile("columnar", ".bin");
+        file.delete();
+        text = File.createTempFile("columnar", ".txt");
+    }
+
+    @After
+    public void cleanup() {
+        file.delete();
+        text.delete();
+    }
+
+    private List<String> export(String delimiter) throws IOException {
+        ColumnarFileWriter.exportToText(file, text, delimiter);
+        return Files.readAllLines(text.toPath(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void typedColumnsOverSeveralBlocks() throws IOException {
+        ColumnarFileWriter writer = new ColumnarFileWriter(file, Arrays.asList("n", "x", "s"), 3, false);
+        writer.addRow(1, 0.5, "a");
+        writer.addRow(2L, true, "b");
+        writer.addRow(3, false, "c");
+        // a block where n is not numeric is written as strings, without changing the other blocks
+        writer.addRow("four", 1.25, 4);
+        writer.addRow(5, -2.0, "");
+        writer.flush();
+        writer.addRow(6, 1e20, "f");
+        writer.close();
+        assertEquals(6, writer.getRowsWritten());
+
+        assertEquals(Arrays.asList("n\tx\ts", "1\t0.5\ta", "2\t1\tb", "3\t0\tc", "four\t1.25\t4", "5\t-2\t", "6\t1.0E20\tf"),
+                export("\t"));
+    }
+
+    @Test
+    public void exportQuotesValuesThatNeedIt() throws IOException {
+        ColumnarFileWriter writer = new ColumnarFileWriter(file, Arrays.asList("name", "value"), 10, true);
+        writer.addRow("plain", 1);
+        writer.addRow("with, comma", 2);
+        writer.addRow("say \"hi\"", 3);
+        writer.close();
+        assertEquals(Arrays.asList("name,value", "plain,1", "\"with, comma\",2", "\"say \"\"hi\"\"\",3"), export(","));
+    }
+
+    @Test
+    public void appendAddsBlocksWhenTheHeaderMatches() throws IOException {
+        ColumnarFileWriter writer = new ColumnarFileWriter(file, Arrays.asList("a", "b"), 2, false);
+        writer.addRow(1, "x");
+        writer.close();
+        writer = new ColumnarFileWriter(file, Arrays.asList("a", "b"), 2, false);
+        writer.addRow(2, "y");
+        writer.addRow(3, "z");
+        writer.close();
+        assertEquals(Arrays.asList("a\tb", "1\tx", "2\ty", "3\tz"), export("\t"));
+
+        try {
+            new ColumnarFileWriter(file, Arrays.asList("a", "c"), 2, false);
+            fail("Columns do not match");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(4, export("\t").size());
+    }
+
+    @Test
+    public void failedBlockLeavesTheFileReadable() throws IOException {
+        char[] chars = new char[70_000];
+        Arrays.fill(chars, 'x');
+        String tooLong = new String(chars);
+        ColumnarFileWriter writer = new ColumnarFileWriter(file, Collections.singletonList("s"), 1, false);
+        writer.addRow("ok");
+        try {
+            writer.addRow(tooLong);
+            fail("Strings over 64K cannot be written");
+        } catch (UncheckedIOException e) {
+            // expected
+        }
+        try {
+            writer.addRow("later");
+            fail("The writer has failed");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getCause() instanceof UncheckedIOException);
+        }
+        try {
+            writer.close();
+            fail("The writer has failed");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(Arrays.asList("s", "ok"), export("\t"));
+    }
+
+    @Test
+    public void loggerWritesEveryRowFromManyThreads() throws Exception {
+        // a small ring, so that producers wrap around it many times and have to wait for the writer
+        BinaryStatsLogger logger = new BinaryStatsLogger(file.getPath(), 8);
+        int threads = 4, rowsEach = 5000;
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            producers.add(new Thread(() -> {
+                Map<String, Object> data = new LinkedHashMap<>();
+                for (int r = 0; r < rowsEach; r++) {
+                    data.put("thread", thread);
+                    data.put("row", r);
+                    data.put("label", "t" + thread);
+                    logger.record(data);
+                }
+            }));
+        }
+        producers.forEach(Thread::start);
+        for (Thread t : producers)
+            t.join();
+        logger.processDataAndFinish();
+        assertEquals(threads * rowsEach, logger.getRowsRecorded());
+
+        List<String> lines = export("\t");
+        assertEquals("thread\trow\tlabel", lines.get(0));
+        assertEquals(threads * rowsEach + 1, lines.size());
+        // rows from each thread are all there, and in the order that thread recorded them
+        int[] nextRow = new int[threads];
+        for (String line : lines.subList(1, lines.size())) {
+            String[] values = line.split("\t");
+            int thread = Integer.parseInt(values[0]);
+            assertEquals(nextRow[thread]++, Integer.parseInt(values[1]));
+            assertEquals("t" + thread, values[2]);
+        }
+        try {
+            logger.record(Collections.singletonMap("thread", 0));
+            fail("The logger has finished");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void loggerFailsRatherThanWaitingForADeadWriter() throws IOException {
+        char[] chars = new char[70_000];
+        Arrays.fill(chars, 'x');
+        BinaryStatsLogger logger = new BinaryStatsLogger(file.getPath(), 2);
+        logger.record(Collections.singletonMap("s", new String(chars)));
+        try {
+            // the writer stops at the first block, so this fills the ring and then has to notice
+            for (int i = 0; i < 100_000; i++)
+                logger.record(Collections.singletonMap("s", "ok"));
+            logger.processDataAndFinish();
+            fail("Writing has failed");
+        } catch (IllegalStateException e) {
+            assertNotNull(e.getCause());
+        }
+        assertEquals(Collections.singletonList("s"), export("\t"));
+    }
+}
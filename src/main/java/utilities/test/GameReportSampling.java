@@ -0,0 +1,66 @@
+package utilities.test;
+
+import core.*;
+import core.actions.AbstractAction;
+import games.GameType;
+import org.junit.*;
+import players.simple.RandomPlayer;
+import utilities.GameReportListener;
+import utilities.SummaryLogger;
+
+import java.util.*;
+
+import static core.CoreConstants.GameEvents.ABOUT_TO_START;
+import static org.junit.Assert.*;
+
+public class GameReportSampling {
+
+    // the Decisions and SampledDecisions of one game of Dominion, with components counted on every sampleEvery-th
+    private double[] playGame(int sampleEvery) {
+        SummaryLogger logger = new SummaryLogger();
+        GameReportListener listener = new GameReportListener(logger);
+        listener.setSampleEvery(sampleEvery);
+        Game game = GameType.Dominion.createGameInstance(2, 42);
+        game.addListener(listener);
+        game.reset(Arrays.asList(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2))));
+        game.run();
+        return new double[]{logger.summary().get("Decisions").mean(), logger.summary().get("SampledDecisions").mean()};
+    }
+
+    @Test
+    public void everyDecisionIsSampledByDefault() {
+        double[] counts = playGame(1);
+        assertTrue(counts[0] > 20);
+        assertEquals(counts[0], counts[1], 0.0);
+    }
+
+    @Test
+    public void everyNthDecisionIsSampled() {
+        for (int sampleEvery : new int[]{2, 5}) {
+            double[] counts = playGame(sampleEvery);
+            assertTrue(counts[0] > 4 * sampleEvery);
+            // the first decision, and every sampleEvery-th after it
+            assertEquals(Math.ceil(counts[0] / sampleEvery), counts[1], 0.0);
+        }
+    }
+
+    @Test
+    public void liveStateIsNotSetUpAgain() {
+        GameReportListener listener = new GameReportListener(new SummaryLogger());
+        Game game = GameType.Dominion.createGameInstance(2, 42);
+        game.reset(Arrays.asList(new RandomPlayer(new Random(1)), new RandomPlayer(new Random(2))));
+        AbstractGameState state = game.getGameState();
+        AbstractForwardModel fm = game.getForwardModel();
+        Random rnd = new Random(3);
+        for (int i = 0; i < 20; i++) {
+            List<AbstractAction> actions = fm.computeAvailableActions(state);
+            fm.next(state, actions.get(rnd.nextInt(actions.size())));
+        }
+        int hash = state.hashCode();
+        int round = state.getTurnOrder().getRoundCounter();
+        listener.onGameEvent(ABOUT_TO_START, game);
+        assertSame(state, game.getGameState());
+        assertEquals(round, state.getTurnOrder().getRoundCounter());
+        assertEquals(hash, state.hashCode());
+    }
+}
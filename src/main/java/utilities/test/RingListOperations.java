@@ -0,0 +1,94 @@
+package utilities.test;
+
+import org.junit.Test;
+import utilities.RingList;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class RingListOperations {
+
+    Random rnd = new Random(42);
+
+    @Test
+    public void matchesArrayListUnderRandomOperations() {
+        List<Integer> expected = new ArrayList<>();
+        RingList<Integer> ring = new RingList<>();
+        for (int i = 0; i < 20000; i++) {
+            int size = expected.size();
+            switch (rnd.nextInt(8)) {
+                case 0:
+                case 1:
+                    expected.add(0, i);
+                    ring.add(0, i);
+                    break;
+                case 2:
+                    expected.add(i);
+                    ring.add(i);
+                    break;
+                case 3:
+                    int index = rnd.nextInt(size + 1);
+                    expected.add(index, i);
+                    ring.add(index, i);
+                    break;
+                case 4:
+                    if (size > 0)
+                        assertEquals(expected.remove(0), ring.remove(0));
+                    break;
+                case 5:
+                    if (size > 0) {
+                        index = rnd.nextInt(size);
+                        assertEquals(expected.remove(index), ring.remove(index));
+                    }
+                    break;
+                case 6:
+                    List<Integer> other = Arrays.asList(-i, -i - 1, -i - 2);
+                    index = rnd.nextInt(size + 1);
+                    expected.addAll(index, other);
+                    ring.addAll(index, other);
+                    break;
+                case 7:
+                    if (size > 0) {
+                        index = rnd.nextInt(size);
+                        assertEquals(expected.set(index, -i), ring.set(index, -i));
+                    }
+                    break;
+            }
+            assertEquals(expected.size(), ring.size());
+        }
+        assertEquals(expected, ring);
+        assertEquals(expected.hashCode(), ring.hashCode());
+        assertEquals(expected.indexOf(expected.get(expected.size() / 2)), ring.indexOf(expected.get(expected.size() / 2)));
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        RingList<Integer> ring = new RingList<>();
+        for (int i = 0; i < 20; i++)
+            ring.add(0, i);
+        RingList<Integer> copy = ring.copy();
+        assertEquals(ring, copy);
+        ring.remove(0);
+        ring.set(0, 100);
+        assertEquals(20, copy.size());
+        assertEquals(19, (int) copy.get(0));
+        assertEquals(18, (int) copy.get(1));
+    }
+
+    @Test
+    public void shuffleOfSubListMatchesArrayList() {
+        List<Integer> expected = new ArrayList<>();
+        RingList<Integer> ring = new RingList<>();
+        for (int i = 0; i < 30; i++) {
+            expected.add(0, i);
+            ring.add(0, i);
+        }
+        Collections.shuffle(expected.subList(5, 25), new Random(1));
+        Collections.shuffle(ring.subList(5, 25), new Random(1));
+        assertEquals(expected, ring);
+        ring.subList(0, 10).clear();
+        expected.subList(0, 10).clear();
+        assertEquals(expected, ring);
+    }
+}
@@ -0,0 +1,129 @@
+package utilities.test;
+
+import org.junit.Test;
+import utilities.QuantileSketch;
+import utilities.TAGStatSummary;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StatSummarySketches {
+
+    Random rnd = new Random(42);
+    int K = 200;
+    int N = 100_000;
+
+    private double[] normal() {
+        return rnd.doubles(N).map(d -> rnd.nextGaussian() * 3.0 + 10.0).toArray();
+    }
+
+    private double[] exponential() {
+        return rnd.doubles(N).map(d -> -Math.log(1.0 - d)).toArray();
+    }
+
+    // the fraction of the sorted values that are below the estimate, compared to q
+    private double rankError(double[] sorted, double estimate, double q) {
+        int rank = Arrays.binarySearch(sorted, estimate);
+        if (rank < 0) rank = -rank - 1;
+        return Math.abs(rank / (double) sorted.length - q);
+    }
+
+    private void checkAgainstExact(double[] data) {
+        TAGStatSummary exact = new TAGStatSummary("exact");
+        TAGStatSummary bounded = new TAGStatSummary("bounded", K);
+        for (double d : data) {
+            exact.add(d);
+            bounded.add(d);
+        }
+        assertTrue(bounded.isBounded());
+        assertFalse(exact.isBounded());
+        assertEquals(0, bounded.getElements().size());
+        assertEquals(exact.n(), bounded.n());
+        assertEquals(exact.mean(), bounded.mean(), 1e-9);
+        assertEquals(exact.sd(), bounded.sd(), 1e-6);
+        assertEquals(exact.min(), bounded.min(), 0.0);
+        assertEquals(exact.max(), bounded.max(), 0.0);
+        assertEquals(exact.skew(), bounded.skew(), 1e-6);
+        assertEquals(exact.kurtosis(), bounded.kurtosis(), 1e-6);
+
+        double[] sorted = data.clone();
+        Arrays.sort(sorted);
+        assertEquals(0.0, rankError(sorted, bounded.median(), 0.5), 0.02);
+        for (double q : new double[]{0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99})
+            assertEquals("Quantile " + q, 0.0, rankError(sorted, bounded.quantile(q), q), 0.02);
+        assertEquals(0.0, rankError(sorted, exact.quantile(0.9), 0.9), 1.0 / N);
+    }
+
+    @Test
+    public void normalMatchesExact() {
+        checkAgainstExact(normal());
+    }
+
+    @Test
+    public void exponentialMatchesExact() {
+        checkAgainstExact(exponential());
+    }
+
+    @Test
+    public void memoryIsBounded() {
+        QuantileSketch sketch = new QuantileSketch(K);
+        int maxRetained = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            sketch.add(rnd.nextDouble());
+            maxRetained = Math.max(maxRetained, sketch.retained());
+        }
+        assertEquals(1_000_000, sketch.n());
+        assertTrue("Retained " + maxRetained, maxRetained < 5 * K);
+    }
+
+    @Test
+    public void mergedHalvesMatchWhole() {
+        double[] data = exponential();
+        TAGStatSummary whole = new TAGStatSummary("whole", K);
+        TAGStatSummary first = new TAGStatSummary("first", K);
+        TAGStatSummary second = new TAGStatSummary("second", K);
+        for (int i = 0; i < N; i++) {
+            whole.add(data[i]);
+            (i < N / 3 ? first : second).add(data[i]);
+        }
+        first.add(second);
+        assertEquals(whole.n(), first.n());
+        assertEquals(whole.mean(), first.mean(), 1e-9);
+        assertEquals(whole.sd(), first.sd(), 1e-6);
+        assertEquals(whole.skew(), first.skew(), 1e-6);
+        assertEquals(whole.kurtosis(), first.kurtosis(), 1e-6);
+        assertEquals(whole.max(), first.max(), 0.0);
+
+        double[] sorted = data.clone();
+        Arrays.sort(sorted);
+        for (double q : new double[]{0.1, 0.5, 0.9})
+            assertEquals("Quantile " + q, 0.0, rankError(sorted, first.quantile(q), q), 0.02);
+    }
+
+    @Test
+    public void exactMergedWithBoundedBecomesBounded() {
+        double[] data = normal();
+        TAGStatSummary exact = new TAGStatSummary("exact");
+        TAGStatSummary bounded = new TAGStatSummary("bounded", K);
+        TAGStatSummary reference = new TAGStatSummary("reference");
+        for (int i = 0; i < N; i++) {
+            (i % 2 == 0 ? exact : bounded).add(data[i]);
+            reference.add(data[i]);
+        }
+        exact.add(bounded);
+        assertTrue(exact.isBounded());
+        assertEquals(reference.n(), exact.n());
+        assertEquals(reference.mean(), exact.mean(), 1e-9);
+        assertEquals(reference.kurtosis(), exact.kurtosis(), 1e-6);
+
+        double[] sorted = data.clone();
+        Arrays.sort(sorted);
+        assertEquals(0.0, rankError(sorted, exact.median(), 0.5), 0.02);
+
+        TAGStatSummary copy = exact.copy();
+        assertTrue(copy.isBounded());
+        assertEquals(exact.median(), copy.median(), 0.0);
+    }
+}